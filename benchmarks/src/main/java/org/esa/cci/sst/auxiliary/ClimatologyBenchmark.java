@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.auxiliary;
+
+import org.esa.cci.sst.benchmark.SyntheticGrids;
+import org.esa.cci.sst.benchmark.TemporaryDirectory;
+import org.esa.cci.sst.grid.Downscaling;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the downscaling of the 0.05° climatology SST grid and a monthly run, which requests the
+ * SST grids of consecutive days. The climatology files are not read, the SST grids are downscaled from
+ * a synthetic in-memory grid instead.
+ *
+ * @author agent
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ClimatologyBenchmark {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(0.05);
+    private static final int DAY_COUNT = 31;
+
+    @State(Scope.Benchmark)
+    public static class SourceState {
+
+        Grid sourceGrid;
+
+        @Setup
+        public void setUp() {
+            sourceGrid = SyntheticGrids.createGrid(SOURCE_GRID_DEF, 41L, 271.15, 30.0, 0.7);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DownscalingState {
+
+        @Param({"0.1", "0.5", "5.0"})
+        public String targetResolution;
+
+        GridDef targetGridDef;
+
+        @Setup
+        public void setUp() {
+            targetGridDef = SyntheticGrids.createGlobalGridDef(targetResolution);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RunState {
+
+        @Param({"1", "2"})
+        public int cacheCapacity;
+
+        @Param({"false", "true"})
+        public boolean prefetch;
+
+        /**
+         * If {@code true}, the SST grids are mapped from the cache files written in an earlier run.
+         */
+        @Param({"false", "true"})
+        public boolean persistentCache;
+
+        TemporaryDirectory cacheDir;
+        GridDef targetGridDef;
+
+        @Setup
+        public void setUp(SourceState sourceState) throws IOException {
+            targetGridDef = GridDef.createGlobal(0.1);
+            if (persistentCache) {
+                cacheDir = TemporaryDirectory.create("climatology");
+                runMonth(createClimatology(sourceState.sourceGrid), null);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            if (cacheDir != null) {
+                cacheDir.delete();
+            }
+        }
+
+        Climatology createClimatology(Grid sourceGrid) {
+            final File dir = cacheDir != null ? cacheDir.getDir() : null;
+            return new SyntheticClimatology(sourceGrid, targetGridDef, cacheCapacity, prefetch, dir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public Grid downscale(SourceState sourceState, DownscalingState downscalingState) {
+        return Downscaling.create(sourceState.sourceGrid, downscalingState.targetGridDef);
+    }
+
+    /**
+     * Requests the SST grids of each day of a month, where the grid of the previous day is requested
+     * again, like for input files covering midnight.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void runMonth(SourceState sourceState, RunState runState, Blackhole blackhole) throws IOException {
+        runMonth(runState.createClimatology(sourceState.sourceGrid), blackhole);
+    }
+
+    private static void runMonth(Climatology climatology, Blackhole blackhole) throws IOException {
+        for (int day = 1; day <= DAY_COUNT; day++) {
+            final Grid grid = climatology.getSstGrid(day);
+            final Grid previousGrid = climatology.getSstGrid(day > 1 ? day - 1 : 365);
+            if (blackhole != null) {
+                blackhole.consume(grid);
+                blackhole.consume(previousGrid);
+            }
+        }
+    }
+
+    private static File[] createFiles() {
+        final File[] files = new File[365];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File(String.format("D%03d-UKMO-L4LRfnd_GLOB-v01-fv02-OSTIARANclim.nc", i + 1));
+        }
+        return files;
+    }
+
+    private static final class SyntheticClimatology extends Climatology {
+
+        private final Grid sourceGrid;
+        private final GridDef targetGridDef;
+
+        SyntheticClimatology(Grid sourceGrid, GridDef targetGridDef, int cacheCapacity, boolean prefetch,
+                             File cacheDir) {
+            super(createFiles(), targetGridDef, cacheCapacity, prefetch, cacheDir);
+            this.sourceGrid = sourceGrid;
+            this.targetGridDef = targetGridDef;
+        }
+
+        @Override
+        Grid readSstGrid(File file) {
+            return Downscaling.create(sourceGrid, targetGridDef);
+        }
+
+        @Override
+        void readSeaCoverageGrids(File file) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.cell.ArrayCellGrid;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.cell.SpatialAggregationCellFactory;
+import org.esa.cci.sst.grid.GridDef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the spatial aggregation of a global source grid into 5° cells, which is dominated by
+ * {@code DefaultSpatialAggregationCell.accumulate} and the accumulators of the array cell grid.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AccumulationBenchmark {
+
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(5.0);
+
+    @Param({"0.05", "0.1"})
+    public String sourceResolution;
+
+    @Param({"1.0", "0.5", "0.1"})
+    public double validFraction;
+
+    @Param({"object", "array"})
+    public String cellGrid;
+
+    private AggregationContext context;
+
+    @Setup
+    public void setUp() {
+        context = SyntheticGrids.createSourceContext(SyntheticGrids.createGlobalGridDef(sourceResolution),
+                                                     validFraction, 41L);
+    }
+
+    @Benchmark
+    public CellGrid<SpatialAggregationCell> aggregate() {
+        final CellGrid<SpatialAggregationCell> targetGrid = createCellGrid();
+        final GridDef sourceGridDef = context.getSourceGridDef();
+        for (int y = 0; y < targetGrid.getHeight(); y++) {
+            for (int x = 0; x < targetGrid.getWidth(); x++) {
+                final Rectangle sourceRectangle = sourceGridDef.getGridRectangle(x, y, TARGET_GRID_DEF);
+                final SpatialAggregationCell targetCell = targetGrid.createCell(x, y);
+                targetCell.accumulate(context, sourceRectangle);
+                if (!targetCell.isEmpty()) {
+                    targetGrid.setCell(targetCell);
+                }
+            }
+        }
+        return targetGrid;
+    }
+
+    private CellGrid<SpatialAggregationCell> createCellGrid() {
+        if ("array".equals(cellGrid)) {
+            return ArrayCellGrid.create(TARGET_GRID_DEF, context);
+        }
+        return CellGrid.create(TARGET_GRID_DEF, new SpatialAggregationCellFactory(context));
+    }
+}
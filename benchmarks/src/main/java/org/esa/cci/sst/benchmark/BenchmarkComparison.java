@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON result files of two benchmark runs. A benchmark has regressed if its score has
+ * become worse by more than a given fraction and by more than the sum of the score errors of both
+ * runs. The exit status is {@code 1} if any benchmark has regressed.
+ * <p/>
+ * Usage: {@code java -cp benchmarks.jar org.esa.cci.sst.benchmark.BenchmarkComparison baseline.json
+ * current.json [threshold]}
+ *
+ * @author agent
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD = 0.1;
+
+    private final double threshold;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+            return;
+        }
+        final double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        final BenchmarkComparison comparison = new BenchmarkComparison(threshold);
+        final int regressionCount = comparison.compare(readScores(new File(args[0])),
+                                                       readScores(new File(args[1])), System.out);
+        if (regressionCount > 0) {
+            System.exit(1);
+        }
+    }
+
+    BenchmarkComparison(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Reads the scores from a JMH result file in JSON format.
+     *
+     * @param file The result file.
+     *
+     * @return the scores by benchmark and parameters.
+     *
+     * @throws IOException if the file could not be read.
+     */
+    static Map<String, Score> readScores(File file) throws IOException {
+        final JsonNode results = new ObjectMapper().readTree(file);
+        if (!results.isArray()) {
+            throw new IOException("Not a JMH result file in JSON format: " + file);
+        }
+        final Map<String, Score> scores = new LinkedHashMap<>();
+        for (final JsonNode result : results) {
+            final JsonNode primaryMetric = result.path("primaryMetric");
+            final Score score = new Score(result.path("mode").asText(),
+                                          primaryMetric.path("score").asDouble(Double.NaN),
+                                          primaryMetric.path("scoreError").asDouble(Double.NaN),
+                                          primaryMetric.path("scoreUnit").asText());
+            scores.put(createKey(result), score);
+        }
+        return scores;
+    }
+
+    /**
+     * Compares the scores of two runs and prints a line for each benchmark of the current run.
+     *
+     * @param baseline The scores of the baseline run.
+     * @param current  The scores of the current run.
+     * @param out      The output.
+     *
+     * @return the number of benchmarks that have regressed.
+     */
+    int compare(Map<String, Score> baseline, Map<String, Score> current, PrintStream out) {
+        int regressionCount = 0;
+        for (final Map.Entry<String, Score> entry : current.entrySet()) {
+            final String key = entry.getKey();
+            final Score currentScore = entry.getValue();
+            final Score baselineScore = baseline.get(key);
+            if (baselineScore == null || !baselineScore.unit.equals(currentScore.unit)) {
+                out.println(String.format("NEW        %s: %.3f %s", key, currentScore.value, currentScore.unit));
+                continue;
+            }
+            final double change = (currentScore.value - baselineScore.value) / baselineScore.value;
+            final String status;
+            if (isRegression(baselineScore, currentScore)) {
+                status = "REGRESSION";
+                regressionCount++;
+            } else {
+                status = "OK";
+            }
+            out.println(String.format("%-10s %s: %.3f -> %.3f %s (%+.1f%%)", status, key, baselineScore.value,
+                                      currentScore.value, currentScore.unit, 100.0 * change));
+        }
+        return regressionCount;
+    }
+
+    boolean isRegression(Score baseline, Score current) {
+        // for throughput, a lower score is worse, for all time modes a higher score is worse
+        final double worsening = "thrpt".equals(current.mode) ?
+                                 baseline.value - current.value : current.value - baseline.value;
+        final double error = errorOrZero(baseline.error) + errorOrZero(current.error);
+        return worsening > threshold * Math.abs(baseline.value) && worsening > error;
+    }
+
+    private static double errorOrZero(double error) {
+        // the error is NaN if there has been a single measurement only
+        return Double.isNaN(error) ? 0.0 : error;
+    }
+
+    private static String createKey(JsonNode result) {
+        final StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+        key.append(" [").append(result.path("mode").asText()).append(']');
+        final JsonNode params = result.path("params");
+        if (params.isObject()) {
+            final Map<String, String> sortedParams = new TreeMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                sortedParams.put(field.getKey(), field.getValue().asText());
+            }
+            key.append(' ').append(sortedParams);
+        }
+        return key.toString();
+    }
+
+    static final class Score {
+
+        private final String mode;
+        private final double value;
+        private final double error;
+        private final String unit;
+
+        Score(String mode, double value, double error, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.cell.ArrayCellGrid;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.cell.SpatialAggregationCellFactory;
+import org.esa.cci.sst.grid.GridDef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the creation of a cell grid of spatial aggregation cells, where every cell is created and
+ * set, and the retrieval of its cells.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CellGridBenchmark {
+
+    @Param({"5.0", "0.5", "0.25"})
+    public String targetResolution;
+
+    @Param({"object", "array"})
+    public String cellGrid;
+
+    private GridDef targetGridDef;
+    private AggregationContext context;
+
+    @Setup
+    public void setUp() {
+        targetGridDef = SyntheticGrids.createGlobalGridDef(targetResolution);
+        // only the presence of the optional source grids matters here
+        context = SyntheticGrids.createSourceContext(GridDef.createGlobal(5.0), 1.0, 41L);
+    }
+
+    @Benchmark
+    public List<SpatialAggregationCell> createCells() {
+        final CellGrid<SpatialAggregationCell> grid;
+        if ("array".equals(cellGrid)) {
+            grid = ArrayCellGrid.create(targetGridDef, context);
+        } else {
+            grid = CellGrid.create(targetGridDef, new SpatialAggregationCellFactory(context));
+        }
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                grid.setCell(grid.createCell(x, y));
+            }
+        }
+        return grid.getCells();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.CheckpointStore;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.cell.ArrayCellGrid;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.grid.GridDef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks an annual run of twelve monthly time steps, which is resumed from warm checkpoints or
+ * aggregated from the (in-memory) source grids.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CheckpointBenchmark {
+
+    private static final int TIME_STEP_COUNT = 12;
+
+    @Param({"5.0", "0.5"})
+    public String targetResolution;
+
+    private GridDef targetGridDef;
+    private AggregationContext context;
+    private TemporaryDirectory checkpointDir;
+    private CheckpointStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        targetGridDef = SyntheticGrids.createGlobalGridDef(targetResolution);
+        context = SyntheticGrids.createSourceContext(GridDef.createGlobal(0.05), 0.7, 41L);
+        checkpointDir = TemporaryDirectory.create("checkpoints");
+        store = CheckpointStore.create(checkpointDir.getDir(), "benchmark");
+        final CellGrid<SpatialAggregationCell> grid = aggregate();
+        for (int i = 0; i < TIME_STEP_COUNT; i++) {
+            store.write(getKey(i), grid);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        checkpointDir.delete();
+    }
+
+    @Benchmark
+    public void resume(Blackhole blackhole) {
+        for (int i = 0; i < TIME_STEP_COUNT; i++) {
+            final CellGrid<SpatialAggregationCell> grid = ArrayCellGrid.create(targetGridDef, context);
+            if (!store.read(getKey(i), grid)) {
+                throw new IllegalStateException("Cannot read checkpoint.");
+            }
+            blackhole.consume(grid);
+        }
+    }
+
+    @Benchmark
+    public void aggregate(Blackhole blackhole) {
+        for (int i = 0; i < TIME_STEP_COUNT; i++) {
+            blackhole.consume(aggregate());
+        }
+    }
+
+    private CellGrid<SpatialAggregationCell> aggregate() {
+        final CellGrid<SpatialAggregationCell> grid = ArrayCellGrid.create(targetGridDef, context);
+        final GridDef sourceGridDef = context.getSourceGridDef();
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                final Rectangle sourceRectangle = sourceGridDef.getGridRectangle(x, y, targetGridDef);
+                final SpatialAggregationCell cell = grid.createCell(x, y);
+                cell.accumulate(context, sourceRectangle);
+                if (!cell.isEmpty()) {
+                    grid.setCell(cell);
+                }
+            }
+        }
+        return grid;
+    }
+
+    private static String getKey(int timeStep) {
+        return "month" + timeStep;
+    }
+}
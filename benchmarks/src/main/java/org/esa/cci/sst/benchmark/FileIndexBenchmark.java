@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.file.FileIndex;
+import org.esa.cci.sst.product.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the file index on a synthetic archive of empty input files, which are organised in daily
+ * directories over ten years. The setup of the largest archive takes several minutes.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileIndexBenchmark {
+
+    private static final String FILENAME_REGEX = "\\d{14}-ESACCI-.*\\.nc";
+    private static final int DAY_COUNT = 3650;
+
+    @Param({"10000", "1000000"})
+    public int fileCount;
+
+    private TemporaryDirectory tempDir;
+    private File root;
+    private File indexFile;
+    private FileIndex fileIndex;
+    private long monthStartTime;
+    private long monthEndTime;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = TemporaryDirectory.create("archive");
+        root = new File(tempDir.getDir(), "archive");
+        indexFile = new File(tempDir.getDir(), "archive.idx");
+
+        final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        // the month queried is in the middle of the archive
+        calendar.set(2005, Calendar.FEBRUARY, 1);
+        monthStartTime = calendar.getTimeInMillis();
+        calendar.set(2005, Calendar.MARCH, 1);
+        monthEndTime = calendar.getTimeInMillis();
+        calendar.set(2000, Calendar.JANUARY, 1);
+
+        final int filesPerDay = (fileCount + DAY_COUNT - 1) / DAY_COUNT;
+        final int secondsPerFile = 86400 / filesPerDay;
+        for (int day = 0, i = 0; day < DAY_COUNT && i < fileCount; day++) {
+            final File dir = new File(root, String.format("%1$tY/%1$tm/%1$td", calendar));
+            if (!dir.mkdirs()) {
+                throw new IOException("Cannot create directory: " + dir);
+            }
+            for (int k = 0; k < filesPerDay && i < fileCount; k++, i++) {
+                final long time = calendar.getTimeInMillis() + 1000L * secondsPerFile * k;
+                final String name = String.format("%1$tY%1$tm%1$td%1$tH%1$tM%1$tS-ESACCI-L3U.nc", time);
+                if (!new File(dir, name).createNewFile()) {
+                    throw new IOException("Cannot create file: " + name);
+                }
+            }
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        // directories must not look recently modified, otherwise they are always listed again
+        setLastModifiedRecursively(root, System.currentTimeMillis() - 3600000L);
+
+        fileIndex = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        fileIndex.refresh();
+        fileIndex.write(indexFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        tempDir.delete();
+    }
+
+    /**
+     * Lists all directories, like the first run without an index file.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int createAndRefresh() {
+        final FileIndex index = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        index.refresh();
+        return index.getFileCount();
+    }
+
+    /**
+     * Reads the index file and refreshes the index, like a later run on an unmodified archive.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int readAndRefresh() {
+        final FileIndex index = FileIndex.read(indexFile, ProductType.CCI_L3U, FILENAME_REGEX, root);
+        index.refresh();
+        return index.getFileCount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<File> getMonth() {
+        return fileIndex.get(monthStartTime, monthEndTime);
+    }
+
+    private static void setLastModifiedRecursively(File dir, long time) throws IOException {
+        final File[] children = dir.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                if (child.isDirectory()) {
+                    setLastModifiedRecursively(child, time);
+                }
+            }
+        }
+        setLastModified(dir, time);
+    }
+
+    private static void setLastModified(File file, long time) throws IOException {
+        if (!file.setLastModified(time)) {
+            throw new IOException("Cannot set modification time: " + file);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.grid.Downscaling;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.XSwap;
+import org.esa.cci.sst.grid.YFlip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading all samples of a global grid, pixel by pixel and row by row. The grid is an array
+ * grid or one of the decorators applied to array grids.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GridSamplingBenchmark {
+
+    @Param({"0.05", "0.1", "5.0"})
+    public String resolution;
+
+    @Param({"1.0", "0.5"})
+    public double validFraction;
+
+    /**
+     * The grid sampled. The source of the downscaling has twice the resolution of the grid sampled.
+     */
+    @Param({"array", "yFlip", "xSwap", "downscaling"})
+    public String grid;
+
+    private Grid sampledGrid;
+    private double[] samples;
+
+    @Setup
+    public void setUp() {
+        final GridDef gridDef = SyntheticGrids.createGlobalGridDef(resolution);
+        switch (grid) {
+            case "yFlip":
+                sampledGrid = YFlip.create(createGrid(gridDef));
+                break;
+            case "xSwap":
+                sampledGrid = XSwap.create(createGrid(gridDef));
+                break;
+            case "downscaling":
+                final GridDef sourceGridDef = GridDef.createGlobal(gridDef.getWidth() * 2, gridDef.getHeight() * 2);
+                sampledGrid = Downscaling.create(createGrid(sourceGridDef), 2);
+                break;
+            default:
+                sampledGrid = createGrid(gridDef);
+        }
+        samples = new double[gridDef.getWidth()];
+    }
+
+    @Benchmark
+    public double samplePixels() {
+        final int w = sampledGrid.getGridDef().getWidth();
+        final int h = sampledGrid.getGridDef().getHeight();
+        double sum = 0.0;
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                final double sample = sampledGrid.getSampleDouble(x, y);
+                if (!Double.isNaN(sample)) {
+                    sum += sample;
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sampleRows() {
+        final int w = sampledGrid.getGridDef().getWidth();
+        final int h = sampledGrid.getGridDef().getHeight();
+        double sum = 0.0;
+        for (int y = 0; y < h; y++) {
+            sampledGrid.getSamplesDouble(0, y, samples, 0, w);
+            for (int x = 0; x < w; x++) {
+                final double sample = samples[x];
+                if (!Double.isNaN(sample)) {
+                    sum += sample;
+                }
+            }
+        }
+        return sum;
+    }
+
+    private Grid createGrid(GridDef gridDef) {
+        return SyntheticGrids.createGrid(gridDef, 41L, 270.0, 30.0, validFraction);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.Interpolation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the interpolation of a 2° grid, like the coverage uncertainty LUT, to a finer grid. Each
+ * invocation creates the interpolated grid and reads all of its samples one or more times, so the
+ * materialization of the tiled and eager modes is included in the score.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InterpolationBenchmark {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(2.0);
+
+    @Param({"0.05", "0.1"})
+    public String targetResolution;
+
+    @Param({"LAZY", "TILED", "EAGER"})
+    public Interpolation.Mode mode;
+
+    @Param({"1", "3"})
+    public int passCount;
+
+    @Param({"1.0", "0.7"})
+    public double validFraction;
+
+    private Grid sourceGrid;
+    private GridDef targetGridDef;
+    private double[] samples;
+
+    @Setup
+    public void setUp() {
+        sourceGrid = SyntheticGrids.createGrid(SOURCE_GRID_DEF, 41L, 0.0, 1.0, validFraction);
+        targetGridDef = SyntheticGrids.createGlobalGridDef(targetResolution);
+        samples = new double[targetGridDef.getWidth()];
+    }
+
+    @Benchmark
+    public double interpolate() {
+        final Grid grid = Interpolation.create(sourceGrid, targetGridDef, mode);
+        final int w = targetGridDef.getWidth();
+        final int h = targetGridDef.getHeight();
+        double sum = 0.0;
+        for (int pass = 0; pass < passCount; pass++) {
+            for (int y = 0; y < h; y++) {
+                grid.getSamplesDouble(0, y, samples, 0, w);
+                for (int x = 0; x < w; x++) {
+                    final double sample = samples[x];
+                    if (!Double.isNaN(sample)) {
+                        sum += sample;
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+}
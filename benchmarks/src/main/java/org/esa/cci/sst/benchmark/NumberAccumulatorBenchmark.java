@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.accumulate.ArithmeticMeanAccumulator;
+import org.esa.cci.sst.accumulate.NumberAccumulator;
+import org.esa.cci.sst.accumulate.UncertaintyAccumulator;
+import org.esa.cci.sst.accumulate.WeightedUncertaintyAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the accumulation, merging and combination of samples by the number accumulators. Scores
+ * are given per sample.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberAccumulatorBenchmark {
+
+    private static final int SAMPLE_COUNT = 1 << 16;
+    private static final int PARTITION_COUNT = 64;
+
+    @Param({"mean", "uncertainty", "weightedUncertainty"})
+    public String accumulator;
+
+    @Param({"1.0", "0.5", "0.1"})
+    public double validFraction;
+
+    private double[] samples;
+    private double[] weights;
+    private NumberAccumulator[] partitions;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(41L);
+        samples = new double[SAMPLE_COUNT];
+        weights = new double[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples[i] = random.nextDouble() < validFraction ? 270.0 + 30.0 * random.nextDouble() : Double.NaN;
+            weights[i] = random.nextDouble();
+        }
+        partitions = new NumberAccumulator[PARTITION_COUNT];
+        for (int p = 0; p < PARTITION_COUNT; p++) {
+            partitions[p] = createAccumulator();
+            for (int i = p; i < SAMPLE_COUNT; i += PARTITION_COUNT) {
+                partitions[p].accumulate(samples[i], weights[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public double accumulate() {
+        final NumberAccumulator numberAccumulator = createAccumulator();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            numberAccumulator.accumulate(samples[i]);
+        }
+        return numberAccumulator.combine();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public double accumulateWeighted() {
+        final NumberAccumulator numberAccumulator = createAccumulator();
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            numberAccumulator.accumulate(samples[i], weights[i]);
+        }
+        return numberAccumulator.combine();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTITION_COUNT)
+    public double merge() {
+        final NumberAccumulator numberAccumulator = createAccumulator();
+        for (final NumberAccumulator partition : partitions) {
+            numberAccumulator.merge(partition);
+        }
+        return numberAccumulator.combine();
+    }
+
+    private NumberAccumulator createAccumulator() {
+        switch (accumulator) {
+            case "uncertainty":
+                return new UncertaintyAccumulator();
+            case "weightedUncertainty":
+                return new WeightedUncertaintyAccumulator();
+            default:
+                return new ArithmeticMeanAccumulator();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.CoverageUncertaintyProvider;
+import org.esa.cci.sst.common.SpatialResolution;
+import org.esa.cci.sst.common.SynopticUncertaintyProvider;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+
+import java.util.Random;
+
+/**
+ * Synthetic in-memory grids for benchmarks. Samples are stored as floats, like the samples read from
+ * input files, and are reproducible for a given seed.
+ *
+ * @author agent
+ */
+public final class SyntheticGrids {
+
+    private SyntheticGrids() {
+    }
+
+    /**
+     * Creates a global grid definition.
+     *
+     * @param resolution The resolution in degrees, e.g. "0.05".
+     *
+     * @return the grid definition.
+     */
+    public static GridDef createGlobalGridDef(String resolution) {
+        return GridDef.createGlobal(Double.parseDouble(resolution));
+    }
+
+    /**
+     * Creates a grid of uniformly distributed random samples.
+     *
+     * @param gridDef       The grid definition.
+     * @param seed          The seed of the random number generator.
+     * @param offset        The minimum sample value.
+     * @param range         The range of sample values.
+     * @param validFraction The expected fraction of samples that are not NaN.
+     *
+     * @return the grid.
+     */
+    public static Grid createGrid(GridDef gridDef, long seed, double offset, double range, double validFraction) {
+        final Random random = new Random(seed);
+        final float[] data = new float[gridDef.getWidth() * gridDef.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < validFraction) {
+                data[i] = (float) (offset + range * random.nextDouble());
+            } else {
+                data[i] = Float.NaN;
+            }
+        }
+        return ArrayGrid.create(gridDef, data);
+    }
+
+    /**
+     * Creates an aggregation context with all optional source grids of a spatial aggregation, which is
+     * suitable for aggregating to 5° cells.
+     *
+     * @param sourceGridDef The source grid definition.
+     * @param validFraction The expected fraction of valid SST samples.
+     * @param seed          The seed of the random number generator.
+     *
+     * @return the aggregation context.
+     */
+    public static AggregationContext createSourceContext(GridDef sourceGridDef, double validFraction, long seed) {
+        final AggregationContext context = new AggregationContext();
+        context.setMinCoverage(0.4);
+        context.setCoverageUncertaintyProvider(new CoverageUncertaintyProvider() {
+            @Override
+            public double calculate(AggregationCell cell, double spatialResolution) {
+                return spatialResolution / Math.sqrt(cell.getSampleCount());
+            }
+        });
+        context.setSynopticUncertaintyProvider(
+                new SynopticUncertaintyProvider(SpatialResolution.DEGREE_5_00, TemporalResolution.monthly));
+        context.setSstGrid(createGrid(sourceGridDef, seed, 270.0, 30.0, validFraction));
+        context.setClimatologySstGrid(createGrid(sourceGridDef, seed + 1, 280.0, 10.0, 1.0));
+        context.setRandomUncertaintyGrid(createGrid(sourceGridDef, seed + 2, 0.1, 0.5, 1.0));
+        context.setStandardDeviationGrid(createGrid(sourceGridDef, seed + 3, 0.1, 1.0, 1.0));
+        context.setLargeScaleUncertaintyGrid(createGrid(sourceGridDef, seed + 4, 0.1, 0.5, 1.0));
+        context.setSynopticUncertaintyGrid(createGrid(sourceGridDef, seed + 5, 0.1, 0.5, 1.0));
+        context.setSeaIceFractionGrid(createGrid(sourceGridDef, seed + 6, 0.0, 1.0, 1.0));
+        context.setSeaCoverageGrid(createGrid(sourceGridDef, seed + 7, 0.0, 1.0, 1.0));
+        return context;
+    }
+}
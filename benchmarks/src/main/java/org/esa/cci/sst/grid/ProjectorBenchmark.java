@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the projection of a synthetic swath of about 1 km pixels onto the 0.05° grid of the L2
+ * products, for an increasing number of worker threads.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProjectorBenchmark {
+
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(0.05);
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"512"})
+    public int swathWidth;
+
+    @Param({"12000"})
+    public int swathHeight;
+
+    private Projector projector;
+    private Grid lonGrid;
+    private Grid latGrid;
+    private Grid[] sourceGrids;
+
+    @Setup
+    public void setUp() {
+        projector = new Projector(TARGET_GRID_DEF, null, parallelism);
+
+        final GridDef sourceRaster = GridDef.createRaster(swathWidth, swathHeight);
+        final double[] lons = new double[swathWidth * swathHeight];
+        final double[] lats = new double[swathWidth * swathHeight];
+        final double[] sst = new double[swathWidth * swathHeight];
+        for (int y = 0, i = 0; y < swathHeight; y++) {
+            for (int x = 0; x < swathWidth; x++, i++) {
+                // a slightly inclined swath from 60°S to 60°N
+                lons[i] = 10.0 + 0.01 * (x - swathWidth / 2) + 0.002 * y;
+                lats[i] = -60.0 + 120.0 * y / swathHeight + 0.0005 * x;
+                sst[i] = 271.15 + 0.001 * i % 30.0;
+            }
+        }
+        lonGrid = ArrayGrid.create(sourceRaster, lons);
+        latGrid = ArrayGrid.create(sourceRaster, lats);
+        sourceGrids = new Grid[]{ArrayGrid.create(sourceRaster, sst)};
+    }
+
+    @Benchmark
+    public float[][] project() {
+        return projector.createProjectedData(lonGrid, latGrid, sourceGrids);
+    }
+}
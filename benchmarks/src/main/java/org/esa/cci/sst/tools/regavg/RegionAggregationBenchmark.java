@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.regavg;
+
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.AggregationFactory;
+import org.esa.cci.sst.aggregate.RegionalAggregation;
+import org.esa.cci.sst.aggregate.SameMonthAggregation;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.benchmark.SyntheticGrids;
+import org.esa.cci.sst.cell.CellAggregationCell;
+import org.esa.cci.sst.cell.CellFactory;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.file.FileType;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.RegionMask;
+import org.esa.cci.sst.grid.RegionMaskList;
+import org.esa.cci.sst.product.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the aggregation of a grid of 5° cells into the regions of a region mask list, which
+ * contains the globe, both hemispheres and random boxes.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionAggregationBenchmark {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(0.5);
+    private static final GridDef GRID_DEF_5 = GridDef.createGlobal(5.0);
+    private static final GridDef GRID_DEF_90 = GridDef.createGlobal(90.0);
+
+    @Param({"3", "50"})
+    public int regionCount;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private CellGrid<SpatialAggregationCell> cellGrid5;
+    private Grid seaCoverageGrid5;
+    private Grid seaCoverageGrid90;
+    private RegionMaskList regionMaskList;
+    private BitSet[] cellRegions;
+    private CellFactory<CellAggregationCell<AggregationCell>> cellFactory90;
+    private AggregationFactory<SameMonthAggregation<AggregationCell>> aggregationFactory;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(41L);
+        regionMaskList = new RegionMaskList();
+        regionMaskList.add(RegionMask.create("globe", -180, 90, 180, -90));
+        regionMaskList.add(RegionMask.create("north", -180, 90, 180, 0));
+        regionMaskList.add(RegionMask.create("south", -180, 0, 180, -90));
+        for (int i = regionMaskList.size(); i < regionCount; i++) {
+            final int west = -180 + 5 * random.nextInt(60);
+            final int north = 90 - 5 * random.nextInt(30);
+            regionMaskList.add(RegionMask.create("box" + i, west, north, west + 5 * (1 + random.nextInt(12)),
+                                                 north - 5 * (1 + random.nextInt(6))));
+        }
+        cellRegions = AveragingAggregator.createCellRegions(regionMaskList, RegionMask.combine(regionMaskList));
+
+        final AggregationContext context = SyntheticGrids.createSourceContext(SOURCE_GRID_DEF, 0.7, 41L);
+        final FileType fileType = ProductType.ARC_L3U.getFileType();
+        cellGrid5 = CellGrid.create(GRID_DEF_5, fileType.getCellFactory5(context));
+        for (int y = 0; y < GRID_DEF_5.getHeight(); y++) {
+            for (int x = 0; x < GRID_DEF_5.getWidth(); x++) {
+                final Rectangle sourceRectangle = SOURCE_GRID_DEF.getGridRectangle(x, y, GRID_DEF_5);
+                final SpatialAggregationCell cell = cellGrid5.createCell(x, y);
+                cell.accumulate(context, sourceRectangle);
+                if (!cell.isEmpty()) {
+                    cellGrid5.setCell(cell);
+                }
+            }
+        }
+        seaCoverageGrid5 = SyntheticGrids.createGrid(GRID_DEF_5, 42L, 0.0, 1.0, 1.0);
+        seaCoverageGrid90 = SyntheticGrids.createGrid(GRID_DEF_90, 43L, 0.0, 1.0, 1.0);
+        cellFactory90 = fileType.getCellFactory90(context);
+        aggregationFactory = fileType.getSameMonthAggregationFactory();
+    }
+
+    @Benchmark
+    public List<RegionalAggregation> aggregateRegions() {
+        return AveragingAggregator.aggregateRegions(cellGrid5, seaCoverageGrid5, seaCoverageGrid90, regionMaskList,
+                                                    cellRegions, cellFactory90, aggregationFactory, parallelism);
+    }
+}
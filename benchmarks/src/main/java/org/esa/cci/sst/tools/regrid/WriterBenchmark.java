@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.regrid;
+
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.benchmark.SyntheticGrids;
+import org.esa.cci.sst.benchmark.TemporaryDirectory;
+import org.esa.cci.sst.cell.CellFactory;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.common.SstDepth;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.product.ProductType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFileWriteable;
+import ucar.nc2.Variable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writing the result variables of a regridded time step, in row bands of bounded size or
+ * row by row. The cells share their results with other cells, so the cell grid of 0.05° fits into
+ * memory.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WriterBenchmark {
+
+    private static final int RESULTS_POOL_SIZE = 4096;
+
+    @Param({"0.5", "0.05"})
+    public String targetResolution;
+
+    /**
+     * The height of the row bands written, {@code 0} for the height used by the writer.
+     */
+    @Param({"0", "1"})
+    public int bandHeight;
+
+    private GridDef gridDef;
+    private CellGrid<AggregationCell> cellGrid;
+    private Writer writer;
+    private TemporaryDirectory tempDir;
+    private int fileCount;
+
+    @Setup
+    public void setUp() throws IOException {
+        gridDef = SyntheticGrids.createGlobalGridDef(targetResolution);
+        final Number[][] resultsPool = new Number[RESULTS_POOL_SIZE][];
+        for (int i = 0; i < resultsPool.length; i++) {
+            resultsPool[i] = createResults(i);
+        }
+        final Random random = new Random(41L);
+        cellGrid = CellGrid.create(gridDef, new CellFactory<AggregationCell>() {
+            @Override
+            public AggregationCell createCell(int cellX, int cellY) {
+                return new SyntheticCell(cellX, cellY, resultsPool[random.nextInt(RESULTS_POOL_SIZE)]);
+            }
+        });
+        for (int y = 0; y < gridDef.getHeight(); y++) {
+            for (int x = 0; x < gridDef.getWidth(); x++) {
+                // about one third of the cells are land
+                if (random.nextInt(3) != 0) {
+                    cellGrid.setCell(cellGrid.createCell(x, y));
+                }
+            }
+        }
+        tempDir = TemporaryDirectory.create("regrid");
+        writer = new Writer(ProductType.CCI_L3U, "regrid", "2.0", "1.0", false, 0.0, tempDir.getDir(), ".*",
+                            SstDepth.skin, TemporalResolution.monthly, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        tempDir.delete();
+    }
+
+    @Benchmark
+    public File write() throws IOException {
+        final File file = new File(tempDir.getDir(), "result" + fileCount++ + ".nc");
+        final NetcdfFileWriteable dataFile = NetcdfFileWriteable.createNew(file.getPath());
+        try {
+            final Dimension latDim = dataFile.addDimension("lat", gridDef.getHeight());
+            final Dimension lonDim = dataFile.addDimension("lon", gridDef.getWidth());
+            final Dimension timeDim = dataFile.addDimension("time", gridDef.getTime(), true, false, false);
+            final Variable[] variables = ProductType.CCI_L3U.getFileType().addResultVariables(
+                    dataFile, new Dimension[]{timeDim, latDim, lonDim}, SstDepth.skin);
+            dataFile.create();
+            final int h = bandHeight > 0 ? bandHeight : Writer.getBandHeight(gridDef.getWidth(),
+                                                                              gridDef.getHeight());
+            writer.writeResultData(dataFile, variables, cellGrid, h);
+        } finally {
+            dataFile.close();
+        }
+        if (!file.delete()) {
+            throw new IOException("Cannot delete file: " + file);
+        }
+        return file;
+    }
+
+    private static Number[] createResults(int i) {
+        final double u = 0.1 + 0.001 * (i % 500);
+        return new Number[]{
+                271.15 + 0.01 * (i % 3000),
+                0.001 * (i % 2000) - 1.0,
+                u,
+                0.5 * u,
+                0.2 * u,
+                0.3 * u,
+                0.1 * u,
+                0.01 * (i % 100)
+        };
+    }
+
+    private static final class SyntheticCell implements AggregationCell {
+
+        private final int x;
+        private final int y;
+        private final Number[] results;
+
+        private SyntheticCell(int x, int y, Number[] results) {
+            this.x = x;
+            this.y = y;
+            this.results = results;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public long getSampleCount() {
+            return 1;
+        }
+
+        @Override
+        public Number[] getResults() {
+            return results;
+        }
+
+        @Override
+        public double getSeaSurfaceTemperature() {
+            return results[SST].doubleValue();
+        }
+
+        @Override
+        public double getSeaSurfaceTemperatureAnomaly() {
+            return results[SST_ANOMALY].doubleValue();
+        }
+
+        @Override
+        public double getRandomUncertainty() {
+            return results[RANDOM_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getLargeScaleUncertainty() {
+            return results[LARGE_SCALE_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getCoverageUncertainty() {
+            return results[COVERAGE_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getAdjustmentUncertainty() {
+            return results[ADJUSTMENT_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getSynopticUncertainty() {
+            return results[SYNOPTIC_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getSeaIceFraction() {
+            return results[SEA_ICE_FRACTION].doubleValue();
+        }
+    }
+}
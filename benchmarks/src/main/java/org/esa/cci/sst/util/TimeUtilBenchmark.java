@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the time conversions used for every matchup and sampling point.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUtilBenchmark {
+
+    private static final int TIME_COUNT = 1000;
+
+    private Date[] dates;
+    private String[] ccsdsStrings;
+    private double[] julianDates;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42L);
+        dates = new Date[TIME_COUNT];
+        ccsdsStrings = new String[TIME_COUNT];
+        julianDates = new double[TIME_COUNT];
+        for (int i = 0; i < TIME_COUNT; i++) {
+            // between 1981 and 2015, with milliseconds
+            dates[i] = new Date(TimeUtil.MILLIS_1981 + (long) (random.nextDouble() * 1072915200000L));
+            ccsdsStrings[i] = TimeUtil.formatCcsdsUtcMillisFormat(dates[i]);
+            julianDates[i] = TimeUtil.toJulianDate(dates[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIME_COUNT)
+    public int formatCcsdsUtcFormat() {
+        int length = 0;
+        for (final Date date : dates) {
+            length += TimeUtil.formatCcsdsUtcFormat(date).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIME_COUNT)
+    public long parseCcsdsUtcFormat() throws ParseException {
+        long sum = 0;
+        for (final String ccsdsString : ccsdsStrings) {
+            sum += TimeUtil.parseCcsdsUtcFormat(ccsdsString).getTime();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIME_COUNT)
+    public double julianDateConversions() {
+        double sum = 0.0;
+        for (final double julianDate : julianDates) {
+            final Date date = TimeUtil.julianDateToDate(julianDate);
+            sum += TimeUtil.toJulianDate(date) + TimeUtil.julianDateToSecondsSinceEpoch(julianDate);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIME_COUNT)
+    public long calendarFields() {
+        long sum = 0;
+        for (final Date date : dates) {
+            sum += TimeUtil.getYear(date) + TimeUtil.getMonth(date) + TimeUtil.getDayOfYear(date);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.benchmark;
+
+import org.esa.beam.common.PixelLocatorAdapter;
+import org.esa.beam.framework.datamodel.GeoCoding;
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.util.PixelLocatorFactory;
+import org.esa.beam.util.SampleSource;
+import org.postgis.Point;
+
+/**
+ * A synthetic swath of a sun-synchronous polar orbit. The swath covers half an orbit, from the
+ * southernmost to the northernmost point of the ground track. Pixel coordinates outside of the
+ * swath are extrapolated along the orbit, so geo-locations next to the swath can be created, too.
+ *
+ * @author agent
+ */
+public final class SyntheticSwath {
+
+    private static final double INCLINATION = Math.toRadians(98.7);
+
+    private final int width;
+    private final int height;
+    private final double nodeLon;
+    private final double halfWidth;
+
+    /**
+     * Creates a new synthetic swath.
+     *
+     * @param width     The width of the swath (pixels).
+     * @param height    The height of the swath (pixels).
+     * @param nodeLon   The longitude (degrees) of the ascending node of the ground track.
+     * @param halfWidth The half width of the swath (degrees of great circle arc).
+     */
+    public SyntheticSwath(int width, int height, double nodeLon, double halfWidth) {
+        this.width = width;
+        this.height = height;
+        this.nodeLon = nodeLon;
+        this.halfWidth = halfWidth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getLon(double x, double y) {
+        final double[] q = getPosition(x, y);
+        return Math.toDegrees(Math.atan2(q[1], q[0]));
+    }
+
+    public double getLat(double x, double y) {
+        final double[] q = getPosition(x, y);
+        return Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, q[2]))));
+    }
+
+    public SampleSource createLonSource() {
+        return new SwathSampleSource(true);
+    }
+
+    public SampleSource createLatSource() {
+        return new SwathSampleSource(false);
+    }
+
+    /**
+     * Returns a new geo-coding of the swath, which is based on a subscene pixel locator.
+     *
+     * @return a new geo-coding.
+     */
+    public GeoCoding createGeoCoding() {
+        return new PixelLocatorAdapter(PixelLocatorFactory.forSubscene(createLonSource(), createLatSource()));
+    }
+
+    /**
+     * Returns a new product without bands, which is geo-coded by {@link #createGeoCoding()}.
+     *
+     * @param name The product name.
+     *
+     * @return a new product.
+     */
+    public Product createProduct(String name) {
+        final Product product = new Product(name, "swath", width, height);
+        product.setGeoCoding(createGeoCoding());
+        return product;
+    }
+
+    /**
+     * Returns the closed boundary of the swath, walked along the left edge, the bottom edge, the
+     * right edge and the top edge, like the boundaries computed by the boundary calculator.
+     *
+     * @param longSidePointCount  The number of points on each of the long sides.
+     * @param shortSidePointCount The number of points on each of the short sides.
+     *
+     * @return the boundary points, where the last point equals the first point.
+     */
+    public Point[] createBoundary(int longSidePointCount, int shortSidePointCount) {
+        final int n = 2 * (longSidePointCount + shortSidePointCount);
+        final Point[] points = new Point[n + 1];
+        final double maxX = width - 1;
+        final double maxY = height - 1;
+        int i = 0;
+        for (int k = 0; k < longSidePointCount; k++) {
+            points[i++] = createPoint(0.0, maxY * k / longSidePointCount);
+        }
+        for (int k = 0; k < shortSidePointCount; k++) {
+            points[i++] = createPoint(maxX * k / shortSidePointCount, maxY);
+        }
+        for (int k = 0; k < longSidePointCount; k++) {
+            points[i++] = createPoint(maxX, maxY - maxY * k / longSidePointCount);
+        }
+        for (int k = 0; k < shortSidePointCount; k++) {
+            points[i++] = createPoint(maxX - maxX * k / shortSidePointCount, 0.0);
+        }
+        points[n] = points[0];
+        return points;
+    }
+
+    private Point createPoint(double x, double y) {
+        return new Point(getLon(x, y), getLat(x, y));
+    }
+
+    // rotates the point at argument of latitude u and cross-track angle c into the earth-fixed frame
+    private double[] getPosition(double x, double y) {
+        final double u = Math.toRadians(-90.0 + 180.0 * y / (height - 1));
+        final double c = Math.toRadians(halfWidth * (2.0 * x / (width - 1) - 1.0));
+        final double cosI = Math.cos(INCLINATION);
+        final double sinI = Math.sin(INCLINATION);
+        final double px = Math.cos(u);
+        final double py = Math.sin(u) * cosI;
+        final double pz = Math.sin(u) * sinI;
+        final double nx = 0.0;
+        final double ny = -sinI;
+        final double nz = cosI;
+        final double qx = Math.cos(c) * px + Math.sin(c) * nx;
+        final double qy = Math.cos(c) * py + Math.sin(c) * ny;
+        final double qz = Math.cos(c) * pz + Math.sin(c) * nz;
+        final double lon0 = Math.toRadians(nodeLon);
+        return new double[]{
+                Math.cos(lon0) * qx - Math.sin(lon0) * qy,
+                Math.sin(lon0) * qx + Math.cos(lon0) * qy,
+                qz
+        };
+    }
+
+    private final class SwathSampleSource implements SampleSource {
+
+        private final boolean lon;
+
+        private SwathSampleSource(boolean lon) {
+            this.lon = lon;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public double getSample(int x, int y) {
+            return lon ? getLon(x, y) : getLat(x, y);
+        }
+
+        @Override
+        public boolean isFillValue(int x, int y) {
+            return false;
+        }
+    }
+}
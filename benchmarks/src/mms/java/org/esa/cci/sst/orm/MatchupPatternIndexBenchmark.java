@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the selection of the matchups of a month by sensor pattern from a matchup index
+ * of ten years with ten million matchups, which is the volume of an MMS multi-sensor archive.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MatchupPatternIndexBenchmark {
+
+    private static final int MATCHUP_COUNT = 10000000;
+    private static final int SENSOR_COUNT = 16;
+    private static final long START_TIME = 946684800000L; // 2000-01-01
+    private static final long STOP_TIME = START_TIME + 3653L * 86400000L;
+    private static final long MONTH = 31L * 86400000L;
+
+    /**
+     * The pattern queried, {@code 0} for all matchups, a single sensor, and three sensors.
+     */
+    @Param({"0", "1", "1041"})
+    public long pattern;
+
+    private MatchupPatternIndex index;
+    private long monthStartTime;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(5489);
+        final long[] times = new long[MATCHUP_COUNT];
+        final int[] ids = new int[MATCHUP_COUNT];
+        final long[] patterns = new long[MATCHUP_COUNT];
+        final long step = (STOP_TIME - START_TIME) / MATCHUP_COUNT;
+        for (int i = 0; i < MATCHUP_COUNT; i++) {
+            times[i] = START_TIME + i * step;
+            ids[i] = i + 1;
+            // each matchup includes the reference sensor and up to three other sensors
+            long p = 1L;
+            for (int k = random.nextInt(4); k > 0; k--) {
+                p |= 1L << random.nextInt(SENSOR_COUNT);
+            }
+            patterns[i] = p;
+        }
+        index = MatchupPatternIndex.create();
+        index.replace(START_TIME, STOP_TIME, times, ids, patterns, MATCHUP_COUNT);
+        monthStartTime = START_TIME + (STOP_TIME - START_TIME) / 2;
+    }
+
+    @Benchmark
+    public int[] selectMonth() {
+        return index.getMatchupIds(monthStartTime, monthStartTime + MONTH, pattern);
+    }
+
+    @Benchmark
+    public int[] selectAll() {
+        return index.getMatchupIds(START_TIME, STOP_TIME, pattern);
+    }
+}
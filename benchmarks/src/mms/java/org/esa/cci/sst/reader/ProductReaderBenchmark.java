@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.reader;
+
+import org.esa.beam.framework.datamodel.Band;
+import org.esa.beam.framework.datamodel.CrsGeoCoding;
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.framework.datamodel.ProductData;
+import org.esa.cci.sst.common.ExtractDefinition;
+import org.esa.cci.sst.common.ExtractDefinitionBuilder;
+import org.esa.cci.sst.data.DataFile;
+import org.esa.cci.sst.data.Observation;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.ma2.Array;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the extraction of subscenes from an in-memory product, one subscene after the other
+ * or all subscenes in a single batch. The subscenes are centred on random geo-locations.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductReaderBenchmark {
+
+    private static final int W = 2048;
+    private static final int H = 2048;
+    private static final double PIXEL_SIZE = 0.01;
+
+    @Param({"100", "1000"})
+    public int subsceneCount;
+
+    /**
+     * The edge length of the subscenes.
+     */
+    @Param({"7", "21"})
+    public int subsceneSize;
+
+    private AbstractProductReader reader;
+    private List<ExtractDefinition> extractDefinitions;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Product product = new Product("in-memory", "in-memory", W, H);
+        product.setGeoCoding(new CrsGeoCoding(DefaultGeographicCRS.WGS84, W, H, 10.0, 50.0, PIXEL_SIZE,
+                                              PIXEL_SIZE));
+        final Band band = product.addBand("value", ProductData.TYPE_INT32);
+        final int[] data = new int[W * H];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        band.setRasterData(ProductData.createInstance(data));
+
+        reader = new AbstractProductReader("in-memory") {
+            @Override
+            protected Product readProduct(DataFile dataFile) {
+                return product;
+            }
+
+            @Override
+            public Observation readObservation(int recordNo) {
+                return null;
+            }
+        };
+        reader.open(new DataFile(), null);
+
+        final Random random = new Random(42L);
+        extractDefinitions = new ArrayList<>(subsceneCount);
+        final int[] shape = {1, subsceneSize, subsceneSize};
+        for (int i = 0; i < subsceneCount; i++) {
+            final double lon = 10.0 + random.nextDouble() * W * PIXEL_SIZE;
+            final double lat = 50.0 - random.nextDouble() * H * PIXEL_SIZE;
+            extractDefinitions.add(new ExtractDefinitionBuilder().lon(lon).lat(lat).shape(shape).fillValue(-1).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        reader.close();
+    }
+
+    @Benchmark
+    public List<Array> readSingle() {
+        final List<Array> arrays = new ArrayList<>(extractDefinitions.size());
+        for (final ExtractDefinition extractDefinition : extractDefinitions) {
+            arrays.add(reader.read("value", extractDefinition));
+        }
+        return arrays;
+    }
+
+    @Benchmark
+    public List<Array> readBatch() {
+        return reader.read("value", extractDefinitions);
+    }
+}
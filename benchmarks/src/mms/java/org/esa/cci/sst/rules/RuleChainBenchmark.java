@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.rules;
+
+import org.esa.cci.sst.ColumnRegistry;
+import org.esa.cci.sst.data.ColumnBuilder;
+import org.esa.cci.sst.data.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the numerical conversion of subscene data by converters obtained from the column
+ * registry, for single rules and for compositions of rules created by the rule factory. Like the
+ * rules configured for the MMD, each rule is composed with a renaming rule.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleChainBenchmark {
+
+    @Param({
+            "ShortToFloat",
+            "IntToFloat",
+            "CelsiusToKelvin,ToSeaSurfaceTemperature",
+            "ShortToFloat,CelsiusToKelvin,ToSeaSurfaceTemperature"
+    })
+    public String specification;
+
+    /**
+     * The edge length of the subscene converted.
+     */
+    @Param({"7", "101"})
+    public int subsceneSize;
+
+    private Converter converter;
+    private Array sourceArray;
+
+    @Setup
+    public void setUp() throws RuleException {
+        final DataType sourceType;
+        if (specification.startsWith("ShortToFloat")) {
+            sourceType = DataType.SHORT;
+        } else if (specification.startsWith("IntToFloat")) {
+            sourceType = DataType.INT;
+        } else {
+            sourceType = DataType.FLOAT;
+        }
+        final Item sourceColumn = createSourceColumn(sourceType);
+        final ColumnRegistry registry = new ColumnRegistry();
+        registry.register(sourceColumn);
+        final Rule rule = RuleFactory.getInstance().getRule(specification, "target");
+        final Item targetColumn = registry.register(rule, sourceColumn);
+        converter = registry.getConverter(targetColumn);
+
+        sourceArray = createSourceArray(sourceType, new int[]{1, subsceneSize, subsceneSize});
+    }
+
+    @Benchmark
+    public Array convert() throws RuleException {
+        return converter.apply(sourceArray);
+    }
+
+    private static Item createSourceColumn(DataType sourceType) {
+        final ColumnBuilder builder = new ColumnBuilder().name("source").type(sourceType);
+        switch (sourceType) {
+            case SHORT:
+                // brightness temperature in degrees Celsius, scaled by 0.01
+                return builder.scaleFactor(0.01).addOffset(0.0).fillValue(Short.MIN_VALUE).build();
+            case INT:
+                return builder.scaleFactor(0.001).addOffset(0.0).fillValue(Integer.MIN_VALUE).build();
+            default:
+                return builder.fillValue(-999.0f).build();
+        }
+    }
+
+    private static Array createSourceArray(DataType sourceType, int[] shape) {
+        final Array array = Array.factory(sourceType, shape);
+        final Random random = new Random(42L);
+        for (int i = 0; i < array.getSize(); i++) {
+            // about one in twenty samples is a fill value
+            final boolean fill = random.nextInt(20) == 0;
+            final double celsius = -2.0 + 32.0 * random.nextDouble();
+            switch (sourceType) {
+                case SHORT:
+                    array.setShort(i, fill ? Short.MIN_VALUE : (short) (celsius / 0.01));
+                    break;
+                case INT:
+                    array.setInt(i, fill ? Integer.MIN_VALUE : (int) (celsius / 0.001));
+                    break;
+                default:
+                    array.setFloat(i, fill ? -999.0f : (float) celsius);
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the in-memory detection of duplicate reference observations for a month of
+ * observations, ordered by time. The score is given per observation.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateDetectorBenchmark {
+
+    private static final int OBSERVATION_COUNT = 1000000;
+    private static final long START_MICROS = 1262304000000000L;
+    private static final long STOP_MICROS = START_MICROS + 31L * 86400000000L;
+
+    @State(Scope.Benchmark)
+    public static class ObservationState {
+
+        @Param({"100", "10000"})
+        public int nameCount;
+
+        private int[] ids;
+        private long[] times;
+        private String[] names;
+        private double[] timeRadii;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(5489);
+            final String[] callSigns = new String[nameCount];
+            for (int i = 0; i < nameCount; i++) {
+                callSigns[i] = "callsign" + i;
+            }
+            ids = new int[OBSERVATION_COUNT];
+            times = new long[OBSERVATION_COUNT];
+            names = new String[OBSERVATION_COUNT];
+            timeRadii = new double[OBSERVATION_COUNT];
+            final long step = (STOP_MICROS - START_MICROS) / OBSERVATION_COUNT;
+            for (int i = 0; i < OBSERVATION_COUNT; i++) {
+                ids[i] = i + 1;
+                times[i] = START_MICROS + i * step;
+                names[i] = callSigns[random.nextInt(nameCount)];
+                timeRadii[i] = 60.0 * (1 + random.nextInt(10));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBSERVATION_COUNT)
+    public List<Integer> detectDuplicates(ObservationState state) {
+        final DuplicateDetector detector = new DuplicateDetector(START_MICROS, STOP_MICROS);
+        for (int i = 0; i < OBSERVATION_COUNT; i++) {
+            detector.add(state.ids[i], state.times[i], state.names[i], state.timeRadii[i], 1);
+        }
+        return detector.getDuplicateIds();
+    }
+}
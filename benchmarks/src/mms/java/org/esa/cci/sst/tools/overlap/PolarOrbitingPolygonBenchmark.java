@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.overlap;
+
+import org.esa.cci.sst.benchmark.SyntheticSwath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgis.LinearRing;
+import org.postgis.Polygon;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the point-in-polygon test for the boundaries of random half-orbit swaths and
+ * random points on the globe.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolarOrbitingPolygonBenchmark {
+
+    private static final int POLYGON_COUNT = 16;
+    private static final int POINT_COUNT = 4096;
+    private static final int OPERATION_COUNT = POLYGON_COUNT * POINT_COUNT;
+
+    /**
+     * The number of boundary points on each long side of a swath.
+     */
+    @Param({"25", "250"})
+    public int longSidePointCount;
+
+    private PolarOrbitingPolygon[] polygons;
+    private double[] lats;
+    private double[] lons;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42L);
+        polygons = new PolarOrbitingPolygon[POLYGON_COUNT];
+        for (int i = 0; i < POLYGON_COUNT; i++) {
+            final double nodeLon = -180.0 + 360.0 * random.nextDouble();
+            final SyntheticSwath swath = new SyntheticSwath(512, 12000, nodeLon, 10.0);
+            final LinearRing ring = new LinearRing(swath.createBoundary(longSidePointCount, 6));
+            polygons[i] = new PolarOrbitingPolygon(i, 0L, new Polygon(new LinearRing[]{ring}));
+        }
+        lats = new double[POINT_COUNT];
+        lons = new double[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            // uniformly distributed on the sphere
+            lats[i] = Math.toDegrees(Math.asin(2.0 * random.nextDouble() - 1.0));
+            lons[i] = -180.0 + 360.0 * random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATION_COUNT)
+    public int isPointInPolygon() {
+        int count = 0;
+        for (final PolarOrbitingPolygon polygon : polygons) {
+            for (int i = 0; i < POINT_COUNT; i++) {
+                if (polygon.isPointInPolygon(lats[i], lons[i])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
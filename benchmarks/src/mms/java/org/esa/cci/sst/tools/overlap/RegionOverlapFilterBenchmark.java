@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.overlap;
+
+import org.esa.cci.sst.util.SamplingPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the removal of overlapping subscenes from random sampling points, which are
+ * distributed over the swaths of several orbits.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionOverlapFilterBenchmark {
+
+    private static final int ORBIT_COUNT = 14;
+    private static final int SWATH_WIDTH = 409;
+    private static final int SWATH_HEIGHT = 12000;
+
+    @Param({"10000", "100000"})
+    public int pointCount;
+
+    /**
+     * The edge length of the subscenes.
+     */
+    @Param({"7", "21"})
+    public int subsceneSize;
+
+    private RegionOverlapFilter filter;
+    private List<SamplingPoint> points;
+
+    @Setup
+    public void setUp() {
+        filter = new RegionOverlapFilter(subsceneSize, subsceneSize);
+        final Random random = new Random(42L);
+        points = new ArrayList<>(pointCount);
+        for (int i = 0; i < pointCount; i++) {
+            final SamplingPoint point = new SamplingPoint(random.nextInt(SWATH_WIDTH), random.nextInt(SWATH_HEIGHT));
+            point.setReference(random.nextInt(ORBIT_COUNT));
+            points.add(point);
+        }
+    }
+
+    @Benchmark
+    public List<SamplingPoint> apply() {
+        return filter.apply(points);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.samplepoint;
+
+import org.esa.cci.sst.util.SamplingPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the creation and filtering of Sobol sampling points, sequentially and partitioned
+ * into blocks created in parallel. The score is the number of created points per second.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SobolSamplePointGenerationBenchmark {
+
+    private static final int SAMPLE_COUNT = 1000000;
+    private static final long START_TIME = 1104537600000L;
+    private static final long STOP_TIME = 1107216000000L;
+
+    @State(Scope.Benchmark)
+    public static class RemoverState {
+
+        private List<PointRemover> removers;
+
+        @Setup
+        public void setUp() {
+            removers = Arrays.<PointRemover>asList(new ClearSkyPointRemover(), new IceFreePointRemover());
+            // loads the clear-sky probabilities
+            removers.get(0).removeSamples(new SobolSamplePointGenerator().createSamples(1, 0, START_TIME, STOP_TIME));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GeneratorState {
+
+        @Param({"1", "2", "4", "8"})
+        public int parallelism;
+
+        private PartitionedSobolSamplePointGenerator generator;
+
+        @Setup
+        public void setUp() {
+            final int blockSize = PartitionedSobolSamplePointGenerator.DEFAULT_BLOCK_SIZE;
+            generator = new PartitionedSobolSamplePointGenerator(parallelism, blockSize);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public List<SamplingPoint> sequential(RemoverState state) {
+        final List<SamplingPoint> samples = new SobolSamplePointGenerator().createSamples(SAMPLE_COUNT, 0,
+                                                                                          START_TIME, STOP_TIME);
+        for (final PointRemover remover : state.removers) {
+            remover.removeSamples(samples);
+        }
+        return samples;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public List<SamplingPoint> partitioned(RemoverState removerState, GeneratorState generatorState) {
+        return generatorState.generator.createSamples(SAMPLE_COUNT, 0, START_TIME, STOP_TIME, removerState.removers);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.cci.sst.benchmark.SyntheticSwath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgis.PGgeometry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the calculation of the geo-boundary of a half-orbit swath by the legacy strategy,
+ * which walks the edges at a fixed step, and by the adaptive strategy.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundaryCalculatorBenchmark {
+
+    /**
+     * The maximum deviation (degrees), {@code 0.0} for the legacy strategy.
+     */
+    @Param({"0.0", "0.05", "0.01"})
+    public double maxDeviation;
+
+    @Param({"409"})
+    public int swathWidth;
+
+    @Param({"12000"})
+    public int swathHeight;
+
+    private BoundaryCalculator boundaryCalculator;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        boundaryCalculator = new BoundaryCalculator(maxDeviation);
+        product = new SyntheticSwath(swathWidth, swathHeight, -100.0, 27.0).createProduct("swath");
+    }
+
+    @TearDown
+    public void tearDown() {
+        product.dispose();
+    }
+
+    @Benchmark
+    public PGgeometry getGeoBoundary() throws Exception {
+        return boundaryCalculator.getGeoBoundary(product);
+    }
+}
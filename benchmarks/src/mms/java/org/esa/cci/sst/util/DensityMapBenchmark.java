@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks plotting the density of 10^7 sampling points, which are streamed into the density
+ * raster, and plotting 10^6 sampling points, which are held in memory, point by point. Scores
+ * are given per point.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DensityMapBenchmark {
+
+    private static final int STREAMED_POINT_COUNT = 10000000;
+    private static final int LISTED_POINT_COUNT = 1000000;
+    private static final long START_TIME = 1262304000000L;
+    private static final long STOP_TIME = 1293840000000L;
+
+    @State(Scope.Benchmark)
+    public static class PlotState {
+
+        @Param({"lonlat", "timlat"})
+        public String mapStrategyName;
+
+        private List<SamplingPoint> samples;
+
+        @Setup
+        public void setUp() {
+            final SobolSequenceGenerator generator = new SobolSequenceGenerator(3);
+            samples = new ArrayList<>(LISTED_POINT_COUNT);
+            for (int i = 0; i < LISTED_POINT_COUNT; i++) {
+                final double[] sample = generator.nextVector();
+                samples.add(new SamplingPoint(sample[0] * 360.0 - 180.0, 90.0 - sample[1] * 180.0,
+                                              START_TIME + (long) (sample[2] * (STOP_TIME - START_TIME)), 0.0));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAMED_POINT_COUNT)
+    public BufferedImage densityMapPlotter(PlotState state) throws IOException {
+        final DensityMapPlotter plotter = new DensityMapPlotter()
+                .mapStrategyName(state.mapStrategyName)
+                .timeRange(START_TIME, STOP_TIME);
+        // a linear congruential generator, so the points need not be held in memory
+        long seed = 0x5deece66dL;
+        for (int i = 0; i < STREAMED_POINT_COUNT; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            final double lon = (seed >>> 40) * (360.0 / (1 << 24)) - 180.0;
+            final double lat = 90.0 - ((seed >>> 16) & 0xffffff) * (180.0 / (1 << 24));
+            final long time = START_TIME + ((seed >>> 1) & 0x7fffffffffL) % (STOP_TIME - START_TIME);
+            plotter.add(lon, lat, time);
+        }
+        return plotter.plot();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LISTED_POINT_COUNT)
+    public BufferedImage samplingPointPlotter(PlotState state) throws IOException {
+        return new SamplingPointPlotter()
+                .samples(state.samples)
+                .mapStrategyName(state.mapStrategyName)
+                .plot();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks counting the dirty pixels of the subscenes of a file, by counting the pixels of
+ * each subscene mask or by looking up a summed-area table, which is created for the file.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirtyPixelCountBenchmark {
+
+    private static final int MASK_WIDTH = 409;
+    private static final int MASK_HEIGHT = 12000;
+
+    @Param({"100", "10000"})
+    public int subsceneCount;
+
+    /**
+     * The edge length of the subscenes.
+     */
+    @Param({"7", "21"})
+    public int subsceneSize;
+
+    private Array maskData;
+    private int[] subsceneXs;
+    private int[] subsceneYs;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42L);
+        maskData = Array.factory(DataType.BYTE, new int[]{MASK_HEIGHT, MASK_WIDTH});
+        for (int i = 0; i < maskData.getSize(); i++) {
+            // about one third of the pixels is cloudy
+            maskData.setByte(i, (byte) (random.nextInt(3) == 0 ? 1 : 0));
+        }
+        subsceneXs = new int[subsceneCount];
+        subsceneYs = new int[subsceneCount];
+        for (int i = 0; i < subsceneCount; i++) {
+            subsceneXs[i] = random.nextInt(MASK_WIDTH - subsceneSize);
+            subsceneYs[i] = random.nextInt(MASK_HEIGHT - subsceneSize);
+        }
+    }
+
+    @Benchmark
+    public int countSubscenes() throws InvalidRangeException {
+        final PixelCounter pixelCounter = new PixelCounter();
+        final int[] shape = {subsceneSize, subsceneSize};
+        int dirtyPixelCount = 0;
+        for (int i = 0; i < subsceneCount; i++) {
+            // a copy, like the subscene mask read from a file
+            final Array subsceneMask = maskData.section(new int[]{subsceneYs[i], subsceneXs[i]}, shape).copy();
+            dirtyPixelCount += pixelCounter.count(subsceneMask);
+        }
+        return dirtyPixelCount;
+    }
+
+    @Benchmark
+    public int createAndLookUpTable() {
+        final SummedAreaTable table = SummedAreaTable.create(maskData);
+        int dirtyPixelCount = 0;
+        for (int i = 0; i < subsceneCount; i++) {
+            dirtyPixelCount += table.count(subsceneXs[i], subsceneYs[i], subsceneSize, subsceneSize);
+        }
+        return dirtyPixelCount;
+    }
+}
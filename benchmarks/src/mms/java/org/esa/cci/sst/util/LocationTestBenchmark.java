@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.beam.framework.datamodel.GeoCoding;
+import org.esa.cci.sst.benchmark.SyntheticSwath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the location test for several geo-locations in a subscene, one location test after
+ * the other or in a single batch. About one in ten locations is outside of the subscene.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationTestBenchmark {
+
+    /**
+     * The edge length of the subscene.
+     */
+    @Param({"21", "101"})
+    public int subsceneSize;
+
+    @Param({"100"})
+    public int locationCount;
+
+    private GeoCoding geoCoding;
+    private double[] lons;
+    private double[] lats;
+    private double[] pixelXs;
+    private double[] pixelYs;
+
+    @Setup
+    public void setUp() {
+        final SyntheticSwath swath = new SyntheticSwath(subsceneSize, subsceneSize, -20.0, 0.5);
+        geoCoding = swath.createGeoCoding();
+        final Random random = new Random(42L);
+        lons = new double[locationCount];
+        lats = new double[locationCount];
+        for (int i = 0; i < locationCount; i++) {
+            final double x = subsceneSize * (1.1 * random.nextDouble() - 0.05);
+            final double y = subsceneSize * (1.1 * random.nextDouble() - 0.05);
+            lons[i] = swath.getLon(x, y);
+            lats[i] = swath.getLat(x, y);
+        }
+        pixelXs = new double[locationCount];
+        pixelYs = new double[locationCount];
+    }
+
+    @Benchmark
+    public int invokeSingle() {
+        int validCount = 0;
+        for (int i = 0; i < locationCount; i++) {
+            final LocationTest locationTest = new LocationTest(lons[i], lats[i], subsceneSize, subsceneSize,
+                                                               geoCoding).invoke();
+            if (locationTest.isOK()) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    @Benchmark
+    public int invokeBatch() {
+        return LocationTest.invoke(lons, lats, subsceneSize, subsceneSize, geoCoding, pixelXs, pixelYs);
+    }
+}
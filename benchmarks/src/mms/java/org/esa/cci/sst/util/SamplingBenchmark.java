@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.cci.sst.common.InsituDatasetId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generation of sampling points from the Sobol sequence, and writing and reading
+ * lists of sampling points in the JSON format of the sampling point files.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamplingBenchmark {
+
+    private static final int VECTOR_COUNT = 10000;
+
+    @State(Scope.Thread)
+    public static class SobolState {
+
+        private SobolSequenceGenerator generator;
+
+        @Setup
+        public void setUp() {
+            generator = new SobolSequenceGenerator(4);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SamplingPointState {
+
+        @Param({"10000", "100000"})
+        public int pointCount;
+
+        private List<SamplingPoint> points;
+        private byte[] bytes;
+
+        @Setup
+        public void setUp() throws IOException {
+            final SobolSequenceGenerator generator = new SobolSequenceGenerator(4);
+            points = new ArrayList<>(pointCount);
+            for (int i = 0; i < pointCount; i++) {
+                final int index = generator.getNextIndex();
+                final double[] sample = generator.nextVector();
+                final SamplingPoint point = new SamplingPoint(sample[0] * 360.0 - 180.0, 90.0 - sample[1] * 180.0,
+                                                              1104537600000L + (long) (sample[2] * 2678400000L),
+                                                              sample[3]);
+                point.setIndex(index);
+                point.setInsituDatasetId(InsituDatasetId.dummy_bc);
+                point.setDatasetName(String.valueOf(index));
+                point.setReference(index % 14);
+                point.setX((int) (sample[0] * 409));
+                point.setY((int) (sample[1] * 12000));
+                points.add(point);
+            }
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            SamplingPointIO.write(points, outputStream);
+            bytes = outputStream.toByteArray();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(VECTOR_COUNT)
+    public double nextVector(SobolState state) {
+        double sum = 0.0;
+        for (int i = 0; i < VECTOR_COUNT; i++) {
+            sum += state.generator.nextVector()[0];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] write(SamplingPointState state) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(state.bytes.length);
+        SamplingPointIO.write(state.points, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<SamplingPoint> read(SamplingPointState state) throws IOException {
+        return SamplingPointIO.read(new ByteArrayInputStream(state.bytes));
+    }
+}
@@ -16,6 +16,10 @@
 
 package org.esa.cci.sst.accumulate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * An {@link NumberAccumulator} used for weighted, arithmetic mean averaging.
  * (See Eq. 1.2 in Nicks RegionalAverageTool spec, draft5)
@@ -40,6 +44,28 @@ public final class ArithmeticMeanAccumulator extends NumberAccumulator {
         sampleCount++;
     }
 
+    @Override
+    public void merge(NumberAccumulator accumulator) {
+        final ArithmeticMeanAccumulator other = (ArithmeticMeanAccumulator) accumulator;
+        sumX += other.sumX;
+        sumW += other.sumW;
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(sumX);
+        out.writeDouble(sumW);
+        out.writeInt(sampleCount);
+    }
+
+    @Override
+    public void read(DataInput in) throws IOException {
+        sumX = in.readDouble();
+        sumW = in.readDouble();
+        sampleCount = in.readInt();
+    }
+
     @Override
     public double combine() {
         if (sampleCount == 0) {
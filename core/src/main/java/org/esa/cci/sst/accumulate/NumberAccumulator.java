@@ -16,6 +16,10 @@
 
 package org.esa.cci.sst.accumulate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * An accumulator whose samples are single, weighted numbers.
  *
@@ -41,5 +45,30 @@ public abstract class NumberAccumulator implements Accumulator {
 
     public abstract double combine();
 
+    /**
+     * Merges the samples accumulated by another accumulator of the same type into this accumulator.
+     *
+     * @param accumulator The other accumulator.
+     */
+    public abstract void merge(NumberAccumulator accumulator);
+
+    /**
+     * Writes the state of this accumulator.
+     *
+     * @param out The output.
+     *
+     * @throws IOException if the state could not be written.
+     */
+    public abstract void write(DataOutput out) throws IOException;
+
+    /**
+     * Replaces the state of this accumulator with a state written by an accumulator of the same type.
+     *
+     * @param in The input.
+     *
+     * @throws IOException if the state could not be read.
+     */
+    public abstract void read(DataInput in) throws IOException;
+
     protected abstract void accumulateSample(double sample, double weight);
 }
@@ -16,6 +16,10 @@
 
 package org.esa.cci.sst.accumulate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * For (non-weighted) accumulating of synoptic and adjustment uncertainties.
  *
@@ -41,6 +45,25 @@ public final class UncertaintyAccumulator extends NumberAccumulator {
         sampleCount++;
     }
 
+    @Override
+    public void merge(NumberAccumulator accumulator) {
+        final UncertaintyAccumulator other = (UncertaintyAccumulator) accumulator;
+        sumXX += other.sumXX;
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(sumXX);
+        out.writeInt(sampleCount);
+    }
+
+    @Override
+    public void read(DataInput in) throws IOException {
+        sumXX = in.readDouble();
+        sampleCount = in.readInt();
+    }
+
     @Override
     public double combine() {
         if (sampleCount == 0) {
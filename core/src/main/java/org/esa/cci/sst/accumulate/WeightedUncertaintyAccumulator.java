@@ -16,6 +16,10 @@
 
 package org.esa.cci.sst.accumulate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * For weighted accumulating of random (i.e. uncorrelated) uncertainties.
  *
@@ -41,6 +45,28 @@ public final class WeightedUncertaintyAccumulator extends NumberAccumulator {
         sampleCount++;
     }
 
+    @Override
+    public void merge(NumberAccumulator accumulator) {
+        final WeightedUncertaintyAccumulator other = (WeightedUncertaintyAccumulator) accumulator;
+        sumXX += other.sumXX;
+        sumW += other.sumW;
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(sumXX);
+        out.writeDouble(sumW);
+        out.writeInt(sampleCount);
+    }
+
+    @Override
+    public void read(DataInput in) throws IOException {
+        sumXX = in.readDouble();
+        sumW = in.readDouble();
+        sampleCount = in.readInt();
+    }
+
     @Override
     public double combine() {
         if (sampleCount == 0) {
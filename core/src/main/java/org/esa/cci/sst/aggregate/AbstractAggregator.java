@@ -24,15 +24,25 @@ import org.esa.cci.sst.common.TimeStep;
 import org.esa.cci.sst.file.FileStore;
 import org.esa.cci.sst.file.FileType;
 import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.Projector;
 import org.esa.cci.sst.grid.RegionMask;
 import org.esa.cci.sst.log.SstLogging;
+import org.esa.cci.sst.util.PipelineEvents;
 import org.esa.cci.sst.util.StopWatch;
+import org.esa.cci.sst.util.TimingRegistry;
 import ucar.nc2.NetcdfFile;
 
 import java.awt.*;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -48,6 +58,10 @@ public abstract class AbstractAggregator {
     private final SstDepth sstDepth;
     private final FileType fileType;
 
+    private int parallelism;
+    private int projectionParallelism;
+    private CheckpointStore checkpointStore;
+
     protected final Logger logger;
 
     protected AbstractAggregator(FileStore fileStore, Climatology climatology, SstDepth sstDepth) {
@@ -55,10 +69,97 @@ public abstract class AbstractAggregator {
         this.climatology = climatology;
         this.sstDepth = sstDepth;
         this.fileType = fileStore.getProductType().getFileType();
+        this.parallelism = 1;
 
         logger = SstLogging.getLogger();
     }
 
+    /**
+     * Returns the maximum number of input files aggregated in parallel.
+     *
+     * @return the maximum number of input files aggregated in parallel.
+     */
+    public final int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of input files aggregated in parallel.
+     *
+     * @param parallelism The maximum number of input files aggregated in parallel.
+     */
+    public final void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism < 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads used for projecting a swath input file. Unless set explicitly, the
+     * processors allocated to the job are shared among the input files aggregated in parallel.
+     *
+     * @return the number of threads used for projecting a swath input file.
+     */
+    public final int getProjectionParallelism() {
+        if (projectionParallelism > 0) {
+            return projectionParallelism;
+        }
+        return Math.max(1, Projector.getDefaultParallelism() / parallelism);
+    }
+
+    /**
+     * Sets the number of threads used for projecting a swath input file.
+     *
+     * @param projectionParallelism The number of threads, or {@code 0} if the processors allocated to the
+     *                              job shall be shared among the input files aggregated in parallel.
+     */
+    public final void setProjectionParallelism(int projectionParallelism) {
+        if (projectionParallelism < 0) {
+            throw new IllegalArgumentException("projectionParallelism < 0");
+        }
+        this.projectionParallelism = projectionParallelism;
+    }
+
+    /**
+     * Returns the store used for resuming from time steps aggregated before.
+     *
+     * @return the checkpoint store, or {@code null} if checkpoints are not used.
+     */
+    public final CheckpointStore getCheckpointStore() {
+        return checkpointStore;
+    }
+
+    /**
+     * Sets the store used for resuming from time steps aggregated before.
+     *
+     * @param checkpointStore The checkpoint store, or {@code null} if checkpoints shall not be used.
+     */
+    public final void setCheckpointStore(CheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Writes the checkpoint of a time step. No checkpoint is written when an input file of the time step
+     * could not be aggregated, because later runs would otherwise resume from the incomplete cell grid.
+     *
+     * @param checkpointKey   The key of the checkpoint.
+     * @param cellGrid        The cell grid of the time step.
+     * @param failedFileCount The number of input files of the time step, which could not be aggregated.
+     */
+    protected final void writeCheckpoint(String checkpointKey, CellGrid<? extends SpatialAggregationCell> cellGrid,
+                                         int failedFileCount) {
+        if (checkpointStore == null) {
+            return;
+        }
+        if (failedFileCount > 0) {
+            logger.warning(String.format("Not writing checkpoint, because %d input file(s) could not be aggregated.",
+                                         failedFileCount));
+            return;
+        }
+        checkpointStore.write(checkpointKey, cellGrid);
+    }
+
     abstract public List<? extends TimeStep> aggregate(
             Date startDate, Date endDate, TemporalResolution temporalResolution) throws IOException;
 
@@ -67,7 +168,13 @@ public abstract class AbstractAggregator {
         stopWatch.start();
 
         logger.fine("Reading source grid(s)...");
-        fileType.readSourceGrids(dataFile, sstDepth, context);
+        context.setProjectionParallelism(getProjectionParallelism());
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("readSourceGrids");
+        try {
+            fileType.readSourceGrids(dataFile, sstDepth, context);
+        } finally {
+            phase.stop();
+        }
 
         stopWatch.stop();
         logger.fine(String.format("Reading source grid(s) took %d ms", stopWatch.getElapsedMillis()));
@@ -100,6 +207,132 @@ public abstract class AbstractAggregator {
         }
     }
 
+    /**
+     * Aggregates input files into a grid of spatial aggregation cells. The list of files is split into at most
+     * {@link #getParallelism()} contiguous partitions of nearly equal size. Each partition is aggregated in order
+     * by a worker thread into a cell grid and an aggregation context of its own. The cell grids of the workers
+     * are merged in the order of the partitions, so the result does not depend on the timing of the workers.
+     *
+     * @param files           The input files.
+     * @param fileAggregation The aggregation of a single file.
+     *
+     * @return the cell grid, or {@code null} if no file has been aggregated.
+     *
+     * @throws IOException if an input file could not be aggregated.
+     */
+    protected final CellGrid<SpatialAggregationCell> aggregateFiles(List<File> files,
+                                                                    final FileAggregation fileAggregation)
+            throws IOException {
+        final int workerCount = Math.min(parallelism, files.size());
+        if (workerCount <= 1) {
+            return aggregatePartition(files, fileAggregation);
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(workerCount);
+        try {
+            final List<Future<CellGrid<SpatialAggregationCell>>> futures = new ArrayList<>(workerCount);
+            for (final List<File> partition : partition(files, workerCount)) {
+                futures.add(executorService.submit(new Callable<CellGrid<SpatialAggregationCell>>() {
+                    @Override
+                    public CellGrid<SpatialAggregationCell> call() throws IOException {
+                        return aggregatePartition(partition, fileAggregation);
+                    }
+                }));
+            }
+            CellGrid<SpatialAggregationCell> targetGrid = null;
+            for (final Future<CellGrid<SpatialAggregationCell>> future : futures) {
+                final CellGrid<SpatialAggregationCell> workerGrid = getCellGrid(future);
+                final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("mergeCellGrids");
+                try {
+                    targetGrid = mergeCellGrids(targetGrid, workerGrid);
+                } finally {
+                    phase.stop();
+                }
+            }
+            return targetGrid;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    // package access for testing only
+    static <C extends SpatialAggregationCell> CellGrid<C> mergeCellGrids(CellGrid<C> targetGrid,
+                                                                         CellGrid<C> sourceGrid) {
+        if (targetGrid == null) {
+            return sourceGrid;
+        }
+        if (sourceGrid == null) {
+            return targetGrid;
+        }
+        final int w = targetGrid.getWidth();
+        final int h = targetGrid.getHeight();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                final C sourceCell = sourceGrid.getCell(x, y);
+                if (sourceCell != null) {
+                    final C targetCell = targetGrid.getCell(x, y);
+                    if (targetCell != null) {
+                        targetCell.merge(sourceCell);
+                    } else {
+                        targetGrid.setCell(sourceCell);
+                    }
+                }
+            }
+        }
+        return targetGrid;
+    }
+
+    // package access for testing only
+    static <T> List<List<T>> partition(List<T> list, int partitionCount) {
+        final List<List<T>> partitions = new ArrayList<>(partitionCount);
+        final int size = list.size();
+        for (int i = 0; i < partitionCount; i++) {
+            final int from = (int) ((long) i * size / partitionCount);
+            final int to = (int) ((long) (i + 1) * size / partitionCount);
+            partitions.add(list.subList(from, to));
+        }
+        return partitions;
+    }
+
+    private static CellGrid<SpatialAggregationCell> aggregatePartition(List<File> files,
+                                                                       FileAggregation fileAggregation)
+            throws IOException {
+        final AggregationContext context = fileAggregation.createContext();
+        CellGrid<SpatialAggregationCell> cellGrid = null;
+        for (final File file : files) {
+            final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("aggregateFile");
+            try {
+                cellGrid = fileAggregation.aggregate(file, context, cellGrid);
+            } finally {
+                final long nanos = phase.stop();
+                PipelineEvents.cellGridAggregated(file.getPath(), nanos);
+            }
+        }
+        return cellGrid;
+    }
+
+    private static CellGrid<SpatialAggregationCell> getCellGrid(Future<CellGrid<SpatialAggregationCell>> future)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Aggregation has been interrupted.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
     protected final FileStore getFileStore() {
         return fileStore;
     }
@@ -111,4 +344,32 @@ public abstract class AbstractAggregator {
     protected final FileType getFileType() {
         return fileType;
     }
+
+    /**
+     * The aggregation of a single input file into a grid of spatial aggregation cells.
+     */
+    protected interface FileAggregation {
+
+        /**
+         * Creates the aggregation context used by a single worker thread.
+         *
+         * @return the aggregation context.
+         */
+        AggregationContext createContext();
+
+        /**
+         * Aggregates an input file into a cell grid.
+         *
+         * @param file     The input file.
+         * @param context  The aggregation context of the calling worker thread.
+         * @param cellGrid The cell grid of the calling worker thread, or {@code null} if no file has
+         *                 been aggregated by the calling worker thread so far.
+         *
+         * @return the cell grid the file has been aggregated into.
+         *
+         * @throws IOException if the input file could not be aggregated.
+         */
+        CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext context,
+                                                   CellGrid<SpatialAggregationCell> cellGrid) throws IOException;
+    }
 }
@@ -46,10 +46,38 @@ public final class AggregationContext {
     private SynopticUncertaintyProvider synopticUncertaintyProvider;
 
     private double minCoverage;
+    private int projectionParallelism;
 
     private RegionMask targetRegionMask;
     private Grid seaIceFractionGrid;
 
+    /**
+     * Returns a shallow copy of this aggregation context. The grids, providers and settings
+     * are shared with the copy, but setting them in the copy does not affect this context.
+     *
+     * @return a shallow copy of this aggregation context.
+     */
+    public AggregationContext copy() {
+        final AggregationContext copy = new AggregationContext();
+        copy.sstGrid = sstGrid;
+        copy.climatologySstGrid = climatologySstGrid;
+        copy.randomUncertaintyGrid = randomUncertaintyGrid;
+        copy.standardDeviationGrid = standardDeviationGrid;
+        copy.largeScaleUncertaintyGrid = largeScaleUncertaintyGrid;
+        copy.adjustmentUncertaintyGrid = adjustmentUncertaintyGrid;
+        copy.synopticUncertaintyGrid = synopticUncertaintyGrid;
+        copy.qualityGrid = qualityGrid;
+        copy.seaCoverageGrid = seaCoverageGrid;
+        copy.targetGridDef = targetGridDef;
+        copy.coverageUncertaintyProvider = coverageUncertaintyProvider;
+        copy.synopticUncertaintyProvider = synopticUncertaintyProvider;
+        copy.minCoverage = minCoverage;
+        copy.projectionParallelism = projectionParallelism;
+        copy.targetRegionMask = targetRegionMask;
+        copy.seaIceFractionGrid = seaIceFractionGrid;
+        return copy;
+    }
+
     public GridDef getSourceGridDef() {
         if (sstGrid != null) {
             return sstGrid.getGridDef();
@@ -113,6 +141,19 @@ public final class AggregationContext {
         this.minCoverage = minCoverage;
     }
 
+    /**
+     * Returns the number of threads used for projecting a swath onto the source grid.
+     *
+     * @return the number of threads, or {@code 0} if the default number of threads is used.
+     */
+    public int getProjectionParallelism() {
+        return projectionParallelism;
+    }
+
+    public void setProjectionParallelism(int projectionParallelism) {
+        this.projectionParallelism = projectionParallelism;
+    }
+
     public void setTargetRegionMaskList(RegionMaskList targetRegionMaskList) {
         this.targetRegionMask = RegionMask.combine(targetRegionMaskList);
     }
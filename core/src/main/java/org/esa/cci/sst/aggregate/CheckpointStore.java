@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.aggregate;
+
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.log.SstLogging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A store for the cell grids of aggregated time steps, which allows an interrupted or repeated run to
+ * resume from the time steps already aggregated. A checkpoint is identified by a key, which is derived
+ * from the processing parameters, the time step and the path, length and modification time of each input
+ * file and each auxiliary file, like lookup tables and climatology files. A checkpoint becomes invalid
+ * when any of these changes.
+ *
+ * @author agent
+ */
+public final class CheckpointStore {
+
+    private static final int VERSION = 1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Logger logger = SstLogging.getLogger();
+
+    private final File dir;
+    private final String parameters;
+    private final List<File> auxiliaryFiles;
+
+    /**
+     * Creates a new checkpoint store.
+     *
+     * @param dir        The directory checkpoints are written to.
+     * @param parameters The processing parameters that affect the aggregated cell grids.
+     *
+     * @return the checkpoint store.
+     */
+    public static CheckpointStore create(File dir, String parameters) {
+        return create(dir, parameters, Collections.<File>emptyList());
+    }
+
+    /**
+     * Creates a new checkpoint store.
+     *
+     * @param dir            The directory checkpoints are written to.
+     * @param parameters     The processing parameters that affect the aggregated cell grids.
+     * @param auxiliaryFiles The auxiliary files that affect the aggregated cell grids of every time step.
+     *
+     * @return the checkpoint store.
+     */
+    public static CheckpointStore create(File dir, String parameters, List<File> auxiliaryFiles) {
+        return new CheckpointStore(dir, parameters, auxiliaryFiles);
+    }
+
+    private CheckpointStore(File dir, String parameters, List<File> auxiliaryFiles) {
+        this.dir = dir;
+        this.parameters = parameters;
+        this.auxiliaryFiles = new ArrayList<>(auxiliaryFiles);
+    }
+
+    /**
+     * Creates the key of the checkpoint of a time step.
+     *
+     * @param date1 The start of the time step.
+     * @param date2 The end of the time step.
+     * @param files The input files aggregated for the time step.
+     *
+     * @return the key.
+     */
+    public String createKey(Date date1, Date date2, List<File> files) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, parameters);
+        for (final File file : auxiliaryFiles) {
+            update(digest, file);
+        }
+        update(digest, date1.getTime() + "\n" + date2.getTime());
+        for (final File file : files) {
+            update(digest, file);
+        }
+        final StringBuilder key = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            key.append(String.format("%02x", b & 0xFF));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Reads the checkpoint of a time step into an empty cell grid.
+     *
+     * @param key  The key of the checkpoint.
+     * @param grid The empty cell grid. Its cells must be of the same type as the cells of the cell grid
+     *             written. The grid must be discarded if the checkpoint could not be read.
+     *
+     * @return {@code true} if the checkpoint has been read, {@code false} otherwise.
+     */
+    public <C extends SpatialAggregationCell> boolean read(String key, CellGrid<C> grid) {
+        final File file = getFile(key);
+        if (!file.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION || !key.equals(in.readUTF())) {
+                logger.info(String.format("Ignoring outdated checkpoint '%s'", file.getPath()));
+                return false;
+            }
+            if (in.readInt() != grid.getWidth() || in.readInt() != grid.getHeight()) {
+                throw new IOException("Grid dimensions do not match.");
+            }
+            final int cellCount = in.readInt();
+            for (int i = 0; i < cellCount; i++) {
+                final int x = in.readInt();
+                final int y = in.readInt();
+                final C cell = grid.createCell(x, y);
+                cell.read(in);
+                grid.setCell(cell);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning(String.format("Ignoring unreadable checkpoint '%s': %s", file.getPath(), e.getMessage()));
+            return false;
+        }
+        logger.info(String.format("Resumed from checkpoint '%s'", file.getPath()));
+        return true;
+    }
+
+    /**
+     * Writes the checkpoint of a time step. A failure to write the checkpoint is logged, but does not
+     * affect the aggregation.
+     *
+     * @param key  The key of the checkpoint.
+     * @param grid The cell grid of the time step.
+     */
+    public void write(String key, CellGrid<? extends SpatialAggregationCell> grid) {
+        final File file = getFile(key);
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                final List<? extends SpatialAggregationCell> cells = grid.getCells();
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeInt(grid.getWidth());
+                out.writeInt(grid.getHeight());
+                out.writeInt(cells.size());
+                for (final SpatialAggregationCell cell : cells) {
+                    out.writeInt(cell.getX());
+                    out.writeInt(cell.getY());
+                    cell.write(out);
+                }
+            }
+            if (file.exists() && !file.delete() || !tempFile.renameTo(file)) {
+                throw new IOException("Cannot rename temporary file.");
+            }
+        } catch (IOException e) {
+            logger.warning(String.format("Cannot write checkpoint '%s': %s", file.getPath(), e.getMessage()));
+            if (tempFile.exists() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    private File getFile(String key) {
+        return new File(dir, key + ".cells");
+    }
+
+    private static void update(MessageDigest digest, File file) {
+        update(digest, file.getPath() + "\n" + file.length() + "\n" + file.lastModified());
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        digest.update(s.getBytes(UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -17,6 +17,9 @@
 package org.esa.cci.sst.aggregate;
 
 import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * A cell that accumulates rectangular regions of source grids.
@@ -26,4 +29,30 @@ import java.awt.*;
 public interface SpatialAggregationCell extends AggregationCell {
 
     void accumulate(AggregationContext aggregationContext, Rectangle rectangle);
+
+    /**
+     * Merges the samples accumulated by another cell of the same type into this cell.
+     *
+     * @param cell The other cell.
+     */
+    void merge(SpatialAggregationCell cell);
+
+    /**
+     * Writes the accumulated state of this cell.
+     *
+     * @param out The output.
+     *
+     * @throws IOException if the state could not be written.
+     */
+    void write(DataOutput out) throws IOException;
+
+    /**
+     * Replaces the accumulated state of this cell with a state written by a cell of the same type,
+     * which has been created for an equivalent aggregation context.
+     *
+     * @param in The input.
+     *
+     * @throws IOException if the state could not be read.
+     */
+    void read(DataInput in) throws IOException;
 }
@@ -20,15 +20,29 @@ import org.esa.cci.sst.grid.*;
 import org.esa.cci.sst.log.SstLogging;
 import org.esa.cci.sst.netcdf.NcTools;
 import org.esa.cci.sst.tool.ToolException;
+import org.esa.cci.sst.util.Cache;
 import org.esa.cci.sst.util.StopWatch;
 import ucar.nc2.NetcdfFile;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,18 +63,50 @@ public class Climatology {
 
     private final File[] dailyClimatologyFiles;
     private final GridDef targetGridDef;
+    private final int cacheCapacity;
+    private final boolean prefetch;
+    private final File cacheDir;
+    private final Cache<Integer, FutureTask<Grid>> sstGridCache;
+    private final Object seaCoverageLock = new Object();
 
-    private Grid sstGrid;
-    private int dayOfYear;
+    private ExecutorService prefetchExecutor;
 
-    private Grid seaCoverageGrid; // 0.1° or 0.05° same as input files
-    private Grid seaCoverageCell5Grid;
-    private Grid seaCoverageCell90Grid;
+    private volatile Grid seaCoverageGrid; // 0.1° or 0.05° same as input files
+    private volatile Grid seaCoverageCell5Grid;
+    private volatile Grid seaCoverageCell90Grid;
 
     public static Climatology create(File dir, GridDef targetGridDef) throws ToolException {
+        return create(dir, targetGridDef, 1, false, null);
+    }
+
+    /**
+     * Creates a new climatology, which keeps the SST grids of several days in memory.
+     *
+     * @param dir           The climatology directory.
+     * @param targetGridDef The target grid definition.
+     * @param cacheCapacity The maximum number of daily SST grids kept in memory. The least recently used
+     *                      grid is discarded first.
+     * @param prefetch      If {@code true}, the SST grid of the day following a requested day is read
+     *                      asynchronously. Has no effect when the cache capacity is one.
+     * @param cacheDir      The directory where the decoded SST grids are stored as raw float files, which
+     *                      are memory-mapped in later runs. May be {@code null}.
+     *
+     * @return the climatology.
+     *
+     * @throws ToolException if the climatology or the cache directory are not usable.
+     */
+    public static Climatology create(File dir, GridDef targetGridDef, int cacheCapacity, boolean prefetch,
+                                     File cacheDir) throws ToolException {
+        if (cacheCapacity < 1) {
+            throw new IllegalArgumentException("cacheCapacity < 1");
+        }
         if (!dir.isDirectory()) {
             throw new ToolException("Not a directory or directory not found: " + dir, ToolException.TOOL_USAGE_ERROR);
         }
+        if (cacheDir != null && !cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new ToolException("Cannot create climatology cache directory: " + cacheDir,
+                                    ToolException.TOOL_USAGE_ERROR);
+        }
         final File[] files = dir.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
@@ -82,10 +128,10 @@ public class Climatology {
                     throw new ToolException("An internal error occurred.", ToolException.TOOL_INTERNAL_ERROR);
                 }
             }
-            return new Climatology(dailyClimatologyFiles, targetGridDef);
+            return new Climatology(dailyClimatologyFiles, targetGridDef, cacheCapacity, prefetch, cacheDir);
         } else if (files.length == 1) {
             final File[] dailyClimatologyFiles = new File[]{files[0]};
-            return new Climatology(dailyClimatologyFiles, targetGridDef);
+            return new Climatology(dailyClimatologyFiles, targetGridDef, cacheCapacity, prefetch, cacheDir);
         } else {
             final String[] missingDays = getMissingDays(files);
             final String message = String.format("Climatology directory is expected to contain 365 or 366 files, but found %d. Missing %s.",
@@ -95,13 +141,31 @@ public class Climatology {
         }
     }
 
+    /**
+     * Returns the daily climatology files, ordered by day of year.
+     *
+     * @return the daily climatology files.
+     */
+    public List<File> getFiles() {
+        return Collections.unmodifiableList(Arrays.asList(dailyClimatologyFiles));
+    }
+
     public Grid getSstGrid(int dayOfYear) throws IOException {
-        synchronized (this) {
-            if (this.dayOfYear != dayOfYear) {
-                readGrids(dayOfYear);
-            }
-            return sstGrid;
+        if (dayOfYear < 1) {
+            throw new IllegalArgumentException("dayOfYear < 1");
+        } else if (dayOfYear > 366) {
+            throw new IllegalArgumentException("dayOfYear > 366");
         }
+        final int fileCount = dailyClimatologyFiles.length;
+        final int doy = Math.min(dayOfYear, fileCount);
+
+        final FutureTask<Grid> task = getSstGridTask(doy);
+        // runs the task in the calling thread, unless it has already been started by another thread
+        task.run();
+        if (prefetch && cacheCapacity > 1 && fileCount > 1) {
+            prefetchSstGrid(doy < fileCount ? doy + 1 : 1);
+        }
+        return getSstGrid(doy, task);
     }
 
     public Grid getSeaCoverageGrid() {
@@ -116,42 +180,130 @@ public class Climatology {
         return seaCoverageCell90Grid;
     }
 
-    private void readGrids(int doy) throws IOException {
-        if (doy < 1) {
-            throw new IllegalArgumentException("dayOfYear < 1");
-        } else if (doy > 366) {
-            throw new IllegalArgumentException("dayOfYear > 366");
+    private synchronized FutureTask<Grid> getSstGridTask(int doy) {
+        if (sstGridCache.contains(doy)) {
+            // re-insert the task, so the least recently used task is evicted first
+            final FutureTask<Grid> task = sstGridCache.remove(doy);
+            sstGridCache.add(doy, task);
+            return task;
+        }
+        final FutureTask<Grid> task = createSstGridTask(doy);
+        sstGridCache.add(doy, task);
+        return task;
+    }
+
+    private synchronized void prefetchSstGrid(int doy) {
+        if (!sstGridCache.contains(doy)) {
+            final FutureTask<Grid> task = createSstGridTask(doy);
+            sstGridCache.add(doy, task);
+            if (prefetchExecutor == null) {
+                prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "climatology-prefetch");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            prefetchExecutor.execute(task);
+        }
+    }
+
+    private synchronized void removeSstGridTask(int doy, FutureTask<Grid> task) {
+        if (sstGridCache.contains(doy) && sstGridCache.get(doy) == task) {
+            sstGridCache.remove(doy);
         }
-        if (doy > dailyClimatologyFiles.length) {
-            doy = dailyClimatologyFiles.length;
+    }
+
+    private FutureTask<Grid> createSstGridTask(final int doy) {
+        return new FutureTask<>(new Callable<Grid>() {
+            @Override
+            public Grid call() throws IOException {
+                return readGrids(doy);
+            }
+        });
+    }
+
+    private Grid getSstGrid(int doy, FutureTask<Grid> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Reading climatology has been interrupted.", e);
+        } catch (ExecutionException e) {
+            // do not keep the failure, so a later request for the same day tries again
+            removeSstGridTask(doy, task);
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
         }
+    }
+
+    private Grid readGrids(int doy) throws IOException {
         final File file = dailyClimatologyFiles[doy - 1];
 
         final StopWatch stopWatch = new StopWatch();
         logger.info(String.format("Processing input climatology file '%s' for day of year %d", file.getPath(), doy));
         stopWatch.start();
 
-        final NetcdfFile netcdfFile = NetcdfFile.open("file:" + file.getPath().replace('\\', '/'));
-        try {
-            readGrids(netcdfFile, doy);
-        } finally {
-            netcdfFile.close();
+        Grid sstGrid = null;
+        if (cacheDir != null) {
+            sstGrid = mapSstGrid(file);
+        }
+        if (sstGrid == null) {
+            sstGrid = readSstGrid(file);
+            if (cacheDir != null) {
+                sstGrid = writeSstGrid(file, sstGrid);
+            }
+        }
+        synchronized (seaCoverageLock) {
+            if (seaCoverageGrid == null) {
+                readSeaCoverageGrids(file);
+                // for debugging only
+                // writeMaskImage();
+            }
         }
 
         stopWatch.stop();
         logger.fine(String.format("Processing input climatology file took %d ms", stopWatch.getElapsedMillis()));
+
+        return YFlip.create(sstGrid);
     }
 
-    private void readGrids(NetcdfFile netcdfFile, int dayOfYear) throws IOException {
-        readAnalysedSstGrid(netcdfFile, dayOfYear);
-        if (seaCoverageGrid == null) {
+    // package access for testing only
+    Grid readSstGrid(File file) throws IOException {
+        final NetcdfFile netcdfFile = openFile(file);
+        try {
+            return readAnalysedSstGrid(netcdfFile);
+        } finally {
+            netcdfFile.close();
+        }
+    }
+
+    // package access for testing only
+    void readSeaCoverageGrids(File file) throws IOException {
+        final NetcdfFile netcdfFile = openFile(file);
+        try {
             readSeaCoverageGrids(netcdfFile);
-            // for debugging only
-            // writeMaskImage();
+        } finally {
+            netcdfFile.close();
         }
     }
 
-    private void readAnalysedSstGrid(NetcdfFile netcdfFile, int dayOfYear) throws IOException {
+    private static NetcdfFile openFile(File file) throws IOException {
+        return NetcdfFile.open("file:" + file.getPath().replace('\\', '/'));
+    }
+
+    private Grid readAnalysedSstGrid(NetcdfFile netcdfFile) throws IOException {
         final StopWatch stopWatch = new StopWatch();
 
         logger.fine("Reading 'analysed_sst'...");
@@ -170,8 +322,7 @@ public class Climatology {
         stopWatch.stop();
         logger.fine(String.format("Transforming 'analysed_sst' took %d ms", stopWatch.getElapsedMillis()));
 
-        this.sstGrid = YFlip.create(sstGrid);
-        this.dayOfYear = dayOfYear;
+        return sstGrid;
     }
 
     private void readSeaCoverageGrids(NetcdfFile netcdfFile) throws IOException {
@@ -186,17 +337,80 @@ public class Climatology {
         logger.fine(String.format("Reading 'mask' took %d ms", stopWatch.getElapsedMillis()));
 
         stopWatch.start();
-        seaCoverageGrid = YFlip.create(Mask.create(maskGrid, 0x01));
+        Grid seaCoverageGrid = YFlip.create(Mask.create(maskGrid, 0x01));
         if (!SOURCE_GRID_DEF.equals(targetGridDef)) {
             seaCoverageGrid = Downscaling.create(seaCoverageGrid, targetGridDef);
         }
         seaCoverageCell5Grid = Downscaling.create(seaCoverageGrid, TARGET_5D_GRID_DEF);
         seaCoverageCell90Grid = Downscaling.create(seaCoverageCell5Grid, TARGET_90D_GRID_DEF);
+        this.seaCoverageGrid = seaCoverageGrid;
 
         stopWatch.stop();
         logger.fine(String.format("Transforming 'mask' took %d ms", stopWatch.getElapsedMillis()));
     }
 
+    private Grid mapSstGrid(File file) throws IOException {
+        final File cacheFile = getCacheFile(file);
+        if (!isValidCacheFile(cacheFile, file)) {
+            return null;
+        }
+        logger.fine(String.format("Mapping climatology cache file '%s'", cacheFile.getPath()));
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(cacheFile, "r")) {
+            final FileChannel channel = randomAccessFile.getChannel();
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return BufferGrid.create(targetGridDef, buffer.asFloatBuffer());
+        }
+    }
+
+    private Grid writeSstGrid(File file, Grid sstGrid) throws IOException {
+        final File cacheFile = getCacheFile(file);
+        final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+        logger.fine(String.format("Writing climatology cache file '%s'", cacheFile.getPath()));
+        try {
+            final int w = targetGridDef.getWidth();
+            final int h = targetGridDef.getHeight();
+            final double[] samples = new double[w];
+            final ByteBuffer buffer = ByteBuffer.allocate(w * 4);
+            try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+                final FileChannel channel = outputStream.getChannel();
+                for (int y = 0; y < h; y++) {
+                    sstGrid.getSamplesDouble(0, y, samples, 0, w);
+                    buffer.clear();
+                    for (int x = 0; x < w; x++) {
+                        buffer.putFloat((float) samples[x]);
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            }
+            // another process may have written the cache file in the meantime
+            if (!tempFile.renameTo(cacheFile) && !isValidCacheFile(cacheFile, file)) {
+                throw new IOException("Cannot write climatology cache file: " + cacheFile);
+            }
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                logger.warning(String.format("Cannot delete temporary file '%s'", tempFile.getPath()));
+            }
+        }
+        final Grid mappedGrid = mapSstGrid(file);
+        return mappedGrid != null ? mappedGrid : sstGrid;
+    }
+
+    private File getCacheFile(File file) {
+        final String name = file.getName();
+        final String baseName = name.endsWith(".nc") ? name.substring(0, name.length() - 3) : name;
+        return new File(cacheDir, String.format("%s-%dx%d.sst", baseName,
+                                                targetGridDef.getWidth(), targetGridDef.getHeight()));
+    }
+
+    private boolean isValidCacheFile(File cacheFile, File file) {
+        final long expectedLength = 4L * targetGridDef.getWidth() * targetGridDef.getHeight();
+        return cacheFile.isFile() && cacheFile.length() == expectedLength &&
+               cacheFile.lastModified() >= file.lastModified();
+    }
+
     private static String[] getMissingDays(File[] files) {
         final Set<String> missing = new HashSet<String>();
         for (int i = 0; i < 365; i++) {
@@ -226,8 +440,14 @@ public class Climatology {
 //        ImageIO.write(image, "PNG", new File("sea-coverage-grid.png"));
 //    }
 
-    private Climatology(File[] dailyClimatologyFiles, GridDef targetGridDef) {
+    // package access for testing only
+    Climatology(File[] dailyClimatologyFiles, GridDef targetGridDef, int cacheCapacity, boolean prefetch,
+                File cacheDir) {
         this.dailyClimatologyFiles = dailyClimatologyFiles;
         this.targetGridDef = targetGridDef;
+        this.cacheCapacity = cacheCapacity;
+        this.prefetch = prefetch;
+        this.cacheDir = cacheDir;
+        sstGridCache = new Cache<>(cacheCapacity);
     }
 }
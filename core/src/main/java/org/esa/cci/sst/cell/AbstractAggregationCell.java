@@ -16,10 +16,15 @@
 
 package org.esa.cci.sst.cell;
 
+import org.esa.cci.sst.accumulate.NumberAccumulator;
 import org.esa.cci.sst.aggregate.AbstractAggregation;
 import org.esa.cci.sst.aggregate.AggregationCell;
 import org.esa.cci.sst.aggregate.AggregationContext;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * An abstract aggregation cell.
  *
@@ -55,4 +60,53 @@ public abstract class AbstractAggregationCell extends AbstractAggregation implem
     public final AggregationContext getAggregationContext() {
         return aggregationContext;
     }
+
+    protected static void merge(NumberAccumulator target, NumberAccumulator source) {
+        if (target != null && source != null) {
+            target.merge(source);
+        }
+    }
+
+    protected static void write(NumberAccumulator accumulator, DataOutput out) throws IOException {
+        out.writeBoolean(accumulator != null);
+        if (accumulator != null) {
+            accumulator.write(out);
+        }
+    }
+
+    protected static void read(NumberAccumulator accumulator, DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            throw new IOException("Missing state of a mandatory accumulator.");
+        }
+        accumulator.read(in);
+    }
+
+    /**
+     * Reads the state of an optional accumulator. Whether an optional accumulator exists depends on the
+     * aggregation context a cell has been created for, so the state read may belong to an accumulator
+     * that does not exist in this cell, or vice versa.
+     *
+     * @param accumulator The accumulator of this cell, may be {@code null}.
+     * @param type        The type of the accumulator.
+     * @param in          The input.
+     *
+     * @return the accumulator holding the state read, or {@code null} if no state has been written.
+     *
+     * @throws IOException if the state could not be read.
+     */
+    protected static <A extends NumberAccumulator> A readOptional(A accumulator, Class<? extends A> type,
+                                                                   DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        if (accumulator == null) {
+            try {
+                accumulator = type.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new IOException(e);
+            }
+        }
+        accumulator.read(in);
+        return accumulator;
+    }
 }
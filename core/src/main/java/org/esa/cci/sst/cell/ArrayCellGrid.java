@@ -0,0 +1,558 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.cell;
+
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+
+import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A grid of spatial aggregation cells that keeps the accumulated sums and sample counts of all cells in
+ * primitive arrays indexed by cell, instead of keeping a separate cell object with several accumulator
+ * objects for each cell. The cells returned by this grid are lightweight views onto these arrays, which
+ * behave like the cells created by the {@link SpatialAggregationCellFactory}. Cells that do not belong to
+ * an array cell grid cannot be set, and the cell factory of this grid creates standalone cell objects.
+ * <p/>
+ * Which optional quantities are accumulated is determined by the grids set in the aggregation context
+ * when this cell grid is created.
+ *
+ * @author agent
+ */
+public final class ArrayCellGrid extends CellGrid<SpatialAggregationCell> {
+
+    private final AggregationContext context;
+    private final BitSet present;
+
+    private final MeanArray sst;
+    private final MeanArray sstAnomaly;
+    private final WeightedUncertaintyArray randomUncertainty;
+    private MeanArray variance;
+    private MeanArray largeScaleUncertainty;
+    private UncertaintyArray adjustmentUncertainty;
+    private UncertaintyArray synopticUncertainty;
+    private MeanArray seaIceFraction;
+    private final int[] maxSampleCounts;
+
+    public static ArrayCellGrid create(GridDef gridDef, AggregationContext context) {
+        return new ArrayCellGrid(gridDef, context);
+    }
+
+    private ArrayCellGrid(GridDef gridDef, AggregationContext context) {
+        super(gridDef, new SpatialAggregationCellFactory(context), null);
+        this.context = context;
+
+        final int cellCount = gridDef.getWidth() * gridDef.getHeight();
+        present = new BitSet(cellCount);
+        sst = new MeanArray(cellCount);
+        sstAnomaly = new MeanArray(cellCount);
+        randomUncertainty = new WeightedUncertaintyArray(cellCount);
+        variance = context.getStandardDeviationGrid() != null ? new MeanArray(cellCount) : null;
+        largeScaleUncertainty = context.getLargeScaleUncertaintyGrid() != null ? new MeanArray(cellCount) : null;
+        adjustmentUncertainty = context.getAdjustmentUncertaintyGrid() != null ? new UncertaintyArray(cellCount) : null;
+        synopticUncertainty = context.getSynopticUncertaintyGrid() != null ? new UncertaintyArray(cellCount) : null;
+        seaIceFraction = context.getSeaIceFractionGrid() != null ? new MeanArray(cellCount) : null;
+        maxSampleCounts = new int[cellCount];
+    }
+
+    @Override
+    public SpatialAggregationCell getCell(int x, int y) {
+        final int index = y * getWidth() + x;
+        if (present.get(index)) {
+            return new ArrayCell(x, y, index);
+        }
+        return null;
+    }
+
+    @Override
+    public void setCell(int x, int y, SpatialAggregationCell cell) {
+        if (x != cell.getX() || y != cell.getY()) {
+            throw new IllegalArgumentException("Cell location does not match");
+        }
+        if (!(cell instanceof ArrayCell)) {
+            throw new IllegalArgumentException("Cell does not belong to an array cell grid");
+        }
+        final ArrayCell arrayCell = (ArrayCell) cell;
+        final int index = y * getWidth() + x;
+        if (arrayCell.getGrid() != this) {
+            clear(index);
+            merge(index, arrayCell.getGrid(), arrayCell.index);
+        }
+        present.set(index);
+    }
+
+    @Override
+    public SpatialAggregationCell createCell(int x, int y) {
+        final int index = y * getWidth() + x;
+        if (!present.get(index)) {
+            clear(index);
+        }
+        return new ArrayCell(x, y, index);
+    }
+
+    @Override
+    public List<SpatialAggregationCell> getCells(CellFilter<SpatialAggregationCell> filter) {
+        final List<SpatialAggregationCell> cellList = new ArrayList<>(present.cardinality());
+        final int w = getWidth();
+        for (int index = present.nextSetBit(0); index >= 0; index = present.nextSetBit(index + 1)) {
+            final SpatialAggregationCell cell = new ArrayCell(index % w, index / w, index);
+            if (filter.accept(cell)) {
+                cellList.add(cell);
+            }
+        }
+        return cellList;
+    }
+
+    private void accumulate(int index, AggregationContext aggregationContext, Rectangle rectangle) {
+        final Grid qualityGrid = aggregationContext.getQualityGrid();
+        final SourceRow row = new SourceRow(aggregationContext, rectangle.width);
+
+        final int minX = rectangle.x;
+        final int minY = rectangle.y;
+        final int maxY = minY + rectangle.height - 1;
+
+        for (int y = minY; y <= maxY; y++) {
+            row.read(minX, y);
+            for (int i = 0; i < rectangle.width; i++) {
+                final double seaCoverage = row.seaCoverage[i];
+                final double sstSample = row.sst[i];
+                if (isValid(minX + i, y, seaCoverage, sstSample, qualityGrid)) {
+                    final double climatologySst = row.climatologySst[i];
+
+                    sst.accumulate(index, climatologySst, seaCoverage);
+                    sstAnomaly.accumulate(index, sstSample - climatologySst, seaCoverage);
+                    randomUncertainty.accumulate(index, row.randomUncertainty[i], seaCoverage);
+
+                    if (variance != null) {
+                        final double sample = row.standardDeviation[i];
+                        variance.accumulate(index, sample * sample, seaCoverage);
+                    }
+                    if (largeScaleUncertainty != null) {
+                        largeScaleUncertainty.accumulate(index, row.largeScaleUncertainty[i], seaCoverage);
+                    }
+                    if (adjustmentUncertainty != null) {
+                        adjustmentUncertainty.accumulate(index, row.adjustmentUncertainty[i]);
+                    }
+                    if (synopticUncertainty != null) {
+                        synopticUncertainty.accumulate(index, row.synopticUncertainty[i]);
+                    }
+                }
+                if (seaIceFraction != null) {
+                    seaIceFraction.accumulate(index, row.seaIceFraction[i], 1.0);
+                }
+            }
+        }
+
+        maxSampleCounts[index] = rectangle.height * rectangle.width;
+    }
+
+    private void merge(int index, ArrayCellGrid source, int sourceIndex) {
+        sst.merge(index, source.sst, sourceIndex);
+        sstAnomaly.merge(index, source.sstAnomaly, sourceIndex);
+        randomUncertainty.merge(index, source.randomUncertainty, sourceIndex);
+        if (variance != null && source.variance != null) {
+            variance.merge(index, source.variance, sourceIndex);
+        }
+        if (largeScaleUncertainty != null && source.largeScaleUncertainty != null) {
+            largeScaleUncertainty.merge(index, source.largeScaleUncertainty, sourceIndex);
+        }
+        if (adjustmentUncertainty != null && source.adjustmentUncertainty != null) {
+            adjustmentUncertainty.merge(index, source.adjustmentUncertainty, sourceIndex);
+        }
+        if (synopticUncertainty != null && source.synopticUncertainty != null) {
+            synopticUncertainty.merge(index, source.synopticUncertainty, sourceIndex);
+        }
+        if (seaIceFraction != null && source.seaIceFraction != null) {
+            seaIceFraction.merge(index, source.seaIceFraction, sourceIndex);
+        }
+        maxSampleCounts[index] = Math.max(maxSampleCounts[index], source.maxSampleCounts[sourceIndex]);
+    }
+
+    // uses the same format as the cells created by the spatial aggregation cell factory
+    private void write(int index, DataOutput out) throws IOException {
+        MeanArray.write(sst, index, out);
+        MeanArray.write(sstAnomaly, index, out);
+        randomUncertainty.write(index, out);
+        MeanArray.write(variance, index, out);
+        MeanArray.write(largeScaleUncertainty, index, out);
+        UncertaintyArray.write(adjustmentUncertainty, index, out);
+        UncertaintyArray.write(synopticUncertainty, index, out);
+        MeanArray.write(seaIceFraction, index, out);
+        out.writeInt(maxSampleCounts[index]);
+    }
+
+    // optional arrays are created when a cell state includes a quantity not accumulated by this grid so far
+    private void read(int index, DataInput in) throws IOException {
+        final int cellCount = maxSampleCounts.length;
+        MeanArray.read(sst, cellCount, index, in);
+        MeanArray.read(sstAnomaly, cellCount, index, in);
+        randomUncertainty.read(index, in);
+        variance = MeanArray.read(variance, cellCount, index, in);
+        largeScaleUncertainty = MeanArray.read(largeScaleUncertainty, cellCount, index, in);
+        adjustmentUncertainty = UncertaintyArray.read(adjustmentUncertainty, cellCount, index, in);
+        synopticUncertainty = UncertaintyArray.read(synopticUncertainty, cellCount, index, in);
+        seaIceFraction = MeanArray.read(seaIceFraction, cellCount, index, in);
+        maxSampleCounts[index] = in.readInt();
+    }
+
+    private void clear(int index) {
+        sst.clear(index);
+        sstAnomaly.clear(index);
+        randomUncertainty.clear(index);
+        if (variance != null) {
+            variance.clear(index);
+        }
+        if (largeScaleUncertainty != null) {
+            largeScaleUncertainty.clear(index);
+        }
+        if (adjustmentUncertainty != null) {
+            adjustmentUncertainty.clear(index);
+        }
+        if (synopticUncertainty != null) {
+            synopticUncertainty.clear(index);
+        }
+        if (seaIceFraction != null) {
+            seaIceFraction.clear(index);
+        }
+        maxSampleCounts[index] = 0;
+    }
+
+    private static boolean isValid(int x, int y, double seaCoverage, double sst, Grid qualityGrid) {
+        return seaCoverage > 0.0 && sst > 0.0 && (qualityGrid == null || qualityGrid.getSampleInt(x, y) == 5);
+    }
+
+    private boolean hasEnoughSamples(int index) {
+        return sst.counts[index] > context.getMinCoverage() * maxSampleCounts[index];
+    }
+
+    private final class ArrayCell extends AbstractAggregationCell implements SpatialAggregationCell {
+
+        private final int index;
+
+        private ArrayCell(int x, int y, int index) {
+            super(context, x, y);
+            this.index = index;
+        }
+
+        @Override
+        public long getSampleCount() {
+            return sst.counts[index];
+        }
+
+        @Override
+        public void accumulate(AggregationContext aggregationContext, Rectangle rectangle) {
+            ArrayCellGrid.this.accumulate(index, aggregationContext, rectangle);
+        }
+
+        @Override
+        public void merge(SpatialAggregationCell cell) {
+            final ArrayCell other = (ArrayCell) cell;
+            ArrayCellGrid.this.merge(index, other.getGrid(), other.index);
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            ArrayCellGrid.this.write(index, out);
+        }
+
+        @Override
+        public void read(DataInput in) throws IOException {
+            ArrayCellGrid.this.read(index, in);
+        }
+
+        @Override
+        public double getSeaSurfaceTemperature() {
+            if (hasEnoughSamples(index)) {
+                return sst.combine(index) + sstAnomaly.combine(index);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getSeaSurfaceTemperatureAnomaly() {
+            if (hasEnoughSamples(index)) {
+                return sstAnomaly.combine(index);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getRandomUncertainty() {
+            if (hasEnoughSamples(index)) {
+                return randomUncertainty.combine(index);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getLargeScaleUncertainty() {
+            if (largeScaleUncertainty != null && hasEnoughSamples(index)) {
+                return largeScaleUncertainty.combine(index);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getCoverageUncertainty() {
+            if (variance != null && hasEnoughSamples(index)) {
+                final double result = variance.combine(index);
+                return getAggregationContext().getCoverageUncertaintyProvider().calculate(this, result);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getAdjustmentUncertainty() {
+            if (adjustmentUncertainty != null && hasEnoughSamples(index)) {
+                final double result = adjustmentUncertainty.combine(index);
+                return getAggregationContext().getSynopticUncertaintyProvider().calculate(this, result);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getSynopticUncertainty() {
+            if (synopticUncertainty != null && hasEnoughSamples(index)) {
+                final double result = synopticUncertainty.combine(index);
+                return getAggregationContext().getSynopticUncertaintyProvider().calculate(this, result);
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public double getSeaIceFraction() {
+            if (seaIceFraction != null) {
+                return seaIceFraction.combine(index);
+            }
+            return Double.NaN;
+        }
+
+        private ArrayCellGrid getGrid() {
+            return ArrayCellGrid.this;
+        }
+    }
+
+    /**
+     * Array counterpart of the {@link org.esa.cci.sst.accumulate.ArithmeticMeanAccumulator}.
+     */
+    private static final class MeanArray {
+
+        private final double[] sumsX;
+        private final double[] sumsW;
+        private final int[] counts;
+
+        private MeanArray(int length) {
+            sumsX = new double[length];
+            sumsW = new double[length];
+            counts = new int[length];
+        }
+
+        private void accumulate(int index, double sample, double weight) {
+            if (!Double.isNaN(sample) && !Double.isNaN(weight) && weight != 0.0) {
+                sumsX[index] += weight * sample;
+                sumsW[index] += weight;
+                counts[index]++;
+            }
+        }
+
+        private void merge(int index, MeanArray source, int sourceIndex) {
+            sumsX[index] += source.sumsX[sourceIndex];
+            sumsW[index] += source.sumsW[sourceIndex];
+            counts[index] += source.counts[sourceIndex];
+        }
+
+        private void clear(int index) {
+            sumsX[index] = 0.0;
+            sumsW[index] = 0.0;
+            counts[index] = 0;
+        }
+
+        private static void write(MeanArray array, int index, DataOutput out) throws IOException {
+            out.writeBoolean(array != null);
+            if (array != null) {
+                out.writeDouble(array.sumsX[index]);
+                out.writeDouble(array.sumsW[index]);
+                out.writeInt(array.counts[index]);
+            }
+        }
+
+        private static MeanArray read(MeanArray array, int length, int index, DataInput in) throws IOException {
+            if (in.readBoolean()) {
+                if (array == null) {
+                    array = new MeanArray(length);
+                }
+                array.sumsX[index] = in.readDouble();
+                array.sumsW[index] = in.readDouble();
+                array.counts[index] = in.readInt();
+            } else if (array != null) {
+                array.clear(index);
+            }
+            return array;
+        }
+
+        private double combine(int index) {
+            if (counts[index] == 0) {
+                return Double.NaN;
+            }
+            if (sumsX[index] == 0.0) {
+                return 0.0;
+            }
+            if (sumsW[index] == 0.0) {
+                return Double.NaN;
+            }
+            return sumsX[index] / sumsW[index];
+        }
+    }
+
+    /**
+     * Array counterpart of the {@link org.esa.cci.sst.accumulate.WeightedUncertaintyAccumulator}.
+     */
+    private static final class WeightedUncertaintyArray {
+
+        private final double[] sumsXX;
+        private final double[] sumsW;
+        private final int[] counts;
+
+        private WeightedUncertaintyArray(int length) {
+            sumsXX = new double[length];
+            sumsW = new double[length];
+            counts = new int[length];
+        }
+
+        private void accumulate(int index, double sample, double weight) {
+            if (!Double.isNaN(sample) && !Double.isNaN(weight) && weight != 0.0) {
+                final double weightedSample = weight * sample;
+                sumsXX[index] += weightedSample * weightedSample;
+                sumsW[index] += weight;
+                counts[index]++;
+            }
+        }
+
+        private void merge(int index, WeightedUncertaintyArray source, int sourceIndex) {
+            sumsXX[index] += source.sumsXX[sourceIndex];
+            sumsW[index] += source.sumsW[sourceIndex];
+            counts[index] += source.counts[sourceIndex];
+        }
+
+        private void clear(int index) {
+            sumsXX[index] = 0.0;
+            sumsW[index] = 0.0;
+            counts[index] = 0;
+        }
+
+        private void write(int index, DataOutput out) throws IOException {
+            out.writeBoolean(true);
+            out.writeDouble(sumsXX[index]);
+            out.writeDouble(sumsW[index]);
+            out.writeInt(counts[index]);
+        }
+
+        private void read(int index, DataInput in) throws IOException {
+            if (!in.readBoolean()) {
+                throw new IOException("Missing state of a mandatory accumulator.");
+            }
+            sumsXX[index] = in.readDouble();
+            sumsW[index] = in.readDouble();
+            counts[index] = in.readInt();
+        }
+
+        private double combine(int index) {
+            if (counts[index] == 0) {
+                return Double.NaN;
+            }
+            if (sumsXX[index] == 0.0) {
+                return 0.0;
+            }
+            if (sumsW[index] == 0.0) {
+                return Double.NaN;
+            }
+            final double variance = sumsXX[index] / (sumsW[index] * sumsW[index]);
+            return variance > 0.0 ? Math.sqrt(variance) : 0.0;
+        }
+    }
+
+    /**
+     * Array counterpart of the {@link org.esa.cci.sst.accumulate.UncertaintyAccumulator}.
+     */
+    private static final class UncertaintyArray {
+
+        private final double[] sumsXX;
+        private final int[] counts;
+
+        private UncertaintyArray(int length) {
+            sumsXX = new double[length];
+            counts = new int[length];
+        }
+
+        private void accumulate(int index, double sample) {
+            if (!Double.isNaN(sample)) {
+                sumsXX[index] += sample * sample;
+                counts[index]++;
+            }
+        }
+
+        private void merge(int index, UncertaintyArray source, int sourceIndex) {
+            sumsXX[index] += source.sumsXX[sourceIndex];
+            counts[index] += source.counts[sourceIndex];
+        }
+
+        private void clear(int index) {
+            sumsXX[index] = 0.0;
+            counts[index] = 0;
+        }
+
+        private static void write(UncertaintyArray array, int index, DataOutput out) throws IOException {
+            out.writeBoolean(array != null);
+            if (array != null) {
+                out.writeDouble(array.sumsXX[index]);
+                out.writeInt(array.counts[index]);
+            }
+        }
+
+        private static UncertaintyArray read(UncertaintyArray array, int length, int index, DataInput in)
+                throws IOException {
+            if (in.readBoolean()) {
+                if (array == null) {
+                    array = new UncertaintyArray(length);
+                }
+                array.sumsXX[index] = in.readDouble();
+                array.counts[index] = in.readInt();
+            } else if (array != null) {
+                array.clear(index);
+            }
+            return array;
+        }
+
+        private double combine(int index) {
+            if (counts[index] == 0) {
+                return Double.NaN;
+            }
+            if (sumsXX[index] == 0.0) {
+                return 0.0;
+            }
+            return Math.sqrt(sumsXX[index]);
+        }
+    }
+}
@@ -30,4 +30,11 @@ public interface CellAggregationCell<C extends AggregationCell> extends Aggregat
 
     @Override
     void accumulate(C cell, double weight);
+
+    /**
+     * Merges the cells accumulated by another cell of the same type into this cell.
+     *
+     * @param cell The other cell.
+     */
+    void merge(CellAggregationCell<C> cell);
 }
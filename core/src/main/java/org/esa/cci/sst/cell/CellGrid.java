@@ -41,11 +41,24 @@ public class CellGrid<C extends Cell> {
 
     @SuppressWarnings("unchecked")
     private CellGrid(GridDef gridDef, CellFactory<? extends C> cellFactory) {
+        this(gridDef, cellFactory, (C[]) new Cell[gridDef.getWidth() * gridDef.getHeight()]);
+    }
+
+    /**
+     * Constructs a new cell grid. Subclasses that do not keep their cells in an array of cell objects
+     * pass {@code null} for the array and must override {@link #getCell(int, int)},
+     * {@link #setCell(int, int, Cell)} and {@link #getCells(CellFilter)}.
+     *
+     * @param gridDef     The grid definition.
+     * @param cellFactory The cell factory.
+     * @param cells       The array of cell objects, or {@code null}.
+     */
+    CellGrid(GridDef gridDef, CellFactory<? extends C> cellFactory, C[] cells) {
         this.gridDef = gridDef;
         this.cellFactory = cellFactory;
+        this.cells = cells;
         width = gridDef.getWidth();
         height = gridDef.getHeight();
-        cells = (C[]) new Cell[width * height];
     }
 
     public int getWidth() {
@@ -77,6 +77,19 @@ class DefaultCellAggregationCell extends AbstractAggregationCell implements Cell
         seaIceFractionAccumulator.accumulate(cell.getSeaIceFraction());
     }
 
+    @Override
+    public final void merge(CellAggregationCell<AggregationCell> cell) {
+        final DefaultCellAggregationCell other = (DefaultCellAggregationCell) cell;
+        merge(sstAccumulator, other.sstAccumulator);
+        merge(sstAnomalyAccumulator, other.sstAnomalyAccumulator);
+        merge(randomUncertaintyAccumulator, other.randomUncertaintyAccumulator);
+        merge(coverageUncertaintyAccumulator, other.coverageUncertaintyAccumulator);
+        merge(largeScaleUncertaintyAccumulator, other.largeScaleUncertaintyAccumulator);
+        merge(adjustmentUncertaintyAccumulator, other.adjustmentUncertaintyAccumulator);
+        merge(synopticUncertaintyAccumulator, other.synopticUncertaintyAccumulator);
+        merge(seaIceFractionAccumulator, other.seaIceFractionAccumulator);
+    }
+
     @Override
     public final double getSeaSurfaceTemperature() {
         return sstAccumulator.combine();
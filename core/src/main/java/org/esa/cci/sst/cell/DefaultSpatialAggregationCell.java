@@ -32,25 +32,28 @@ package org.esa.cci.sst.cell;/*
 
 import org.esa.cci.sst.aggregate.AggregationContext;
 import org.esa.cci.sst.accumulate.ArithmeticMeanAccumulator;
-import org.esa.cci.sst.accumulate.NumberAccumulator;
 import org.esa.cci.sst.accumulate.WeightedUncertaintyAccumulator;
 import org.esa.cci.sst.accumulate.UncertaintyAccumulator;
 import org.esa.cci.sst.aggregate.SpatialAggregationCell;
 import org.esa.cci.sst.grid.Grid;
 
 import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 class DefaultSpatialAggregationCell extends AbstractAggregationCell implements SpatialAggregationCell {
 
-    private final NumberAccumulator sstAccumulator;
-    private final NumberAccumulator sstAnomalyAccumulator;
-    private final NumberAccumulator randomUncertaintyAccumulator;
-    private final NumberAccumulator varianceAccumulator;
-    private final NumberAccumulator largeScaleUncertaintyAccumulator;
-    private final NumberAccumulator adjustmentUncertaintyAccumulator;
-    private final NumberAccumulator synopticUncertaintyAccumulator;
-    private final NumberAccumulator seaIceFractionAccumulator;
+    private final ArithmeticMeanAccumulator sstAccumulator;
+    private final ArithmeticMeanAccumulator sstAnomalyAccumulator;
+    private final WeightedUncertaintyAccumulator randomUncertaintyAccumulator;
+    private ArithmeticMeanAccumulator varianceAccumulator;
+    private ArithmeticMeanAccumulator largeScaleUncertaintyAccumulator;
+    private UncertaintyAccumulator adjustmentUncertaintyAccumulator;
+    private UncertaintyAccumulator synopticUncertaintyAccumulator;
+    private ArithmeticMeanAccumulator seaIceFractionAccumulator;
 
+    private int maxSampleCount;
     private boolean enoughSamples;
 
     DefaultSpatialAggregationCell(AggregationContext aggregationContext, int x, int y) {
@@ -99,60 +102,91 @@ class DefaultSpatialAggregationCell extends AbstractAggregationCell implements S
 
     @Override
     public final void accumulate(AggregationContext aggregationContext, Rectangle rectangle) {
-        final Grid sstGrid = aggregationContext.getSstGrid();
         final Grid qualityGrid = aggregationContext.getQualityGrid();
-        final Grid randomUncertaintyGrid = aggregationContext.getRandomUncertaintyGrid();
-        final Grid largeScaleUncertaintyGrid = aggregationContext.getLargeScaleUncertaintyGrid();
-        final Grid adjustmentUncertaintyGrid = aggregationContext.getAdjustmentUncertaintyGrid();
-        final Grid synopticUncertaintyGrid = aggregationContext.getSynopticUncertaintyGrid();
-
-        final Grid climatologySstGrid = aggregationContext.getClimatologySstGrid();
-        final Grid seaCoverageGrid = aggregationContext.getSeaCoverageGrid();
-        final Grid standardDeviationGrid = aggregationContext.getStandardDeviationGrid();
-        final Grid seaIceFractionGrid = aggregationContext.getSeaIceFractionGrid();
+        final SourceRow row = new SourceRow(aggregationContext, rectangle.width);
 
         final int minX = rectangle.x;
         final int minY = rectangle.y;
-        final int maxX = minX + rectangle.width - 1;
         final int maxY = minY + rectangle.height - 1;
 
         for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                final double seaCoverage = seaCoverageGrid.getSampleDouble(x, y);
-                final double sst = sstGrid.getSampleDouble(x, y);
-                if (isValid(x, y, seaCoverage, sst, qualityGrid)) {
-                    final double climatologySst = climatologySstGrid.getSampleDouble(x, y);
-                    final double randomUncertainty = randomUncertaintyGrid.getSampleDouble(x, y);
+            row.read(minX, y);
+            for (int i = 0; i < rectangle.width; i++) {
+                final double seaCoverage = row.seaCoverage[i];
+                final double sst = row.sst[i];
+                if (isValid(minX + i, y, seaCoverage, sst, qualityGrid)) {
+                    final double climatologySst = row.climatologySst[i];
 
                     sstAccumulator.accumulate(climatologySst, seaCoverage);
                     sstAnomalyAccumulator.accumulate(sst - climatologySst, seaCoverage);
-                    randomUncertaintyAccumulator.accumulate(randomUncertainty, seaCoverage);
+                    randomUncertaintyAccumulator.accumulate(row.randomUncertainty[i], seaCoverage);
 
                     if (varianceAccumulator != null) {
-                        final double sample = standardDeviationGrid.getSampleDouble(x, y);
+                        final double sample = row.standardDeviation[i];
                         varianceAccumulator.accumulate(sample * sample, seaCoverage);
                     }
                     if (largeScaleUncertaintyAccumulator != null) {
-                        final double sample = largeScaleUncertaintyGrid.getSampleDouble(x, y);
-                        largeScaleUncertaintyAccumulator.accumulate(sample, seaCoverage);
+                        largeScaleUncertaintyAccumulator.accumulate(row.largeScaleUncertainty[i], seaCoverage);
                     }
                     if (adjustmentUncertaintyAccumulator != null) {
-                        final double sample = adjustmentUncertaintyGrid.getSampleDouble(x, y);
-                        adjustmentUncertaintyAccumulator.accumulate(sample);
+                        adjustmentUncertaintyAccumulator.accumulate(row.adjustmentUncertainty[i]);
                     }
                     if (synopticUncertaintyAccumulator != null) {
-                        final double sample = synopticUncertaintyGrid.getSampleDouble(x, y);
-                        synopticUncertaintyAccumulator.accumulate(sample);
+                        synopticUncertaintyAccumulator.accumulate(row.synopticUncertainty[i]);
                     }
                 }
                 if (seaIceFractionAccumulator != null) {
-                    final double sample = seaIceFractionGrid.getSampleDouble(x, y);
-                    seaIceFractionAccumulator.accumulate(sample);
+                    seaIceFractionAccumulator.accumulate(row.seaIceFraction[i]);
                 }
             }
         }
 
-        final int maxSampleCount = rectangle.height * rectangle.width;
+        maxSampleCount = rectangle.height * rectangle.width;
+        enoughSamples = getSampleCount() > getAggregationContext().getMinCoverage() * maxSampleCount;
+    }
+
+    @Override
+    public final void merge(SpatialAggregationCell cell) {
+        final DefaultSpatialAggregationCell other = (DefaultSpatialAggregationCell) cell;
+        merge(sstAccumulator, other.sstAccumulator);
+        merge(sstAnomalyAccumulator, other.sstAnomalyAccumulator);
+        merge(randomUncertaintyAccumulator, other.randomUncertaintyAccumulator);
+        merge(varianceAccumulator, other.varianceAccumulator);
+        merge(largeScaleUncertaintyAccumulator, other.largeScaleUncertaintyAccumulator);
+        merge(adjustmentUncertaintyAccumulator, other.adjustmentUncertaintyAccumulator);
+        merge(synopticUncertaintyAccumulator, other.synopticUncertaintyAccumulator);
+        merge(seaIceFractionAccumulator, other.seaIceFractionAccumulator);
+
+        maxSampleCount = Math.max(maxSampleCount, other.maxSampleCount);
+        enoughSamples = getSampleCount() > getAggregationContext().getMinCoverage() * maxSampleCount;
+    }
+
+    @Override
+    public final void write(DataOutput out) throws IOException {
+        write(sstAccumulator, out);
+        write(sstAnomalyAccumulator, out);
+        write(randomUncertaintyAccumulator, out);
+        write(varianceAccumulator, out);
+        write(largeScaleUncertaintyAccumulator, out);
+        write(adjustmentUncertaintyAccumulator, out);
+        write(synopticUncertaintyAccumulator, out);
+        write(seaIceFractionAccumulator, out);
+        out.writeInt(maxSampleCount);
+    }
+
+    @Override
+    public final void read(DataInput in) throws IOException {
+        read(sstAccumulator, in);
+        read(sstAnomalyAccumulator, in);
+        read(randomUncertaintyAccumulator, in);
+        varianceAccumulator = readOptional(varianceAccumulator, ArithmeticMeanAccumulator.class, in);
+        largeScaleUncertaintyAccumulator =
+                readOptional(largeScaleUncertaintyAccumulator, ArithmeticMeanAccumulator.class, in);
+        adjustmentUncertaintyAccumulator =
+                readOptional(adjustmentUncertaintyAccumulator, UncertaintyAccumulator.class, in);
+        synopticUncertaintyAccumulator = readOptional(synopticUncertaintyAccumulator, UncertaintyAccumulator.class, in);
+        seaIceFractionAccumulator = readOptional(seaIceFractionAccumulator, ArithmeticMeanAccumulator.class, in);
+        maxSampleCount = in.readInt();
         enoughSamples = getSampleCount() > getAggregationContext().getMinCoverage() * maxSampleCount;
     }
 
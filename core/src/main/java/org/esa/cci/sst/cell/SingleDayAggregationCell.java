@@ -38,15 +38,18 @@ import org.esa.cci.sst.aggregate.SpatialAggregationCell;
 import org.esa.cci.sst.grid.Grid;
 
 import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class SingleDayAggregationCell extends AbstractAggregationCell implements SpatialAggregationCell {
 
     private final NumberAccumulator sstAccumulator;
     private final NumberAccumulator randomUncertaintyAccumulator;
-    private final NumberAccumulator largeScaleUncertaintyAccumulator;
-    private final NumberAccumulator adjustmentUncertaintyAccumulator;
-    private final NumberAccumulator synopticUncertaintyAccumulator;
-    private final NumberAccumulator seaIceFractionAccumulator;
+    private NumberAccumulator largeScaleUncertaintyAccumulator;
+    private NumberAccumulator adjustmentUncertaintyAccumulator;
+    private NumberAccumulator synopticUncertaintyAccumulator;
+    private NumberAccumulator seaIceFractionAccumulator;
 
     SingleDayAggregationCell(AggregationContext aggregationContext, int x, int y) {
         super(aggregationContext, x, y);
@@ -132,6 +135,40 @@ public class SingleDayAggregationCell extends AbstractAggregationCell implements
         }
     }
 
+    @Override
+    public final void merge(SpatialAggregationCell cell) {
+        final SingleDayAggregationCell other = (SingleDayAggregationCell) cell;
+        merge(sstAccumulator, other.sstAccumulator);
+        merge(randomUncertaintyAccumulator, other.randomUncertaintyAccumulator);
+        merge(largeScaleUncertaintyAccumulator, other.largeScaleUncertaintyAccumulator);
+        merge(adjustmentUncertaintyAccumulator, other.adjustmentUncertaintyAccumulator);
+        merge(synopticUncertaintyAccumulator, other.synopticUncertaintyAccumulator);
+        merge(seaIceFractionAccumulator, other.seaIceFractionAccumulator);
+    }
+
+    @Override
+    public final void write(DataOutput out) throws IOException {
+        write(sstAccumulator, out);
+        write(randomUncertaintyAccumulator, out);
+        write(largeScaleUncertaintyAccumulator, out);
+        write(adjustmentUncertaintyAccumulator, out);
+        write(synopticUncertaintyAccumulator, out);
+        write(seaIceFractionAccumulator, out);
+    }
+
+    @Override
+    public final void read(DataInput in) throws IOException {
+        read(sstAccumulator, in);
+        read(randomUncertaintyAccumulator, in);
+        largeScaleUncertaintyAccumulator =
+                readOptional(largeScaleUncertaintyAccumulator, ArithmeticMeanAccumulator.class, in);
+        adjustmentUncertaintyAccumulator =
+                readOptional(adjustmentUncertaintyAccumulator, WeightedUncertaintyAccumulator.class, in);
+        synopticUncertaintyAccumulator =
+                readOptional(synopticUncertaintyAccumulator, WeightedUncertaintyAccumulator.class, in);
+        seaIceFractionAccumulator = readOptional(seaIceFractionAccumulator, ArithmeticMeanAccumulator.class, in);
+    }
+
     @Override
     public final double getSeaSurfaceTemperature() {
         return sstAccumulator.combine();
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.cell;
+
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.grid.Grid;
+
+/**
+ * Buffers for the samples of a row segment of the source grids of an aggregation context. The
+ * samples are read in bulk, so spatial aggregation cells can process a source rectangle row by row
+ * instead of sampling each grid at each pixel. The buffer for a grid that is not set in the
+ * aggregation context is {@code null}.
+ *
+ * @author agent
+ */
+final class SourceRow {
+
+    final double[] sst;
+    final double[] climatologySst;
+    final double[] seaCoverage;
+    final double[] randomUncertainty;
+    final double[] standardDeviation;
+    final double[] largeScaleUncertainty;
+    final double[] adjustmentUncertainty;
+    final double[] synopticUncertainty;
+    final double[] seaIceFraction;
+
+    private final AggregationContext context;
+    private final int length;
+
+    SourceRow(AggregationContext context, int length) {
+        this.context = context;
+        this.length = length;
+
+        sst = createBuffer(context.getSstGrid(), length);
+        climatologySst = createBuffer(context.getClimatologySstGrid(), length);
+        seaCoverage = createBuffer(context.getSeaCoverageGrid(), length);
+        randomUncertainty = createBuffer(context.getRandomUncertaintyGrid(), length);
+        standardDeviation = createBuffer(context.getStandardDeviationGrid(), length);
+        largeScaleUncertainty = createBuffer(context.getLargeScaleUncertaintyGrid(), length);
+        adjustmentUncertainty = createBuffer(context.getAdjustmentUncertaintyGrid(), length);
+        synopticUncertainty = createBuffer(context.getSynopticUncertaintyGrid(), length);
+        seaIceFraction = createBuffer(context.getSeaIceFractionGrid(), length);
+    }
+
+    /**
+     * Reads the samples of the row segment starting at a given pixel.
+     *
+     * @param x The x coordinate of the first pixel.
+     * @param y The y coordinate of the row.
+     */
+    void read(int x, int y) {
+        read(context.getSstGrid(), x, y, sst);
+        read(context.getClimatologySstGrid(), x, y, climatologySst);
+        read(context.getSeaCoverageGrid(), x, y, seaCoverage);
+        read(context.getRandomUncertaintyGrid(), x, y, randomUncertainty);
+        read(context.getStandardDeviationGrid(), x, y, standardDeviation);
+        read(context.getLargeScaleUncertaintyGrid(), x, y, largeScaleUncertainty);
+        read(context.getAdjustmentUncertaintyGrid(), x, y, adjustmentUncertainty);
+        read(context.getSynopticUncertaintyGrid(), x, y, synopticUncertainty);
+        read(context.getSeaIceFractionGrid(), x, y, seaIceFraction);
+    }
+
+    private void read(Grid grid, int x, int y, double[] buffer) {
+        if (buffer != null) {
+            grid.getSamplesDouble(x, y, buffer, 0, length);
+        }
+    }
+
+    private static double[] createBuffer(Grid grid, int length) {
+        return grid != null ? new double[length] : null;
+    }
+}
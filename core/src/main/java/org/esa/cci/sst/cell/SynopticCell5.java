@@ -25,6 +25,9 @@ import org.esa.cci.sst.common.SynopticUncertaintyProvider;
 import org.esa.cci.sst.grid.Grid;
 
 import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public final class SynopticCell5 extends AbstractAggregationCell implements SpatialAggregationCell {
 
@@ -32,9 +35,9 @@ public final class SynopticCell5 extends AbstractAggregationCell implements Spat
     private final NumberAccumulator sstAnomalyAccumulator;
     private final NumberAccumulator randomUncertaintyAccumulator;
     private final NumberAccumulator largeScaleUncertaintyAccumulator;
-    private final NumberAccumulator adjustmentUncertaintyAccumulator5;
-    private final NumberAccumulator synopticUncertaintyAccumulator5;
-    private final NumberAccumulator seaIceFractionAccumulator;
+    private NumberAccumulator adjustmentUncertaintyAccumulator5;
+    private NumberAccumulator synopticUncertaintyAccumulator5;
+    private NumberAccumulator seaIceFractionAccumulator;
 
     public SynopticCell5(AggregationContext aggregationContext, int x, int y) {
         super(aggregationContext, x, y);
@@ -130,6 +133,42 @@ public final class SynopticCell5 extends AbstractAggregationCell implements Spat
         }
     }
 
+    @Override
+    public void merge(SpatialAggregationCell cell) {
+        final SynopticCell5 other = (SynopticCell5) cell;
+        merge(sstAccumulator, other.sstAccumulator);
+        merge(sstAnomalyAccumulator, other.sstAnomalyAccumulator);
+        merge(randomUncertaintyAccumulator, other.randomUncertaintyAccumulator);
+        merge(largeScaleUncertaintyAccumulator, other.largeScaleUncertaintyAccumulator);
+        merge(adjustmentUncertaintyAccumulator5, other.adjustmentUncertaintyAccumulator5);
+        merge(synopticUncertaintyAccumulator5, other.synopticUncertaintyAccumulator5);
+        merge(seaIceFractionAccumulator, other.seaIceFractionAccumulator);
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        write(sstAccumulator, out);
+        write(sstAnomalyAccumulator, out);
+        write(randomUncertaintyAccumulator, out);
+        write(largeScaleUncertaintyAccumulator, out);
+        write(adjustmentUncertaintyAccumulator5, out);
+        write(synopticUncertaintyAccumulator5, out);
+        write(seaIceFractionAccumulator, out);
+    }
+
+    @Override
+    public void read(DataInput in) throws IOException {
+        read(sstAccumulator, in);
+        read(sstAnomalyAccumulator, in);
+        read(randomUncertaintyAccumulator, in);
+        read(largeScaleUncertaintyAccumulator, in);
+        adjustmentUncertaintyAccumulator5 =
+                readOptional(adjustmentUncertaintyAccumulator5, WeightedUncertaintyAccumulator.class, in);
+        synopticUncertaintyAccumulator5 =
+                readOptional(synopticUncertaintyAccumulator5, WeightedUncertaintyAccumulator.class, in);
+        seaIceFractionAccumulator = readOptional(seaIceFractionAccumulator, ArithmeticMeanAccumulator.class, in);
+    }
+
     @Override
     public double getSeaSurfaceTemperature() {
         return sstAccumulator.combine();
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.file;
+
+import org.esa.cci.sst.log.SstLogging;
+import org.esa.cci.sst.product.ProductType;
+import org.esa.cci.sst.util.TimeUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * An index of the input files below an input root. The index records the path, the parsed date and
+ * the modification time of each input file and the modification time of each directory. It can be
+ * written to a local file and refreshed incrementally in later runs: only directories whose
+ * modification time has changed are listed again.
+ *
+ * @author agent
+ */
+public final class FileIndex {
+
+    private static final int VERSION = 1;
+    // directories modified this recently may still change within the resolution of their modification time
+    private static final long MODIFICATION_TIME_RESOLUTION = 2000L;
+
+    private static final Logger logger = SstLogging.getLogger();
+
+    private final ProductType productType;
+    private final String filenameRegex;
+    private final Pattern filenamePattern;
+    private final File root;
+
+    private Map<String, DirectoryEntry> directories;
+    private long[] dates;
+    private File[] files;
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param productType   The product type used for parsing dates from file names.
+     * @param filenameRegex The regular expression input file names have to match.
+     * @param root          The input root, a directory or a single file.
+     *
+     * @return the index.
+     */
+    public static FileIndex create(ProductType productType, String filenameRegex, File root) {
+        return new FileIndex(productType, filenameRegex, root);
+    }
+
+    /**
+     * Reads an index from a file written before. If the index file does not exist, cannot be read
+     * or has been written for another root, product type or file name pattern, an empty index is
+     * returned.
+     *
+     * @param indexFile     The index file.
+     * @param productType   The product type used for parsing dates from file names.
+     * @param filenameRegex The regular expression input file names have to match.
+     * @param root          The input root, a directory or a single file.
+     *
+     * @return the index.
+     */
+    public static FileIndex read(File indexFile, ProductType productType, String filenameRegex, File root) {
+        final FileIndex fileIndex = new FileIndex(productType, filenameRegex, root);
+        if (indexFile.isFile()) {
+            try {
+                fileIndex.readDirectories(indexFile);
+            } catch (IOException e) {
+                logger.warning(String.format("Ignoring unreadable file index '%s': %s", indexFile.getPath(),
+                                             e.getMessage()));
+                fileIndex.directories.clear();
+            }
+        }
+        return fileIndex;
+    }
+
+    private FileIndex(ProductType productType, String filenameRegex, File root) {
+        this.productType = productType;
+        this.filenameRegex = filenameRegex;
+        this.filenamePattern = Pattern.compile(filenameRegex);
+        this.root = root;
+        directories = new HashMap<>();
+        dates = new long[0];
+        files = new File[0];
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the number of input files.
+     *
+     * @return the number of input files.
+     */
+    public int getFileCount() {
+        return files.length;
+    }
+
+    /**
+     * Brings the index up to date with the file system. Directories that have not been modified
+     * since the last refresh are not listed again.
+     *
+     * @return the number of directories that have been listed.
+     */
+    public int refresh() {
+        final Map<String, DirectoryEntry> refreshedDirectories = new HashMap<>();
+        final List<FileEntry> fileEntries = new ArrayList<>();
+        int listedCount = 0;
+
+        if (root.isDirectory()) {
+            listedCount = refresh(root, "", System.currentTimeMillis(), refreshedDirectories, fileEntries);
+        } else if (root.isFile()) {
+            final FileEntry fileEntry = createFileEntry(root);
+            if (fileEntry != null) {
+                fileEntries.add(new FileEntry(root.getPath(), fileEntry.date, fileEntry.lastModified));
+            }
+        }
+        directories = refreshedDirectories;
+        sortFiles(fileEntries);
+
+        logger.fine(String.format("Refreshed file index of '%s': %d files in %d directories, %d listed",
+                                  root.getPath(), files.length, directories.size(), listedCount));
+        return listedCount;
+    }
+
+    /**
+     * Returns the input files for the UTC day containing a given date, ordered by date and path.
+     *
+     * @param date The date.
+     *
+     * @return the input files for the day containing the date.
+     */
+    public List<File> get(Date date) {
+        return get(TimeUtil.getBeginningOfDay(date).getTime(), TimeUtil.getEndOfDay(date).getTime());
+    }
+
+    /**
+     * Returns the input files with a date in a given range, ordered by date and path.
+     *
+     * @param startTime The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param endTime   The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     *
+     * @return the input files with a date in the range.
+     */
+    public List<File> get(long startTime, long endTime) {
+        final int startIndex = lowerBound(dates, startTime);
+        final int endIndex = lowerBound(dates, endTime);
+        if (startIndex >= endIndex) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(files).subList(startIndex, endIndex));
+    }
+
+    /**
+     * Writes the index to a file.
+     *
+     * @param indexFile The index file.
+     *
+     * @throws IOException if the index could not be written.
+     */
+    public void write(File indexFile) throws IOException {
+        final File tempFile = new File(indexFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(VERSION);
+            out.writeUTF(root.getAbsolutePath());
+            out.writeUTF(productType.name());
+            out.writeUTF(filenameRegex);
+            out.writeInt(directories.size());
+            for (final Map.Entry<String, DirectoryEntry> entry : directories.entrySet()) {
+                final DirectoryEntry directory = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(directory.lastModified);
+                out.writeInt(directory.subdirectoryNames.length);
+                for (final String name : directory.subdirectoryNames) {
+                    out.writeUTF(name);
+                }
+                out.writeInt(directory.fileEntries.length);
+                for (final FileEntry fileEntry : directory.fileEntries) {
+                    out.writeUTF(fileEntry.name);
+                    out.writeLong(fileEntry.date);
+                    out.writeLong(fileEntry.lastModified);
+                }
+            }
+        }
+        if (indexFile.exists() && !indexFile.delete() || !tempFile.renameTo(indexFile)) {
+            throw new IOException("Cannot write file index: " + indexFile.getPath());
+        }
+    }
+
+    private void readDirectories(File indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != VERSION ||
+                !in.readUTF().equals(root.getAbsolutePath()) ||
+                !in.readUTF().equals(productType.name()) ||
+                !in.readUTF().equals(filenameRegex)) {
+                logger.info(String.format("Ignoring outdated file index '%s'", indexFile.getPath()));
+                return;
+            }
+            final int directoryCount = in.readInt();
+            for (int i = 0; i < directoryCount; i++) {
+                final String path = in.readUTF();
+                final long lastModified = in.readLong();
+                final String[] subdirectoryNames = new String[in.readInt()];
+                for (int k = 0; k < subdirectoryNames.length; k++) {
+                    subdirectoryNames[k] = in.readUTF();
+                }
+                final FileEntry[] fileEntries = new FileEntry[in.readInt()];
+                for (int k = 0; k < fileEntries.length; k++) {
+                    fileEntries[k] = new FileEntry(in.readUTF(), in.readLong(), in.readLong());
+                }
+                directories.put(path, new DirectoryEntry(lastModified, subdirectoryNames, fileEntries));
+            }
+        }
+    }
+
+    private int refresh(File dir, String path, long refreshTime, Map<String, DirectoryEntry> refreshedDirectories,
+                        List<FileEntry> fileEntries) {
+        int listedCount = 0;
+        final long lastModified = dir.lastModified();
+        DirectoryEntry directory = directories.get(path);
+        if (directory == null || directory.lastModified != lastModified) {
+            directory = list(dir, lastModified, refreshTime);
+            listedCount++;
+        }
+        refreshedDirectories.put(path, directory);
+
+        for (final FileEntry fileEntry : directory.fileEntries) {
+            fileEntries.add(new FileEntry(new File(dir, fileEntry.name).getPath(), fileEntry.date,
+                                          fileEntry.lastModified));
+        }
+        for (final String name : directory.subdirectoryNames) {
+            final File subdirectory = new File(dir, name);
+            if (subdirectory.isDirectory()) {
+                listedCount += refresh(subdirectory, path + "/" + name, refreshTime, refreshedDirectories,
+                                       fileEntries);
+            }
+        }
+        return listedCount;
+    }
+
+    private DirectoryEntry list(File dir, long lastModified, long refreshTime) {
+        final List<String> subdirectoryNames = new ArrayList<>();
+        final List<FileEntry> fileEntries = new ArrayList<>();
+        final File[] entries = dir.listFiles();
+        if (entries != null) {
+            for (final File entry : entries) {
+                if (entry.isDirectory()) {
+                    subdirectoryNames.add(entry.getName());
+                } else if (entry.isFile() && filenamePattern.matcher(entry.getName()).matches()) {
+                    final FileEntry fileEntry = createFileEntry(entry);
+                    if (fileEntry != null) {
+                        fileEntries.add(fileEntry);
+                    }
+                }
+            }
+        }
+        if (refreshTime - lastModified < MODIFICATION_TIME_RESOLUTION) {
+            // list again on next refresh, files might be added without changing the modification time
+            lastModified = Long.MIN_VALUE;
+        }
+        return new DirectoryEntry(lastModified,
+                                  subdirectoryNames.toArray(new String[subdirectoryNames.size()]),
+                                  fileEntries.toArray(new FileEntry[fileEntries.size()]));
+    }
+
+    private FileEntry createFileEntry(File file) {
+        try {
+            final Date date = productType.parseDate(file);
+            if (date != null) {
+                return new FileEntry(file.getName(), date.getTime(), file.lastModified());
+            }
+            logger.warning("Ignoring input file with unknown naming convention: " + file.getPath());
+        } catch (ParseException e) {
+            logger.warning("Ignoring input file because date can't be parsed from filename: " + file.getPath());
+        }
+        return null;
+    }
+
+    private void sortFiles(List<FileEntry> fileEntries) {
+        Collections.sort(fileEntries, new Comparator<FileEntry>() {
+            @Override
+            public int compare(FileEntry o1, FileEntry o2) {
+                final int dateComparison = Long.compare(o1.date, o2.date);
+                return dateComparison != 0 ? dateComparison : o1.name.compareTo(o2.name);
+            }
+        });
+        dates = new long[fileEntries.size()];
+        files = new File[fileEntries.size()];
+        for (int i = 0; i < dates.length; i++) {
+            final FileEntry fileEntry = fileEntries.get(i);
+            dates[i] = fileEntry.date;
+            files[i] = new File(fileEntry.name);
+        }
+    }
+
+    private static int lowerBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class DirectoryEntry {
+
+        private final long lastModified;
+        private final String[] subdirectoryNames;
+        private final FileEntry[] fileEntries;
+
+        private DirectoryEntry(long lastModified, String[] subdirectoryNames, FileEntry[] fileEntries) {
+            this.lastModified = lastModified;
+            this.subdirectoryNames = subdirectoryNames;
+            this.fileEntries = fileEntries;
+        }
+    }
+
+    private static final class FileEntry {
+
+        // the file name within a directory entry, the path otherwise
+        private final String name;
+        private final long date;
+        private final long lastModified;
+
+        private FileEntry(String name, long date, long lastModified) {
+            this.name = name;
+            this.date = date;
+            this.lastModified = lastModified;
+        }
+    }
+}
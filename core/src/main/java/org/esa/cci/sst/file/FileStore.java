@@ -21,13 +21,11 @@ import org.esa.cci.sst.product.ProductType;
 import org.esa.cci.sst.util.TimeUtil;
 
 import java.io.File;
-import java.io.FileFilter;
-import java.text.ParseException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * A product store.
@@ -38,16 +36,36 @@ public class FileStore {
 
     private ProductType productType;
     private String[] inputPaths;
-    private FileTree fileTree;
+    private FileIndex[] fileIndexes;
 
     public static FileStore create(ProductType productType, String filenameRegex, String... inputPaths) {
-        return new FileStore(productType, inputPaths, scanFiles(productType, new InputFileFilter(filenameRegex), inputPaths));
+        return create(productType, filenameRegex, null, inputPaths);
     }
 
-    private FileStore(ProductType productType, String[] inputPaths, FileTree fileTree) {
+    /**
+     * Creates a new product store.
+     *
+     * @param productType   The product type.
+     * @param filenameRegex The regular expression input file names have to match.
+     * @param indexDir      The directory where an index of the input files is kept for each input path,
+     *                      so later runs only list directories that have been modified. May be {@code null}.
+     * @param inputPaths    The input paths.
+     *
+     * @return the product store.
+     */
+    public static FileStore create(ProductType productType, String filenameRegex, File indexDir,
+                                   String... inputPaths) {
+        final FileIndex[] fileIndexes = new FileIndex[inputPaths.length];
+        for (int i = 0; i < inputPaths.length; i++) {
+            fileIndexes[i] = createFileIndex(productType, filenameRegex, indexDir, new File(inputPaths[i]));
+        }
+        return new FileStore(productType, inputPaths, fileIndexes);
+    }
+
+    private FileStore(ProductType productType, String[] inputPaths, FileIndex[] fileIndexes) {
         this.productType = productType;
         this.inputPaths = inputPaths;
-        this.fileTree = fileTree;
+        this.fileIndexes = fileIndexes;
     }
 
     public ProductType getProductType() {
@@ -70,7 +88,10 @@ public class FileStore {
         final List<FileList> files = new ArrayList<FileList>();
 
         while (calendar.getTime().before(date2)) {
-            final List<File> filesForOneDay = fileTree.get(calendar.getTime());
+            final List<File> filesForOneDay = new ArrayList<>();
+            for (final FileIndex fileIndex : fileIndexes) {
+                filesForOneDay.addAll(fileIndex.get(calendar.getTime()));
+            }
             if (!filesForOneDay.isEmpty()) {
                 files.add(new FileList(calendar.getTime(), filesForOneDay));
             }
@@ -80,48 +101,25 @@ public class FileStore {
         return files;
     }
 
-    private static FileTree scanFiles(ProductType productType, FileFilter fileFilter, String... inputPaths) {
-        final FileTree fileTree = new FileTree();
-        for (String inputPath : inputPaths) {
-            scanFiles(productType, fileFilter, new File(inputPath), fileTree);
+    private static FileIndex createFileIndex(ProductType productType, String filenameRegex, File indexDir,
+                                             File root) {
+        if (indexDir == null) {
+            final FileIndex fileIndex = FileIndex.create(productType, filenameRegex, root);
+            fileIndex.refresh();
+            return fileIndex;
         }
-        return fileTree;
-    }
-
-    private static void scanFiles(ProductType productType, FileFilter fileFilter, File entry, FileTree fileTree) {
-        if (entry.isDirectory()) {
-            File[] files = entry.listFiles(fileFilter);
-            if (files != null) {
-                for (File file : files) {
-                    scanFiles(productType, fileFilter, file, fileTree);
-                }
-            }
-        } else if (entry.isFile()) {
+        final String indexName = String.format("%s-%08x.idx", productType.name().toLowerCase(),
+                                               (root.getAbsolutePath() + "\n" + filenameRegex).hashCode());
+        final File indexFile = new File(indexDir, indexName);
+        final FileIndex fileIndex = FileIndex.read(indexFile, productType, filenameRegex, root);
+        if (fileIndex.refresh() > 0) {
             try {
-                Date date = productType.parseDate(entry);
-                if (date != null) {
-                    fileTree.add(date, entry);
-                } else {
-                    SstLogging.getLogger().warning("Ignoring input file with unknown naming convention: " + entry.getPath());
-                }
-            } catch (ParseException e) {
-                SstLogging.getLogger().warning("Ignoring input file because date can't be parsed from filename: " + entry.getPath());
+                fileIndex.write(indexFile);
+            } catch (IOException e) {
+                SstLogging.getLogger().warning(String.format("Cannot write file index '%s': %s",
+                                                             indexFile.getPath(), e.getMessage()));
             }
         }
+        return fileIndex;
     }
-
-    private static class InputFileFilter implements FileFilter {
-        private final Pattern filenamePattern;
-
-        private InputFileFilter(String filenameRegex) {
-            this.filenamePattern = Pattern.compile(filenameRegex);
-        }
-
-        @Override
-        public boolean accept(File file) {
-            return file.isDirectory() || file.isFile() &&
-                    filenamePattern.matcher(file.getName()).matches();
-        }
-    }
-
 }
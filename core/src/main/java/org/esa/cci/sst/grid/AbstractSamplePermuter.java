@@ -56,6 +56,13 @@ public abstract class AbstractSamplePermuter implements Grid {
         return grid.getSampleDouble(getSourceX(x), getSourceY(y));
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            samples[offset + i] = grid.getSampleDouble(getSourceX(x + i), getSourceY(y));
+        }
+    }
+
     @Override
     public final int getSampleInt(int x, int y) {
         return grid.getSampleInt(getSourceX(x), getSourceY(y));
@@ -66,6 +73,10 @@ public abstract class AbstractSamplePermuter implements Grid {
         return grid.getSampleBoolean(getSourceX(x), getSourceY(y));
     }
 
+    protected final Grid getSourceGrid() {
+        return grid;
+    }
+
     protected abstract int getSourceX(int x);
 
     protected abstract int getSourceY(int y);
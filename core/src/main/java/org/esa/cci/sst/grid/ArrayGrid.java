@@ -31,7 +31,8 @@ public class ArrayGrid implements Grid {
     private final Array array;
     private final double scaling;
     private final double offset;
-    private final FillTest fillTest;
+    private final double fillSample;
+    private final boolean fillNaN;
     private final int width;
     private final int height;
 
@@ -52,7 +53,8 @@ public class ArrayGrid implements Grid {
         this.array = array;
         this.scaling = scaling;
         this.offset = offset;
-        this.fillTest = createFillTest(fillValue);
+        this.fillSample = fillValue != null ? fillValue.doubleValue() : Double.NaN;
+        this.fillNaN = fillValue != null && Double.isNaN(fillSample);
         width = gridDef.getWidth();
         height = gridDef.getHeight();
     }
@@ -97,11 +99,44 @@ public class ArrayGrid implements Grid {
         checkBounds(x, y);
 
         final int index = y * width + x;
-        final double sample = array.getDouble(index);
-        if (fillTest.isFill(sample)) {
-            return Double.NaN;
+        return toGeophysical(array.getDouble(index));
+    }
+
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int samplesOffset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        checkBounds(x, y);
+        checkBounds(x + length - 1, y);
+
+        final int index = y * width + x;
+        final Object storage = array.getStorage();
+        if (storage instanceof double[]) {
+            final double[] data = (double[]) storage;
+            for (int i = 0; i < length; i++) {
+                samples[samplesOffset + i] = toGeophysical(data[index + i]);
+            }
+        } else if (storage instanceof float[]) {
+            final float[] data = (float[]) storage;
+            for (int i = 0; i < length; i++) {
+                samples[samplesOffset + i] = toGeophysical(data[index + i]);
+            }
+        } else if (storage instanceof short[] && !array.isUnsigned()) {
+            final short[] data = (short[]) storage;
+            for (int i = 0; i < length; i++) {
+                samples[samplesOffset + i] = toGeophysical(data[index + i]);
+            }
+        } else if (storage instanceof byte[] && !array.isUnsigned()) {
+            final byte[] data = (byte[]) storage;
+            for (int i = 0; i < length; i++) {
+                samples[samplesOffset + i] = toGeophysical(data[index + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                samples[samplesOffset + i] = toGeophysical(array.getDouble(index + i));
+            }
         }
-        return scaling * sample + offset;
     }
 
     public void setSample(int x, int y, double sample) {
@@ -116,37 +151,14 @@ public class ArrayGrid implements Grid {
         }
     }
 
-    private interface FillTest {
-
-        boolean isFill(double sample);
+    private double toGeophysical(double sample) {
+        if (isFill(sample)) {
+            return Double.NaN;
+        }
+        return scaling * sample + offset;
     }
 
-    private static FillTest createFillTest(Number fillValue) {
-
-        if (fillValue == null) {
-            return new FillTest() {
-                @Override
-                public boolean isFill(double sample) {
-                    return false;
-                }
-            };
-        } else {
-            final double fillSample = fillValue.doubleValue();
-            if (Double.isNaN(fillSample)) {
-                return new FillTest() {
-                    @Override
-                    public boolean isFill(double sample) {
-                        return Double.isNaN(sample);
-                    }
-                };
-            } else {
-                return new FillTest() {
-                    @Override
-                    public boolean isFill(double sample) {
-                        return sample == fillSample;
-                    }
-                };
-            }
-        }
+    private boolean isFill(double sample) {
+        return sample == fillSample || fillNaN && Double.isNaN(sample);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A grid that is backed by a float buffer, e.g. a buffer mapped from a file. Samples are stored
+ * in row-major order, missing samples are NaN.
+ *
+ * @author agent
+ */
+public final class BufferGrid implements Grid {
+
+    private final GridDef gridDef;
+    private final FloatBuffer buffer;
+    private final int width;
+    private final int height;
+
+    public static BufferGrid create(GridDef gridDef, FloatBuffer buffer) {
+        if (buffer.limit() != gridDef.getWidth() * gridDef.getHeight()) {
+            throw new IllegalArgumentException("buffer.limit() != gridDef.getWidth() * gridDef.getHeight()");
+        }
+        return new BufferGrid(gridDef, buffer);
+    }
+
+    private BufferGrid(GridDef gridDef, FloatBuffer buffer) {
+        this.gridDef = gridDef;
+        this.buffer = buffer;
+        width = gridDef.getWidth();
+        height = gridDef.getHeight();
+    }
+
+    @Override
+    public GridDef getGridDef() {
+        return gridDef;
+    }
+
+    @Override
+    public double getSampleDouble(int x, int y) {
+        checkBounds(x, y);
+        return buffer.get(y * width + x);
+    }
+
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        checkBounds(x, y);
+        checkBounds(x + length - 1, y);
+
+        final int index = y * width + x;
+        for (int i = 0; i < length; i++) {
+            samples[offset + i] = buffer.get(index + i);
+        }
+    }
+
+    @Override
+    public int getSampleInt(int x, int y) {
+        return (int) getSampleDouble(x, y);
+    }
+
+    @Override
+    public boolean getSampleBoolean(int x, int y) {
+        return getSampleDouble(x, y) != 0.0;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new ArrayIndexOutOfBoundsException("width: " + width + "; height: " + height + "; x = " + x + "; y = " + y);
+        }
+    }
+}
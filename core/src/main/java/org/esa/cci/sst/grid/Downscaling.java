@@ -112,6 +112,11 @@ public final class Downscaling implements Grid {
         return targetGrid.getSampleDouble(x, y);
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        targetGrid.getSamplesDouble(x, y, samples, offset, length);
+    }
+
     @Override
     public int getSampleInt(int x, int y) {
         return targetGrid.getSampleInt(x, y);
@@ -27,6 +27,17 @@ public interface Grid {
 
     double getSampleDouble(int x, int y);
 
+    /**
+     * Reads the samples of a segment of a grid row, as returned by {@link #getSampleDouble(int, int)}.
+     *
+     * @param x       The x coordinate of the first sample in the segment.
+     * @param y       The y coordinate of the row.
+     * @param samples The array the samples are written into.
+     * @param offset  The index the first sample is written to.
+     * @param length  The number of samples in the segment.
+     */
+    void getSamplesDouble(int x, int y, double[] samples, int offset, int length);
+
     int getSampleInt(int x, int y);
 
     boolean getSampleBoolean(int x, int y);
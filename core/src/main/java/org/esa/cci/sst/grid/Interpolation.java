@@ -37,6 +37,27 @@ package org.esa.cci.sst.grid;/*
  */
 public final class Interpolation implements Grid {
 
+    /**
+     * The way interpolated samples are computed.
+     */
+    public enum Mode {
+        /**
+         * Samples are interpolated on every access.
+         */
+        LAZY,
+        /**
+         * Samples are interpolated in tiles when first accessed. The tiles covering the whole grid are kept,
+         * so every tile is interpolated once at most.
+         */
+        TILED,
+        /**
+         * All samples are interpolated at once.
+         */
+        EAGER
+    }
+
+    private static final int TILE_SIZE = 256;
+
     private final Grid sourceGrid;
     private final GridDef sourceGridDef;
     private final GridDef targetGridDef;
@@ -51,6 +72,47 @@ public final class Interpolation implements Grid {
         return new Interpolation(sourceGrid, targetGridDef);
     }
 
+    /**
+     * Creates a new interpolated grid. Materialized samples are stored as floats.
+     *
+     * @param sourceGrid    The source grid.
+     * @param targetGridDef The target grid definition.
+     * @param mode          The way interpolated samples are computed.
+     *
+     * @return the interpolated grid.
+     */
+    public static Grid create(Grid sourceGrid, GridDef targetGridDef, Mode mode) {
+        final Grid interpolation = new Interpolation(sourceGrid, targetGridDef);
+        switch (mode) {
+            case TILED:
+                return TiledGrid.create(interpolation, TILE_SIZE, getTileCount(targetGridDef, TILE_SIZE));
+            case EAGER:
+                return materialize(interpolation);
+            default:
+                return interpolation;
+        }
+    }
+
+    private static int getTileCount(GridDef gridDef, int tileSize) {
+        final int tileCountX = (gridDef.getWidth() + tileSize - 1) / tileSize;
+        final int tileCountY = (gridDef.getHeight() + tileSize - 1) / tileSize;
+        return tileCountX * tileCountY;
+    }
+
+    private static Grid materialize(Grid grid) {
+        final int w = grid.getGridDef().getWidth();
+        final int h = grid.getGridDef().getHeight();
+        final float[] data = new float[w * h];
+        final double[] samples = new double[w];
+        for (int y = 0; y < h; y++) {
+            grid.getSamplesDouble(0, y, samples, 0, w);
+            for (int x = 0; x < w; x++) {
+                data[y * w + x] = (float) samples[x];
+            }
+        }
+        return ArrayGrid.create(grid.getGridDef(), data);
+    }
+
     @Override
     public GridDef getGridDef() {
         return targetGridDef;
@@ -128,6 +190,13 @@ public final class Interpolation implements Grid {
         return ws > 0.0 ? vs / ws : Double.NaN;
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            samples[offset + i] = getSampleDouble(x + i, y);
+        }
+    }
+
     @Override
     public int getSampleInt(int x, int y) {
         return (int) getSampleDouble(x, y);
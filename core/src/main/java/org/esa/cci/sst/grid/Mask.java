@@ -59,6 +59,13 @@ public final class Mask implements Grid {
         return getSampleInt(x, y);
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            samples[offset + i] = getSampleInt(x + i, y);
+        }
+    }
+
     @Override
     public int getSampleInt(int x, int y) {
         return (sourceGrid.getSampleInt(x, y) & mask) == mask ? 1 : 0;
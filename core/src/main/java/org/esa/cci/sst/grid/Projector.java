@@ -44,12 +44,62 @@ import static java.lang.Math.*;
  */
 public class Projector {
 
+    /**
+     * The name of the environment variable holding the number of processors allocated to a batch job, which
+     * is set by LSF when a job is submitted with the '-n' option.
+     */
+    public static final String PARALLELISM_ENV = "LSB_DJOB_NUMPROC";
+
+    private static final int TILE_SIZE = 32;
+
     private final GridDef gridDef;
     private final Logger logger;
+    private final int parallelism;
 
     public Projector(GridDef gridDef, Logger logger) {
+        this(gridDef, logger, getDefaultParallelism());
+    }
+
+    /**
+     * Creates a new projector.
+     *
+     * @param gridDef     The target grid definition.
+     * @param logger      The logger, may be {@code null}.
+     * @param parallelism The number of threads used for projecting.
+     */
+    public Projector(GridDef gridDef, Logger logger, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism < 1");
+        }
         this.gridDef = gridDef;
         this.logger = logger;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads used for projecting by default. This is the number of processors allocated
+     * to the batch job, if given by the {@link #PARALLELISM_ENV} environment variable, or the number of
+     * processors available to the Java virtual machine otherwise.
+     *
+     * @return the default number of threads used for projecting.
+     */
+    public static int getDefaultParallelism() {
+        final String value = System.getenv(PARALLELISM_ENV);
+        if (value != null) {
+            try {
+                final int processorCount = Integer.parseInt(value.trim());
+                if (processorCount > 0) {
+                    return processorCount;
+                }
+            } catch (NumberFormatException ignored) {
+                // use the number of available processors
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getParallelism() {
+        return parallelism;
     }
 
     public float[][] createProjectedData(NetcdfFile datafile, List<String> variableNames) throws IOException {
@@ -60,7 +110,6 @@ public class Projector {
         final GridDef sourceRaster = GridDef.createRaster(lat.getShape(rank - 1), lat.getShape(rank - 2));
         final Grid lonGrid = NcTools.readGrid(datafile, lon, sourceRaster, 0);
         final Grid latGrid = NcTools.readGrid(datafile, lat, sourceRaster, 0);
-        final PixelLocator sourcePixelLocator = new PixelLocator(lonGrid, latGrid);
 
         final int variableCount = variableNames.size();
         final Grid[] sourceGrids = new Grid[variableCount];
@@ -68,130 +117,199 @@ public class Projector {
             sourceGrids[i] = NcTools.readGrid(datafile, variableNames.get(i), sourceRaster);
         }
 
-        final int w = gridDef.getWidth();
-        final int h = gridDef.getHeight();
-        final float[][] projectedData = new float[variableCount][w * h];
-
-        /*
-            TODO - to exploit parallelism on CEMS use '-n' option
-            The job needs to be submitted with a request for the same number of
-            CPU slots (-n) as
-            the number of SMP threads that the main jobs will spool off in parallel. At the
-            minute that number of spooled threads is bigger than the maximum CPU
-            slots on the host which is leading to overloading.
-
-            Could you please have a look at your code. It should be limited to a
-            smaller number
-            of threads, and then submitted to LOTUS requesting that number of
-            threads (with the –n flag).
-         */
-        final int threadCount = Runtime.getRuntime().availableProcessors();
-        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
-        final List<Future<float[][]>> futures = new ArrayList<>(h);
-        for (int y = 0; y < h; y++) {
-            final RowTask rowTask = new RowTask(sourceGrids, y, sourcePixelLocator);
-            futures.add(executorService.submit(rowTask));
-        }
-        executorService.shutdown();
-
         try {
-            final boolean completed = executorService.awaitTermination(30, TimeUnit.MINUTES);
-            if (!completed) {
-                if (logger != null && logger.isLoggable(Level.WARNING)) {
-                    logger.warning(MessageFormat.format("Projecting file ''{0}'' was not completed in time.",
-                            datafile.getLocation()));
-                }
-            }
-        } catch (InterruptedException ignored) {
-            // ignore, cannot happen
+            return createProjectedData(lonGrid, latGrid, sourceGrids);
+        } catch (RuntimeException e) {
+            throw new IOException(MessageFormat.format("An error has occurred while projecting file ''{0}''.",
+                    datafile.getLocation()), e);
         }
+    }
 
-        for (int y = 0; y < h; y++) {
-            try {
-                final float[][] rowData = futures.get(y).get();
-                for (int i = 0; i < variableCount; i++) {
-                    System.arraycopy(rowData[i], 0, projectedData[i], y * w, w);
-                }
-            } catch (InterruptedException ignored) {
-                // ignore, cannot happen
-            } catch (ExecutionException e) {
-                if (logger != null && logger.isLoggable(Level.WARNING)) {
-                    logger.warning(
-                            MessageFormat.format("An error has occurred while projecting file ''{0}''.",
-                                    datafile.getLocation())
-                    );
-                }
+    /**
+     * Projects source grids onto the target grid. The target grid is divided into square tiles, which are
+     * projected in parallel by a work-stealing pool of threads. Each thread keeps a window of source
+     * longitudes and latitudes, which is reused for locating the source pixels of neighbouring target cells.
+     *
+     * @param lonGrid     The longitudes of the source pixels.
+     * @param latGrid     The latitudes of the source pixels.
+     * @param sourceGrids The source grids.
+     *
+     * @return the projected data of each source grid.
+     */
+    float[][] createProjectedData(final Grid lonGrid, final Grid latGrid, Grid[] sourceGrids) {
+        final PixelLocator sourcePixelLocator = new PixelLocator(lonGrid, latGrid);
+
+        final int w = gridDef.getWidth();
+        final int h = gridDef.getHeight();
+        final float[][] projectedData = new float[sourceGrids.length][w * h];
+
+        final ThreadLocal<SourceWindow> sourceWindows = new ThreadLocal<SourceWindow>() {
+            @Override
+            protected SourceWindow initialValue() {
+                return new SourceWindow(lonGrid, latGrid);
             }
+        };
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new TileTask(sourceGrids, sourcePixelLocator, sourceWindows, projectedData,
+                    new Rectangle(0, 0, w, h)));
+        } finally {
+            pool.shutdown();
         }
 
         return projectedData;
     }
 
-    private class RowTask implements Callable<float[][]> {
+    private class TileTask extends RecursiveAction {
 
         private final Grid[] sourceGrids;
-        private final int y;
-        private PixelLocator pixelLocator;
+        private final PixelLocator pixelLocator;
+        private final ThreadLocal<SourceWindow> sourceWindows;
+        private final float[][] data;
+        private final Rectangle area;
 
-        public RowTask(Grid[] sourceGrids, int y, PixelLocator pixelLocator) {
+        private TileTask(Grid[] sourceGrids, PixelLocator pixelLocator, ThreadLocal<SourceWindow> sourceWindows,
+                         float[][] data, Rectangle area) {
             this.sourceGrids = sourceGrids;
-            this.y = y;
             this.pixelLocator = pixelLocator;
+            this.sourceWindows = sourceWindows;
+            this.data = data;
+            this.area = area;
         }
 
         @Override
-        public float[][] call() throws Exception {
+        protected void compute() {
+            if (area.width > TILE_SIZE || area.height > TILE_SIZE) {
+                // split into halves at a tile boundary
+                final Rectangle area1;
+                final Rectangle area2;
+                if (area.width >= area.height) {
+                    final int w1 = (area.width / TILE_SIZE + 1) / 2 * TILE_SIZE;
+                    area1 = new Rectangle(area.x, area.y, w1, area.height);
+                    area2 = new Rectangle(area.x + w1, area.y, area.width - w1, area.height);
+                } else {
+                    final int h1 = (area.height / TILE_SIZE + 1) / 2 * TILE_SIZE;
+                    area1 = new Rectangle(area.x, area.y, area.width, h1);
+                    area2 = new Rectangle(area.x, area.y + h1, area.width, area.height - h1);
+                }
+                invokeAll(createSubtask(area1), createSubtask(area2));
+            } else {
+                computeTile();
+            }
+        }
+
+        private TileTask createSubtask(Rectangle subarea) {
+            return new TileTask(sourceGrids, pixelLocator, sourceWindows, data, subarea);
+        }
+
+        private void computeTile() {
             if (logger != null && logger.isLoggable(Level.FINE)) {
-                logger.fine(MessageFormat.format("Starting computing projection for row {0}.", y));
+                logger.fine(MessageFormat.format("Starting computing projection for tile {0}.", area));
             }
-            final float[][] data = new float[sourceGrids.length][gridDef.getWidth()];
+            final SourceWindow sourceWindow = sourceWindows.get();
+            final int w = gridDef.getWidth();
 
             final Point2D p = new Point2D.Double();
-            for (int x = 0; x < gridDef.getWidth(); x++) {
-                final double lon = gridDef.getCenterLon(x);
+            for (int y = area.y; y < area.y + area.height; y++) {
                 final double lat = gridDef.getCenterLat(y);
-                final double cellRadius = gridDef.getDiagonal(x, y) / 12742.0;
-                pixelLocator.getPixelLocation(lon, lat, p, cellRadius);
-                if (Double.isNaN(p.getX()) || Double.isNaN(p.getY())) {
-                    for (int i = 0; i < sourceGrids.length; ++i) {
-                        data[i][x] = Float.NaN; // todo - use no-data value?
-                    }
-                } else {
-                    for (int i = 0; i < sourceGrids.length; ++i) {
-                        data[i][x] = (float) sourceGrids[i].getSampleDouble((int) p.getX(), (int) p.getY());
+                for (int x = area.x; x < area.x + area.width; x++) {
+                    final double lon = gridDef.getCenterLon(x);
+                    final double cellRadius = gridDef.getDiagonal(x, y) / 12742.0;
+                    pixelLocator.getPixelLocation(lon, lat, p, cellRadius, sourceWindow);
+                    final int index = y * w + x;
+                    if (Double.isNaN(p.getX()) || Double.isNaN(p.getY())) {
+                        for (int i = 0; i < sourceGrids.length; ++i) {
+                            data[i][index] = Float.NaN; // todo - use no-data value?
+                        }
+                    } else {
+                        for (int i = 0; i < sourceGrids.length; ++i) {
+                            data[i][index] = (float) sourceGrids[i].getSampleDouble((int) p.getX(), (int) p.getY());
+                        }
                     }
                 }
             }
 
             if (logger != null && logger.isLoggable(Level.FINE)) {
-                logger.fine(MessageFormat.format("Finished computing projection for row {0}.", y));
+                logger.fine(MessageFormat.format("Finished computing projection for tile {0}.", area));
             }
-
-            return data;
         }
     }
 
-    private static class PixelLocator {
+    /**
+     * A window of the longitudes and latitudes of source pixels. The window is enlarged by a margin, so it
+     * contains the search regions of the neighbouring target cells, too.
+     */
+    private static final class SourceWindow {
 
-        private final int searchCycleCount = 30;
+        private static final int MARGIN = 64;
 
         private final Grid lonGrid;
         private final Grid latGrid;
-        private final Approximation[] approximations;
         private final int gridW;
         private final int gridH;
 
-        PixelLocator(Grid lonGrid, Grid latGrid) {
+        private int minX;
+        private int minY;
+        private int maxX = -1;
+        private int maxY = -1;
+        private int width;
+        private double[] lons;
+        private double[] lats;
+
+        SourceWindow(Grid lonGrid, Grid latGrid) {
             this.lonGrid = lonGrid;
             this.latGrid = latGrid;
 
             gridW = lonGrid.getGridDef().getWidth();
             gridH = lonGrid.getGridDef().getHeight();
+        }
+
+        void ensureContains(int x1, int y1, int x2, int y2) {
+            if (x1 < minX || y1 < minY || x2 > maxX || y2 > maxY) {
+                minX = Math.max(x1 - MARGIN, 0);
+                minY = Math.max(y1 - MARGIN, 0);
+                maxX = Math.min(x2 + MARGIN, gridW - 1);
+                maxY = Math.min(y2 + MARGIN, gridH - 1);
+                width = maxX - minX + 1;
+
+                final int size = width * (maxY - minY + 1);
+                if (lons == null || lons.length < size) {
+                    lons = new double[size];
+                    lats = new double[size];
+                }
+                for (int y = minY, offset = 0; y <= maxY; y++, offset += width) {
+                    lonGrid.getSamplesDouble(minX, y, lons, offset, width);
+                    latGrid.getSamplesDouble(minX, y, lats, offset, width);
+                }
+            }
+        }
+
+        double getLon(int x, int y) {
+            return lons[(y - minY) * width + (x - minX)];
+        }
+
+        double getLat(int x, int y) {
+            return lats[(y - minY) * width + (x - minX)];
+        }
+    }
+
+    private static class PixelLocator {
+
+        private final int searchCycleCount = 30;
+
+        private final Approximation[] approximations;
+        private final int gridW;
+        private final int gridH;
+
+        PixelLocator(Grid lonGrid, Grid latGrid) {
+            gridW = lonGrid.getGridDef().getWidth();
+            gridH = lonGrid.getGridDef().getHeight();
 
             approximations = createApproximations(lonGrid, latGrid, 0.5);
         }
 
-        Point2D getPixelLocation(final double lon0, final double lat0, Point2D p, double cellRadius) {
+        Point2D getPixelLocation(final double lon0, final double lat0, Point2D p, double cellRadius,
+                                 SourceWindow window) {
             if (approximations != null && lon0 >= -180.0 && lon0 <= 180.0 && lat0 >= -90.0 && lat0 <= 90.0) {
                 final Approximation approximation = Approximation.findMostSuitable(approximations, lat0, lon0);
                 if (approximation != null) {
@@ -210,7 +328,7 @@ public class Projector {
                             p.setLocation(Double.NaN, Double.NaN);
                         } else {
                             p.setLocation(x, y);
-                            refinePixelLocation(lon0, lat0, p, cellRadius);
+                            refinePixelLocation(lon0, lat0, p, cellRadius, window);
                         }
                     }
                 } else {
@@ -223,7 +341,8 @@ public class Projector {
             return p;
         }
 
-        private void refinePixelLocation(final double lon0, final double lat0, Point2D p, double cellRadius) {
+        private void refinePixelLocation(final double lon0, final double lat0, Point2D p, double cellRadius,
+                                         SourceWindow window) {
             int x0 = (int) Math.floor(p.getX());
             int y0 = (int) Math.floor(p.getY());
 
@@ -242,11 +361,12 @@ public class Projector {
                 @SuppressWarnings("UnnecessaryLocalVariable")
                 final int rasterMaxY = y2;
 
+                window.ensureContains(rasterMinX, rasterMinY, rasterMaxX, rasterMaxY);
                 final SphericalDistance dc = new SphericalDistance(lon0, lat0);
 
                 double minDistance;
-                double lon = lonGrid.getSampleDouble(x0, y0);
-                double lat = latGrid.getSampleDouble(x0, y0);
+                double lon = window.getLon(x0, y0);
+                double lat = window.getLat(x0, y0);
 
                 if (lon >= -180.0 && lon <= 180.0 && lat >= -90.0 && lat <= 90.0) {
                     minDistance = dc.distance(lon, lat);
@@ -265,7 +385,7 @@ public class Projector {
 
                     // enlarge search region along negative x direction, if pixel is not valid at boundary
                     while (minX > rasterMinX) {
-                        if (isValid(minX, y1)) {
+                        if (isValid(window, minX, y1)) {
                             break;
                         }
                         if (minX > rasterMinX) {
@@ -274,7 +394,7 @@ public class Projector {
                     }
                     // enlarge search region along positive x direction, if pixel is not valid at boundary
                     while (maxX < rasterMaxX) {
-                        if (isValid(maxX, y1)) {
+                        if (isValid(window, maxX, y1)) {
                             break;
                         }
                         if (maxX < rasterMaxX) {
@@ -285,11 +405,9 @@ public class Projector {
                     for (int y = minY; y <= maxY; y++) {
                         for (int x = minX; x <= maxX; x++) {
                             if (y != y0 || x != x0) {
-                                lon = lonGrid.getSampleDouble(x, y);
-                                lat = latGrid.getSampleDouble(x, y);
+                                lon = window.getLon(x, y);
+                                lat = window.getLat(x, y);
                                 if (lon >= -180.0 && lon <= 180.0 && lat >= -90.0 && lat <= 90.0) {
-                                    lon = lonGrid.getSampleDouble(x, y);
-                                    lat = latGrid.getSampleDouble(x, y);
                                     final double d = dc.distance(lon, lat);
                                     if (d < minDistance) {
                                         x1 = x;
@@ -318,9 +436,9 @@ public class Projector {
             }
         }
 
-        private boolean isValid(int x, int y) {
-            final double lon = lonGrid.getSampleDouble(x, y);
-            final double lat = latGrid.getSampleDouble(x, y);
+        private static boolean isValid(SourceWindow window, int x, int y) {
+            final double lon = window.getLon(x, y);
+            final double lat = window.getLat(x, y);
 
             return lon >= -180.0 && lon <= 180.0 && lat >= -90.0 && lat <= 90.0;
         }
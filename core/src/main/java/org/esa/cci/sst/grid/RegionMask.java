@@ -180,6 +180,14 @@ public class RegionMask implements Grid {
         return samples[gridY][gridX] ? 1.0 : 0.0;
     }
 
+    @Override
+    public void getSamplesDouble(int gridX, int gridY, double[] samples, int offset, int length) {
+        final boolean[] row = this.samples[gridY];
+        for (int i = 0; i < length; i++) {
+            samples[offset + i] = row[gridX + i] ? 1.0 : 0.0;
+        }
+    }
+
     public static RegionMask combine(RegionMaskList regionMaskList) {
         if (regionMaskList == null || regionMaskList.size() == 0) {
             return null;
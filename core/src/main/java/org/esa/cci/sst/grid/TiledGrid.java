@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorator for materializing the double samples of an existing grid in square tiles of float
+ * samples. Tiles are computed when first accessed. Only a bounded number of tiles is kept, the
+ * least recently used tile is discarded first. Integer and boolean samples are not materialized.
+ *
+ * @author agent
+ */
+public final class TiledGrid implements Grid {
+
+    private final Grid sourceGrid;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int tileCountX;
+    private final Map<Integer, float[]> tiles;
+    private final AtomicInteger computedTileCount = new AtomicInteger();
+
+    private volatile Tile lastTile;
+
+    /**
+     * Creates a new tiled grid.
+     *
+     * @param sourceGrid   The source grid.
+     * @param tileSize     The width and height of a tile.
+     * @param maxTileCount The maximum number of tiles kept in memory.
+     *
+     * @return the tiled grid.
+     */
+    public static TiledGrid create(Grid sourceGrid, int tileSize, int maxTileCount) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("tileSize < 1");
+        }
+        if (maxTileCount < 1) {
+            throw new IllegalArgumentException("maxTileCount < 1");
+        }
+        return new TiledGrid(sourceGrid, tileSize, maxTileCount);
+    }
+
+    private TiledGrid(Grid sourceGrid, int tileSize, final int maxTileCount) {
+        this.sourceGrid = sourceGrid;
+        this.tileSize = tileSize;
+        width = sourceGrid.getGridDef().getWidth();
+        height = sourceGrid.getGridDef().getHeight();
+        tileCountX = (width + tileSize - 1) / tileSize;
+        tiles = new LinkedHashMap<Integer, float[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, float[]> eldest) {
+                return size() > maxTileCount;
+            }
+        };
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    @Override
+    public GridDef getGridDef() {
+        return sourceGrid.getGridDef();
+    }
+
+    @Override
+    public double getSampleDouble(int x, int y) {
+        checkBounds(x, y);
+        final float[] tile = getTile(x / tileSize, y / tileSize);
+        return tile[(y % tileSize) * tileSize + x % tileSize];
+    }
+
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        checkBounds(x, y);
+        checkBounds(x + length - 1, y);
+
+        final int tileY = y / tileSize;
+        final int rowIndex = (y % tileSize) * tileSize;
+        final int endX = x + length;
+        while (x < endX) {
+            final int tileX = x / tileSize;
+            final int segmentEndX = Math.min(endX, (tileX + 1) * tileSize);
+            final float[] tile = getTile(tileX, tileY);
+            for (int i = rowIndex + x % tileSize; x < segmentEndX; x++, i++) {
+                samples[offset++] = tile[i];
+            }
+        }
+    }
+
+    @Override
+    public int getSampleInt(int x, int y) {
+        return sourceGrid.getSampleInt(x, y);
+    }
+
+    @Override
+    public boolean getSampleBoolean(int x, int y) {
+        return sourceGrid.getSampleBoolean(x, y);
+    }
+
+    private float[] getTile(int tileX, int tileY) {
+        final int index = tileY * tileCountX + tileX;
+        final Tile last = lastTile;
+        if (last != null && last.index == index) {
+            return last.data;
+        }
+        float[] data;
+        synchronized (tiles) {
+            data = tiles.get(index);
+        }
+        if (data == null) {
+            // computed outside the lock, at worst a tile is computed twice
+            data = computeTile(tileX, tileY);
+            synchronized (tiles) {
+                tiles.put(index, data);
+            }
+        }
+        lastTile = new Tile(index, data);
+        return data;
+    }
+
+    // package access for testing only
+    int getComputedTileCount() {
+        return computedTileCount.get();
+    }
+
+    private float[] computeTile(int tileX, int tileY) {
+        computedTileCount.incrementAndGet();
+        final float[] data = new float[tileSize * tileSize];
+        final int minX = tileX * tileSize;
+        final int minY = tileY * tileSize;
+        final int w = Math.min(tileSize, width - minX);
+        final int h = Math.min(tileSize, height - minY);
+        final double[] samples = new double[w];
+        for (int j = 0; j < h; j++) {
+            sourceGrid.getSamplesDouble(minX, minY + j, samples, 0, w);
+            for (int i = 0; i < w; i++) {
+                data[j * tileSize + i] = (float) samples[i];
+            }
+        }
+        return data;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new ArrayIndexOutOfBoundsException("width: " + width + "; height: " + height + "; x = " + x + "; y = " + y);
+        }
+    }
+
+    private static final class Tile {
+
+        private final int index;
+        private final float[] data;
+
+        private Tile(int index, float[] data) {
+            this.index = index;
+            this.data = data;
+        }
+    }
+}
@@ -48,6 +48,18 @@ public final class XSwap extends AbstractSamplePermuter {
         return new XSwap(grid);
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        // the segment is split where the left and right halves are swapped
+        final int leftLength = Math.max(0, Math.min(length, h - x));
+        if (leftLength > 0) {
+            getSourceGrid().getSamplesDouble(x + h, y, samples, offset, leftLength);
+        }
+        if (leftLength < length) {
+            getSourceGrid().getSamplesDouble(x + leftLength - h, y, samples, offset + leftLength, length - leftLength);
+        }
+    }
+
     @Override
     protected final int getSourceX(int x) { // swap left and right halves
         return x < h ? x + h : x - h;
@@ -48,6 +48,11 @@ public final class YFlip extends AbstractSamplePermuter {
         return new YFlip(grid);
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        getSourceGrid().getSamplesDouble(x, getSourceY(y), samples, offset, length);
+    }
+
     @Override
     protected final int getSourceX(int x) {
         return x;
@@ -65,7 +65,13 @@ class CciL2FileType extends CciL3FileType {
             variableNames.add(ADJUSTMENT_UNCERTAINTY);
         }
         final GridDef gridDef = getGridDef();
-        final Projector projector = new Projector(gridDef, SstLogging.getLogger());
+        final int parallelism = context.getProjectionParallelism();
+        final Projector projector;
+        if (parallelism > 0) {
+            projector = new Projector(gridDef, SstLogging.getLogger(), parallelism);
+        } else {
+            projector = new Projector(gridDef, SstLogging.getLogger());
+        }
         final float[][] data = projector.createProjectedData(datafile, variableNames);
 
         context.setSstGrid(ArrayGrid.create(gridDef, data[0]));
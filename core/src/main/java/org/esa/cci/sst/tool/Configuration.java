@@ -36,6 +36,8 @@ public class Configuration {
     public static final String KEY_MMS_DIRTY_MASK_PREFIX = "mms.dirty.";
     public static final String KEY_MMS_USECASE = "mms.usecase";
 
+    public static final String KEY_MMS_DB_SLOW_QUERY_THRESHOLD = "mms.db.slowquerythreshold";
+
     public static final String KEY_MMS_INGESTION_CLEANUPINTERVAL = "mms.ingestion.cleanupinterval";
     public static final String KEY_MMS_INGESTION_START_TIME = "mms.source.startTime";
     public static final String KEY_MMS_INGESTION_STOP_TIME = "mms.source.stopTime";
@@ -43,6 +45,7 @@ public class Configuration {
     public static final String KEY_MMS_MATCHUP_START_TIME = "mms.matchup.startTime";
     public static final String KEY_MMS_MATCHUP_STOP_TIME = "mms.matchup.stopTime";
     public static final String KEY_MMS_MATCHUP_PRIMARY_SENSOR = "mms.matchup.primarysensor";
+    public static final String KEY_MMS_MATCHUP_INDEX = "mms.matchup.index";
 
     public static final String KEY_MMS_MMD_DIMENSIONS = "mms.target.dimensions";
     public static final String KEY_MMS_MMD_TARGET_DIR = "mms.target.dir";
@@ -50,6 +53,7 @@ public class Configuration {
     public static final String KEY_MMS_MMD_TARGET_VARIABLES = "mms.target.variables";
     public static final String KEY_MMS_MMD_SENSORS = "mms.mmd.sensors";
     public static final String KEY_MMS_MMD_READER_CACHE_SIZE = "mms.target.readercachesize";
+    public static final String KEY_MMS_MMD_FETCH_SIZE = "mms.target.fetchsize";
     public static final String KEY_MMS_MMD_TARGET_START_TIME = "mms.target.startTime";
     public static final String KEY_MMS_MMD_TARGET_STOP_TIME = "mms.target.stopTime";
 
@@ -78,6 +82,11 @@ public class Configuration {
     public static final String KEY_MMS_SAMPLING_MIN_LAT = "mms.sampling.minlatitude";
     public static final String KEY_MMS_SAMPLING_MAX_LAT = "mms.sampling.maxlatitude";
 
+    public static final String KEY_MMS_PIPELINE_START_TIME = "mms.pipeline.startTime";
+    public static final String KEY_MMS_PIPELINE_STOP_TIME = "mms.pipeline.stopTime";
+    public static final String KEY_MMS_PIPELINE_JOURNAL = "mms.pipeline.journal";
+    public static final String KEY_MMS_PIPELINE_PARALLELISM = "mms.pipeline.parallelism";
+
     public static final String KEY_MMS_MAPPLOT_STATEGY = "mms.mapplot.strategy";
     public static final String KEY_MMS_MAPPLOT_TARGET_DIR = "mms.mapplot.target.dir";
     public static final String KEY_MMS_MAPPLOT_TARGET_FILENAME = "mms.mapplot.target.filename";
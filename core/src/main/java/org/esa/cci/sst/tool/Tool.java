@@ -19,6 +19,7 @@ package org.esa.cci.sst.tool;
 import org.apache.commons.cli.*;
 import org.esa.cci.sst.log.LogLevel;
 import org.esa.cci.sst.log.SstLogging;
+import org.esa.cci.sst.util.TimingRegistry;
 
 import java.io.File;
 import java.io.FileReader;
@@ -50,6 +51,7 @@ public abstract class Tool {
         options = createOptions();
         try {
             run0(arguments);
+            TimingRegistry.getInstance().report(logger);
         } catch (ToolException e) {
             error(e, e.getExitCode());
         } catch (Throwable e) {
@@ -177,6 +179,7 @@ public abstract class Tool {
     }
 
     private void error(Throwable error, int exitCode) {
+        TimingRegistry.getInstance().report(logger);
         if (ToolException.class.equals(error.getClass())) {
             logger.severe("Error: " + error.getMessage());
             if (exitCode == ToolException.TOOL_USAGE_ERROR) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+/**
+ * Receives the domain events emitted by the MMS and aggregation pipelines. Implementations
+ * must be thread-safe and must have a public no-argument constructor.
+ *
+ * @author agent
+ * @see PipelineEvents
+ */
+public interface EventRecorder {
+
+    /**
+     * Called when an input file has been opened.
+     *
+     * @param path       The path of the file.
+     * @param readerType The type of reader used for opening the file.
+     * @param byteCount  The size of the file (bytes), or {@code -1} if unknown.
+     * @param nanos      The time spent opening the file (ns).
+     */
+    void fileOpened(String path, String readerType, long byteCount, long nanos);
+
+    /**
+     * Called when the data of a variable have been extracted from an input file.
+     *
+     * @param role  The role of the variable.
+     * @param shape The shape of the extracted data.
+     * @param nanos The time spent extracting the data (ns).
+     */
+    void variableExtracted(String role, int[] shape, long nanos);
+
+    /**
+     * Called when the conversion rules for a target column have been applied.
+     *
+     * @param targetName The name of the target column.
+     * @param sourceName The name of the source column, or {@code null} for implicit columns.
+     * @param nanos      The time spent applying the rules (ns).
+     */
+    void ruleApplied(String targetName, String sourceName, long nanos);
+
+    /**
+     * Called when a database query has been executed.
+     *
+     * @param query    The query string.
+     * @param rowCount The number of rows returned or updated, or {@code -1} if unknown.
+     * @param nanos    The time spent executing the query (ns).
+     */
+    void queryExecuted(String query, int rowCount, long nanos);
+
+    /**
+     * Called when an input file has been aggregated into a cell grid.
+     *
+     * @param path  The path of the input file.
+     * @param nanos The time spent aggregating the file (ns).
+     */
+    void cellGridAggregated(String path, long nanos);
+}
@@ -52,7 +52,7 @@ public class FileUtil {
     }
 
     // package access for testing only tb 2014-11-11
-    static File getFile(String path, String toolHome) {
+    public static File getFile(String path, String toolHome) {
         if (StringUtils.isBlank(path)) {
             return null;
         }
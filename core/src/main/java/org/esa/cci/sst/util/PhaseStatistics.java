@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+/**
+ * The timing statistics of a phase: the number of times the phase has been passed, the total,
+ * minimum and maximum time spent, and a histogram of the times spent. The histogram has four
+ * buckets for each power of two nanoseconds, so percentiles are estimated with a relative error
+ * of less than 12.5 percent.
+ * <p/>
+ * Instances are accumulated by a {@link TimingRegistry}. The statistics returned by the registry
+ * are snapshots, which do not change.
+ *
+ * @author agent
+ */
+public final class PhaseStatistics {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 64 * SUB_BUCKET_COUNT;
+
+    private final String path;
+    private final long[] histogram;
+    private long count;
+    private long totalNanos;
+    private long minNanos;
+    private long maxNanos;
+
+    PhaseStatistics(String path) {
+        this.path = path;
+        histogram = new long[BUCKET_COUNT];
+        minNanos = Long.MAX_VALUE;
+        maxNanos = Long.MIN_VALUE;
+    }
+
+    private PhaseStatistics(PhaseStatistics statistics) {
+        path = statistics.path;
+        histogram = statistics.histogram.clone();
+        count = statistics.count;
+        totalNanos = statistics.totalNanos;
+        minNanos = statistics.minNanos;
+        maxNanos = statistics.maxNanos;
+    }
+
+    /**
+     * Returns the path of the phase. The path is the slash-separated list of the names of
+     * the enclosing phases and the name of the phase itself.
+     *
+     * @return the path of the phase.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMinNanos() {
+        return count > 0 ? minNanos : 0;
+    }
+
+    public long getMaxNanos() {
+        return count > 0 ? maxNanos : 0;
+    }
+
+    public double getMeanNanos() {
+        return count > 0 ? (double) totalNanos / count : 0.0;
+    }
+
+    /**
+     * Returns an estimate of a percentile of the times spent in the phase.
+     *
+     * @param percent The percentage, between {@code 0} and {@code 100}.
+     *
+     * @return the estimated percentile (ns), which is between the minimum and the maximum time.
+     */
+    public long getPercentileNanos(double percent) {
+        if (percent < 0.0 || percent > 100.0) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        if (rank == 1) {
+            return minNanos;
+        }
+        if (rank == count) {
+            return maxNanos;
+        }
+        long cumulatedCount = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulatedCount += histogram[i];
+            if (cumulatedCount >= rank) {
+                final long estimate = (getLowerBound(i) + getUpperBound(i)) / 2;
+                return Math.max(minNanos, Math.min(maxNanos, estimate));
+            }
+        }
+        return maxNanos;
+    }
+
+    synchronized void add(long nanos) {
+        count++;
+        totalNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+        histogram[getBucketIndex(nanos)]++;
+    }
+
+    synchronized PhaseStatistics copy() {
+        return new PhaseStatistics(this);
+    }
+
+    // package access for testing only
+    static int getBucketIndex(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0, nanos);
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // package access for testing only
+    static long getLowerBound(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        final int exponent = bucketIndex / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final int subBucket = bucketIndex % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    // package access for testing only
+    static long getUpperBound(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        final int exponent = bucketIndex / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        return getLowerBound(bucketIndex) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.cci.sst.log.SstLogging;
+
+import java.text.MessageFormat;
+
+/**
+ * Emits the domain events of the MMS and aggregation pipelines to an {@link EventRecorder}.
+ * The recorder is specified by the system property {@link #PROPERTY_RECORDER}, as in
+ * <pre>
+ *     -Dsst.event.recorder=org.esa.cci.sst.jfr.JfrEventRecorder
+ * </pre>
+ * When no recorder is specified, events are disabled. Emitters check {@link #isEnabled()}
+ * before measuring anything, so disabled events cost a single field read:
+ * <pre>
+ *     final long startNanos = PipelineEvents.isEnabled() ? System.nanoTime() : 0L;
+ *     ...
+ *     if (PipelineEvents.isEnabled()) {
+ *         PipelineEvents.queryExecuted(queryString, rowCount, System.nanoTime() - startNanos);
+ *     }
+ * </pre>
+ *
+ * @author agent
+ */
+public final class PipelineEvents {
+
+    /**
+     * The name of the system property specifying the class name of the event recorder.
+     */
+    public static final String PROPERTY_RECORDER = "sst.event.recorder";
+
+    private static volatile EventRecorder recorder = createRecorder(System.getProperty(PROPERTY_RECORDER));
+
+    private PipelineEvents() {
+    }
+
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    public static void fileOpened(String path, String readerType, long byteCount, long nanos) {
+        final EventRecorder r = recorder;
+        if (r != null) {
+            r.fileOpened(path, readerType, byteCount, nanos);
+        }
+    }
+
+    public static void variableExtracted(String role, int[] shape, long nanos) {
+        final EventRecorder r = recorder;
+        if (r != null) {
+            r.variableExtracted(role, shape, nanos);
+        }
+    }
+
+    public static void ruleApplied(String targetName, String sourceName, long nanos) {
+        final EventRecorder r = recorder;
+        if (r != null) {
+            r.ruleApplied(targetName, sourceName, nanos);
+        }
+    }
+
+    public static void queryExecuted(String query, int rowCount, long nanos) {
+        final EventRecorder r = recorder;
+        if (r != null) {
+            r.queryExecuted(query, rowCount, nanos);
+        }
+    }
+
+    public static void cellGridAggregated(String path, long nanos) {
+        final EventRecorder r = recorder;
+        if (r != null) {
+            r.cellGridAggregated(path, nanos);
+        }
+    }
+
+    /**
+     * Sets the event recorder.
+     *
+     * @param eventRecorder The event recorder, or {@code null} if events shall be disabled.
+     */
+    public static void setRecorder(EventRecorder eventRecorder) {
+        recorder = eventRecorder;
+    }
+
+    // package access for testing only
+    static EventRecorder createRecorder(String className) {
+        if (className == null || className.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            final Class<?> recorderClass = Class.forName(className.trim());
+            return (EventRecorder) recorderClass.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            SstLogging.getLogger().warning(
+                    MessageFormat.format("Unable to create event recorder ''{0}'': {1}. Events are disabled.",
+                                         className, e.toString()));
+            return null;
+        }
+    }
+}
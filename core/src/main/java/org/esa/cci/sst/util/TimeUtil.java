@@ -43,6 +43,7 @@ public final class TimeUtil {
      */
     public static final double SECONDS_PER_DAY = 86400.0;
 
+    // the formats are not thread-safe, the methods using them are synchronized
     private static final SimpleDateFormat CCSDS_UTC_MILLIS_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
     private static final SimpleDateFormat CCSDS_UTC_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
     private static final SimpleDateFormat ISO_UTC_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
@@ -59,44 +60,44 @@ public final class TimeUtil {
         INSITU_FILE_NAME_DATE_FORMAT.setTimeZone(utcTimeZone);
     }
 
-    public static String formatCcsdsUtcFormat(Date time) {
+    public static synchronized String formatCcsdsUtcFormat(Date time) {
         if (time == null) {
             return "";
         }
         return CCSDS_UTC_FORMAT.format(time);
     }
 
-    public static String formatCcsdsUtcMillisFormat(Date time) {
+    public static synchronized String formatCcsdsUtcMillisFormat(Date time) {
         if (time == null) {
             return "";
         }
         return CCSDS_UTC_MILLIS_FORMAT.format(time);
     }
 
-    public static Date parseCcsdsUtcFormat(String timeString) throws ParseException {
+    public static synchronized Date parseCcsdsUtcFormat(String timeString) throws ParseException {
         if (timeString.length() == 20) {
             return CCSDS_UTC_FORMAT.parse(timeString);
         }
         return CCSDS_UTC_MILLIS_FORMAT.parse(timeString);
     }
 
-    public static String formatIsoUtcFormat(Date time) {
+    public static synchronized String formatIsoUtcFormat(Date time) {
         return ISO_UTC_FORMAT.format(time);
     }
 
-    public static Date parseInsituFileNameDateFormat(String timeString) throws ParseException {
+    public static synchronized Date parseInsituFileNameDateFormat(String timeString) throws ParseException {
         return INSITU_FILE_NAME_DATE_FORMAT.parse(timeString);
     }
 
-    public static String formatInsituFilenameFormat(Date time) {
+    public static synchronized String formatInsituFilenameFormat(Date time) {
         return INSITU_FILE_NAME_DATE_FORMAT.format(time);
     }
 
-    public static Date parseShortUtcFormat(String timeString) throws ParseException {
+    public static synchronized Date parseShortUtcFormat(String timeString) throws ParseException {
         return SHORT_UTC_FORMAT.parse(timeString);
     }
 
-    public static String formatShortUtcFormat(Date time) {
+    public static synchronized String formatShortUtcFormat(Date time) {
         return SHORT_UTC_FORMAT.format(time);
     }
 
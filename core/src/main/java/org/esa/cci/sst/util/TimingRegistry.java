@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * A thread-safe registry of the time spent in the named phases of a tool. Phases are nested:
+ * a phase started while another phase is running in the same thread is registered with the
+ * path of the enclosing phase, as in {@code matchups/persist}. Usage:
+ * <pre>
+ *     final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("read");
+ *     try {
+ *         ...
+ *     } finally {
+ *         phase.stop();
+ *     }
+ * </pre>
+ * The times are measured by {@link System#nanoTime()}. At exit, tools log a text report of all
+ * phases. When the system property {@link #PROPERTY_REPORT_FILE} is set, a report in JSON format
+ * is written to the file named by the property, too.
+ *
+ * @author agent
+ */
+public class TimingRegistry {
+
+    /**
+     * The name of the system property specifying the path of the JSON timing report.
+     */
+    public static final String PROPERTY_REPORT_FILE = "sst.timing.report";
+
+    private static final TimingRegistry INSTANCE = new TimingRegistry();
+
+    private final ConcurrentMap<String, PhaseStatistics> statisticsByPath;
+    private final ThreadLocal<Phase> currentPhase;
+
+    /**
+     * Returns the registry shared by all phases of a tool.
+     *
+     * @return the shared registry.
+     */
+    public static TimingRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public TimingRegistry() {
+        statisticsByPath = new ConcurrentHashMap<>();
+        currentPhase = new ThreadLocal<>();
+    }
+
+    /**
+     * Starts a phase, which is nested into the phase currently running in the calling thread.
+     *
+     * @param name The name of the phase, which must not contain a slash.
+     *
+     * @return the phase started.
+     */
+    public Phase start(String name) {
+        if (name.indexOf('/') != -1) {
+            throw new IllegalArgumentException(MessageFormat.format("Illegal phase name ''{0}''.", name));
+        }
+        final Phase parent = currentPhase.get();
+        final Phase phase = new Phase(parent, parent == null ? name : parent.path + "/" + name);
+        currentPhase.set(phase);
+        return phase;
+    }
+
+    /**
+     * Records the time spent in a phase, which has been measured elsewhere.
+     *
+     * @param path  The path of the phase.
+     * @param nanos The time spent (ns).
+     */
+    public void record(String path, long nanos) {
+        PhaseStatistics statistics = statisticsByPath.get(path);
+        if (statistics == null) {
+            final PhaseStatistics newStatistics = new PhaseStatistics(path);
+            statistics = statisticsByPath.putIfAbsent(path, newStatistics);
+            if (statistics == null) {
+                statistics = newStatistics;
+            }
+        }
+        statistics.add(nanos);
+    }
+
+    public boolean isEmpty() {
+        return statisticsByPath.isEmpty();
+    }
+
+    /**
+     * Returns snapshots of the statistics of all phases. Nested phases follow their enclosing
+     * phase.
+     *
+     * @return the statistics of all phases.
+     */
+    public List<PhaseStatistics> getStatistics() {
+        final List<PhaseStatistics> statisticsList = new ArrayList<>(statisticsByPath.size());
+        for (final PhaseStatistics statistics : statisticsByPath.values()) {
+            statisticsList.add(statistics.copy());
+        }
+        Collections.sort(statisticsList, new Comparator<PhaseStatistics>() {
+            @Override
+            public int compare(PhaseStatistics s1, PhaseStatistics s2) {
+                return comparePaths(s1.getPath(), s2.getPath());
+            }
+        });
+        return statisticsList;
+    }
+
+    public void clear() {
+        statisticsByPath.clear();
+    }
+
+    /**
+     * Creates a text report with a line for each phase. The times are given in milliseconds.
+     *
+     * @return the text report.
+     */
+    public String createTextReport() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ENGLISH, "%-48s %8s %12s %10s %10s %10s %10s %10s %10s%n",
+                                "phase", "count", "total", "mean", "min", "p50", "p90", "p99", "max"));
+        for (final PhaseStatistics statistics : getStatistics()) {
+            final String path = statistics.getPath();
+            final int depth = path.length() - path.replace("/", "").length();
+            final StringBuilder name = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                name.append("  ");
+            }
+            name.append(path.substring(path.lastIndexOf('/') + 1));
+            sb.append(String.format(Locale.ENGLISH, "%-48s %8d %12.1f %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                                    name,
+                                    statistics.getCount(),
+                                    toMillis(statistics.getTotalNanos()),
+                                    statistics.getMeanNanos() * 1.0e-6,
+                                    toMillis(statistics.getMinNanos()),
+                                    toMillis(statistics.getPercentileNanos(50.0)),
+                                    toMillis(statistics.getPercentileNanos(90.0)),
+                                    toMillis(statistics.getPercentileNanos(99.0)),
+                                    toMillis(statistics.getMaxNanos())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates a report in JSON format, with an object for each phase. The times are given in
+     * nanoseconds.
+     *
+     * @return the JSON report.
+     */
+    public String createJsonReport() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"phases\":[");
+        final List<PhaseStatistics> statisticsList = getStatistics();
+        for (int i = 0; i < statisticsList.size(); i++) {
+            final PhaseStatistics statistics = statisticsList.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\n{\"path\":");
+            appendJsonString(sb, statistics.getPath());
+            sb.append(",\"count\":").append(statistics.getCount());
+            sb.append(",\"totalNanos\":").append(statistics.getTotalNanos());
+            sb.append(",\"meanNanos\":").append(Math.round(statistics.getMeanNanos()));
+            sb.append(",\"minNanos\":").append(statistics.getMinNanos());
+            sb.append(",\"p50Nanos\":").append(statistics.getPercentileNanos(50.0));
+            sb.append(",\"p90Nanos\":").append(statistics.getPercentileNanos(90.0));
+            sb.append(",\"p99Nanos\":").append(statistics.getPercentileNanos(99.0));
+            sb.append(",\"maxNanos\":").append(statistics.getMaxNanos());
+            sb.append('}');
+        }
+        sb.append("\n]}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Logs the text report and, if the system property {@link #PROPERTY_REPORT_FILE} is set,
+     * writes the JSON report. Does nothing if no phase has been registered.
+     *
+     * @param logger The logger.
+     */
+    public void report(Logger logger) {
+        if (isEmpty()) {
+            return;
+        }
+        logger.info("Timing report (ms):\n" + createTextReport());
+        final String reportPath = System.getProperty(PROPERTY_REPORT_FILE);
+        if (reportPath != null) {
+            final File reportFile = new File(reportPath);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(reportFile), Charset.forName("UTF-8"))) {
+                writer.write(createJsonReport());
+            } catch (IOException e) {
+                logger.warning(MessageFormat.format("Unable to write timing report ''{0}'': {1}",
+                                                    reportFile.getPath(), e.getMessage()));
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos * 1.0e-6;
+    }
+
+    private static int comparePaths(String path1, String path2) {
+        final String[] names1 = path1.split("/");
+        final String[] names2 = path2.split("/");
+        for (int i = 0; i < Math.min(names1.length, names2.length); i++) {
+            final int result = names1[i].compareTo(names2[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(names1.length, names2.length);
+    }
+
+    private static void appendJsonString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * A running phase. A phase is stopped in the thread where it has been started.
+     */
+    public final class Phase implements AutoCloseable {
+
+        private final Phase parent;
+        private final String path;
+        private final long startNanos;
+        private boolean stopped;
+
+        private Phase(Phase parent, String path) {
+            this.parent = parent;
+            this.path = path;
+            startNanos = System.nanoTime();
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Stops this phase and records the time spent. Stopping a phase more than once has no
+         * effect.
+         *
+         * @return the time spent (ns).
+         */
+        public long stop() {
+            final long nanos = System.nanoTime() - startNanos;
+            if (!stopped) {
+                stopped = true;
+                record(path, nanos);
+                // phases nested into this phase, which have not been stopped, are left
+                Phase phase = currentPhase.get();
+                while (phase != null && phase != this) {
+                    phase = phase.parent;
+                }
+                if (phase == this) {
+                    if (parent != null) {
+                        currentPhase.set(parent);
+                    } else {
+                        currentPhase.remove();
+                    }
+                }
+            }
+            return nanos;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+}
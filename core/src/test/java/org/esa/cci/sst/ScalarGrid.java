@@ -20,6 +20,8 @@ import org.esa.cci.sst.grid.Grid;
 import org.esa.cci.sst.grid.GridDef;
 import org.junit.Ignore;
 
+import java.util.Arrays;
+
 /**
  * @author Norman
  */
@@ -43,6 +45,11 @@ public class ScalarGrid implements Grid {
         return scalar;
     }
 
+    @Override
+    public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+        Arrays.fill(samples, offset, offset + length, scalar);
+    }
+
     @Override
     public int getSampleInt(int x, int y) {
         return (int) scalar;
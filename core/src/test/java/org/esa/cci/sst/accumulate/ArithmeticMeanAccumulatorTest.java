@@ -19,6 +19,11 @@ package org.esa.cci.sst.accumulate;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
 import static java.lang.Double.NaN;
 import static org.junit.Assert.assertEquals;
 
@@ -83,4 +88,44 @@ public class ArithmeticMeanAccumulatorTest {
         assertEquals(2, accumulator.getSampleCount());
         assertEquals(3.0, accumulator.combine(), 1e-8);
     }
+
+    @Test
+    public void testMerge() {
+        final ArithmeticMeanAccumulator other = new ArithmeticMeanAccumulator();
+        final ArithmeticMeanAccumulator sequential = new ArithmeticMeanAccumulator();
+        accumulator.accumulate(1.0, 0.7);
+        accumulator.accumulate(2.0, 0.5);
+        other.accumulate(4.0, 0.2);
+        sequential.accumulate(1.0, 0.7);
+        sequential.accumulate(2.0, 0.5);
+        sequential.accumulate(4.0, 0.2);
+
+        accumulator.merge(other);
+
+        assertEquals(3, accumulator.getSampleCount());
+        assertEquals(sequential.combine(), accumulator.combine(), 1e-8);
+    }
+
+    @Test
+    public void testMerge_empty() {
+        accumulator.accumulate(2.0);
+        accumulator.merge(new ArithmeticMeanAccumulator());
+
+        assertEquals(1, accumulator.getSampleCount());
+        assertEquals(2.0, accumulator.combine(), 1e-8);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        accumulator.accumulate(1.0, 0.7);
+        accumulator.accumulate(2.0, 0.5);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        accumulator.write(new DataOutputStream(bytes));
+        final ArithmeticMeanAccumulator other = new ArithmeticMeanAccumulator();
+        other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(accumulator.getSampleCount(), other.getSampleCount());
+        assertEquals(accumulator.combine(), other.combine(), 0.0);
+    }
 }
@@ -19,6 +19,11 @@ package org.esa.cci.sst.accumulate;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -66,4 +71,30 @@ public class UncertaintyAccumulatorTest {
 
     }
 
+    @Test
+    public void testMerge() {
+        final UncertaintyAccumulator other = new UncertaintyAccumulator();
+        accumulator.accumulateSample(1.0, 1.0);
+        accumulator.accumulateSample(2.0, 1.0);
+        other.accumulateSample(3.0, 1.0);
+
+        accumulator.merge(other);
+
+        assertEquals(3, accumulator.getSampleCount());
+        assertEquals(3.7416573867739413, accumulator.combine(), 1e-8);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        accumulator.accumulate(1.0);
+        accumulator.accumulate(2.0);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        accumulator.write(new DataOutputStream(bytes));
+        final UncertaintyAccumulator other = new UncertaintyAccumulator();
+        other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(accumulator.getSampleCount(), other.getSampleCount());
+        assertEquals(accumulator.combine(), other.combine(), 0.0);
+    }
 }
@@ -19,6 +19,11 @@ package org.esa.cci.sst.accumulate;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
 import static java.lang.Double.NaN;
 import static java.lang.Math.sqrt;
 import static org.junit.Assert.assertEquals;
@@ -94,4 +99,35 @@ public class WeightedUncertaintyAccumulatorTest {
     static double sqr(double x) {
         return x * x;
     }
+
+    @Test
+    public void testMerge() {
+        final WeightedUncertaintyAccumulator other = new WeightedUncertaintyAccumulator();
+        final WeightedUncertaintyAccumulator sequential = new WeightedUncertaintyAccumulator();
+        accumulator.accumulate(2.0, 0.5);
+        other.accumulate(3.0, 0.25);
+        other.accumulate(1.0, 0.75);
+        sequential.accumulate(2.0, 0.5);
+        sequential.accumulate(3.0, 0.25);
+        sequential.accumulate(1.0, 0.75);
+
+        accumulator.merge(other);
+
+        assertEquals(3, accumulator.getSampleCount());
+        assertEquals(sequential.combine(), accumulator.combine(), 1e-8);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        accumulator.accumulate(1.0, 0.7);
+        accumulator.accumulate(2.0, 0.5);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        accumulator.write(new DataOutputStream(bytes));
+        final WeightedUncertaintyAccumulator other = new WeightedUncertaintyAccumulator();
+        other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(accumulator.getSampleCount(), other.getSampleCount());
+        assertEquals(accumulator.combine(), other.combine(), 0.0);
+    }
 }
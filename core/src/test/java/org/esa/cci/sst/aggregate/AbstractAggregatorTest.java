@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.aggregate;
+
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.cell.SpatialAggregationCellFactory;
+import org.esa.cci.sst.common.SstDepth;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.common.TimeStep;
+import org.esa.cci.sst.file.FileStore;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.RegionMask;
+import org.esa.cci.sst.product.ProductType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AbstractAggregatorTest {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(1.0);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AbstractAggregator aggregator;
+    private AggregationContext context;
+    private RegionMask regionMask;
+    private List<File> files;
+
+    @Before
+    public void setUp() throws Exception {
+        aggregator = new AbstractAggregator(FileStore.create(ProductType.CCI_L3U, ".*"), null, SstDepth.skin) {
+            @Override
+            public List<? extends TimeStep> aggregate(Date startDate, Date endDate,
+                                                      TemporalResolution temporalResolution) {
+                return null;
+            }
+        };
+        context = new AggregationContext();
+        context.setMinCoverage(0.0);
+        regionMask = RegionMask.create("Globe", -180.0, 90.0, 180.0, -90.0);
+        files = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            files.add(new File("file" + i));
+        }
+    }
+
+    @Test
+    public void testSetParallelism() throws Exception {
+        assertEquals(1, aggregator.getParallelism());
+
+        aggregator.setParallelism(4);
+        assertEquals(4, aggregator.getParallelism());
+
+        try {
+            aggregator.setParallelism(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testAggregateFiles_parallelEqualsSequential() throws Exception {
+        final CellGrid<SpatialAggregationCell> sequentialGrid = aggregator.aggregateFiles(files, new TestAggregation());
+        aggregator.setParallelism(4);
+        final CellGrid<SpatialAggregationCell> parallelGrid = aggregator.aggregateFiles(files, new TestAggregation());
+
+        assertEquals(sequentialGrid.getCells().size(), parallelGrid.getCells().size());
+        for (final SpatialAggregationCell expected : sequentialGrid.getCells()) {
+            final SpatialAggregationCell actual = parallelGrid.getCell(expected.getX(), expected.getY());
+            assertNotNull(actual);
+            assertEquals(expected.getSampleCount(), actual.getSampleCount());
+            assertEquals(expected.getSeaSurfaceTemperature(), actual.getSeaSurfaceTemperature(), 1e-10);
+            assertEquals(expected.getSeaSurfaceTemperatureAnomaly(), actual.getSeaSurfaceTemperatureAnomaly(), 1e-10);
+            assertEquals(expected.getRandomUncertainty(), actual.getRandomUncertainty(), 1e-10);
+        }
+    }
+
+    @Test
+    public void testAggregateFiles_parallelDoesNotDependOnTiming() throws Exception {
+        aggregator.setParallelism(4);
+        final CellGrid<SpatialAggregationCell> expectedGrid = aggregator.aggregateFiles(files, new DelayedAggregation(0));
+        final CellGrid<SpatialAggregationCell> actualGrid = aggregator.aggregateFiles(files, new DelayedAggregation(1));
+
+        assertEquals(expectedGrid.getCells().size(), actualGrid.getCells().size());
+        for (final SpatialAggregationCell expected : expectedGrid.getCells()) {
+            final SpatialAggregationCell actual = actualGrid.getCell(expected.getX(), expected.getY());
+            assertNotNull(actual);
+            assertEquals(expected.getSampleCount(), actual.getSampleCount());
+            assertEquals(expected.getSeaSurfaceTemperature(), actual.getSeaSurfaceTemperature(), 0.0);
+            assertEquals(expected.getSeaSurfaceTemperatureAnomaly(), actual.getSeaSurfaceTemperatureAnomaly(), 0.0);
+            assertEquals(expected.getRandomUncertainty(), actual.getRandomUncertainty(), 0.0);
+        }
+    }
+
+    @Test
+    public void testPartition() throws Exception {
+        final List<List<File>> partitions = AbstractAggregator.partition(files.subList(0, 10), 4);
+
+        assertEquals(4, partitions.size());
+        assertEquals(files.subList(0, 2), partitions.get(0));
+        assertEquals(files.subList(2, 5), partitions.get(1));
+        assertEquals(files.subList(5, 7), partitions.get(2));
+        assertEquals(files.subList(7, 10), partitions.get(3));
+    }
+
+    @Test
+    public void testAggregateFiles_noFiles() throws Exception {
+        aggregator.setParallelism(4);
+
+        assertNull(aggregator.aggregateFiles(new ArrayList<File>(), new TestAggregation()));
+    }
+
+    @Test
+    public void testAggregateFiles_exceptionIsPropagated() throws Exception {
+        aggregator.setParallelism(4);
+
+        try {
+            aggregator.aggregateFiles(files, new TestAggregation() {
+                @Override
+                public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext context,
+                                                                  CellGrid<SpatialAggregationCell> cellGrid)
+                        throws IOException {
+                    if (file.getName().equals("file7")) {
+                        throw new IOException(file.getName());
+                    }
+                    return super.aggregate(file, context, cellGrid);
+                }
+            });
+            fail();
+        } catch (IOException expected) {
+            assertEquals("file7", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testWriteCheckpoint() throws Exception {
+        final File checkpointDir = temporaryFolder.newFolder("checkpoints");
+        final CheckpointStore checkpointStore = CheckpointStore.create(checkpointDir, "test");
+        aggregator.setCheckpointStore(checkpointStore);
+        aggregator.setParallelism(4);
+        final String checkpointKey = checkpointStore.createKey(new Date(0), new Date(86400000L), files);
+
+        final CellGrid<SpatialAggregationCell> cellGrid = aggregator.aggregateFiles(files, new TestAggregation());
+        aggregator.writeCheckpoint(checkpointKey, cellGrid, 0);
+
+        assertEquals(1, checkpointDir.listFiles().length);
+    }
+
+    @Test
+    public void testWriteCheckpoint_notWrittenAfterFailingInput() throws Exception {
+        final File checkpointDir = temporaryFolder.newFolder("checkpoints");
+        final CheckpointStore checkpointStore = CheckpointStore.create(checkpointDir, "test");
+        aggregator.setCheckpointStore(checkpointStore);
+        aggregator.setParallelism(4);
+        final String checkpointKey = checkpointStore.createKey(new Date(0), new Date(86400000L), files);
+
+        // a failing input is skipped and counted, as done by the averaging and regridding aggregators
+        final AtomicInteger failedFileCount = new AtomicInteger();
+        final CellGrid<SpatialAggregationCell> cellGrid = aggregator.aggregateFiles(files, new TestAggregation() {
+            @Override
+            public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext context,
+                                                              CellGrid<SpatialAggregationCell> cellGrid)
+                    throws IOException {
+                if (file.getName().equals("file7")) {
+                    failedFileCount.incrementAndGet();
+                    return cellGrid;
+                }
+                return super.aggregate(file, context, cellGrid);
+            }
+        });
+        assertNotNull(cellGrid);
+        aggregator.writeCheckpoint(checkpointKey, cellGrid, failedFileCount.get());
+
+        assertEquals(1, failedFileCount.get());
+        assertEquals(0, checkpointDir.listFiles().length);
+        assertFalse(checkpointStore.read(checkpointKey, createCellGrid(context)));
+    }
+
+    @Test
+    public void testMergeCellGrids_null() throws Exception {
+        final CellGrid<SpatialAggregationCell> cellGrid = createCellGrid(context);
+
+        assertNull(AbstractAggregator.mergeCellGrids(null, null));
+        assertSame(cellGrid, AbstractAggregator.mergeCellGrids(null, cellGrid));
+        assertSame(cellGrid, AbstractAggregator.mergeCellGrids(cellGrid, null));
+    }
+
+    private CellGrid<SpatialAggregationCell> createCellGrid(AggregationContext context) {
+        return CellGrid.create(regionMask.getGridDef(), new SpatialAggregationCellFactory(context));
+    }
+
+    /**
+     * Delays the aggregation of files, so the workers finish in an order depending on the parity given.
+     */
+    private class DelayedAggregation extends TestAggregation {
+
+        private final int parity;
+
+        private DelayedAggregation(int parity) {
+            this.parity = parity;
+        }
+
+        @Override
+        public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext context,
+                                                          CellGrid<SpatialAggregationCell> cellGrid)
+                throws IOException {
+            final int fileNo = Integer.parseInt(file.getName().substring(4));
+            try {
+                Thread.sleep(fileNo % 2 == parity ? 50 : 0);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return super.aggregate(file, context, cellGrid);
+        }
+    }
+
+    private class TestAggregation implements AbstractAggregator.FileAggregation {
+
+        @Override
+        public AggregationContext createContext() {
+            return context.copy();
+        }
+
+        @Override
+        public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext context,
+                                                          CellGrid<SpatialAggregationCell> cellGrid)
+                throws IOException {
+            final long seed = Long.parseLong(file.getName().substring(4));
+            context.setSstGrid(createGrid(new Random(seed), 270.0, 30.0, 0.2));
+            context.setClimatologySstGrid(createGrid(new Random(seed + 100), 280.0, 10.0, 0.0));
+            context.setRandomUncertaintyGrid(createGrid(new Random(seed + 200), 0.1, 0.5, 0.0));
+            context.setSeaCoverageGrid(createGrid(new Random(seed + 300), 0.0, 1.0, 0.0));
+            if (cellGrid == null) {
+                cellGrid = createCellGrid(context);
+            }
+            AbstractAggregator.aggregateSourcePixels(context, regionMask, cellGrid);
+            return cellGrid;
+        }
+
+        private ArrayGrid createGrid(Random random, double offset, double range, double invalidFraction) {
+            final double[] data = new double[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+            for (int i = 0; i < data.length; i++) {
+                if (random.nextDouble() < invalidFraction) {
+                    data[i] = Double.NaN;
+                } else {
+                    data[i] = offset + range * random.nextDouble();
+                }
+            }
+            return ArrayGrid.create(SOURCE_GRID_DEF, data);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.aggregate;
+
+import org.esa.cci.sst.cell.ArrayCellGrid;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.cell.SpatialAggregationCellFactory;
+import org.esa.cci.sst.common.SpatialResolution;
+import org.esa.cci.sst.common.SynopticUncertaintyProvider;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.GridDef;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.Rectangle;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CheckpointStoreTest {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(1.0);
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(5.0);
+    private static final Date DATE_1 = new Date(1230768000000L);
+    private static final Date DATE_2 = new Date(1233446400000L);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AggregationContext context;
+    private CheckpointStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new AggregationContext();
+        context.setMinCoverage(0.4);
+        context.setCoverageUncertaintyProvider(new CoverageUncertaintyProvider() {
+            @Override
+            public double calculate(AggregationCell cell, double a) {
+                return a / cell.getSampleCount();
+            }
+        });
+        context.setSynopticUncertaintyProvider(
+                new SynopticUncertaintyProvider(SpatialResolution.DEGREE_5_00, TemporalResolution.monthly));
+        store = CheckpointStore.create(temporaryFolder.newFolder("checkpoints"), "parameters");
+    }
+
+    @Test
+    public void testWriteAndRead_arrayCellGrid() throws Exception {
+        final AggregationContext sourceContext = createSourceContext();
+        final CellGrid<SpatialAggregationCell> grid = ArrayCellGrid.create(TARGET_GRID_DEF, sourceContext);
+        accumulate(grid, sourceContext);
+        store.write("key", grid);
+
+        // the context of the resumed run does not know the optional source grids
+        final CellGrid<SpatialAggregationCell> resumedGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+        assertTrue(store.read("key", resumedGrid));
+
+        assertGridsEqual(grid, resumedGrid);
+    }
+
+    @Test
+    public void testWriteAndRead_objectCellGrid() throws Exception {
+        final AggregationContext sourceContext = createSourceContext();
+        final CellGrid<SpatialAggregationCell> grid = CellGrid.create(TARGET_GRID_DEF,
+                                                                      new SpatialAggregationCellFactory(sourceContext));
+        accumulate(grid, sourceContext);
+        store.write("key", grid);
+
+        final CellGrid<SpatialAggregationCell> resumedGrid = CellGrid.create(TARGET_GRID_DEF,
+                                                                             new SpatialAggregationCellFactory(context));
+        assertTrue(store.read("key", resumedGrid));
+        assertGridsEqual(grid, resumedGrid);
+
+        // cells of the array cell grid have the same state format
+        final CellGrid<SpatialAggregationCell> arrayGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+        assertTrue(store.read("key", arrayGrid));
+        assertGridsEqual(grid, arrayGrid);
+    }
+
+    @Test
+    public void testRead_missingOrCorruptCheckpoint() throws Exception {
+        final CellGrid<SpatialAggregationCell> grid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+        assertFalse(store.read("key", grid));
+
+        final AggregationContext sourceContext = createSourceContext();
+        final CellGrid<SpatialAggregationCell> sourceGrid = ArrayCellGrid.create(TARGET_GRID_DEF, sourceContext);
+        accumulate(sourceGrid, sourceContext);
+        store.write("key", sourceGrid);
+        // a grid of different dimensions
+        final CellGrid<SpatialAggregationCell> finerGrid = ArrayCellGrid.create(SOURCE_GRID_DEF, context);
+        assertFalse(store.read("key", finerGrid));
+
+        // a truncated checkpoint
+        final File[] files = temporaryFolder.getRoot().listFiles()[0].listFiles();
+        assertEquals(1, files.length);
+        final long length = files[0].length();
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            file.setLength(length / 2);
+        }
+        assertFalse(store.read("key", ArrayCellGrid.create(TARGET_GRID_DEF, context)));
+    }
+
+    @Test
+    public void testCreateKey() throws Exception {
+        final File file1 = createFile("file1.nc", 10);
+        final File file2 = createFile("file2.nc", 20);
+        final List<File> files = Arrays.asList(file1, file2);
+
+        final String key = store.createKey(DATE_1, DATE_2, files);
+        assertEquals(key, store.createKey(DATE_1, DATE_2, files));
+        assertEquals(key, CheckpointStore.create(temporaryFolder.getRoot(), "parameters").createKey(DATE_1, DATE_2,
+                                                                                                    files));
+        assertFalse(key.equals(CheckpointStore.create(temporaryFolder.getRoot(), "other parameters").createKey(
+                DATE_1, DATE_2, files)));
+        assertFalse(key.equals(store.createKey(DATE_1, new Date(DATE_2.getTime() + 1), files)));
+        assertFalse(key.equals(store.createKey(DATE_1, DATE_2, Arrays.asList(file1))));
+
+        assertTrue(file2.setLastModified(file2.lastModified() - 10000L));
+        final String touchedKey = store.createKey(DATE_1, DATE_2, files);
+        assertFalse(key.equals(touchedKey));
+
+        final long lastModified = file2.lastModified();
+        try (OutputStream out = new FileOutputStream(file2, true)) {
+            out.write(0);
+        }
+        assertTrue(file2.setLastModified(lastModified));
+        assertFalse(touchedKey.equals(store.createKey(DATE_1, DATE_2, files)));
+    }
+
+    @Test
+    public void testCreateKey_changedAuxiliaryFile() throws Exception {
+        final File lutFile = createFile("lut1.txt", 10);
+        final File climatologyFile = createFile("D001-climatology.nc", 20);
+        final List<File> files = Arrays.asList(createFile("file1.nc", 10));
+        final CheckpointStore lutStore = CheckpointStore.create(temporaryFolder.getRoot(), "parameters",
+                                                                Arrays.asList(lutFile, climatologyFile));
+
+        final String key = lutStore.createKey(DATE_1, DATE_2, files);
+        assertEquals(key, lutStore.createKey(DATE_1, DATE_2, files));
+        assertFalse(key.equals(store.createKey(DATE_1, DATE_2, files)));
+
+        // a LUT replaced between two runs invalidates the checkpoints of all time steps
+        try (OutputStream out = new FileOutputStream(lutFile)) {
+            out.write(new byte[11]);
+        }
+        final String changedKey = lutStore.createKey(DATE_1, DATE_2, files);
+        assertFalse(key.equals(changedKey));
+
+        assertTrue(climatologyFile.setLastModified(climatologyFile.lastModified() - 10000L));
+        assertFalse(changedKey.equals(lutStore.createKey(DATE_1, DATE_2, files)));
+    }
+
+    private File createFile(String name, int length) throws IOException {
+        final File file = temporaryFolder.newFile(name);
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[length]);
+        }
+        return file;
+    }
+
+    private AggregationContext createSourceContext() {
+        final Random random = new Random(5);
+        final AggregationContext sourceContext = context.copy();
+        sourceContext.setSstGrid(createGrid(random, 270.0, 30.0, 0.3));
+        sourceContext.setClimatologySstGrid(createGrid(random, 280.0, 10.0, 0.0));
+        sourceContext.setRandomUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.1));
+        sourceContext.setStandardDeviationGrid(createGrid(random, 0.1, 1.0, 0.0));
+        sourceContext.setLargeScaleUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.0));
+        sourceContext.setSynopticUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.0));
+        sourceContext.setSeaIceFractionGrid(createGrid(random, 0.0, 1.0, 0.2));
+        sourceContext.setSeaCoverageGrid(createGrid(random, -0.5, 1.5, 0.0));
+        return sourceContext;
+    }
+
+    private static ArrayGrid createGrid(Random random, double offset, double range, double invalidFraction) {
+        final double[] data = new double[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < invalidFraction) {
+                data[i] = Double.NaN;
+            } else {
+                data[i] = offset + range * random.nextDouble();
+            }
+        }
+        return ArrayGrid.create(SOURCE_GRID_DEF, data);
+    }
+
+    private static void accumulate(CellGrid<SpatialAggregationCell> targetGrid, AggregationContext sourceContext) {
+        for (int y = 0; y < targetGrid.getHeight(); y++) {
+            for (int x = 0; x < targetGrid.getWidth(); x++) {
+                final Rectangle sourceRectangle = SOURCE_GRID_DEF.getGridRectangle(x, y, TARGET_GRID_DEF);
+                final SpatialAggregationCell targetCell = targetGrid.createCell(x, y);
+                targetCell.accumulate(sourceContext, sourceRectangle);
+                if (!targetCell.isEmpty()) {
+                    targetGrid.setCell(targetCell);
+                }
+            }
+        }
+    }
+
+    private static void assertGridsEqual(CellGrid<SpatialAggregationCell> expectedGrid,
+                                         CellGrid<SpatialAggregationCell> actualGrid) {
+        final List<SpatialAggregationCell> expectedCells = expectedGrid.getCells();
+        final List<SpatialAggregationCell> actualCells = actualGrid.getCells();
+        assertTrue(expectedCells.size() > 0);
+        assertEquals(expectedCells.size(), actualCells.size());
+        for (int i = 0; i < expectedCells.size(); i++) {
+            final SpatialAggregationCell expected = expectedCells.get(i);
+            final SpatialAggregationCell actual = actualCells.get(i);
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getSampleCount(), actual.getSampleCount());
+            final Number[] expectedResults = expected.getResults();
+            final Number[] actualResults = actual.getResults();
+            for (int k = 0; k < expectedResults.length; k++) {
+                assertEquals(expectedResults[k].doubleValue(), actualResults[k].doubleValue(), 1e-10);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.auxiliary;
+
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClimatologyTest {
+
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(10.0);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetSstGrid_365Files() throws Exception {
+        final TestClimatology climatology = new TestClimatology(365, 2, null);
+
+        assertEquals(365.0, climatology.getSstGrid(366).getSampleDouble(0, 0), 0.0);
+        assertEquals(365.0, climatology.getSstGrid(365).getSampleDouble(0, 0), 0.0);
+        assertSame(climatology.getSstGrid(366), climatology.getSstGrid(365));
+        assertEquals(Collections.singletonList(365), climatology.getReadDays());
+    }
+
+    @Test
+    public void testGetSstGrid_366Files() throws Exception {
+        final TestClimatology climatology = new TestClimatology(366, 2, null);
+
+        assertEquals(366.0, climatology.getSstGrid(366).getSampleDouble(0, 0), 0.0);
+        assertEquals(365.0, climatology.getSstGrid(365).getSampleDouble(0, 0), 0.0);
+        assertNotSame(climatology.getSstGrid(366), climatology.getSstGrid(365));
+        assertEquals(list(366, 365), climatology.getReadDays());
+    }
+
+    @Test
+    public void testGetSstGrid_singleFile() throws Exception {
+        final TestClimatology climatology = new TestClimatology(1, 1, null);
+
+        assertSame(climatology.getSstGrid(1), climatology.getSstGrid(366));
+        assertEquals(Collections.singletonList(1), climatology.getReadDays());
+    }
+
+    @Test
+    public void testGetSstGrid_leastRecentlyUsedGridIsEvicted() throws Exception {
+        final TestClimatology climatology = new TestClimatology(365, 2, null);
+
+        climatology.getSstGrid(1);
+        climatology.getSstGrid(2);
+        climatology.getSstGrid(1);
+        climatology.getSstGrid(3);
+        assertEquals(list(1, 2, 3), climatology.getReadDays());
+
+        climatology.getSstGrid(1);
+        assertEquals(list(1, 2, 3), climatology.getReadDays());
+
+        climatology.getSstGrid(2);
+        assertEquals(list(1, 2, 3, 2), climatology.getReadDays());
+    }
+
+    @Test
+    public void testGetSstGrid_failedReadIsRepeated() throws Exception {
+        final TestClimatology climatology = new TestClimatology(365, 2, null);
+        climatology.failing = true;
+
+        try {
+            climatology.getSstGrid(7);
+            fail();
+        } catch (IOException expected) {
+        }
+
+        climatology.failing = false;
+        assertEquals(7.0, climatology.getSstGrid(7).getSampleDouble(0, 0), 0.0);
+        assertEquals(list(7, 7), climatology.getReadDays());
+    }
+
+    @Test
+    public void testGetSstGrid_prefetchWrapsAroundYear() throws Exception {
+        final TestClimatology climatology = new TestClimatology(365, 3, null, true);
+
+        assertEquals(365.0, climatology.getSstGrid(366).getSampleDouble(0, 0), 0.0);
+        assertEquals(1.0, climatology.getSstGrid(1).getSampleDouble(0, 0), 0.0);
+        assertEquals(2.0, climatology.getSstGrid(2).getSampleDouble(0, 0), 0.0);
+
+        final List<Integer> readDays = climatology.getReadDays();
+        assertEquals(1, Collections.frequency(readDays, 365));
+        assertEquals(1, Collections.frequency(readDays, 1));
+        assertEquals(1, Collections.frequency(readDays, 2));
+    }
+
+    @Test
+    public void testGetSstGrid_invalidDayOfYear() throws Exception {
+        final TestClimatology climatology = new TestClimatology(366, 1, null);
+
+        try {
+            climatology.getSstGrid(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            climatology.getSstGrid(367);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testCreate_createsCacheDir() throws Exception {
+        final File dir = temporaryFolder.newFolder("climatology");
+        assertTrue(new File(dir, "D001-climatology.nc").createNewFile());
+        final File cacheDir = new File(temporaryFolder.getRoot(), "cache/climatology");
+
+        assertNotNull(Climatology.create(dir, TARGET_GRID_DEF, 1, false, cacheDir));
+        assertTrue(cacheDir.isDirectory());
+    }
+
+    @Test
+    public void testGetSstGrid_persistentCache() throws Exception {
+        final File cacheDir = temporaryFolder.newFolder("cache");
+        final TestClimatology climatology = new TestClimatology(365, 1, cacheDir);
+        final Grid expectedGrid = climatology.getSstGrid(42);
+        assertEquals(1, cacheDir.listFiles().length);
+
+        // in a later run, the grid is mapped from the cache file
+        final TestClimatology laterClimatology = new TestClimatology(365, 1, cacheDir);
+        laterClimatology.failing = true;
+        final Grid actualGrid = laterClimatology.getSstGrid(42);
+
+        assertTrue(laterClimatology.getReadDays().isEmpty());
+        assertTrue(laterClimatology.seaCoverageReadCount > 0);
+        assertGridsEqual(expectedGrid, actualGrid);
+
+        final TestClimatology inMemoryClimatology = new TestClimatology(365, 1, null);
+        assertGridsEqual(inMemoryClimatology.getSstGrid(42), actualGrid);
+    }
+
+    @Test
+    public void testGetSstGrid_persistentCacheKeepsLeapDayOf366Files() throws Exception {
+        final File cacheDir = temporaryFolder.newFolder("cache");
+        new TestClimatology(366, 1, cacheDir).getSstGrid(366);
+        new TestClimatology(365, 1, cacheDir).getSstGrid(366);
+
+        final TestClimatology climatology = new TestClimatology(366, 1, cacheDir);
+        climatology.failing = true;
+        assertEquals(366.0, climatology.getSstGrid(366).getSampleDouble(0, 0), 0.0);
+        assertEquals(2, cacheDir.listFiles().length);
+    }
+
+    private static void assertGridsEqual(Grid expectedGrid, Grid actualGrid) {
+        for (int y = 0; y < TARGET_GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < TARGET_GRID_DEF.getWidth(); x++) {
+                assertEquals(expectedGrid.getSampleDouble(x, y), actualGrid.getSampleDouble(x, y), 1.0e-4);
+            }
+        }
+    }
+
+    private static List<Integer> list(Integer... days) {
+        final List<Integer> list = new ArrayList<>();
+        Collections.addAll(list, days);
+        return list;
+    }
+
+    private static File[] createFiles(int fileCount) {
+        final File[] files = new File[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            files[i] = new File(String.format("D%03d-UKMO-L4LRfnd_GLOB-v01-fv02-OSTIARANclim.nc", i + 1));
+        }
+        return files;
+    }
+
+    private static class TestClimatology extends Climatology {
+
+        private final List<Integer> readDays = Collections.synchronizedList(new ArrayList<Integer>());
+
+        private volatile boolean failing;
+        private volatile int seaCoverageReadCount;
+
+        TestClimatology(int fileCount, int cacheCapacity, File cacheDir) {
+            this(fileCount, cacheCapacity, cacheDir, false);
+        }
+
+        TestClimatology(int fileCount, int cacheCapacity, File cacheDir, boolean prefetch) {
+            super(createFiles(fileCount), TARGET_GRID_DEF, cacheCapacity, prefetch, cacheDir);
+        }
+
+        List<Integer> getReadDays() {
+            synchronized (readDays) {
+                return new ArrayList<>(readDays);
+            }
+        }
+
+        @Override
+        Grid readSstGrid(File file) throws IOException {
+            final int day = Integer.parseInt(file.getName().substring(1, 4));
+            readDays.add(day);
+            if (failing) {
+                throw new IOException(file.getName());
+            }
+            final int w = TARGET_GRID_DEF.getWidth();
+            final int h = TARGET_GRID_DEF.getHeight();
+            final double[] data = new double[w * h];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = i % 17 == 0 ? Double.NaN : 271.15 + day * 0.01 + i * 0.001;
+            }
+            // the grid is flipped, so this is the first sample of the climatology grid
+            data[(h - 1) * w] = day;
+            return ArrayGrid.create(TARGET_GRID_DEF, data);
+        }
+
+        @Override
+        void readSeaCoverageGrids(File file) {
+            seaCoverageReadCount++;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.cell;
+
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.CoverageUncertaintyProvider;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.common.SpatialResolution;
+import org.esa.cci.sst.common.SynopticUncertaintyProvider;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.GridDef;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ArrayCellGridTest {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(1.0);
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(5.0);
+
+    private AggregationContext context;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new AggregationContext();
+        context.setMinCoverage(0.4);
+        context.setCoverageUncertaintyProvider(new CoverageUncertaintyProvider() {
+            @Override
+            public double calculate(AggregationCell cell, double a) {
+                return a / cell.getSampleCount();
+            }
+        });
+        context.setSynopticUncertaintyProvider(
+                new SynopticUncertaintyProvider(SpatialResolution.DEGREE_5_00, TemporalResolution.monthly));
+        setSourceGrids(new Random(5));
+    }
+
+    @Test
+    public void testAccumulate_equalsObjectGrid() throws Exception {
+        final CellGrid<SpatialAggregationCell> objectGrid = CellGrid.create(TARGET_GRID_DEF,
+                                                                            new SpatialAggregationCellFactory(context));
+        final CellGrid<SpatialAggregationCell> arrayGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+
+        final Random random = new Random(32);
+        for (int i = 0; i < 3; i++) {
+            setSourceGrids(random);
+            accumulate(objectGrid);
+            accumulate(arrayGrid);
+        }
+
+        assertGridsEqual(objectGrid, arrayGrid);
+    }
+
+    @Test
+    public void testMerge_equalsObjectGrid() throws Exception {
+        final CellGrid<SpatialAggregationCell> objectGrid = CellGrid.create(TARGET_GRID_DEF,
+                                                                            new SpatialAggregationCellFactory(context));
+        final CellGrid<SpatialAggregationCell> arrayGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+        final CellGrid<SpatialAggregationCell> otherGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+
+        final Random random = new Random(33);
+        setSourceGrids(random);
+        accumulate(objectGrid);
+        accumulate(arrayGrid);
+        setSourceGrids(random);
+        accumulate(objectGrid);
+        accumulate(otherGrid);
+
+        for (final SpatialAggregationCell otherCell : otherGrid.getCells()) {
+            final SpatialAggregationCell cell = arrayGrid.getCell(otherCell.getX(), otherCell.getY());
+            if (cell != null) {
+                cell.merge(otherCell);
+            } else {
+                arrayGrid.setCell(otherCell);
+            }
+        }
+
+        assertGridsEqual(objectGrid, arrayGrid);
+    }
+
+    @Test
+    public void testGetCell() throws Exception {
+        final CellGrid<SpatialAggregationCell> arrayGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+
+        assertNull(arrayGrid.getCell(3, 7));
+        final SpatialAggregationCell cell = arrayGrid.getCellSafe(3, 7);
+        assertNotNull(cell);
+        assertEquals(3, cell.getX());
+        assertEquals(7, cell.getY());
+        assertTrue(cell.isEmpty());
+
+        cell.accumulate(context, new Rectangle(15, 35, 5, 5));
+        assertEquals(cell.getSampleCount(), arrayGrid.getCell(3, 7).getSampleCount());
+        assertEquals(1, arrayGrid.getCells().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetCell_objectCell() throws Exception {
+        final CellGrid<SpatialAggregationCell> arrayGrid = ArrayCellGrid.create(TARGET_GRID_DEF, context);
+
+        arrayGrid.setCell(arrayGrid.getCellFactory().createCell(3, 7));
+    }
+
+    private void setSourceGrids(Random random) {
+        context.setSstGrid(createGrid(random, 270.0, 30.0, 0.3));
+        context.setClimatologySstGrid(createGrid(random, 280.0, 10.0, 0.0));
+        context.setRandomUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.1));
+        context.setStandardDeviationGrid(createGrid(random, 0.1, 1.0, 0.0));
+        context.setLargeScaleUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.0));
+        context.setSynopticUncertaintyGrid(createGrid(random, 0.1, 0.5, 0.0));
+        context.setSeaIceFractionGrid(createGrid(random, 0.0, 1.0, 0.2));
+        context.setSeaCoverageGrid(createGrid(random, -0.5, 1.5, 0.0));
+    }
+
+    private static ArrayGrid createGrid(Random random, double offset, double range, double invalidFraction) {
+        final double[] data = new double[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < invalidFraction) {
+                data[i] = Double.NaN;
+            } else {
+                data[i] = offset + range * random.nextDouble();
+            }
+        }
+        return ArrayGrid.create(SOURCE_GRID_DEF, data);
+    }
+
+    private void accumulate(CellGrid<SpatialAggregationCell> targetGrid) {
+        for (int y = 0; y < targetGrid.getHeight(); y++) {
+            for (int x = 0; x < targetGrid.getWidth(); x++) {
+                final Rectangle sourceRectangle = SOURCE_GRID_DEF.getGridRectangle(x, y, TARGET_GRID_DEF);
+                SpatialAggregationCell targetCell = targetGrid.getCell(x, y);
+                if (targetCell != null) {
+                    targetCell.accumulate(context, sourceRectangle);
+                } else {
+                    targetCell = targetGrid.createCell(x, y);
+                    targetCell.accumulate(context, sourceRectangle);
+                    if (!targetCell.isEmpty()) {
+                        targetGrid.setCell(targetCell);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertGridsEqual(CellGrid<SpatialAggregationCell> expectedGrid,
+                                         CellGrid<SpatialAggregationCell> actualGrid) {
+        final List<SpatialAggregationCell> expectedCells = expectedGrid.getCells();
+        final List<SpatialAggregationCell> actualCells = actualGrid.getCells();
+        assertTrue(expectedCells.size() > 0);
+        assertEquals(expectedCells.size(), actualCells.size());
+        for (int i = 0; i < expectedCells.size(); i++) {
+            final SpatialAggregationCell expected = expectedCells.get(i);
+            final SpatialAggregationCell actual = actualCells.get(i);
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getSampleCount(), actual.getSampleCount());
+            final Number[] expectedResults = expected.getResults();
+            final Number[] actualResults = actual.getResults();
+            for (int k = 0; k < expectedResults.length; k++) {
+                assertEquals(expectedResults[k].doubleValue(), actualResults[k].doubleValue(), 1e-10);
+            }
+        }
+    }
+}
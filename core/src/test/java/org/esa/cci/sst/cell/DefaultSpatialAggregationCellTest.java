@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.cell;
+
+import org.esa.cci.sst.accumulate.ArithmeticMeanAccumulator;
+import org.esa.cci.sst.accumulate.NumberAccumulator;
+import org.esa.cci.sst.accumulate.WeightedUncertaintyAccumulator;
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.grid.XSwap;
+import org.esa.cci.sst.grid.YFlip;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultSpatialAggregationCellTest {
+
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(1.0);
+
+    @Test
+    public void testAccumulate_equalsPixelByPixelAccumulation() throws Exception {
+        final Random random = new Random(33);
+        final AggregationContext context = new AggregationContext();
+        context.setSstGrid(YFlip.create(createShortGrid(random, 0.3)));
+        context.setQualityGrid(createQualityGrid(random));
+        context.setClimatologySstGrid(XSwap.create(createShortGrid(random, 0.0)));
+        context.setSeaCoverageGrid(createDoubleGrid(random, -0.5, 1.5, 0.0));
+        context.setRandomUncertaintyGrid(createDoubleGrid(random, 0.1, 0.5, 0.1));
+        context.setSeaIceFractionGrid(createDoubleGrid(random, 0.0, 1.0, 0.2));
+
+        for (int k = 0; k < 100; k++) {
+            final int w = 1 + random.nextInt(30);
+            final int h = 1 + random.nextInt(30);
+            final Rectangle rectangle = new Rectangle(random.nextInt(360 - w), random.nextInt(180 - h), w, h);
+            final DefaultSpatialAggregationCell cell = new DefaultSpatialAggregationCell(context, 0, 0);
+
+            cell.accumulate(context, rectangle);
+
+            final NumberAccumulator sst = new ArithmeticMeanAccumulator();
+            final NumberAccumulator sstAnomaly = new ArithmeticMeanAccumulator();
+            final NumberAccumulator randomUncertainty = new WeightedUncertaintyAccumulator();
+            final NumberAccumulator seaIceFraction = new ArithmeticMeanAccumulator();
+            for (int y = rectangle.y; y < rectangle.y + h; y++) {
+                for (int x = rectangle.x; x < rectangle.x + w; x++) {
+                    final double seaCoverage = context.getSeaCoverageGrid().getSampleDouble(x, y);
+                    final double sstSample = context.getSstGrid().getSampleDouble(x, y);
+                    if (seaCoverage > 0.0 && sstSample > 0.0 && context.getQualityGrid().getSampleInt(x, y) == 5) {
+                        final double climatologySst = context.getClimatologySstGrid().getSampleDouble(x, y);
+                        sst.accumulate(climatologySst, seaCoverage);
+                        sstAnomaly.accumulate(sstSample - climatologySst, seaCoverage);
+                        randomUncertainty.accumulate(context.getRandomUncertaintyGrid().getSampleDouble(x, y),
+                                                     seaCoverage);
+                    }
+                    seaIceFraction.accumulate(context.getSeaIceFractionGrid().getSampleDouble(x, y));
+                }
+            }
+
+            assertEquals(sst.getSampleCount(), cell.getSampleCount());
+            if (cell.getSampleCount() > 0) {
+                assertEquals(sst.combine() + sstAnomaly.combine(), cell.getSeaSurfaceTemperature(), 1e-10);
+                assertEquals(sstAnomaly.combine(), cell.getSeaSurfaceTemperatureAnomaly(), 1e-10);
+                assertEquals(randomUncertainty.combine(), cell.getRandomUncertainty(), 1e-10);
+            }
+            assertEquals(seaIceFraction.combine(), cell.getSeaIceFraction(), 1e-10);
+        }
+    }
+
+    private static Grid createShortGrid(Random random, double invalidFraction) {
+        final short[] data = new short[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < invalidFraction) {
+                data[i] = Short.MIN_VALUE;
+            } else {
+                data[i] = (short) (random.nextInt(4000) - 1000);
+            }
+        }
+        final int[] shape = {SOURCE_GRID_DEF.getHeight(), SOURCE_GRID_DEF.getWidth()};
+        return new ArrayGrid(SOURCE_GRID_DEF, Array.factory(DataType.SHORT, shape, data), Short.MIN_VALUE, 0.01,
+                             273.15);
+    }
+
+    private static Grid createQualityGrid(Random random) {
+        final byte[] data = new byte[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextDouble() < 0.8 ? 5 : random.nextInt(5));
+        }
+        final int[] shape = {SOURCE_GRID_DEF.getHeight(), SOURCE_GRID_DEF.getWidth()};
+        return new ArrayGrid(SOURCE_GRID_DEF, Array.factory(DataType.BYTE, shape, data), -128, 1.0, 0.0);
+    }
+
+    private static Grid createDoubleGrid(Random random, double offset, double range, double invalidFraction) {
+        final double[] data = new double[SOURCE_GRID_DEF.getWidth() * SOURCE_GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < invalidFraction) {
+                data[i] = Double.NaN;
+            } else {
+                data[i] = offset + range * random.nextDouble();
+            }
+        }
+        return ArrayGrid.create(SOURCE_GRID_DEF, data);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.file;
+
+import org.esa.cci.sst.product.ProductType;
+import org.esa.cci.sst.util.TimeUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FileIndexTest {
+
+    private static final String FILENAME_REGEX = "\\d{14}-ESACCI-.*\\.nc";
+    private static final long PAST = System.currentTimeMillis() - 3600000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File root;
+    private File indexFile;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.newFolder("archive");
+        indexFile = new File(temporaryFolder.getRoot(), "archive.idx");
+
+        createFile("2010/01/01", "20100101000000-ESACCI-L3U.nc");
+        createFile("2010/01/01", "20100101120000-ESACCI-L3U.nc");
+        createFile("2010/01/02", "20100102000000-ESACCI-L3U.nc");
+        createFile("2010/02/01", "20100201000000-ESACCI-L3U.nc");
+        createFile("2010/02/01", "README.txt");
+        setPast("2010/01/01", "2010/01/02", "2010/02/01", "2010/01", "2010/02", "2010", "");
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        final FileIndex fileIndex = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        assertEquals(7, fileIndex.refresh());
+        assertEquals(4, fileIndex.getFileCount());
+
+        assertNames(fileIndex.get(date("2010-01-01")),
+                    "20100101000000-ESACCI-L3U.nc", "20100101120000-ESACCI-L3U.nc");
+        assertNames(fileIndex.get(date("2010-01-02")), "20100102000000-ESACCI-L3U.nc");
+        assertNames(fileIndex.get(date("2010-01-03")));
+        assertNames(fileIndex.get(date("2010-01-02").getTime(), date("2010-02-02").getTime()),
+                    "20100102000000-ESACCI-L3U.nc", "20100201000000-ESACCI-L3U.nc");
+        assertEquals(new File(root, "2010/02/01/20100201000000-ESACCI-L3U.nc"),
+                     fileIndex.get(date("2010-02-01")).get(0));
+    }
+
+    @Test
+    public void testRefresh_unmodifiedDirectoriesAreNotListed() throws Exception {
+        FileIndex fileIndex = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        fileIndex.refresh();
+        fileIndex.write(indexFile);
+
+        fileIndex = FileIndex.read(indexFile, ProductType.CCI_L3U, FILENAME_REGEX, root);
+        assertEquals(0, fileIndex.refresh());
+        assertEquals(4, fileIndex.getFileCount());
+
+        // a file added without changing the modification time of its directory is not seen
+        createFile("2010/01/02", "20100102120000-ESACCI-L3U.nc");
+        setPast("2010/01/02");
+        assertEquals(0, fileIndex.refresh());
+        assertEquals(4, fileIndex.getFileCount());
+    }
+
+    @Test
+    public void testRefresh_addedAndRemovedFiles() throws Exception {
+        FileIndex fileIndex = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        fileIndex.refresh();
+        fileIndex.write(indexFile);
+
+        createFile("2010/01/02", "20100102120000-ESACCI-L3U.nc");
+        createFile("2010/03/01", "20100301000000-ESACCI-L3U.nc");
+        assertTrue(new File(root, "2010/01/01/20100101000000-ESACCI-L3U.nc").delete());
+        assertTrue(new File(root, "2010/02/01/20100201000000-ESACCI-L3U.nc").delete());
+        assertTrue(new File(root, "2010/02/01/README.txt").delete());
+        assertTrue(new File(root, "2010/02/01").delete());
+        assertTrue(new File(root, "2010/02").delete());
+
+        fileIndex = FileIndex.read(indexFile, ProductType.CCI_L3U, FILENAME_REGEX, root);
+        fileIndex.refresh();
+
+        assertEquals(4, fileIndex.getFileCount());
+        assertNames(fileIndex.get(date("2010-01-01")), "20100101120000-ESACCI-L3U.nc");
+        assertNames(fileIndex.get(date("2010-01-02")),
+                    "20100102000000-ESACCI-L3U.nc", "20100102120000-ESACCI-L3U.nc");
+        assertNames(fileIndex.get(date("2010-02-01")));
+        assertNames(fileIndex.get(date("2010-03-01")), "20100301000000-ESACCI-L3U.nc");
+    }
+
+    @Test
+    public void testRead_indexOfOtherFilenamePatternIsIgnored() throws Exception {
+        final FileIndex fileIndex = FileIndex.create(ProductType.CCI_L3U, FILENAME_REGEX, root);
+        fileIndex.refresh();
+        fileIndex.write(indexFile);
+
+        final FileIndex otherIndex = FileIndex.read(indexFile, ProductType.CCI_L3U, "\\d{8}120000-.*", root);
+        assertEquals(7, otherIndex.refresh());
+        assertNames(otherIndex.get(date("2010-01-01")), "20100101120000-ESACCI-L3U.nc");
+    }
+
+    @Test
+    public void testRead_missingIndexFile() throws Exception {
+        final FileIndex fileIndex = FileIndex.read(indexFile, ProductType.CCI_L3U, FILENAME_REGEX, root);
+
+        assertEquals(0, fileIndex.getFileCount());
+        assertEquals(7, fileIndex.refresh());
+        assertEquals(4, fileIndex.getFileCount());
+    }
+
+    @Test
+    public void testFileStore_withIndexEqualsWithoutIndex() throws Exception {
+        final File indexDir = temporaryFolder.newFolder("index");
+        final FileStore fileStore = FileStore.create(ProductType.CCI_L3U, FILENAME_REGEX, root.getPath());
+        final FileStore indexedFileStore = FileStore.create(ProductType.CCI_L3U, FILENAME_REGEX, indexDir,
+                                                            root.getPath());
+        assertEquals(1, indexDir.listFiles().length);
+
+        final List<FileList> expected = fileStore.getFiles(date("2010-01-01"), date("2011-01-01"));
+        final List<FileList> actual = indexedFileStore.getFiles(date("2010-01-01"), date("2011-01-01"));
+        assertEquals(3, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDate(), actual.get(i).getDate());
+            assertEquals(expected.get(i).getFiles(), actual.get(i).getFiles());
+        }
+    }
+
+    private void createFile(String dirPath, String name) throws IOException {
+        final File dir = new File(root, dirPath);
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        assertTrue(new File(dir, name).createNewFile());
+    }
+
+    private void setPast(String... dirPaths) {
+        for (final String dirPath : dirPaths) {
+            assertTrue(new File(root, dirPath).setLastModified(PAST));
+        }
+    }
+
+    private static void assertNames(List<File> files, String... expectedNames) {
+        assertEquals(expectedNames.length, files.size());
+        for (int i = 0; i < expectedNames.length; i++) {
+            assertEquals(expectedNames[i], files.get(i).getName());
+        }
+    }
+
+    private static Date date(String source) throws ParseException {
+        return TimeUtil.parseShortUtcFormat(source);
+    }
+}
@@ -200,4 +200,61 @@ public class ArrayGridTest {
         } catch (Exception e) {
         }
     }
+
+    @Test
+    public void testGetSamplesDouble() throws Exception {
+        final double[] samples = new double[10];
+
+        arrayGrid.getSamplesDouble(2, 1, samples, 3, 5);
+
+        assertEquals(0.0, samples[2], 0.0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(arrayGrid.getSampleDouble(2 + i, 1), samples[3 + i], 0.0);
+        }
+        assertEquals(0.0, samples[8], 0.0);
+    }
+
+    @Test
+    public void testGetSamplesDouble_scaledData() throws Exception {
+        final GridDef gridDef = GridDef.createGlobal(8, 4);
+        final short[] shortData = new short[32];
+        final float[] floatData = new float[32];
+        for (int i = 0; i < 32; i++) {
+            shortData[i] = (short) (i % 5 == 0 ? -32768 : 100 * i - 1000);
+            floatData[i] = i % 5 == 0 ? -32768.0f : 100.0f * i - 1000.0f;
+        }
+        final int[] shape = {gridDef.getHeight(), gridDef.getWidth()};
+        final Grid shortGrid = new ArrayGrid(gridDef, Array.factory(DataType.SHORT, shape, shortData), -32768, 0.01,
+                                             273.15);
+        final Grid floatGrid = new ArrayGrid(gridDef, Array.factory(DataType.FLOAT, shape, floatData), -32768, 0.01,
+                                             273.15);
+        final double[] shortSamples = new double[8];
+        final double[] floatSamples = new double[8];
+
+        for (int y = 0; y < 4; y++) {
+            shortGrid.getSamplesDouble(0, y, shortSamples, 0, 8);
+            floatGrid.getSamplesDouble(0, y, floatSamples, 0, 8);
+            for (int x = 0; x < 8; x++) {
+                assertEquals(shortGrid.getSampleDouble(x, y), shortSamples[x], 0.0);
+                assertEquals(floatGrid.getSampleDouble(x, y), floatSamples[x], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSamplesDouble_outOfBounds() throws Exception {
+        final double[] samples = new double[8];
+
+        arrayGrid.getSamplesDouble(0, 3, samples, 0, 8);
+        try {
+            arrayGrid.getSamplesDouble(1, 3, samples, 0, 8);
+            fail("ArrayIndexOutOfBoundsException expected");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+        }
+        try {
+            arrayGrid.getSamplesDouble(0, 4, samples, 0, 1);
+            fail("ArrayIndexOutOfBoundsException expected");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+        }
+    }
 }
@@ -35,7 +35,10 @@ import org.junit.Test;
 import ucar.ma2.Array;
 import ucar.ma2.DataType;
 
+import java.util.Random;
+
 import static junit.framework.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class InterpolationTest {
@@ -136,6 +139,60 @@ public class InterpolationTest {
         assertEquals(0.25 * e07 + 0.75 * e37, targetGrid.getSampleDouble(7, 2), 1.0e-10);
     }
 
+    @Test
+    public void testCreate_materializedEqualsLazy() throws Exception {
+        final GridDef sourceGridDef = GridDef.createGlobal(2.0);
+        final double[] data = new double[sourceGridDef.getWidth() * sourceGridDef.getHeight()];
+        final Random random = new Random(35);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble() < 0.1 ? Double.NaN : 300.0 * random.nextDouble();
+        }
+        final Grid sourceGrid = ArrayGrid.create(sourceGridDef, data);
+        final GridDef targetGridDef = GridDef.createGlobal(0.25);
+
+        final Grid lazyGrid = Interpolation.create(sourceGrid, targetGridDef, Interpolation.Mode.LAZY);
+        final Grid tiledGrid = Interpolation.create(sourceGrid, targetGridDef, Interpolation.Mode.TILED);
+        final Grid eagerGrid = Interpolation.create(sourceGrid, targetGridDef, Interpolation.Mode.EAGER);
+        assertTrue(lazyGrid instanceof Interpolation);
+        assertTrue(tiledGrid instanceof TiledGrid);
+        assertTrue(eagerGrid instanceof ArrayGrid);
+
+        final int w = targetGridDef.getWidth();
+        final double[] tiledSamples = new double[w];
+        final double[] eagerSamples = new double[w];
+        for (int y = 0; y < targetGridDef.getHeight(); y++) {
+            tiledGrid.getSamplesDouble(0, y, tiledSamples, 0, w);
+            eagerGrid.getSamplesDouble(0, y, eagerSamples, 0, w);
+            for (int x = 0; x < w; x++) {
+                final double expected = lazyGrid.getSampleDouble(x, y);
+                assertEquals(expected, tiledGrid.getSampleDouble(x, y), 1.0e-4);
+                assertEquals(expected, tiledSamples[x], 1.0e-4);
+                assertEquals(expected, eagerSamples[x], 1.0e-4);
+            }
+        }
+    }
+
+    @Test
+    public void testCreate_tiledComputesEveryTileOnce() throws Exception {
+        final GridDef sourceGridDef = GridDef.createGlobal(2.0);
+        final double[] data = new double[sourceGridDef.getWidth() * sourceGridDef.getHeight()];
+        final Grid sourceGrid = ArrayGrid.create(sourceGridDef, data);
+        final GridDef targetGridDef = GridDef.createGlobal(0.05);
+
+        final TiledGrid tiledGrid = (TiledGrid) Interpolation.create(sourceGrid, targetGridDef,
+                                                                     Interpolation.Mode.TILED);
+        final int w = targetGridDef.getWidth();
+        final double[] samples = new double[w];
+        // the regridding LUT is read like this for every time step
+        for (int timeStep = 0; timeStep < 2; timeStep++) {
+            for (int y = 0; y < targetGridDef.getHeight(); y++) {
+                tiledGrid.getSamplesDouble(0, y, samples, 0, w);
+            }
+        }
+
+        assertEquals(29 * 15, tiledGrid.getComputedTileCount());
+    }
+
     @Test
     public void testGetBoolean() throws Exception {
         final Grid scaledGrid = Downscaling.create(sourceGrid, 2);
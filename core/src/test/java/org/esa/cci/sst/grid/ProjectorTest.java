@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProjectorTest {
+
+    private static final int SWATH_W = 120;
+    private static final int SWATH_H = 600;
+    private static final GridDef TARGET_GRID_DEF = GridDef.createGlobal(1.0);
+
+    @Test
+    public void testCreateProjectedData_isIndependentOfParallelism() throws Exception {
+        final Grid[] swath = createSwath();
+        final Grid[] sourceGrids = {swath[2]};
+
+        final float[][] expected = new Projector(TARGET_GRID_DEF, null, 1).createProjectedData(swath[0], swath[1],
+                                                                                              sourceGrids);
+        final float[][] actual = new Projector(TARGET_GRID_DEF, null, 3).createProjectedData(swath[0], swath[1],
+                                                                                            sourceGrids);
+        assertEquals(1, actual.length);
+        assertArrayEquals(expected[0], actual[0], 0.0f);
+    }
+
+    @Test
+    public void testCreateProjectedData_locatesNearestSourcePixel() throws Exception {
+        final Grid[] swath = createSwath();
+        final Grid lonGrid = swath[0];
+        final Grid latGrid = swath[1];
+
+        final float[] data = new Projector(TARGET_GRID_DEF, null, 2).createProjectedData(lonGrid, latGrid,
+                                                                                         new Grid[]{swath[2]})[0];
+        int locatedCount = 0;
+        for (int y = 0; y < TARGET_GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < TARGET_GRID_DEF.getWidth(); x++) {
+                final float value = data[y * TARGET_GRID_DEF.getWidth() + x];
+                if (Float.isNaN(value)) {
+                    continue;
+                }
+                final int sourceX = (int) value % SWATH_W;
+                final int sourceY = (int) value / SWATH_W;
+                final double lon0 = TARGET_GRID_DEF.getCenterLon(x);
+                final double lat0 = TARGET_GRID_DEF.getCenterLat(y);
+                final double d = distance(lon0, lat0, lonGrid, latGrid, sourceX, sourceY);
+                assertTrue(d <= TARGET_GRID_DEF.getDiagonal(x, y) / 12742.0);
+                for (int j = Math.max(0, sourceY - 2); j <= Math.min(SWATH_H - 1, sourceY + 2); j++) {
+                    for (int i = Math.max(0, sourceX - 2); i <= Math.min(SWATH_W - 1, sourceX + 2); i++) {
+                        if (!Double.isNaN(lonGrid.getSampleDouble(i, j))) {
+                            assertTrue(d <= distance(lon0, lat0, lonGrid, latGrid, i, j));
+                        }
+                    }
+                }
+                locatedCount++;
+            }
+        }
+        assertTrue(locatedCount > 1000);
+    }
+
+    @Test
+    public void testParallelism() throws Exception {
+        assertTrue(Projector.getDefaultParallelism() >= 1);
+        assertEquals(Projector.getDefaultParallelism(), new Projector(TARGET_GRID_DEF, null).getParallelism());
+        assertEquals(4, new Projector(TARGET_GRID_DEF, null, 4).getParallelism());
+
+        try {
+            new Projector(TARGET_GRID_DEF, null, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static double distance(double lon0, double lat0, Grid lonGrid, Grid latGrid, int x, int y) {
+        final double phi0 = Math.toRadians(lat0);
+        final double phi = Math.toRadians(latGrid.getSampleDouble(x, y));
+        final double deltaLambda = Math.toRadians(lonGrid.getSampleDouble(x, y) - lon0);
+        return Math.acos(Math.sin(phi0) * Math.sin(phi) + Math.cos(phi0) * Math.cos(phi) * Math.cos(deltaLambda));
+    }
+
+    /**
+     * Creates the longitudes, latitudes and pixel indices of a synthetic, slightly inclined swath, which
+     * contains a few invalid pixels.
+     */
+    private static Grid[] createSwath() {
+        final GridDef sourceRaster = GridDef.createRaster(SWATH_W, SWATH_H);
+        final double[] lons = new double[SWATH_W * SWATH_H];
+        final double[] lats = new double[SWATH_W * SWATH_H];
+        final double[] indexes = new double[SWATH_W * SWATH_H];
+        for (int y = 0, i = 0; y < SWATH_H; y++) {
+            for (int x = 0; x < SWATH_W; x++, i++) {
+                if (y >= 300 && y < 310 && x >= 50 && x < 54) {
+                    lons[i] = Double.NaN;
+                    lats[i] = Double.NaN;
+                } else {
+                    lons[i] = 10.0 + 0.1 * (x - SWATH_W / 2) + 0.02 * y;
+                    lats[i] = -60.0 + 0.2 * y + 0.005 * x;
+                }
+                indexes[i] = i;
+            }
+        }
+        return new Grid[]{
+                ArrayGrid.create(sourceRaster, lons),
+                ArrayGrid.create(sourceRaster, lats),
+                ArrayGrid.create(sourceRaster, indexes)
+        };
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SamplePermuterTest {
+
+    private static final GridDef GRID_DEF = GridDef.createGlobal(10, 5);
+
+    @Test
+    public void testGetSamplesDouble_yFlip() throws Exception {
+        assertSamplesEqual(YFlip.create(createGrid()));
+    }
+
+    @Test
+    public void testGetSamplesDouble_xSwap() throws Exception {
+        assertSamplesEqual(XSwap.create(createGrid()));
+    }
+
+    @Test
+    public void testGetSamplesDouble_xSwapOfYFlip() throws Exception {
+        assertSamplesEqual(XSwap.create(YFlip.create(createGrid())));
+    }
+
+    private static Grid createGrid() {
+        final double[] data = new double[GRID_DEF.getWidth() * GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        return ArrayGrid.create(GRID_DEF, data);
+    }
+
+    private static void assertSamplesEqual(Grid grid) {
+        final int w = GRID_DEF.getWidth();
+        final double[] samples = new double[w + 1];
+        for (int y = 0; y < GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < w; x++) {
+                for (int length = 1; x + length <= w; length++) {
+                    grid.getSamplesDouble(x, y, samples, 1, length);
+                    for (int i = 0; i < length; i++) {
+                        assertEquals(grid.getSampleDouble(x + i, y), samples[1 + i], 0.0);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.grid;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TiledGridTest {
+
+    private static final GridDef GRID_DEF = GridDef.createGlobal(10.0);
+
+    private CountingGrid sourceGrid;
+
+    @Before
+    public void setUp() throws Exception {
+        final double[] data = new double[GRID_DEF.getWidth() * GRID_DEF.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 13 == 0 ? Double.NaN : 0.5 * i;
+        }
+        sourceGrid = new CountingGrid(ArrayGrid.create(GRID_DEF, data));
+    }
+
+    @Test
+    public void testGetSampleDouble() throws Exception {
+        final TiledGrid tiledGrid = TiledGrid.create(sourceGrid, 7, 100);
+
+        for (int y = 0; y < GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < GRID_DEF.getWidth(); x++) {
+                assertEquals(sourceGrid.getSampleDouble(x, y), tiledGrid.getSampleDouble(x, y), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSamplesDouble_acrossTiles() throws Exception {
+        final TiledGrid tiledGrid = TiledGrid.create(sourceGrid, 7, 100);
+        final double[] samples = new double[25];
+
+        tiledGrid.getSamplesDouble(5, 17, samples, 2, 23);
+
+        assertEquals(0.0, samples[0], 0.0);
+        assertEquals(0.0, samples[1], 0.0);
+        for (int i = 0; i < 23; i++) {
+            assertEquals(sourceGrid.getSampleDouble(5 + i, 17), samples[2 + i], 0.0);
+        }
+    }
+
+    @Test
+    public void testTilesAreComputedOnce() throws Exception {
+        final TiledGrid tiledGrid = TiledGrid.create(sourceGrid, 6, 100);
+
+        tiledGrid.getSampleDouble(0, 0);
+        tiledGrid.getSampleDouble(5, 5);
+        assertEquals(36, sourceGrid.count);
+
+        tiledGrid.getSampleDouble(6, 0);
+        tiledGrid.getSampleDouble(0, 0);
+        assertEquals(72, sourceGrid.count);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTileIsDiscarded() throws Exception {
+        final TiledGrid tiledGrid = TiledGrid.create(sourceGrid, 6, 2);
+
+        tiledGrid.getSampleDouble(0, 0);
+        tiledGrid.getSampleDouble(6, 0);
+        tiledGrid.getSampleDouble(0, 0);
+        tiledGrid.getSampleDouble(12, 0);
+        assertEquals(3 * 36, sourceGrid.count);
+
+        tiledGrid.getSampleDouble(0, 0);
+        assertEquals(3 * 36, sourceGrid.count);
+
+        tiledGrid.getSampleDouble(6, 0);
+        assertEquals(4 * 36, sourceGrid.count);
+    }
+
+    @Test
+    public void testGetSampleDouble_outOfBounds() throws Exception {
+        final TiledGrid tiledGrid = TiledGrid.create(sourceGrid, 7, 100);
+
+        try {
+            tiledGrid.getSampleDouble(GRID_DEF.getWidth(), 0);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException expected) {
+        }
+        try {
+            tiledGrid.getSamplesDouble(GRID_DEF.getWidth() - 3, 0, new double[4], 0, 4);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException expected) {
+        }
+    }
+
+    private static final class CountingGrid implements Grid {
+
+        private final Grid grid;
+        private int count;
+
+        private CountingGrid(Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public GridDef getGridDef() {
+            return grid.getGridDef();
+        }
+
+        @Override
+        public double getSampleDouble(int x, int y) {
+            return grid.getSampleDouble(x, y);
+        }
+
+        @Override
+        public void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+            count += length;
+            grid.getSamplesDouble(x, y, samples, offset, length);
+        }
+
+        @Override
+        public int getSampleInt(int x, int y) {
+            return grid.getSampleInt(x, y);
+        }
+
+        @Override
+        public boolean getSampleBoolean(int x, int y) {
+            return grid.getSampleBoolean(x, y);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PipelineEventsTest {
+
+    @After
+    public void tearDown() {
+        PipelineEvents.setRecorder(null);
+    }
+
+    @Test
+    public void testCreateRecorder() {
+        final EventRecorder recorder = PipelineEvents.createRecorder(RecordingEventRecorder.class.getName());
+
+        assertTrue(recorder instanceof RecordingEventRecorder);
+    }
+
+    @Test
+    public void testCreateRecorder_notSpecified() {
+        assertNull(PipelineEvents.createRecorder(null));
+        assertNull(PipelineEvents.createRecorder(" "));
+    }
+
+    @Test
+    public void testCreateRecorder_illegalClassName() {
+        assertNull(PipelineEvents.createRecorder("org.esa.cci.sst.util.NoSuchRecorder"));
+        assertNull(PipelineEvents.createRecorder(String.class.getName()));
+    }
+
+    @Test
+    public void testEvents_disabled() {
+        assertFalse(PipelineEvents.isEnabled());
+
+        PipelineEvents.queryExecuted("select o from Observation o", 1, 100L);
+    }
+
+    @Test
+    public void testEvents_enabled() {
+        final RecordingEventRecorder recorder = new RecordingEventRecorder();
+        PipelineEvents.setRecorder(recorder);
+        assertTrue(PipelineEvents.isEnabled());
+
+        PipelineEvents.fileOpened("atsr.nc", "GunzipDecorator,ProductReader", 1024L, 10L);
+        PipelineEvents.variableExtracted("sst", new int[]{1, 7, 7}, 20L);
+        PipelineEvents.ruleApplied("atsr.sst", "sst", 30L);
+        PipelineEvents.queryExecuted("select o from Observation o", 2, 40L);
+        PipelineEvents.cellGridAggregated("sst.nc", 50L);
+
+        assertEquals(Arrays.asList("fileOpened atsr.nc GunzipDecorator,ProductReader 1024 10",
+                                   "variableExtracted sst [1, 7, 7] 20",
+                                   "ruleApplied atsr.sst sst 30",
+                                   "queryExecuted select o from Observation o 2 40",
+                                   "cellGridAggregated sst.nc 50"), recorder.events);
+    }
+
+    public static final class RecordingEventRecorder implements EventRecorder {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void fileOpened(String path, String readerType, long byteCount, long nanos) {
+            events.add("fileOpened " + path + " " + readerType + " " + byteCount + " " + nanos);
+        }
+
+        @Override
+        public void variableExtracted(String role, int[] shape, long nanos) {
+            events.add("variableExtracted " + role + " " + Arrays.toString(shape) + " " + nanos);
+        }
+
+        @Override
+        public void ruleApplied(String targetName, String sourceName, long nanos) {
+            events.add("ruleApplied " + targetName + " " + sourceName + " " + nanos);
+        }
+
+        @Override
+        public void queryExecuted(String query, int rowCount, long nanos) {
+            events.add("queryExecuted " + query + " " + rowCount + " " + nanos);
+        }
+
+        @Override
+        public void cellGridAggregated(String path, long nanos) {
+            events.add("cellGridAggregated " + path + " " + nanos);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimingRegistryTest {
+
+    private TimingRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new TimingRegistry();
+    }
+
+    @Test
+    public void testStart_nestedPhases() {
+        final TimingRegistry.Phase outer = registry.start("outer");
+        final TimingRegistry.Phase inner = registry.start("inner");
+        final TimingRegistry.Phase innermost = registry.start("innermost");
+        innermost.stop();
+        inner.stop();
+        final TimingRegistry.Phase sibling = registry.start("sibling");
+        sibling.stop();
+        outer.stop();
+        final TimingRegistry.Phase next = registry.start("next");
+        next.stop();
+
+        assertEquals("outer/inner/innermost", innermost.getPath());
+        assertEquals("outer/sibling", sibling.getPath());
+        assertEquals("next", next.getPath());
+
+        final List<PhaseStatistics> statistics = registry.getStatistics();
+        assertEquals(5, statistics.size());
+        assertEquals("next", statistics.get(0).getPath());
+        assertEquals("outer", statistics.get(1).getPath());
+        assertEquals("outer/inner", statistics.get(2).getPath());
+        assertEquals("outer/inner/innermost", statistics.get(3).getPath());
+        assertEquals("outer/sibling", statistics.get(4).getPath());
+    }
+
+    @Test
+    public void testStop_phaseWithNestedPhaseLeftRunning() {
+        final TimingRegistry.Phase outer = registry.start("outer");
+        registry.start("inner");
+        outer.stop();
+
+        assertEquals("other", registry.start("other").getPath());
+    }
+
+    @Test
+    public void testStop_twice() {
+        final TimingRegistry.Phase phase = registry.start("phase");
+        phase.stop();
+        phase.stop();
+
+        assertEquals(1, registry.getStatistics().get(0).getCount());
+    }
+
+    @Test
+    public void testClose_stopsPhase() {
+        try (TimingRegistry.Phase phase = registry.start("phase")) {
+            assertEquals("phase", phase.getPath());
+        }
+
+        assertEquals(1, registry.getStatistics().get(0).getCount());
+        assertEquals("next", registry.start("next").getPath());
+    }
+
+    @Test
+    public void testStart_illegalName() {
+        try {
+            registry.start("a/b");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testRecord_statistics() {
+        for (int i = 1; i <= 1000; i++) {
+            registry.record("phase", i * 1000L);
+        }
+
+        final PhaseStatistics statistics = registry.getStatistics().get(0);
+        assertEquals(1000, statistics.getCount());
+        assertEquals(500500000L, statistics.getTotalNanos());
+        assertEquals(1000L, statistics.getMinNanos());
+        assertEquals(1000000L, statistics.getMaxNanos());
+        assertEquals(500500.0, statistics.getMeanNanos(), 0.0);
+        assertEquals(500000.0, statistics.getPercentileNanos(50.0), 500000.0 * 0.125);
+        assertEquals(900000.0, statistics.getPercentileNanos(90.0), 900000.0 * 0.125);
+        assertEquals(990000.0, statistics.getPercentileNanos(99.0), 990000.0 * 0.125);
+        assertEquals(1000L, statistics.getPercentileNanos(0.0));
+        assertEquals(1000000L, statistics.getPercentileNanos(100.0));
+    }
+
+    @Test
+    public void testGetStatistics_returnsSnapshots() {
+        registry.record("phase", 10L);
+        final PhaseStatistics snapshot = registry.getStatistics().get(0);
+        registry.record("phase", 20L);
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(2, registry.getStatistics().get(0).getCount());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (long nanos = 0; nanos < 100000; nanos++) {
+            final int index = PhaseStatistics.getBucketIndex(nanos);
+            assertTrue(PhaseStatistics.getLowerBound(index) <= nanos);
+            assertTrue(PhaseStatistics.getUpperBound(index) >= nanos);
+        }
+        final int index = PhaseStatistics.getBucketIndex(Long.MAX_VALUE);
+        assertTrue(PhaseStatistics.getUpperBound(index) >= PhaseStatistics.getLowerBound(index));
+        assertEquals(PhaseStatistics.getUpperBound(index - 1) + 1, PhaseStatistics.getLowerBound(index));
+    }
+
+    @Test
+    public void testConcurrentPhases() throws Exception {
+        final int threadCount = 8;
+        final int phaseCount = 10000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            final Future<?>[] futures = new Future<?>[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                final String threadName = "thread" + t;
+                futures[t] = executorService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        startSignal.await();
+                        for (int i = 0; i < phaseCount; i++) {
+                            final TimingRegistry.Phase outer = registry.start("outer");
+                            final TimingRegistry.Phase inner = registry.start(i % 2 == 0 ? "even" : threadName);
+                            inner.stop();
+                            outer.stop();
+                        }
+                        return null;
+                    }
+                });
+            }
+            startSignal.countDown();
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        final List<PhaseStatistics> statistics = registry.getStatistics();
+        assertEquals(2 + threadCount, statistics.size());
+        assertEquals("outer", statistics.get(0).getPath());
+        assertEquals(threadCount * phaseCount, statistics.get(0).getCount());
+        assertEquals("outer/even", statistics.get(1).getPath());
+        assertEquals(threadCount * phaseCount / 2, statistics.get(1).getCount());
+        for (int t = 0; t < threadCount; t++) {
+            assertEquals("outer/thread" + t, statistics.get(2 + t).getPath());
+            assertEquals(phaseCount / 2, statistics.get(2 + t).getCount());
+        }
+        long histogramCount = 0;
+        for (final PhaseStatistics s : statistics) {
+            assertTrue(s.getMinNanos() <= s.getPercentileNanos(50.0));
+            assertTrue(s.getPercentileNanos(50.0) <= s.getMaxNanos());
+            histogramCount += s.getCount();
+        }
+        assertEquals(2L * threadCount * phaseCount, histogramCount);
+    }
+
+    @Test
+    public void testCreateTextReport() {
+        registry.record("outer", 2000000L);
+        registry.record("outer/inner", 1000000L);
+
+        final String[] lines = registry.createTextReport().split("\\r?\\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("phase "));
+        assertTrue(lines[1].startsWith("outer "));
+        assertTrue(lines[2].startsWith("  inner "));
+        assertTrue(lines[2].contains(" 1.000 "));
+    }
+
+    @Test
+    public void testCreateJsonReport() {
+        registry.record("a \"quoted\" phase", 100L);
+        registry.record("a \"quoted\" phase/inner", 50L);
+
+        final String report = registry.createJsonReport();
+
+        assertTrue(report.startsWith("{\"phases\":["));
+        assertTrue(report.contains("{\"path\":\"a \\\"quoted\\\" phase\",\"count\":1,\"totalNanos\":100,"));
+        assertTrue(report.contains("{\"path\":\"a \\\"quoted\\\" phase/inner\",\"count\":1,\"totalNanos\":50,"));
+        assertTrue(report.trim().endsWith("]}"));
+    }
+
+    @Test
+    public void testClear() {
+        registry.record("phase", 100L);
+        assertFalse(registry.isEmpty());
+
+        registry.clear();
+
+        assertTrue(registry.isEmpty());
+        assertTrue(registry.getStatistics().isEmpty());
+    }
+}
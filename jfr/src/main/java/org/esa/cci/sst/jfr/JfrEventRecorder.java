@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.jfr;
+
+import org.esa.cci.sst.util.EventRecorder;
+
+import java.util.Arrays;
+
+/**
+ * An event recorder, which commits the pipeline events as Java Flight Recorder events. Use
+ * <pre>
+ *     -Dsst.event.recorder=org.esa.cci.sst.jfr.JfrEventRecorder -XX:StartFlightRecording=filename=mms.jfr
+ * </pre>
+ * for recording the events of a tool run. The events are committed only when enabled in the
+ * running recording.
+ *
+ * @author agent
+ */
+public class JfrEventRecorder implements EventRecorder {
+
+    @Override
+    public void fileOpened(String path, String readerType, long byteCount, long nanos) {
+        final FileOpenEvent event = new FileOpenEvent();
+        if (event.isEnabled()) {
+            event.path = path;
+            event.readerType = readerType;
+            event.size = byteCount;
+            event.elapsedTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void variableExtracted(String role, int[] shape, long nanos) {
+        final VariableExtractEvent event = new VariableExtractEvent();
+        if (event.isEnabled()) {
+            event.role = role;
+            event.shape = Arrays.toString(shape);
+            event.elementCount = getElementCount(shape);
+            event.elapsedTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void ruleApplied(String targetName, String sourceName, long nanos) {
+        final RuleApplyEvent event = new RuleApplyEvent();
+        if (event.isEnabled()) {
+            event.targetName = targetName;
+            event.sourceName = sourceName;
+            event.elapsedTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void queryExecuted(String query, int rowCount, long nanos) {
+        final DbQueryEvent event = new DbQueryEvent();
+        if (event.isEnabled()) {
+            event.query = query;
+            event.rowCount = rowCount;
+            event.elapsedTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cellGridAggregated(String path, long nanos) {
+        final CellGridAggregateEvent event = new CellGridAggregateEvent();
+        if (event.isEnabled()) {
+            event.path = path;
+            event.elapsedTime = nanos;
+            event.commit();
+        }
+    }
+
+    private static long getElementCount(int[] shape) {
+        if (shape == null) {
+            return 0;
+        }
+        long elementCount = 1;
+        for (final int length : shape) {
+            elementCount *= length;
+        }
+        return elementCount;
+    }
+}
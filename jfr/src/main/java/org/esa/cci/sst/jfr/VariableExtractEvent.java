@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The event emitted when the data of a variable have been extracted from an input file.
+ *
+ * @author agent
+ */
+@Name("org.esa.cci.sst.VariableExtract")
+@Label("Variable Extract")
+@Category({"SST-CCI", "I/O"})
+@Description("The data of a variable have been extracted from an input file.")
+final class VariableExtractEvent extends Event {
+
+    @Label("Role")
+    String role;
+
+    @Label("Shape")
+    String shape;
+
+    @Label("Element Count")
+    long elementCount;
+
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsedTime;
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.esa.cci.sst.util.PipelineEvents;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JfrEventRecorderTest {
+
+    private static final String[] EVENT_NAMES = {
+            "org.esa.cci.sst.FileOpen",
+            "org.esa.cci.sst.VariableExtract",
+            "org.esa.cci.sst.RuleApply",
+            "org.esa.cci.sst.DbQuery",
+            "org.esa.cci.sst.CellGridAggregate"
+    };
+
+    private Path recordingPath;
+
+    @Before
+    public void setUp() throws IOException {
+        recordingPath = Files.createTempFile("pipeline-events", ".jfr");
+        PipelineEvents.setRecorder(new JfrEventRecorder());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        PipelineEvents.setRecorder(null);
+        Files.deleteIfExists(recordingPath);
+    }
+
+    @Test
+    public void testRecordSyntheticRun() throws IOException {
+        try (Recording recording = new Recording()) {
+            for (final String eventName : EVENT_NAMES) {
+                recording.enable(eventName);
+            }
+            recording.start();
+            runSyntheticPipeline();
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        final List<RecordedEvent> events = readEvents();
+        assertEquals(1 + 2 + 3 * 3 + 1, events.size());
+
+        final RecordedEvent fileOpen = findFirst(events, "org.esa.cci.sst.FileOpen");
+        assertEquals("atsr" + File.separator + "ATS_NR__2P.N1.gz", fileOpen.getString("path"));
+        assertEquals("GunzipDecorator,ProductReader", fileOpen.getString("readerType"));
+        assertEquals(4096L, fileOpen.getLong("size"));
+        assertEquals(2000000L, fileOpen.getLong("elapsedTime"));
+
+        final RecordedEvent variableExtract = findFirst(events, "org.esa.cci.sst.VariableExtract");
+        assertEquals("sst", variableExtract.getString("role"));
+        assertEquals("[1, 101, 101]", variableExtract.getString("shape"));
+        assertEquals(10201L, variableExtract.getLong("elementCount"));
+        assertTrue(variableExtract.getLong("elapsedTime") > 0);
+
+        final RecordedEvent ruleApply = findFirst(events, "org.esa.cci.sst.RuleApply");
+        assertEquals("atsr.sst", ruleApply.getString("targetName"));
+        assertEquals("sst", ruleApply.getString("sourceName"));
+
+        final RecordedEvent dbQuery = findFirst(events, "org.esa.cci.sst.DbQuery");
+        assertEquals("select o from ReferenceObservation o where o.sensor = ?1", dbQuery.getString("query"));
+        assertEquals(3, dbQuery.getInt("rowCount"));
+
+        final RecordedEvent cellGridAggregate = findFirst(events, "org.esa.cci.sst.CellGridAggregate");
+        assertEquals("20100701-ESACCI-L3U_GHRSST-SSTskin-AATSR.nc", cellGridAggregate.getString("path"));
+        assertEquals(5000000L, cellGridAggregate.getLong("elapsedTime"));
+        for (final RecordedEvent event : events) {
+            assertEquals(Thread.currentThread().getName(), event.getThread().getJavaName());
+        }
+    }
+
+    @Test
+    public void testRecordSyntheticRun_eventsDisabled() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAMES[0]);
+            for (int i = 1; i < EVENT_NAMES.length; i++) {
+                recording.disable(EVENT_NAMES[i]);
+            }
+            recording.start();
+            runSyntheticPipeline();
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        final List<RecordedEvent> events = readEvents();
+        assertEquals(2, events.size());
+        for (final RecordedEvent event : events) {
+            assertEquals(EVENT_NAMES[0], event.getEventType().getName());
+        }
+    }
+
+    private static void runSyntheticPipeline() {
+        PipelineEvents.queryExecuted("select o from ReferenceObservation o where o.sensor = ?1", 3, 1500000L);
+        PipelineEvents.fileOpened("atsr" + File.separator + "ATS_NR__2P.N1.gz", "GunzipDecorator,ProductReader",
+                                  4096L, 2000000L);
+        for (int i = 0; i < 3; i++) {
+            PipelineEvents.variableExtracted("sst", new int[]{1, 101, 101}, 100000L + i);
+            PipelineEvents.ruleApplied("atsr.sst", "sst", 20000L + i);
+            PipelineEvents.ruleApplied("atsr.time", null, 10000L + i);
+        }
+        PipelineEvents.fileOpened("20100701-ESACCI-L3U_GHRSST-SSTskin-AATSR.nc", "NetcdfFile", -1L, 300000L);
+        PipelineEvents.cellGridAggregated("20100701-ESACCI-L3U_GHRSST-SSTskin-AATSR.nc", 5000000L);
+    }
+
+    private List<RecordedEvent> readEvents() throws IOException {
+        final List<RecordedEvent> events = new ArrayList<>();
+        for (final RecordedEvent event : RecordingFile.readAllEvents(recordingPath)) {
+            if (event.getEventType().getName().startsWith("org.esa.cci.sst.")) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static RecordedEvent findFirst(List<RecordedEvent> events, String eventName) {
+        for (final RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(eventName)) {
+                return event;
+            }
+        }
+        fail(eventName);
+        return null;
+    }
+}
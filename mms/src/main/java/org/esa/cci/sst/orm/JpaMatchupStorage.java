@@ -2,13 +2,21 @@ package org.esa.cci.sst.orm;
 
 import org.esa.cci.sst.data.Matchup;
 
+import javax.persistence.EntityTransaction;
 import javax.persistence.Query;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 class JpaMatchupStorage implements MatchupStorage {
 
     private static final String SQL_FOR_COUNT = "select count(m.id) from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id";
     public static final String SQL_FOR_MATCHUPS = "select m.id from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id order by r.time, r.id";
+    static final String HINT_FETCH_BATCH_SIZE = "openjpa.FetchPlan.FetchBatchSize";
+    static final String HINT_RESULT_SET_TYPE = "openjpa.FetchPlan.ResultSetType";
+    private static final String SQL_FOR_PATTERN_INDEX = "select r.id, r.time, m.id, m.pattern from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id and (r.time, r.id) > (?3, ?4) order by r.time, r.id";
+    private static final String SQL_FOR_PATTERN_INDEX_WATERMARK = "select count(m.id), max(m.id), sum(m.pattern) from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id";
+    private static final int PATTERN_INDEX_PAGE_SIZE = 100000;
 
     private final PersistenceManager persistenceManager;
 
@@ -63,21 +71,50 @@ class JpaMatchupStorage implements MatchupStorage {
     @SuppressWarnings("unchecked")
     @Override
     public List<Matchup> getForMmd(MatchupQueryParameter parameter) {
-        final String sensorName = parameter.getSensorName();
-        final String sql = getSelectMatchupSql(sensorName);
+        final Query query = createQueryForMmd(parameter);
 
-        final long pattern = parameter.getPattern();
-        final String querySql = applyPatternAndCondition(sql, parameter.getCondition(), pattern);
+        return query.getResultList();
+    }
 
-        final Query query = persistenceManager.createNativeQuery(querySql, Matchup.class);
-        query.setParameter(1, sensorName);
-        query.setParameter(2, parameter.getStartDate());
-        query.setParameter(3, parameter.getStopDate());
-        if (pattern != 0) {
-            query.setParameter(4, pattern);
+    @Override
+    public MatchupCursor getCursorForMmd(MatchupQueryParameter parameter, int fetchSize) {
+        final Query query = createQueryForMmd(parameter);
+        query.setHint(HINT_FETCH_BATCH_SIZE, fetchSize);
+        query.setHint(HINT_RESULT_SET_TYPE, "forward-only");
+
+        // the PostgreSQL driver uses a server-side cursor only when auto-commit is off
+        final EntityTransaction transaction = persistenceManager.transaction();
+        try {
+            return new MatchupCursor(query.getResultList().iterator(), transaction);
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
         }
+    }
 
-        return query.getResultList();
+    @Override
+    public int updatePatternIndex(MatchupPatternIndex index, Date startDate, Date stopDate) {
+        final PatternIndexRows rows = new PatternIndexRows(PATTERN_INDEX_PAGE_SIZE);
+        final KeysetPager pager = new KeysetPager(persistenceManager, SQL_FOR_PATTERN_INDEX, PATTERN_INDEX_PAGE_SIZE);
+        pager.forEachRow(startDate, rows, startDate, stopDate);
+        index.replace(startDate.getTime(), stopDate.getTime(), rows.times, rows.ids, rows.patterns, rows.count);
+        return rows.count;
+    }
+
+    @Override
+    public boolean isPatternIndexCurrent(MatchupPatternIndex index, Date startDate, Date stopDate) {
+        final Query query = persistenceManager.createNativeQuery(SQL_FOR_PATTERN_INDEX_WATERMARK);
+        query.setParameter(1, startDate);
+        query.setParameter(2, stopDate);
+
+        final Object[] watermark = (Object[]) query.getSingleResult();
+        final int matchupCount = ((Number) watermark[0]).intValue();
+        final int maxMatchupId = watermark[1] != null ? ((Number) watermark[1]).intValue() : -1;
+        // the sum is a numeric of arbitrary precision, its low-order 64 bits are compared
+        final long patternSum = watermark[2] != null ? ((Number) watermark[2]).longValue() : 0;
+        return matchupCount == index.getCount(startDate.getTime(), stopDate.getTime()) &&
+               maxMatchupId == index.getMaxMatchupId(startDate.getTime(), stopDate.getTime()) &&
+               patternSum == index.getPatternSum(startDate.getTime(), stopDate.getTime());
     }
 
     @Override
@@ -161,6 +198,23 @@ class JpaMatchupStorage implements MatchupStorage {
         return queryString;
     }
 
+    private Query createQueryForMmd(MatchupQueryParameter parameter) {
+        final String sensorName = parameter.getSensorName();
+        final String sql = getSelectMatchupSql(sensorName);
+
+        final long pattern = parameter.getPattern();
+        final String querySql = applyPatternAndCondition(sql, parameter.getCondition(), pattern);
+
+        final Query query = persistenceManager.createNativeQuery(querySql, Matchup.class);
+        query.setParameter(1, sensorName);
+        query.setParameter(2, parameter.getStartDate());
+        query.setParameter(3, parameter.getStopDate());
+        if (pattern != 0) {
+            query.setParameter(4, pattern);
+        }
+        return query;
+    }
+
     // package access for testing only tb 2014-03-18
     static String applyPatternAndCondition(String queryString, String condition, long pattern) {
         if (condition != null) {
@@ -182,4 +236,32 @@ class JpaMatchupStorage implements MatchupStorage {
         }
         return queryString;
     }
+
+    private static final class PatternIndexRows implements KeysetPager.RowHandler {
+
+        private long[] times;
+        private int[] ids;
+        private long[] patterns;
+        private int count;
+
+        private PatternIndexRows(int capacity) {
+            times = new long[capacity];
+            ids = new int[capacity];
+            patterns = new long[capacity];
+        }
+
+        @Override
+        public void handleRow(Object[] row) {
+            if (count == times.length) {
+                final int capacity = 2 * times.length;
+                times = Arrays.copyOf(times, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                patterns = Arrays.copyOf(patterns, capacity);
+            }
+            times[count] = ((Date) row[1]).getTime();
+            ids[count] = ((Number) row[2]).intValue();
+            patterns[count] = ((Number) row[3]).longValue();
+            count++;
+        }
+    }
 }
@@ -137,7 +137,8 @@ class JpaStorage implements Storage {
         final String queryString = SENSOR_OBSERVATION_QUERY_TEMPLATE_STRING
                 .replaceAll("\\?2", "'" + s1 + "'")
                 .replaceAll("\\?3", "'" + s2 + "'");
-        final Query query = persistenceManager.createNativeQuery(queryString, RelatedObservation.class);
+        final Query query = persistenceManager.createNativeQuery(SENSOR_OBSERVATION_QUERY_TEMPLATE_STRING, queryString,
+                                                                     RelatedObservation.class);
         query.setParameter(1, sensorName);
 
         //noinspection unchecked
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.orm;
+
+import javax.persistence.Query;
+import java.util.List;
+
+/**
+ * Reads the rows of a native query page by page, using keyset pagination: each page starts
+ * after the {@code (time, id)} of the last row of the previous page. Unlike paging with an
+ * offset, the cost of reading a page does not grow with the number of preceding rows.
+ * <p/>
+ * The first two columns of the query must be the id and the time of a row, and the query must
+ * be ordered by time and id. The parameters following the bind values of the query must be
+ * the time and the id of the last row read, e.g.
+ * <pre>
+ * select o.id, o.time, ... from mm_observation o
+ * where o.sensor = ?1 and o.time >= ?2 and o.time &lt; ?3 and (o.time, o.id) > (?4, ?5)
+ * order by o.time, o.id
+ * </pre>
+ *
+ * @author agent
+ */
+public class KeysetPager {
+
+    /**
+     * Handles the rows read by a {@link KeysetPager}.
+     */
+    public interface RowHandler {
+
+        /**
+         * Handles a row.
+         *
+         * @param row The row.
+         */
+        void handleRow(Object[] row);
+    }
+
+    private final PersistenceManager persistenceManager;
+    private final String queryString;
+    private final int pageSize;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param persistenceManager The persistence manager.
+     * @param queryString        The query string.
+     * @param pageSize           The number of rows per page.
+     */
+    public KeysetPager(PersistenceManager persistenceManager, String queryString, int pageSize) {
+        this.persistenceManager = persistenceManager;
+        this.queryString = queryString;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Reads all rows of the query.
+     *
+     * @param startTime  The time to start with. Must not be later than the time of the first row.
+     * @param handler    The handler of the rows read.
+     * @param bindValues The values bound to the parameters of the query preceding the time and id
+     *                   of the last row read.
+     *
+     * @return the number of rows read.
+     */
+    public int forEachRow(Object startTime, RowHandler handler, Object... bindValues) {
+        Object lastTime = startTime;
+        int lastId = Integer.MIN_VALUE;
+        int rowCount = 0;
+        while (true) {
+            final Query query = persistenceManager.createNativeQuery(queryString);
+            for (int i = 0; i < bindValues.length; i++) {
+                query.setParameter(i + 1, bindValues[i]);
+            }
+            query.setParameter(bindValues.length + 1, lastTime);
+            query.setParameter(bindValues.length + 2, lastId);
+            query.setMaxResults(pageSize);
+
+            @SuppressWarnings("unchecked")
+            final List<Object[]> rows = query.getResultList();
+            for (final Object[] row : rows) {
+                handler.handleRow(row);
+            }
+            rowCount += rows.size();
+            if (rows.size() < pageSize) {
+                return rowCount;
+            }
+            final Object[] lastRow = rows.get(rows.size() - 1);
+            lastId = ((Number) lastRow[0]).intValue();
+            // the timestamp is passed back as is, because converting it would drop the microseconds
+            lastTime = lastRow[1];
+        }
+    }
+}
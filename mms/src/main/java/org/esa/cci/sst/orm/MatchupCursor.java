@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.esa.cci.sst.data.Matchup;
+
+import javax.persistence.EntityTransaction;
+import java.util.Iterator;
+
+/**
+ * A forward-only cursor over matchups. Matchups are fetched from the database in batches
+ * while the cursor is advanced, so only a single batch is held in memory at a time,
+ * provided the matchups already consumed are detached. The cursor must be closed after
+ * use to end the transaction it is iterating in.
+ *
+ * @author agent
+ */
+public class MatchupCursor implements Iterator<Matchup>, AutoCloseable {
+
+    private final Iterator<?> iterator;
+    private final EntityTransaction transaction;
+
+    MatchupCursor(Iterator<?> iterator, EntityTransaction transaction) {
+        this.iterator = iterator;
+        this.transaction = transaction;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public Matchup next() {
+        return (Matchup) iterator.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        if (transaction.isActive()) {
+            transaction.commit();
+        }
+    }
+}
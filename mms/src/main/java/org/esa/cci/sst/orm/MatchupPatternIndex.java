@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.esa.cci.sst.log.SstLogging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * A local index of the matchups in the MMS database, which records the time of the reference
+ * observation, the id and the sensor pattern of each matchup in primitive arrays, ordered by
+ * time. It selects the matchups in a time range whose pattern includes a set of sensors by a
+ * binary search and a bitmask filter, without querying the database.
+ * <p/>
+ * The index is written to a local file and updated incrementally: the entries of the time
+ * range processed by the matchup tool are replaced with the matchups found in the database.
+ * Other tools modify the matchups without updating the index, e.g. the re-ingestion of MMD
+ * files adds sensors to the patterns, so the index must be checked against the database before
+ * use, see {@link MatchupStorage#isPatternIndexCurrent}.
+ *
+ * @author agent
+ */
+public final class MatchupPatternIndex {
+
+    private static final int VERSION = 1;
+
+    private static final Logger logger = SstLogging.getLogger();
+
+    private long[] times;
+    private int[] ids;
+    private long[] patterns;
+
+    /**
+     * Creates a new empty index.
+     *
+     * @return the index.
+     */
+    public static MatchupPatternIndex create() {
+        return new MatchupPatternIndex(new long[0], new int[0], new long[0]);
+    }
+
+    /**
+     * Reads an index from a file written before. If the index file does not exist or cannot be
+     * read, {@code null} is returned.
+     *
+     * @param indexFile The index file.
+     *
+     * @return the index, or {@code null} if the index file does not exist or cannot be read.
+     */
+    public static MatchupPatternIndex read(File indexFile) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != VERSION) {
+                logger.info(String.format("Ignoring outdated matchup index '%s'", indexFile.getPath()));
+                return null;
+            }
+            final int size = in.readInt();
+            final long[] times = new long[size];
+            final int[] ids = new int[size];
+            final long[] patterns = new long[size];
+            for (int i = 0; i < size; i++) {
+                times[i] = in.readLong();
+                ids[i] = in.readInt();
+                patterns[i] = in.readLong();
+            }
+            return new MatchupPatternIndex(times, ids, patterns);
+        } catch (IOException e) {
+            logger.warning(String.format("Ignoring unreadable matchup index '%s': %s", indexFile.getPath(),
+                                         e.getMessage()));
+            return null;
+        }
+    }
+
+    private MatchupPatternIndex(long[] times, int[] ids, long[] patterns) {
+        this.times = times;
+        this.ids = ids;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Returns the number of matchups in the index.
+     *
+     * @return the number of matchups.
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * Returns the ids of the matchups in a time range whose pattern includes all bits of a given
+     * pattern, i.e. the matchups {@code m} with {@code m.pattern & pattern = pattern}. The ids are
+     * ordered by time, and in the order the matchups were added to the index for equal times.
+     *
+     * @param startTime The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param stopTime  The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     * @param pattern   The pattern, {@code 0} for all matchups.
+     *
+     * @return the ids of the matchups.
+     */
+    public int[] getMatchupIds(long startTime, long stopTime, long pattern) {
+        final int startIndex = lowerBound(times, startTime);
+        final int stopIndex = lowerBound(times, stopTime);
+        if (startIndex >= stopIndex) {
+            return new int[0];
+        }
+        if (pattern == 0) {
+            return Arrays.copyOfRange(ids, startIndex, stopIndex);
+        }
+        final int[] matchupIds = new int[stopIndex - startIndex];
+        int count = 0;
+        for (int i = startIndex; i < stopIndex; i++) {
+            if ((patterns[i] & pattern) == pattern) {
+                matchupIds[count++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(matchupIds, count);
+    }
+
+    /**
+     * Returns the number of matchups in a time range.
+     *
+     * @param startTime The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param stopTime  The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     *
+     * @return the number of matchups.
+     */
+    public int getCount(long startTime, long stopTime) {
+        return Math.max(0, lowerBound(times, stopTime) - lowerBound(times, startTime));
+    }
+
+    /**
+     * Returns the largest id of the matchups in a time range.
+     *
+     * @param startTime The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param stopTime  The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     *
+     * @return the largest id, or {@code -1} if there are no matchups in the time range.
+     */
+    public int getMaxMatchupId(long startTime, long stopTime) {
+        final int stopIndex = lowerBound(times, stopTime);
+        int maxId = -1;
+        for (int i = lowerBound(times, startTime); i < stopIndex; i++) {
+            maxId = Math.max(maxId, ids[i]);
+        }
+        return maxId;
+    }
+
+    /**
+     * Returns the sum of the patterns of the matchups in a time range. The sum overflows like a
+     * 64-bit integer, so it equals the low-order 64 bits of the sum computed by the database.
+     * Sensors are added to the pattern of a matchup, but never removed, so any change of the
+     * patterns changes the sum.
+     *
+     * @param startTime The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param stopTime  The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     *
+     * @return the sum of the patterns, or {@code 0} if there are no matchups in the time range.
+     */
+    public long getPatternSum(long startTime, long stopTime) {
+        final int stopIndex = lowerBound(times, stopTime);
+        long sum = 0;
+        for (int i = lowerBound(times, startTime); i < stopIndex; i++) {
+            sum += patterns[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Replaces the matchups in a time range. The replacing matchups must be within the time range
+     * and ordered by time.
+     *
+     * @param startTime   The start of the range in milliseconds since 1970-01-01 UTC (inclusive).
+     * @param stopTime    The end of the range in milliseconds since 1970-01-01 UTC (exclusive).
+     * @param newTimes    The times of the replacing matchups.
+     * @param newIds      The ids of the replacing matchups.
+     * @param newPatterns The patterns of the replacing matchups.
+     * @param count       The number of replacing matchups.
+     */
+    public void replace(long startTime, long stopTime, long[] newTimes, int[] newIds, long[] newPatterns, int count) {
+        for (int i = 0; i < count; i++) {
+            if (newTimes[i] < startTime || newTimes[i] >= stopTime) {
+                throw new IllegalArgumentException("Matchup time is outside of the time range.");
+            }
+            if (i > 0 && newTimes[i] < newTimes[i - 1]) {
+                throw new IllegalArgumentException("Matchups must be ordered by time.");
+            }
+        }
+        final int startIndex = lowerBound(times, startTime);
+        final int stopIndex = Math.max(startIndex, lowerBound(times, stopTime));
+        final int size = startIndex + count + times.length - stopIndex;
+
+        final long[] replacedTimes = new long[size];
+        final int[] replacedIds = new int[size];
+        final long[] replacedPatterns = new long[size];
+        System.arraycopy(times, 0, replacedTimes, 0, startIndex);
+        System.arraycopy(ids, 0, replacedIds, 0, startIndex);
+        System.arraycopy(patterns, 0, replacedPatterns, 0, startIndex);
+        System.arraycopy(newTimes, 0, replacedTimes, startIndex, count);
+        System.arraycopy(newIds, 0, replacedIds, startIndex, count);
+        System.arraycopy(newPatterns, 0, replacedPatterns, startIndex, count);
+        System.arraycopy(times, stopIndex, replacedTimes, startIndex + count, times.length - stopIndex);
+        System.arraycopy(ids, stopIndex, replacedIds, startIndex + count, times.length - stopIndex);
+        System.arraycopy(patterns, stopIndex, replacedPatterns, startIndex + count, times.length - stopIndex);
+
+        times = replacedTimes;
+        ids = replacedIds;
+        patterns = replacedPatterns;
+    }
+
+    /**
+     * Writes the index to a file.
+     *
+     * @param indexFile The index file.
+     *
+     * @throws IOException if the index could not be written.
+     */
+    public void write(File indexFile) throws IOException {
+        final File tempFile = new File(indexFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(VERSION);
+            out.writeInt(times.length);
+            for (int i = 0; i < times.length; i++) {
+                out.writeLong(times[i]);
+                out.writeInt(ids[i]);
+                out.writeLong(patterns[i]);
+            }
+        }
+        if (indexFile.exists() && !indexFile.delete() || !tempFile.renameTo(indexFile)) {
+            throw new IOException("Cannot write matchup index: " + indexFile.getPath());
+        }
+    }
+
+    private static int lowerBound(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -3,6 +3,7 @@ package org.esa.cci.sst.orm;
 
 import org.esa.cci.sst.data.Matchup;
 
+import java.util.Date;
 import java.util.List;
 
 public interface MatchupStorage {
@@ -13,5 +14,43 @@ public interface MatchupStorage {
 
     List<Matchup> getForMmd(MatchupQueryParameter parameter);
 
+    /**
+     * Returns a cursor over the same matchups, in the same order, as {@link #getForMmd(MatchupQueryParameter)},
+     * but fetches the matchups from the database in batches while the cursor is advanced.
+     *
+     * @param parameter The query parameter.
+     * @param fetchSize The number of matchups fetched per batch.
+     *
+     * @return the cursor. The cursor must be closed after use.
+     */
+    MatchupCursor getCursorForMmd(MatchupQueryParameter parameter, int fetchSize);
+
     Matchup get(int matchupId);
+
+    /**
+     * Replaces the matchups of a time range in a matchup pattern index with the matchups found
+     * in the database. The matchups are added in the same order as by {@link #get(MatchupQueryParameter)}.
+     *
+     * @param index     The index.
+     * @param startDate The start of the time range (inclusive).
+     * @param stopDate  The end of the time range (exclusive).
+     *
+     * @return the number of matchups found.
+     */
+    int updatePatternIndex(MatchupPatternIndex index, Date startDate, Date stopDate);
+
+    /**
+     * Checks whether a matchup pattern index is consistent with the database for a time range,
+     * i.e. whether the number of matchups, the largest matchup id and the sum of the matchup
+     * patterns in the time range are the same. Tools adding or removing matchups without updating
+     * the index change the count or the largest id, because new matchups get new ids. Tools adding
+     * sensors to the patterns of matchups, like the re-ingestion of MMD files, change the sum.
+     *
+     * @param index     The index.
+     * @param startDate The start of the time range (inclusive).
+     * @param stopDate  The end of the time range (exclusive).
+     *
+     * @return {@code true} if the index is consistent with the database, {@code false} otherwise.
+     */
+    boolean isPatternIndexCurrent(MatchupPatternIndex index, Date startDate, Date stopDate);
 }
@@ -16,6 +16,8 @@
 
 package org.esa.cci.sst.orm;
 
+import org.esa.cci.sst.log.SstLogging;
+
 import javax.persistence.*;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,7 @@ import java.util.Map;
 public class PersistenceManager {
 
     private final EntityManager entityManager;
+    private final QueryTimer queryTimer;
 
     public static PersistenceManager create(String persistenceUnitName, int retryCount, Map conf) {
         final EntityManagerFactory factory = Persistence.createEntityManagerFactory(persistenceUnitName, conf);
@@ -49,6 +52,7 @@ public class PersistenceManager {
     }
 
     public void close() {
+        queryTimer.report();
         if (entityManager != null && entityManager.isOpen()) {
             entityManager.close();
         }
@@ -85,15 +89,41 @@ public class PersistenceManager {
     }
 
     public Query createQuery(String queryString) {
-        return entityManager.createQuery(queryString);
+        return new TimedQuery(entityManager.createQuery(queryString), queryString, queryTimer);
     }
 
     public Query createNativeQuery(String queryString) {
-        return entityManager.createNativeQuery(queryString);
+        return new TimedQuery(entityManager.createNativeQuery(queryString), queryString, queryTimer);
     }
 
     public Query createNativeQuery(String queryString, Class resultClass) {
-        return entityManager.createNativeQuery(queryString, resultClass);
+        return new TimedQuery(entityManager.createNativeQuery(queryString, resultClass), queryString, queryTimer);
+    }
+
+    /**
+     * Creates a native query from a query string where some parameters of a template have been
+     * replaced by literal values. The executions of the query are recorded under the template,
+     * so the query timer does not create a new entry for each literal value, but slow executions
+     * are logged with the query string including the literal values.
+     *
+     * @param template    The query template.
+     * @param queryString The query string created from the template.
+     * @param resultClass The result class.
+     * @return the native query.
+     */
+    public Query createNativeQuery(String template, String queryString, Class resultClass) {
+        return new TimedQuery(entityManager.createNativeQuery(queryString, resultClass), template, queryString,
+                              queryTimer);
+    }
+
+    /**
+     * Returns the timer recording the executions of the queries created by this persistence
+     * manager.
+     *
+     * @return the query timer.
+     */
+    public QueryTimer getQueryTimer() {
+        return queryTimer;
     }
 
     public void detach(Object entity) {
@@ -120,7 +150,9 @@ public class PersistenceManager {
         }
     }
 
-    private PersistenceManager(EntityManager entityManager) {
+    // package access for testing only
+    PersistenceManager(EntityManager entityManager) {
         this.entityManager = entityManager;
+        queryTimer = new QueryTimer(SstLogging.getLogger());
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+/**
+ * The statistics of the executions of a query template: the number of executions, the number
+ * of rows returned or updated, and the total and maximum time spent.
+ *
+ * @author agent
+ */
+public final class QueryStatistics {
+
+    private final String template;
+    private long invocationCount;
+    private long rowCount;
+    private long totalNanos;
+    private long maxNanos;
+
+    QueryStatistics(String template) {
+        this.template = template;
+    }
+
+    private QueryStatistics(QueryStatistics statistics) {
+        template = statistics.template;
+        invocationCount = statistics.invocationCount;
+        rowCount = statistics.rowCount;
+        totalNanos = statistics.totalNanos;
+        maxNanos = statistics.maxNanos;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public synchronized long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Returns the number of rows returned or updated. Rows of results that are fetched lazily
+     * are not counted.
+     *
+     * @return the number of rows.
+     */
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    synchronized void add(int rowCount, long nanos) {
+        invocationCount++;
+        if (rowCount > 0) {
+            this.rowCount += rowCount;
+        }
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    synchronized QueryStatistics copy() {
+        return new QueryStatistics(this);
+    }
+}
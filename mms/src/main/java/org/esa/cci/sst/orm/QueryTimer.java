@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.esa.cci.sst.util.PipelineEvents;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Records the executions of the queries created by a {@link PersistenceManager}. The statistics
+ * are accumulated for each query template, i.e. for each query string regardless of the values
+ * bound to its parameters. Executions taking longer than the slow query threshold are logged
+ * with their bind values.
+ * <p>
+ * The number of templates is bounded: once {@link #MAX_TEMPLATE_COUNT} templates are known, the
+ * executions of any further templates are accumulated under {@link #OTHER_TEMPLATE}.
+ *
+ * @author agent
+ */
+public class QueryTimer {
+
+    /**
+     * The default slow query threshold (ms).
+     */
+    public static final int DEFAULT_SLOW_QUERY_THRESHOLD = 1000;
+
+    /**
+     * The maximum number of query templates with individual statistics.
+     */
+    public static final int MAX_TEMPLATE_COUNT = 500;
+
+    /**
+     * The template under which the executions of queries exceeding the template count are accumulated.
+     */
+    public static final String OTHER_TEMPLATE = "(other queries)";
+
+    private static final int MAX_TEMPLATE_LENGTH = 120;
+
+    private final Logger logger;
+    private final ConcurrentMap<String, QueryStatistics> statisticsByTemplate;
+    private volatile long slowQueryThresholdNanos;
+
+    QueryTimer(Logger logger) {
+        this.logger = logger;
+        statisticsByTemplate = new ConcurrentHashMap<>();
+        setSlowQueryThreshold(DEFAULT_SLOW_QUERY_THRESHOLD);
+    }
+
+    /**
+     * Sets the slow query threshold.
+     *
+     * @param millis The threshold (ms). Executions of queries taking longer are logged.
+     */
+    public void setSlowQueryThreshold(long millis) {
+        slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Records the execution of a query.
+     *
+     * @param template   The query string.
+     * @param bindValues The values bound to the parameters of the query.
+     * @param rowCount   The number of rows returned or updated, or {@code -1} if unknown.
+     * @param nanos      The time spent (ns).
+     */
+    void record(String template, Map<Object, Object> bindValues, int rowCount, long nanos) {
+        record(template, template, bindValues, rowCount, nanos);
+    }
+
+    /**
+     * Records the execution of a query created from a template by replacing some parameters with
+     * literal values. The execution is accumulated under the template, but a slow execution is
+     * logged with the query string that was actually executed.
+     *
+     * @param template    The query template.
+     * @param queryString The query string executed.
+     * @param bindValues  The values bound to the parameters of the query.
+     * @param rowCount    The number of rows returned or updated, or {@code -1} if unknown.
+     * @param nanos       The time spent (ns).
+     */
+    void record(String template, String queryString, Map<Object, Object> bindValues, int rowCount, long nanos) {
+        getStatistics(template).add(rowCount, nanos);
+
+        if (nanos >= slowQueryThresholdNanos) {
+            logger.warning(MessageFormat.format("Slow query ({0} ms, {1} rows): {2} with parameters {3}",
+                                                TimeUnit.NANOSECONDS.toMillis(nanos),
+                                                rowCount >= 0 ? String.valueOf(rowCount) : "?",
+                                                queryString,
+                                                bindValues));
+        }
+        if (PipelineEvents.isEnabled()) {
+            PipelineEvents.queryExecuted(template, rowCount, nanos);
+        }
+    }
+
+    private QueryStatistics getStatistics(String template) {
+        QueryStatistics statistics = statisticsByTemplate.get(template);
+        if (statistics == null) {
+            // the size check is not atomic, the bound may be exceeded by a few concurrent templates
+            final String key = statisticsByTemplate.size() < MAX_TEMPLATE_COUNT ? template : OTHER_TEMPLATE;
+            final QueryStatistics newStatistics = new QueryStatistics(key);
+            statistics = statisticsByTemplate.putIfAbsent(key, newStatistics);
+            if (statistics == null) {
+                statistics = newStatistics;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns snapshots of the statistics of all query templates, in order of decreasing total
+     * time spent.
+     *
+     * @return the statistics of all query templates.
+     */
+    public List<QueryStatistics> getStatistics() {
+        final List<QueryStatistics> statisticsList = new ArrayList<>(statisticsByTemplate.size());
+        for (final QueryStatistics statistics : statisticsByTemplate.values()) {
+            statisticsList.add(statistics.copy());
+        }
+        Collections.sort(statisticsList, new Comparator<QueryStatistics>() {
+            @Override
+            public int compare(QueryStatistics s1, QueryStatistics s2) {
+                return Long.compare(s2.getTotalNanos(), s1.getTotalNanos());
+            }
+        });
+        return statisticsList;
+    }
+
+    /**
+     * Creates a text report with a line for each query template. The times are given in
+     * milliseconds.
+     *
+     * @return the text report.
+     */
+    public String createReport() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ENGLISH, "%8s %10s %12s %10s %10s  %s%n",
+                                "count", "rows", "total", "mean", "max", "query"));
+        for (final QueryStatistics statistics : getStatistics()) {
+            final long count = statistics.getInvocationCount();
+            sb.append(String.format(Locale.ENGLISH, "%8d %10d %12.1f %10.3f %10.3f  %s%n",
+                                    count,
+                                    statistics.getRowCount(),
+                                    statistics.getTotalNanos() * 1.0e-6,
+                                    statistics.getTotalNanos() * 1.0e-6 / count,
+                                    statistics.getMaxNanos() * 1.0e-6,
+                                    abbreviate(statistics.getTemplate())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Logs the text report. Does nothing if no query has been executed.
+     */
+    public void report() {
+        if (!statisticsByTemplate.isEmpty()) {
+            logger.info("Query report (ms):\n" + createReport());
+        }
+    }
+
+    private static String abbreviate(String template) {
+        final String s = template.replaceAll("\\s+", " ").trim();
+        if (s.length() > MAX_TEMPLATE_LENGTH) {
+            return s.substring(0, MAX_TEMPLATE_LENGTH - 3) + "...";
+        }
+        return s;
+    }
+}
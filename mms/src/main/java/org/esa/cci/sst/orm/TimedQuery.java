@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A decorator for queries that records the executions of the decorated query with a
+ * {@link QueryTimer} but otherwise forwards operations to the decorated query.
+ *
+ * @author agent
+ */
+class TimedQuery implements Query {
+
+    private final Query delegate;
+    private final String template;
+    private final String queryString;
+    private final QueryTimer timer;
+    private final Map<Object, Object> bindValues;
+    private boolean lazy;
+
+    TimedQuery(Query delegate, String queryString, QueryTimer timer) {
+        this(delegate, queryString, queryString, timer);
+    }
+
+    TimedQuery(Query delegate, String template, String queryString, QueryTimer timer) {
+        this.delegate = delegate;
+        this.template = template;
+        this.queryString = queryString;
+        this.timer = timer;
+        bindValues = new LinkedHashMap<>();
+    }
+
+    @Override
+    public List getResultList() {
+        final long startNanos = System.nanoTime();
+        final List resultList = delegate.getResultList();
+        final long nanos = System.nanoTime() - startNanos;
+        // the size of a lazily fetched result is not known without fetching all rows
+        timer.record(template, queryString, bindValues, lazy ? -1 : resultList.size(), nanos);
+        return resultList;
+    }
+
+    @Override
+    public Object getSingleResult() {
+        final long startNanos = System.nanoTime();
+        final Object result = delegate.getSingleResult();
+        timer.record(template, queryString, bindValues, 1, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate() {
+        final long startNanos = System.nanoTime();
+        final int updateCount = delegate.executeUpdate();
+        timer.record(template, queryString, bindValues, updateCount, System.nanoTime() - startNanos);
+        return updateCount;
+    }
+
+    @Override
+    public Query setMaxResults(int maxResult) {
+        delegate.setMaxResults(maxResult);
+        return this;
+    }
+
+    @Override
+    public int getMaxResults() {
+        return delegate.getMaxResults();
+    }
+
+    @Override
+    public Query setFirstResult(int startPosition) {
+        delegate.setFirstResult(startPosition);
+        return this;
+    }
+
+    @Override
+    public int getFirstResult() {
+        return delegate.getFirstResult();
+    }
+
+    @Override
+    public Query setHint(String hintName, Object value) {
+        delegate.setHint(hintName, value);
+        if (JpaMatchupStorage.HINT_RESULT_SET_TYPE.equals(hintName)) {
+            lazy = true;
+        }
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> getHints() {
+        return delegate.getHints();
+    }
+
+    @Override
+    public <T> Query setParameter(Parameter<T> param, T value) {
+        delegate.setParameter(param, value);
+        bindValues.put(getKey(param), value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(Parameter<Calendar> param, Calendar value, TemporalType temporalType) {
+        delegate.setParameter(param, value, temporalType);
+        bindValues.put(getKey(param), value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(Parameter<Date> param, Date value, TemporalType temporalType) {
+        delegate.setParameter(param, value, temporalType);
+        bindValues.put(getKey(param), value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(String name, Object value) {
+        delegate.setParameter(name, value);
+        bindValues.put(name, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(String name, Calendar value, TemporalType temporalType) {
+        delegate.setParameter(name, value, temporalType);
+        bindValues.put(name, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(String name, Date value, TemporalType temporalType) {
+        delegate.setParameter(name, value, temporalType);
+        bindValues.put(name, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(int position, Object value) {
+        delegate.setParameter(position, value);
+        bindValues.put(position, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(int position, Calendar value, TemporalType temporalType) {
+        delegate.setParameter(position, value, temporalType);
+        bindValues.put(position, value);
+        return this;
+    }
+
+    @Override
+    public Query setParameter(int position, Date value, TemporalType temporalType) {
+        delegate.setParameter(position, value, temporalType);
+        bindValues.put(position, value);
+        return this;
+    }
+
+    @Override
+    public Set<Parameter<?>> getParameters() {
+        return delegate.getParameters();
+    }
+
+    @Override
+    public Parameter<?> getParameter(String name) {
+        return delegate.getParameter(name);
+    }
+
+    @Override
+    public <T> Parameter<T> getParameter(String name, Class<T> type) {
+        return delegate.getParameter(name, type);
+    }
+
+    @Override
+    public Parameter<?> getParameter(int position) {
+        return delegate.getParameter(position);
+    }
+
+    @Override
+    public <T> Parameter<T> getParameter(int position, Class<T> type) {
+        return delegate.getParameter(position, type);
+    }
+
+    @Override
+    public boolean isBound(Parameter<?> param) {
+        return delegate.isBound(param);
+    }
+
+    @Override
+    public <T> T getParameterValue(Parameter<T> param) {
+        return delegate.getParameterValue(param);
+    }
+
+    @Override
+    public Object getParameterValue(String name) {
+        return delegate.getParameterValue(name);
+    }
+
+    @Override
+    public Object getParameterValue(int position) {
+        return delegate.getParameterValue(position);
+    }
+
+    @Override
+    public Query setFlushMode(FlushModeType flushMode) {
+        delegate.setFlushMode(flushMode);
+        return this;
+    }
+
+    @Override
+    public FlushModeType getFlushMode() {
+        return delegate.getFlushMode();
+    }
+
+    @Override
+    public Query setLockMode(LockModeType lockMode) {
+        delegate.setLockMode(lockMode);
+        return this;
+    }
+
+    @Override
+    public LockModeType getLockMode() {
+        return delegate.getLockMode();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        return delegate.unwrap(cls);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private static Object getKey(Parameter<?> param) {
+        return param.getPosition() != null ? param.getPosition() : param.getName();
+    }
+}
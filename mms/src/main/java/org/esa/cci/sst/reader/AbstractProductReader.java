@@ -50,6 +50,8 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -65,6 +67,8 @@ abstract class AbstractProductReader implements Reader {
     private final String sensorName;
     private final String[] formatNames;
 
+    private static final int MAX_COALESCED_AREA = 512 * 512;
+
     private DataFile datafile;
     private Product product;
     private File archiveRoot;
@@ -130,14 +134,7 @@ abstract class AbstractProductReader implements Reader {
         Assert.argument(extractDefinition != null, "extractDefinition == null");
         Assert.state(product != null, "product == null");
 
-        final RasterDataNode node;
-        if (product.containsBand(role)) {
-            node = product.getBand(role);
-        } else if (product.containsTiePointGrid(role)) {
-            node = product.getTiePointGrid(role);
-        } else {
-            node = product.getMaskGroup().get(role);
-        }
+        final RasterDataNode node = getRasterDataNode(role);
         if (node == null) {
             return null;
         }
@@ -153,6 +150,53 @@ abstract class AbstractProductReader implements Reader {
         return readSubsceneData(node, shape, rectangle, fillValue);
     }
 
+    /**
+     * Coalesces overlapping or adjacent subscenes into larger rectangles, reads each of
+     * these rectangles once, and slices the individual subscenes from the data read.
+     */
+    @Override
+    public List<Array> read(String role, List<ExtractDefinition> extractDefinitions) {
+        Assert.argument(role != null, "role == null");
+        Assert.argument(extractDefinitions != null, "extractDefinitions == null");
+        Assert.state(product != null, "product == null");
+
+        final int count = extractDefinitions.size();
+        final RasterDataNode node = getRasterDataNode(role);
+        if (node == null) {
+            return Arrays.asList(new Array[count]);
+        }
+
+        final Rectangle[] rectangles = new Rectangle[count];
+        for (int i = 0; i < count; i++) {
+            final ExtractDefinition extractDefinition = extractDefinitions.get(i);
+            final PixelPos p = findPixelPos(extractDefinition.getLon(), extractDefinition.getLat());
+            rectangles[i] = createSubsceneRectangle(p, extractDefinition.getShape());
+        }
+        final List<Rectangle> regions = new ArrayList<>();
+        final int[] regionIndexes = coalesce(rectangles, regions, MAX_COALESCED_AREA);
+        final List<List<Integer>> regionMembers = new ArrayList<>(regions.size());
+        for (int r = 0; r < regions.size(); r++) {
+            regionMembers.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < count; i++) {
+            regionMembers.get(regionIndexes[i]).add(i);
+        }
+
+        final RenderedImage sourceImage = node.getSourceImage().getImage(0);
+        final Rectangle imageRectangle = getBounds(sourceImage);
+        final Array[] targetArrays = new Array[count];
+        for (int r = 0; r < regions.size(); r++) {
+            final Rectangle validRegion = imageRectangle.intersection(regions.get(r));
+            final Raster raster = validRegion.isEmpty() ? null : sourceImage.getData(validRegion);
+            for (final int i : regionMembers.get(r)) {
+                final ExtractDefinition extractDefinition = extractDefinitions.get(i);
+                targetArrays[i] = extractSubsceneData(node, extractDefinition.getShape(), rectangles[i],
+                                                      extractDefinition.getFillValue(), imageRectangle, raster);
+            }
+        }
+        return Arrays.asList(targetArrays);
+    }
+
     @Override
     public List<SamplingPoint> readSamplingPoints() {
         return new ArrayList<>();
@@ -329,14 +373,91 @@ abstract class AbstractProductReader implements Reader {
         return new Rectangle(x, y, w, h);
     }
 
-    private static Array readSubsceneData(RasterDataNode node, int[] shape, Rectangle rectangle, Number fillValue) {
-        final Array targetArray = Array.factory(DataTypeUtils.getNetcdfDataType(node.getDataType()), shape);
+    /**
+     * Groups rectangles into regions such that each rectangle is contained in exactly one region.
+     * Overlapping or adjacent rectangles are grouped into the same region, unless the area of the
+     * region would exceed the maximum area given.
+     *
+     * @param rectangles The rectangles.
+     * @param regions    The list the regions are added to.
+     * @param maxArea    The maximum area of a region that contains more than a single rectangle.
+     *
+     * @return the index of the region for each rectangle.
+     */
+    // package access for testing only rq 2015-06-10
+    static int[] coalesce(final Rectangle[] rectangles, List<Rectangle> regions, int maxArea) {
+        final Integer[] order = new Integer[rectangles.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                final int dy = Integer.compare(rectangles[o1].y, rectangles[o2].y);
+                return dy != 0 ? dy : Integer.compare(rectangles[o1].x, rectangles[o2].x);
+            }
+        });
+
+        final int[] regionIndexes = new int[rectangles.length];
+        final List<Integer> activeRegionIndexes = new ArrayList<>();
+        for (final int i : order) {
+            final Rectangle rectangle = rectangles[i];
+            final Rectangle neighbourhood = new Rectangle(rectangle.x - 1, rectangle.y - 1,
+                                                          rectangle.width + 2, rectangle.height + 2);
+            int regionIndex = -1;
+            for (final Iterator<Integer> iterator = activeRegionIndexes.iterator(); iterator.hasNext(); ) {
+                final int r = iterator.next();
+                final Rectangle region = regions.get(r);
+                if (region.y + region.height < rectangle.y) {
+                    // rectangles are sorted by y, so no further rectangle can touch this region
+                    iterator.remove();
+                    continue;
+                }
+                if (regionIndex == -1 && region.intersects(neighbourhood)) {
+                    final Rectangle union = region.union(rectangle);
+                    if ((long) union.width * union.height <= maxArea) {
+                        region.setBounds(union);
+                        regionIndex = r;
+                    }
+                }
+            }
+            if (regionIndex == -1) {
+                regionIndex = regions.size();
+                regions.add(new Rectangle(rectangle));
+                activeRegionIndexes.add(regionIndex);
+            }
+            regionIndexes[i] = regionIndex;
+        }
+        return regionIndexes;
+    }
 
+    private RasterDataNode getRasterDataNode(String role) {
+        if (product.containsBand(role)) {
+            return product.getBand(role);
+        } else if (product.containsTiePointGrid(role)) {
+            return product.getTiePointGrid(role);
+        } else {
+            return product.getMaskGroup().get(role);
+        }
+    }
+
+    private static Rectangle getBounds(RenderedImage image) {
+        return new Rectangle(image.getMinX(), image.getMinY(), image.getWidth(), image.getHeight());
+    }
+
+    private static Array readSubsceneData(RasterDataNode node, int[] shape, Rectangle rectangle, Number fillValue) {
         final RenderedImage sourceImage = node.getSourceImage().getImage(0);
-        final int minX = sourceImage.getMinX();
-        final int minY = sourceImage.getMinY();
+        final Rectangle imageRectangle = getBounds(sourceImage);
+        final Rectangle validRectangle = imageRectangle.intersection(rectangle);
+        final Raster raster = validRectangle.isEmpty() ? null : sourceImage.getData(validRectangle);
+
+        return extractSubsceneData(node, shape, rectangle, fillValue, imageRectangle, raster);
+    }
+
+    private static Array extractSubsceneData(RasterDataNode node, int[] shape, Rectangle rectangle, Number fillValue,
+                                             Rectangle imageRectangle, Raster raster) {
+        final Array targetArray = Array.factory(DataTypeUtils.getNetcdfDataType(node.getDataType()), shape);
 
-        final Rectangle imageRectangle = new Rectangle(minX, minY, sourceImage.getWidth(), sourceImage.getHeight());
         final Rectangle validRectangle = imageRectangle.intersection(rectangle);
         if (validRectangle.isEmpty()) {
             for (int i = 0; i < targetArray.getSize(); i++) {
@@ -344,13 +465,14 @@ abstract class AbstractProductReader implements Reader {
                 targetArray.setObject(i, fillValue);
             }
         } else {
-            final Raster raster = sourceImage.getData(validRectangle);
             if (validRectangle.equals(rectangle)) {
                 raster.getDataElements(rectangle.x, rectangle.y, rectangle.width, rectangle.height,
                                        targetArray.getStorage());
             } else {
-                final int maxX = minX + sourceImage.getWidth() - 1;
-                final int maxY = minY + sourceImage.getHeight() - 1;
+                final int minX = imageRectangle.x;
+                final int minY = imageRectangle.y;
+                final int maxX = minX + imageRectangle.width - 1;
+                final int maxY = minY + imageRectangle.height - 1;
                 for (int i = rectangle.y, k = 0; i < rectangle.y + rectangle.height; i++) {
                     for (int j = rectangle.x; j < rectangle.x + rectangle.width; j++, k++) {
                         final Number value;
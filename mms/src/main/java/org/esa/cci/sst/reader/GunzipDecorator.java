@@ -22,6 +22,7 @@ import org.esa.cci.sst.common.ExtractDefinition;
 import org.esa.cci.sst.data.DataFile;
 import org.esa.cci.sst.data.Item;
 import org.esa.cci.sst.data.Observation;
+import org.esa.cci.sst.util.PipelineEvents;
 import org.esa.cci.sst.util.SamplingPoint;
 import ucar.ma2.Array;
 
@@ -66,7 +67,11 @@ public class GunzipDecorator implements Reader {
                 path = archiveRoot.getPath() + File.separator + dataFile.getPath();
             }
             tmpFile = tmpFileFor(path);
+            final long startNanos = PipelineEvents.isEnabled() ? System.nanoTime() : 0L;
             decompress(new File(path), tmpFile);
+            if (PipelineEvents.isEnabled()) {
+                PipelineEvents.fileOpened(path, "GunzipDecorator", tmpFile.length(), System.nanoTime() - startNanos);
+            }
 
             // temporarily read from tmp path
             final String origPath = dataFile.getPath();
@@ -126,6 +131,11 @@ public class GunzipDecorator implements Reader {
         return delegate.read(role, extractDefinition);
     }
 
+    @Override
+    public final List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException {
+        return delegate.read(role, extractDefinitions);
+    }
+
     @Override
     public final Item getColumn(String role) {
         return delegate.getColumn(role);
@@ -107,9 +107,27 @@ class InsituReader extends NetcdfReader {
     @Override
     public final Array read(String role, ExtractDefinition extractDefinition) throws IOException {
         final Variable sourceVariable = insituAccessor.getVariable(role);
+        return extract(role, extractDefinition, sourceVariable, sourceVariable.read());
+    }
+
+    /**
+     * Reads the source variable only once for all extract definitions.
+     */
+    @Override
+    public final List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException {
+        final Variable sourceVariable = insituAccessor.getVariable(role);
+        final Array source = sourceVariable.read();
+        final List<Array> targets = new ArrayList<>(extractDefinitions.size());
+        for (final ExtractDefinition extractDefinition : extractDefinitions) {
+            targets.add(extract(role, extractDefinition, sourceVariable, source));
+        }
+        return targets;
+    }
+
+    private Array extract(String role, ExtractDefinition extractDefinition, Variable sourceVariable,
+                          Array source) throws IOException {
         final Date refTime = extractDefinition.getDate();
         final Range range = insituAccessor.findExtractionRange(refTime, extractDefinition.getHalfExtractDuration());
-        final Array source = sourceVariable.read();
 
         final Array target = Array.factory(source.getElementType(), extractDefinition.getShape());
         final Number fillValue = getAttribute(sourceVariable, "_FillValue", Short.MIN_VALUE);
@@ -37,7 +37,10 @@ import java.awt.geom.Point2D;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -54,6 +57,8 @@ import java.util.logging.Logger;
  */
 abstract class MdReader extends NetcdfReader {
 
+    private static final int MAX_RECORDS_PER_READ = 256;
+
     private final Map<String, Array> arrayMap = new HashMap<>();
     private final Map<String, Integer> indexMap = new HashMap<>();
 
@@ -131,6 +136,59 @@ abstract class MdReader extends NetcdfReader {
         }
     }
 
+    /**
+     * Reads runs of consecutive records in a single read and extracts the data for
+     * each extract definition from the records read.
+     */
+    @Override
+    public final List<Array> read(String role, final List<ExtractDefinition> extractDefinitions) throws IOException {
+        final Variable variable = getVariable(role);
+        if (variable == null) {
+            return ReaderUtil.readEach(this, role, extractDefinitions);
+        }
+        final int count = extractDefinitions.size();
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Integer.compare(extractDefinitions.get(o1).getRecordNo(),
+                                       extractDefinitions.get(o2).getRecordNo());
+            }
+        });
+
+        final Array[] targetArrays = new Array[count];
+        for (int i = 0; i < count; ) {
+            final int firstRecordNo = extractDefinitions.get(order[i]).getRecordNo();
+            int lastRecordNo = firstRecordNo;
+            int j = i + 1;
+            for (; j < count; j++) {
+                final int recordNo = extractDefinitions.get(order[j]).getRecordNo();
+                if (recordNo > lastRecordNo + 1 || recordNo - firstRecordNo >= MAX_RECORDS_PER_READ) {
+                    break;
+                }
+                lastRecordNo = recordNo;
+            }
+            final Array records = readRecords(variable, firstRecordNo, lastRecordNo - firstRecordNo + 1);
+            for (int k = i; k < j; k++) {
+                final ExtractDefinition extractDefinition = extractDefinitions.get(order[k]);
+                final int recordNo = extractDefinition.getRecordNo();
+                final Array record = sliceRecord(records, recordNo - firstRecordNo);
+                if (variable.getRank() == 1 && !variable.getDataType().isString()) {
+                    // a single read of a rank-1 variable reads the record afresh, so the record read is used
+                    targetArrays[order[k]] = record;
+                } else {
+                    putData(variable, recordNo, record);
+                    targetArrays[order[k]] = read(role, extractDefinition);
+                }
+            }
+            i = j;
+        }
+        return Arrays.asList(targetArrays);
+    }
+
     @Override
     public final int getNumRecords() {
         return numRecords;
@@ -362,6 +420,38 @@ abstract class MdReader extends NetcdfReader {
         }
     }
 
+    private void putData(Variable variable, int recordNo, Array array) {
+        final String role = variable.getShortName();
+        arrayMap.put(role, array);
+        indexMap.put(role, recordNo);
+    }
+
+    private static Array readRecords(Variable variable, int firstRecordNo, int recordCount) throws IOException {
+        final int[] shape = variable.getShape();
+        shape[0] = recordCount;
+        final int[] start = new int[shape.length];
+        start[0] = firstRecordNo;
+        try {
+            return variable.read(start, shape);
+        } catch (InvalidRangeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Array sliceRecord(Array records, int index) throws IOException {
+        final int[] shape = records.getShape();
+        shape[0] = 1;
+        final int[] origin = new int[shape.length];
+        origin[0] = index;
+        try {
+            // the section is copied, because a section shares the storage of the records read, and the flat
+            // index getters used by the record value getters and sample sources would address the first record
+            return records.section(origin, shape).copy();
+        } catch (InvalidRangeException e) {
+            throw new IOException(e);
+        }
+    }
+
     private PixelLocator getPixelLocator(int recordNo) throws IOException {
         if (recordNo == cachedRecordNo) {
             return cachedPixelLocator;
@@ -204,6 +204,11 @@ public class MmdReader implements Reader {
         return readData(variable, origin, shape);
     }
 
+    @Override
+    public final List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException {
+        return ReaderUtil.readEach(this, role, extractDefinitions);
+    }
+
     @Override
     public void close() {
         delegateReader = null;
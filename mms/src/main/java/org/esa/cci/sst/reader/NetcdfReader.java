@@ -18,9 +18,11 @@ package org.esa.cci.sst.reader;
 
 import com.bc.ceres.core.Assert;
 import org.esa.beam.framework.datamodel.Product;
+import org.esa.cci.sst.common.ExtractDefinition;
 import org.esa.cci.sst.data.DataFile;
 import org.esa.cci.sst.data.Item;
 import org.esa.cci.sst.util.IoUtil;
+import ucar.ma2.Array;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.Variable;
@@ -77,6 +79,14 @@ abstract public class NetcdfReader implements Reader {
         }
     }
 
+    /**
+     * Reads the data for each extract definition in turn. May be overridden to coalesce reads.
+     */
+    @Override
+    public List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException {
+        return ReaderUtil.readEach(this, role, extractDefinitions);
+    }
+
     @Override
     public final Item getColumn(String role) {
         final Variable variable = variableMap.get(role);
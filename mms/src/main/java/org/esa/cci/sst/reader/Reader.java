@@ -90,6 +90,22 @@ public interface Reader extends Closeable {
      */
     Array read(String role, ExtractDefinition extractDefinition) throws IOException;
 
+    /**
+     * Reads actual data from the variable given by <code>role</code> for several extract
+     * definitions at once. Implementations may coalesce the sections to read into a smaller
+     * number of larger reads. The result is the same as calling {@link #read(String, ExtractDefinition)}
+     * for each extract definition. Readers that cannot do better may delegate to
+     * {@link ReaderUtil#readEach(Reader, String, java.util.List)}.
+     *
+     * @param role               The name of the variable to read from.
+     * @param extractDefinitions The extract definitions specifying the sections from which to read.
+     *
+     * @return Actual data, in the order of the extract definitions.
+     *
+     * @throws IOException If variable could not be read in any of the specified sections.
+     */
+    List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException;
+
     /**
      * Returns the column for the given variable name.
      *
@@ -19,6 +19,7 @@ package org.esa.cci.sst.reader;
 import com.bc.ceres.core.Assert;
 import org.esa.cci.sst.data.DataFile;
 import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.util.PipelineEvents;
 
 import java.io.File;
 import java.io.IOException;
@@ -59,8 +60,15 @@ public class ReaderFactory {
         final String archiveRootPath = configuration.getStringValue(Configuration.KEY_MMS_ARCHIVE_ROOT, ".");
         final File archiveRoot = new File(archiveRootPath);
 
+        final long startNanos = PipelineEvents.isEnabled() ? System.nanoTime() : 0L;
         final Reader reader = createReader(readerSpec, sensorName, dirtyMaskExpression);
         reader.open(datafile, archiveRoot);
+        if (PipelineEvents.isEnabled()) {
+            final long nanos = System.nanoTime() - startNanos;
+            final File file = new File(datafile.getPath());
+            final long byteCount = (file.isAbsolute() ? file : new File(archiveRoot, datafile.getPath())).length();
+            PipelineEvents.fileOpened(datafile.getPath(), readerSpec, byteCount, nanos);
+        }
 
         return reader;
     }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.reader;
+
+import org.esa.cci.sst.common.ExtractDefinition;
+import ucar.ma2.Array;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods for readers.
+ *
+ * @author agent
+ */
+public class ReaderUtil {
+
+    private ReaderUtil() {
+    }
+
+    /**
+     * Reads the data for several extract definitions by calling {@link Reader#read(String, ExtractDefinition)}
+     * for each extract definition. This is the default implementation of
+     * {@link Reader#read(String, java.util.List)}.
+     *
+     * @param reader             The reader.
+     * @param role               The name of the variable to read from.
+     * @param extractDefinitions The extract definitions.
+     *
+     * @return the data read, in the order of the extract definitions.
+     *
+     * @throws IOException if the variable could not be read.
+     */
+    public static List<Array> readEach(Reader reader, String role,
+                                       List<ExtractDefinition> extractDefinitions) throws IOException {
+        final List<Array> arrays = new ArrayList<>(extractDefinitions.size());
+        for (final ExtractDefinition extractDefinition : extractDefinitions) {
+            arrays.add(reader.read(role, extractDefinition));
+        }
+        return arrays;
+    }
+}
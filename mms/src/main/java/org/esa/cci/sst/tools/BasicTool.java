@@ -20,10 +20,12 @@ import org.apache.commons.cli.*;
 import org.esa.beam.framework.gpf.GPF;
 import org.esa.cci.sst.log.SstLogging;
 import org.esa.cci.sst.orm.PersistenceManager;
+import org.esa.cci.sst.orm.QueryTimer;
 import org.esa.cci.sst.orm.Storage;
 import org.esa.cci.sst.tool.Configuration;
 import org.esa.cci.sst.tool.ToolException;
 import org.esa.cci.sst.util.TimeUtil;
+import org.esa.cci.sst.util.TimingRegistry;
 
 import javax.media.jai.JAI;
 import javax.persistence.Query;
@@ -109,6 +111,7 @@ public abstract class BasicTool {
                                 }
                                 e.getCause().printStackTrace(System.err);
                             }
+                            reportTimings();
                             System.exit(e.getExitCode());
                         }
 
@@ -149,6 +152,14 @@ public abstract class BasicTool {
         return options;
     }
 
+    /**
+     * Logs the times spent in the phases registered with the {@link TimingRegistry}. Called
+     * when the tool has finished or is terminated.
+     */
+    public final void reportTimings() {
+        TimingRegistry.getInstance().report(logger);
+    }
+
     public final PersistenceManager getPersistenceManager() {
         return persistenceManager;
     }
@@ -204,6 +215,9 @@ public abstract class BasicTool {
         } catch (Exception e) {
             throw new ToolException("Unable to establish database connection.", e, ToolException.TOOL_DB_ERROR);
         }
+        persistenceManager.getQueryTimer().setSlowQueryThreshold(
+                config.getIntValue(Configuration.KEY_MMS_DB_SLOW_QUERY_THRESHOLD,
+                                   QueryTimer.DEFAULT_SLOW_QUERY_THRESHOLD));
         if (config.getBooleanValue("mms.db.useindex", false)) {
             try {
                 persistenceManager.transaction();
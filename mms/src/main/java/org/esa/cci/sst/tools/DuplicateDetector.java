@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects duplicate reference observations in memory. An observation is a duplicate if it is
+ * a candidate and there is another observation with the same name (call sign) which is less than
+ * two minutes apart and has either a lower time radius, or the same time radius and a lower id.
+ * Candidates are observations within the detection time range that belong to a known dataset
+ * other than {@code 6} or {@code 7}. These are the criteria applied by the former SQL query
+ * <pre>
+ *     update mm_observation o set referenceflag = 5
+ *     where o.sensor = ?1 and o.time >= ?2 and o.time < ?3 and o.dataset != 6 and o.dataset != 7
+ *     and exists ( select p.id from mm_observation p
+ *                  where p.sensor = o.sensor and p.name = o.name
+ *                  and p.time > o.time - interval '00:02:00' and p.time < o.time + interval '00:02:00'
+ *                  and (p.timeradius < o.timeradius or (p.timeradius = o.timeradius and p.id < o.id)) )
+ * </pre>
+ * Observations of a single sensor are added in order of time, including those less than two
+ * minutes before or after the detection time range. For each name, the detector keeps the
+ * observations of the last two minutes in a sliding window, so each observation is compared
+ * only with the few observations of the same name that are close in time.
+ *
+ * @author agent
+ */
+class DuplicateDetector {
+
+    static final long MAX_TIME_DIFFERENCE_MICROS = 120000000L;
+
+    private final long startMicros;
+    private final long stopMicros;
+    private final Deque<Entry> window;
+    private final Map<String, Deque<Entry>> windowsByName;
+    private final List<Integer> duplicateIds;
+    private long lastMicros;
+
+    /**
+     * Creates a new duplicate detector.
+     *
+     * @param startMicros The start of the detection time range (microseconds since epoch, inclusive).
+     * @param stopMicros  The stop of the detection time range (microseconds since epoch, exclusive).
+     */
+    DuplicateDetector(long startMicros, long stopMicros) {
+        this.startMicros = startMicros;
+        this.stopMicros = stopMicros;
+        window = new ArrayDeque<>();
+        windowsByName = new HashMap<>();
+        duplicateIds = new ArrayList<>();
+        lastMicros = Long.MIN_VALUE;
+    }
+
+    /**
+     * Adds an observation.
+     *
+     * @param id         The id of the observation.
+     * @param timeMicros The time of the observation (microseconds since epoch), not before the time of
+     *                   the observation added last.
+     * @param name       The name of the observation, may be {@code null}.
+     * @param timeRadius The time radius of the observation, {@link Double#NaN} if {@code null}.
+     * @param dataset    The dataset of the observation, may be {@code null}.
+     */
+    void add(int id, long timeMicros, String name, double timeRadius, Integer dataset) {
+        if (timeMicros < lastMicros) {
+            throw new IllegalArgumentException("Observations must be added in order of time.");
+        }
+        lastMicros = timeMicros;
+        evict(timeMicros - MAX_TIME_DIFFERENCE_MICROS);
+        if (name == null) {
+            // never equal to any name
+            return;
+        }
+
+        final boolean candidate = timeMicros >= startMicros && timeMicros < stopMicros
+                                  && dataset != null && dataset != 6 && dataset != 7;
+        final Entry entry = new Entry(id, timeMicros, name, timeRadius, candidate);
+        Deque<Entry> nameWindow = windowsByName.get(name);
+        if (nameWindow == null) {
+            nameWindow = new ArrayDeque<>();
+            windowsByName.put(name, nameWindow);
+        }
+        for (final Entry other : nameWindow) {
+            if (entry.candidate && other.precedes(entry)) {
+                entry.duplicate = true;
+            }
+            if (other.candidate && entry.precedes(other)) {
+                other.duplicate = true;
+            }
+        }
+        nameWindow.addLast(entry);
+        window.addLast(entry);
+    }
+
+    /**
+     * Returns the ids of the duplicate observations. Must be called after all observations
+     * have been added.
+     *
+     * @return the ids of the duplicate observations, in order of time.
+     */
+    List<Integer> getDuplicateIds() {
+        evict(Long.MAX_VALUE);
+        return duplicateIds;
+    }
+
+    /**
+     * Converts a date into microseconds since epoch, retaining the microseconds of timestamps.
+     *
+     * @param date The date.
+     *
+     * @return the microseconds since epoch.
+     */
+    static long toMicros(Date date) {
+        if (date instanceof Timestamp) {
+            final Timestamp timestamp = (Timestamp) date;
+            return (timestamp.getTime() / 1000) * 1000000 + timestamp.getNanos() / 1000;
+        }
+        return date.getTime() * 1000;
+    }
+
+    private void evict(long minMicros) {
+        while (!window.isEmpty() && window.peekFirst().timeMicros <= minMicros) {
+            final Entry entry = window.removeFirst();
+            final Deque<Entry> nameWindow = windowsByName.get(entry.name);
+            nameWindow.removeFirst();
+            if (nameWindow.isEmpty()) {
+                windowsByName.remove(entry.name);
+            }
+            if (entry.duplicate) {
+                duplicateIds.add(entry.id);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final int id;
+        private final long timeMicros;
+        private final String name;
+        private final double timeRadius;
+        private final boolean candidate;
+        private boolean duplicate;
+
+        private Entry(int id, long timeMicros, String name, double timeRadius, boolean candidate) {
+            this.id = id;
+            this.timeMicros = timeMicros;
+            this.name = name;
+            this.timeRadius = timeRadius;
+            this.candidate = candidate;
+        }
+
+        // comparisons with NaN are false, like comparisons with null in SQL
+        private boolean precedes(Entry other) {
+            return timeRadius < other.timeRadius || (timeRadius == other.timeRadius && id < other.id);
+        }
+    }
+}
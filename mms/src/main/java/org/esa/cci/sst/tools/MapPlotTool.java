@@ -14,32 +14,36 @@ package org.esa.cci.sst.tools;/*
  * with this program; if not, see http://www.gnu.org/licenses/
  */
 
-import org.esa.cci.sst.data.ReferenceObservation;
+import org.esa.cci.sst.orm.KeysetPager;
 import org.esa.cci.sst.orm.PersistenceManager;
 import org.esa.cci.sst.tool.Configuration;
 import org.esa.cci.sst.tool.ToolException;
 import org.esa.cci.sst.tools.samplepoint.TimeRange;
 import org.esa.cci.sst.util.ConfigUtil;
-import org.esa.cci.sst.util.SamplingPoint;
-import org.esa.cci.sst.util.SamplingPointPlotter;
-import org.postgis.Point;
+import org.esa.cci.sst.util.DensityMapPlotter;
 
 import javax.persistence.Query;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 
 public class MapPlotTool extends BasicTool {
 
-    private static final String SQL_GET_REFERENCE_OBSERVATIONS =
-            "select o"
-                    + " from ReferenceObservation o"
-                    + " where o.sensor = ?1 and o.time >= ?2 and o.time < ?3"
-                    + " order by o.time";
+    private static final String SQL_GET_REFERENCE_OBSERVATION_SUMMARY =
+            "select count(o.id), min(o.time), max(o.time)"
+                    + " from mm_observation o"
+                    + " where o.sensor = ?1 and o.time >= ?2 and o.time < ?3 and o.point is not null";
+
+    private static final String SQL_GET_REFERENCE_OBSERVATION_LOCATIONS =
+            "select o.id, o.time, st_x(o.point::geometry), st_y(o.point::geometry)"
+                    + " from mm_observation o"
+                    + " where o.sensor = ?1 and o.time >= ?2 and o.time < ?3 and o.point is not null"
+                    + " and (o.time, o.id) > (?4, ?5)"
+                    + " order by o.time, o.id";
+
+    private static final int PAGE_SIZE = 100000;
 
     private String sensor;
     private boolean show;
@@ -95,7 +99,7 @@ public class MapPlotTool extends BasicTool {
             final Date startDate = timeRange.getStartDate();
             final Date stopDate = timeRange.getStopDate();
 
-            final Query query = getPersistenceManager().createQuery(SQL_GET_REFERENCE_OBSERVATIONS);
+            final Query query = persistenceManager.createNativeQuery(SQL_GET_REFERENCE_OBSERVATION_SUMMARY);
             query.setParameter(1, sensor);
             query.setParameter(2, startDate);
             query.setParameter(3, stopDate);
@@ -104,27 +108,41 @@ public class MapPlotTool extends BasicTool {
                     MessageFormat.format("querying samples: sensor = {0}, start time = {1}, stop time = {2}", sensor,
                             startDate, stopDate)
             );
-            @SuppressWarnings("unchecked")
-            final List<ReferenceObservation> referenceObservations = query.getResultList();
-            logger.info(MessageFormat.format("{0} samples found", referenceObservations.size()));
-
-            final List<SamplingPoint> samples = new ArrayList<>(referenceObservations.size());
-            for (final ReferenceObservation o : referenceObservations) {
-                final Point p = o.getPoint().getGeometry().getPoint(0);
-                samples.add(new SamplingPoint(p.getX(), p.getY(), o.getTime().getTime(), 0.0));
-            }
-            logger.info(MessageFormat.format("plotting {0} samples...", samples.size()));
-            new SamplingPointPlotter()
-                    .samples(samples)
+            final Object[] summary = (Object[]) query.getSingleResult();
+            final long sampleCount = ((Number) summary[0]).longValue();
+            logger.info(MessageFormat.format("{0} samples found", sampleCount));
+
+            final DensityMapPlotter plotter = new DensityMapPlotter()
                     .show(show)
-                    .live(false)
                     .windowTitle(title)
                     .filePath(new File(targetDir, targetFilename).getPath())
-                    .mapStrategyName(mapStrategyName)
-                    .plot();
+                    .mapStrategyName(mapStrategyName);
+            if (sampleCount > 0) {
+                plotter.timeRange(((Date) summary[1]).getTime(), ((Date) summary[2]).getTime());
+                logger.info(MessageFormat.format("plotting {0} samples...", sampleCount));
+                addSamples(plotter, startDate, stopDate);
+            }
+            plotter.plot();
             logger.info("finished plotting samples");
         } finally {
             persistenceManager.commit();
         }
     }
+
+    private void addSamples(final DensityMapPlotter plotter, Date startDate, Date stopDate) {
+        final KeysetPager pager = new KeysetPager(getPersistenceManager(), SQL_GET_REFERENCE_OBSERVATION_LOCATIONS,
+                                                  PAGE_SIZE);
+        pager.forEachRow(startDate, new KeysetPager.RowHandler() {
+            private long addedCount;
+
+            @Override
+            public void handleRow(Object[] row) {
+                final long time = ((Date) row[1]).getTime();
+                plotter.add(((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(), time);
+                if (++addedCount % PAGE_SIZE == 0) {
+                    logger.fine(MessageFormat.format("{0} samples plotted", addedCount));
+                }
+            }
+        }, sensor, startDate, stopDate);
+    }
 }
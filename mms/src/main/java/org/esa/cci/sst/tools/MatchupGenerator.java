@@ -51,6 +51,7 @@ public class MatchupGenerator extends BasicTool {
             }
             tool.initialize();
             tool.run();
+            tool.reportTimings();
         } catch (ToolException e) {
             tool.getErrorHandler().terminate(e);
         } catch (Exception e) {
@@ -95,14 +96,39 @@ public class MatchupGenerator extends BasicTool {
         }
     }
 
-    private void run() throws IOException {
-        cleanupIfRequested();
+    /**
+     * Generates the matchups for the sampling points of the configured time range. The tool
+     * must have been initialized.
+     *
+     * @throws IOException if the sampling points could not be read.
+     */
+    public void run() throws IOException {
+        final TimingRegistry timingRegistry = TimingRegistry.getInstance();
 
-        List<SamplingPoint> samples = loadSamplePoints(logger);
-        removeDirtySamples(logger, samples, true);
+        TimingRegistry.Phase phase = timingRegistry.start("cleanup");
+        try {
+            cleanupIfRequested();
+        } finally {
+            phase.stop();
+        }
 
-        if (sensorName2 != null) {
-            removeDirtySamples(logger, samples, false);
+        final List<SamplingPoint> samples;
+        phase = timingRegistry.start("load");
+        try {
+            samples = loadSamplePoints(logger);
+        } finally {
+            phase.stop();
+        }
+
+        phase = timingRegistry.start("removeDirty");
+        try {
+            removeDirtySamples(logger, samples, true);
+
+            if (sensorName2 != null) {
+                removeDirtySamples(logger, samples, false);
+            }
+        } finally {
+            phase.stop();
         }
 
         if (samples.size() == 0) {
@@ -110,24 +136,49 @@ public class MatchupGenerator extends BasicTool {
         }
 
         if (matchupDeltaTime > 0) {
-            removeWrongTimeSamples(samples);
+            phase = timingRegistry.start("removeTime");
+            try {
+                removeWrongTimeSamples(samples);
+            } finally {
+                phase.stop();
+            }
         }
 
         if (processLatBoundaries) {
-            removeOutOfLatBoundaryPixels(samples);
+            phase = timingRegistry.start("removeLatitude");
+            try {
+                removeOutOfLatBoundaryPixels(samples);
+            } finally {
+                phase.stop();
+            }
         }
 
         if (!landWanted)  {
-            removeLandPixels(samples);
+            phase = timingRegistry.start("removeLand");
+            try {
+                removeLandPixels(samples);
+            } finally {
+                phase.stop();
+            }
         }
 
-        int w = overlappingWanted ? 1 : subSceneWidth1;
-        int h = overlappingWanted ? 1 : subSceneHeight1;
-        do {
-            removeOverlappingSamples(logger, samples, w++, h++);
-        } while (maxSampleCount != 0 && samples.size() > maxSampleCount);
+        phase = timingRegistry.start("removeOverlapping");
+        try {
+            int w = overlappingWanted ? 1 : subSceneWidth1;
+            int h = overlappingWanted ? 1 : subSceneHeight1;
+            do {
+                removeOverlappingSamples(logger, samples, w++, h++);
+            } while (maxSampleCount != 0 && samples.size() > maxSampleCount);
+        } finally {
+            phase.stop();
+        }
 
-        createMatchups(logger, samples);
+        phase = timingRegistry.start("persist");
+        try {
+            createMatchups(logger, samples);
+        } finally {
+            phase.stop();
+        }
     }
 
     private static void createMatchups(List<SamplingPoint> samples, String referenceSensorName, String primarySensorName,
@@ -18,6 +18,8 @@ package org.esa.cci.sst.tools;
 
 import com.bc.ceres.core.Assert;
 import org.esa.cci.sst.data.*;
+import org.esa.cci.sst.orm.KeysetPager;
+import org.esa.cci.sst.orm.MatchupPatternIndex;
 import org.esa.cci.sst.orm.PersistenceManager;
 import org.esa.cci.sst.orm.Storage;
 import org.esa.cci.sst.tool.Configuration;
@@ -26,9 +28,12 @@ import org.esa.cci.sst.tools.samplepoint.TimeRange;
 import org.esa.cci.sst.util.ConfigUtil;
 import org.esa.cci.sst.util.StopWatch;
 import org.esa.cci.sst.util.TimeUtil;
+import org.esa.cci.sst.util.TimingRegistry;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.Query;
+import java.io.File;
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -107,23 +112,20 @@ public class MatchupTool extends BasicTool {
                     + " and abs(extract(epoch from o.time) - extract(epoch from timestamp ?2)) <= o.timeRadius"
                     + " order by abs(extract(epoch from o.time) - extract(epoch from timestamp ?2))";
 
-    private static final String DUPLICATES_QUERY = "update mm_observation o set referenceflag = 5 " +
-            "where o.sensor=?1 " +
-            "and o.time >= ?2 and o.time < ?3 " +
-            "and o.dataset != 6 and o.dataset != 7 " +
-            "and exists ( select p.id from mm_observation p " +
-            "where p.sensor = o.sensor and p.name = o.name " +
-            "and p.time > o.time - interval '00:02:00' and p.time < o.time + interval '00:02:00' " +
-            "and (p.timeradius < o.timeradius or (p.timeradius = o.timeradius and p.id < o.id)) )";
-
-    private static final String DUPLICATES_DELETE_QUERY = "delete from mm_observation o " +
-            "where o.sensor=?1 " +
-            "and o.time >= ?2 and o.time < ?3 " +
-            "and o.dataset != 6 and o.dataset != 7 " +
-            "and exists ( select p.id from mm_observation p " +
-            "where p.sensor = o.sensor and p.name = o.name " +
-            "and p.time > o.time - interval '00:02:00' and p.time < o.time + interval '00:02:00' " +
-            "and (p.timeradius < o.timeradius or (p.timeradius = o.timeradius and p.id < o.id)) )";
+    private static final String DUPLICATE_CANDIDATES_QUERY =
+            "select o.id, o.time, o.name, o.timeradius, o.dataset"
+                    + " from mm_observation o"
+                    + " where o.sensor = ?1"
+                    + " and o.time > ?2 and o.time < ?3"
+                    + " and (o.time, o.id) > (?4, ?5)"
+                    + " order by o.time, o.id";
+
+    private static final String MARK_DUPLICATES_STATEMENT = "update mm_observation set referenceflag = 5 where id in ";
+
+    private static final String DROP_DUPLICATES_STATEMENT = "delete from mm_observation where id in ";
+
+    private static final int DUPLICATES_PAGE_SIZE = 100000;
+    private static final int DUPLICATES_BATCH_SIZE = 1000;
 
     private static final int CHUNK_SIZE = 1024; //*16;
 
@@ -158,6 +160,7 @@ public class MatchupTool extends BasicTool {
             }
             tool.initialize();
             tool.run();
+            tool.reportTimings();
         } catch (ToolException e) {
             tool.getErrorHandler().terminate(e);
         } catch (Exception e) {
@@ -184,155 +187,192 @@ public class MatchupTool extends BasicTool {
 
     private void run() {
         final Configuration config = getConfig();
+        final TimingRegistry timingRegistry = TimingRegistry.getInstance();
 
-        if (config.getBooleanValue("mms.matchup.cleanup")) {
-            cleanup();
-        } else if (config.getBooleanValue("mms.matchup.cleanupinterval")) {
-            cleanupInterval();
+        TimingRegistry.Phase phase = timingRegistry.start("cleanup");
+        try {
+            if (config.getBooleanValue("mms.matchup.cleanup")) {
+                cleanup();
+            } else if (config.getBooleanValue("mms.matchup.cleanupinterval")) {
+                cleanupInterval();
+            }
+        } finally {
+            phase.stop();
         }
 
-        if (config.getBooleanValue("mms.matchup.markduplicates")) {
-            markDuplicates();
-        } else if (config.getBooleanValue("mms.matchup.dropduplicates")) {
-            dropDuplicates();
+        phase = timingRegistry.start("duplicates");
+        try {
+            if (config.getBooleanValue("mms.matchup.markduplicates")) {
+                markDuplicates();
+            } else if (config.getBooleanValue("mms.matchup.dropduplicates")) {
+                dropDuplicates();
+            }
+        } finally {
+            phase.stop();
         }
 
-        if (config.getBooleanValue("mms.matchup.atsr_md")) {
-            findAtsrMultiSensorMatchups();
-        }
+        phase = timingRegistry.start("multiSensorMatchups");
+        try {
+            if (config.getBooleanValue("mms.matchup.atsr_md")) {
+                findAtsrMultiSensorMatchups();
+            }
 
-        if (config.getBooleanValue("mms.matchup.metop")) {
-            findMetopMultiSensorMatchups();
+            if (config.getBooleanValue("mms.matchup.metop")) {
+                findMetopMultiSensorMatchups();
+            }
+        } finally {
+            phase.stop();
         }
 
-        if (configurationIndexOf("atsr_md") != -1) {
-            findSingleSensorMatchups(ATSR_MD, atsrSensor);
-        }
+        phase = timingRegistry.start("singleSensorMatchups");
+        try {
+            if (configurationIndexOf("atsr_md") != -1) {
+                findSingleSensorMatchups(ATSR_MD, atsrSensor);
+            }
 
-        if (configurationIndexOf("metop") != -1) {
-            findSingleSensorMatchups(METOP, metopSensor);
-        }
+            if (configurationIndexOf("metop") != -1) {
+                findSingleSensorMatchups(METOP, metopSensor);
+            }
 
-        if (configurationIndexOf("seviri") != -1) {
-            findSingleSensorMatchups(SEVIRI, seviriSensor);
-        }
+            if (configurationIndexOf("seviri") != -1) {
+                findSingleSensorMatchups(SEVIRI, seviriSensor);
+            }
 
-        if (configurationIndexOf("avhrr_md") != -1) {
-            findSingleSensorMatchups(AVHRR_MD, avhrrSensor);
+            if (configurationIndexOf("avhrr_md") != -1) {
+                findSingleSensorMatchups(AVHRR_MD, avhrrSensor);
+            }
+        } finally {
+            phase.stop();
         }
 
         final String primarySensor = config.getStringValue(Configuration.KEY_MMS_MATCHUP_PRIMARY_SENSOR);
         if (primarySensor != null) {
             logger.info("Primary sensor is " + primarySensor);
         }
-        findRelatedObservations(primarySensor);
+        phase = timingRegistry.start("relatedObservations");
+        try {
+            findRelatedObservations(primarySensor);
+        } finally {
+            phase.stop();
+        }
+
+        final String indexPath = config.getStringValue(Configuration.KEY_MMS_MATCHUP_INDEX, null);
+        if (indexPath != null) {
+            phase = timingRegistry.start("matchupIndex");
+            try {
+                updateMatchupIndex(new File(indexPath), config.getBooleanValue("mms.matchup.cleanup"));
+            } finally {
+                phase.stop();
+            }
+        }
     }
 
-    /**
-     * Sets reference flag of observations to 5
-     * if there are other observations for same sensor and call sign and satellite orbit
-     * with lower temporal distance of in-situ measurement
-     */
-    private void markDuplicates() {
+    private void updateMatchupIndex(File indexFile, boolean cleanup) {
+        MatchupPatternIndex index = cleanup ? null : MatchupPatternIndex.read(indexFile);
+        if (index == null) {
+            // all matchups outside of the time range have been deleted, or are unknown
+            index = MatchupPatternIndex.create();
+        }
         final PersistenceManager persistenceManager = getPersistenceManager();
-
         try {
             persistenceManager.transaction();
-            Query query = persistenceManager.createNativeQuery(DUPLICATES_QUERY);
-            query.setParameter(2, timeRange.getStartDate());
-            query.setParameter(3, timeRange.getStopDate());
-
-            final StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-            query.setParameter(1, ATSR_MD);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates determined in {1} ms.", ATSR_MD, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, METOP);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates determined in {1} ms.", METOP, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, SEVIRI);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates determined in {1} ms.", SEVIRI, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, AVHRR_MD);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates determined in {1} ms.", AVHRR_MD, stopWatch.getElapsedMillis()));
-
+            final int count = persistenceManager.getMatchupStorage().updatePatternIndex(index,
+                                                                                          timeRange.getStartDate(),
+                                                                                          timeRange.getStopDate());
             persistenceManager.commit();
+            index.write(indexFile);
+            logger.info(MessageFormat.format("{0} matchups updated in matchup index ''{1}'' ({2} matchups in total)",
+                                             count, indexFile.getPath(), index.size()));
+        } catch (IOException e) {
+            throw new ToolException("Cannot write matchup index: " + indexFile.getPath(), e,
+                                    ToolException.TOOL_IO_ERROR);
         } catch (Exception e) {
             persistenceManager.rollback();
             throw new ToolException(e.getMessage(), e, ToolException.TOOL_ERROR);
         }
     }
 
+    /**
+     * Sets reference flag of observations to 5
+     * if there are other observations for same sensor and call sign and satellite orbit
+     * with lower temporal distance of in-situ measurement
+     */
+    private void markDuplicates() {
+        processDuplicates(MARK_DUPLICATES_STATEMENT, "{0} duplicates of {1} marked in {2} ms.");
+    }
+
     private void dropDuplicates() {
+        processDuplicates(DROP_DUPLICATES_STATEMENT, "{0} duplicates of {1} dropped in {2} ms.");
+    }
+
+    private void processDuplicates(String statementPrefix, String messagePattern) {
         final PersistenceManager persistenceManager = getPersistenceManager();
 
         try {
-            persistenceManager.transaction();
-            Query query = persistenceManager.createNativeQuery(DUPLICATES_DELETE_QUERY);
-            query.setParameter(2, timeRange.getStartDate());
-            query.setParameter(3, timeRange.getStopDate());
-
-            final StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-            query.setParameter(1, ATSR_MD);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates dropped in {1} ms.", ATSR_MD, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, METOP);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates dropped in {1} ms.", METOP, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, SEVIRI);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates dropped in {1} ms.", SEVIRI, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
-            persistenceManager.transaction();
-
-            stopWatch.start();
-            query.setParameter(1, AVHRR_MD);
-            query.executeUpdate();
-            stopWatch.stop();
-            logger.info(MessageFormat.format("{0} duplicates dropped in {1} ms.", AVHRR_MD, stopWatch.getElapsedMillis()));
-
-            persistenceManager.commit();
+            final String statement = createBatchStatement(statementPrefix);
+            for (final String sensorName : new String[]{ATSR_MD, METOP, SEVIRI, AVHRR_MD}) {
+                final StopWatch stopWatch = new StopWatch();
+                stopWatch.start();
+                persistenceManager.transaction();
+                final List<Integer> duplicateIds = findDuplicates(sensorName);
+                for (int i = 0; i < duplicateIds.size(); i += DUPLICATES_BATCH_SIZE) {
+                    final Query query = persistenceManager.createNativeQuery(statement);
+                    for (int k = 0; k < DUPLICATES_BATCH_SIZE; k++) {
+                        // the last batch is padded by repeating its last id
+                        final int index = Math.min(i + k, duplicateIds.size() - 1);
+                        query.setParameter(k + 1, duplicateIds.get(index));
+                    }
+                    query.executeUpdate();
+                }
+                persistenceManager.commit();
+                stopWatch.stop();
+                logger.info(MessageFormat.format(messagePattern, duplicateIds.size(), sensorName,
+                                                 stopWatch.getElapsedMillis()));
+            }
         } catch (Exception e) {
             persistenceManager.rollback();
             throw new ToolException(e.getMessage(), e, ToolException.TOOL_ERROR);
         }
     }
 
+    private List<Integer> findDuplicates(String sensorName) {
+        final Date startDate = timeRange.getStartDate();
+        final Date stopDate = timeRange.getStopDate();
+        final long maxTimeDifferenceMillis = DuplicateDetector.MAX_TIME_DIFFERENCE_MICROS / 1000;
+        final Date minDate = new Date(startDate.getTime() - maxTimeDifferenceMillis);
+        final Date maxDate = new Date(stopDate.getTime() + maxTimeDifferenceMillis);
+        final DuplicateDetector detector = new DuplicateDetector(DuplicateDetector.toMicros(startDate),
+                                                                 DuplicateDetector.toMicros(stopDate));
+
+        final KeysetPager pager = new KeysetPager(getPersistenceManager(), DUPLICATE_CANDIDATES_QUERY,
+                                                  DUPLICATES_PAGE_SIZE);
+        pager.forEachRow(minDate, new KeysetPager.RowHandler() {
+            @Override
+            public void handleRow(Object[] row) {
+                final Number timeRadius = (Number) row[3];
+                final Number dataset = (Number) row[4];
+                detector.add(((Number) row[0]).intValue(),
+                             DuplicateDetector.toMicros((Date) row[1]),
+                             (String) row[2],
+                             timeRadius != null ? timeRadius.doubleValue() : Double.NaN,
+                             dataset != null ? dataset.intValue() : null);
+            }
+        }, sensorName, minDate, maxDate);
+
+        return detector.getDuplicateIds();
+    }
+
+    private static String createBatchStatement(String statementPrefix) {
+        final StringBuilder sb = new StringBuilder(statementPrefix).append('(');
+        for (int k = 1; k <= DUPLICATES_BATCH_SIZE; k++) {
+            if (k > 1) {
+                sb.append(", ");
+            }
+            sb.append('?').append(k);
+        }
+        return sb.append(')').toString();
+    }
+
     private void setTimeRange() {
         timeRange = ConfigUtil.getTimeRange(Configuration.KEY_MMS_MATCHUP_START_TIME,
                 Configuration.KEY_MMS_MATCHUP_STOP_TIME,
@@ -534,6 +574,7 @@ public class MatchupTool extends BasicTool {
     }
 
     private void findSingleSensorMatchups(String sensorName, Sensor sensor) {
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start(sensorName);
         try {
             getPersistenceManager().transaction();
 
@@ -573,8 +614,13 @@ public class MatchupTool extends BasicTool {
                     sensor.getName(),
                     stopWatch.getElapsedMillis()));
             stopWatch.start();
-            for (Matchup m : matchupAccu) {
-                getPersistenceManager().persist(m);
+            final TimingRegistry.Phase persistPhase = TimingRegistry.getInstance().start("persist");
+            try {
+                for (Matchup m : matchupAccu) {
+                    getPersistenceManager().persist(m);
+                }
+            } finally {
+                persistPhase.stop();
             }
             stopWatch.stop();
             logger.info(MessageFormat.format("{0} matchups stored in {1} ms.",
@@ -586,6 +632,8 @@ public class MatchupTool extends BasicTool {
         } catch (Exception e) {
             getPersistenceManager().rollback();
             throw new ToolException(e.getMessage(), e, ToolException.TOOL_ERROR);
+        } finally {
+            phase.stop();
         }
     }
 
@@ -772,7 +820,7 @@ public class MatchupTool extends BasicTool {
         // since binding a date to a parameter failed ...
         final String queryString2 = queryString.replaceAll("\\?2",
                 "'" + TimeUtil.formatCcsdsUtcFormat(refObs.getTime()) + "'");
-        final Query query = getPersistenceManager().createNativeQuery(queryString2, observationClass);
+        final Query query = getPersistenceManager().createNativeQuery(queryString, queryString2, observationClass);
         query.setParameter(1, sensorName);
         //query.setParameter("time", refObs.getTime(), TemporalType.TIMESTAMP);
         query.setParameter(3, refObs.getPoint().toString());
@@ -55,7 +55,14 @@ public class SamplingPointGenerationTool extends BasicTool {
         assignFromConfig(workflowContext, config);
     }
 
-    private void run() throws IOException, ParseException {
+    /**
+     * Generates the sampling points for the configured time range. The tool must have been
+     * initialized.
+     *
+     * @throws IOException    if the sampling points could not be read or written.
+     * @throws ParseException if a time could not be parsed.
+     */
+    public void run() throws IOException, ParseException {
         logger.info("Start generating sample points ...");
         final Workflow generatePointsWorkflow = createPointGeneratorWorkflow(workflowContext);
         final List<SamplingPoint> samples = generatePointsWorkflow.execute();
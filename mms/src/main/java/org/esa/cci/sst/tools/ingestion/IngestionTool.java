@@ -27,6 +27,7 @@ import org.esa.cci.sst.tool.ToolException;
 import org.esa.cci.sst.tools.BasicTool;
 import org.esa.cci.sst.tools.samplepoint.TimeRange;
 import org.esa.cci.sst.util.ConfigUtil;
+import org.esa.cci.sst.util.TimingRegistry;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -67,6 +68,7 @@ public class IngestionTool extends BasicTool {
             }
 
             tool.ingest();
+            tool.reportTimings();
         } catch (ToolException e) {
             tool.getErrorHandler().terminate(e);
         } catch (Throwable t) {
@@ -112,6 +114,7 @@ public class IngestionTool extends BasicTool {
         logger.info(MessageFormat.format("Ingesting file ''{0}''.", path));
         final PersistenceManager persistenceManager = getPersistenceManager();
 
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start(sensorName);
         try (Reader reader = getReader(readerSpec, sensorName)) {
             // open database
             persistenceManager.transaction();
@@ -127,9 +130,15 @@ public class IngestionTool extends BasicTool {
             persistenceManager.persist(dataFile);
             ingester.persistColumns(sensorName, reader);
 
-            int recordsInTimeInterval = persistObservations(sensorName, reader);
-            // make changes in database
-            persistenceManager.commit();
+            final int recordsInTimeInterval;
+            final TimingRegistry.Phase persistPhase = TimingRegistry.getInstance().start("persist");
+            try {
+                recordsInTimeInterval = persistObservations(sensorName, reader);
+                // make changes in database
+                persistenceManager.commit();
+            } finally {
+                persistPhase.stop();
+            }
             logger.info(MessageFormat.format("{0} {1} records in time interval.", sensorName,
                     recordsInTimeInterval));
         } catch (Exception e) {
@@ -140,6 +149,8 @@ public class IngestionTool extends BasicTool {
                 // ignored, because surrounding exception is propagated
             }
             getErrorHandler().warn(e, MessageFormat.format("Failed to ingest file ''{0}''.", path));
+        } finally {
+            phase.stop();
         }
     }
 
@@ -159,6 +170,15 @@ public class IngestionTool extends BasicTool {
      * for all records contained in input file.
      */
     private void ingest() {
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("ingest");
+        try {
+            ingestInputSets();
+        } finally {
+            phase.stop();
+        }
+    }
+
+    private void ingestInputSets() {
         ingester = new Ingester(this);
         final Configuration config = getConfig();
         final String archiveRootPath = config.getStringValue(Configuration.KEY_MMS_ARCHIVE_ROOT);
@@ -263,8 +283,13 @@ public class IngestionTool extends BasicTool {
     private void cleanup() {
         logger.info("Cleaning up database.");
 
-        final CleanupStatement cleanupStatement = new CleanupStatement(getPersistenceManager());
-        cleanupStatement.execute();
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("cleanup");
+        try {
+            final CleanupStatement cleanupStatement = new CleanupStatement(getPersistenceManager());
+            cleanupStatement.execute();
+        } finally {
+            phase.stop();
+        }
     }
 
     private void cleanupInterval() {
@@ -275,8 +300,13 @@ public class IngestionTool extends BasicTool {
         final Date stopDate = timeRange.getStopDate();
         logger.info("Cleaning up database for time range: " + startDate.toString() + " - " + stopDate.toString());
 
-        final CleanupStatement cleanupStatement = new CleanupStatement(getPersistenceManager());
-        cleanupStatement.executeForInterval(startDate, stopDate);
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("cleanup");
+        try {
+            final CleanupStatement cleanupStatement = new CleanupStatement(getPersistenceManager());
+            cleanupStatement.executeForInterval(startDate, stopDate);
+        } finally {
+            phase.stop();
+        }
     }
 
     private List<File> getInputFiles(final String filenamePattern, final File inputDir) {
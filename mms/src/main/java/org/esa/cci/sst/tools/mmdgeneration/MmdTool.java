@@ -23,6 +23,8 @@ import org.esa.cci.sst.common.ExtractDefinition;
 import org.esa.cci.sst.common.ExtractDefinitionBuilder;
 import org.esa.cci.sst.data.*;
 import org.esa.cci.sst.orm.ColumnStorage;
+import org.esa.cci.sst.orm.MatchupCursor;
+import org.esa.cci.sst.orm.MatchupPatternIndex;
 import org.esa.cci.sst.orm.MatchupQueryParameter;
 import org.esa.cci.sst.orm.MatchupStorage;
 import org.esa.cci.sst.orm.PersistenceManager;
@@ -35,7 +37,9 @@ import org.esa.cci.sst.tool.ToolException;
 import org.esa.cci.sst.tools.BasicTool;
 import org.esa.cci.sst.tools.Constants;
 import org.esa.cci.sst.util.LocationTest;
+import org.esa.cci.sst.util.PipelineEvents;
 import org.esa.cci.sst.util.ReaderCache;
+import org.esa.cci.sst.util.TimingRegistry;
 import org.postgis.Point;
 import ucar.ma2.Array;
 import ucar.ma2.InvalidRangeException;
@@ -59,6 +63,9 @@ import static ucar.nc2.NetcdfFileWriter.Version;
  */
 public class MmdTool extends BasicTool {
 
+    // the maximum number of matchups whose observations are read at once
+    private static final int MAX_BATCH_SIZE = 256;
+
     private final ColumnRegistry columnRegistry;
     private Map<String, Integer> dimensionConfiguration;
     private final List<String> targetColumnNames;
@@ -93,8 +100,10 @@ public class MmdTool extends BasicTool {
         final Set<String> dimensionNames = getDimensionNames(targetColumnNames, columnRegistry);
         dimensionConfiguration = DimensionConfigurationInitializer.initialize(dimensionNames, config);
 
-        final int readerCacheSize = config.getIntValue(Configuration.KEY_MMS_MMD_READER_CACHE_SIZE, 10);
-        readerCache = new ReaderCache(readerCacheSize, config, logger);
+        if (readerCache == null) {
+            final int readerCacheSize = config.getIntValue(Configuration.KEY_MMS_MMD_READER_CACHE_SIZE, 10);
+            readerCache = new ReaderCache(readerCacheSize, config, logger);
+        }
     }
 
     private void run(String[] args) {
@@ -105,17 +114,8 @@ public class MmdTool extends BasicTool {
             }
 
             initialize();
-
-            final Configuration config = getConfig();
-            final Map<Integer, Integer> matchupIdToRecordIndexMap = createMatchupIdToRecordIndexMap();
-            matchupCount = matchupIdToRecordIndexMap.size();
-            if (matchupCount == 0) {
-                throw new ToolException("No matchups to write.", ToolException.NO_MATCHUPS_FOUND_ERROR);
-            }
-            final NetcdfFileWriter writer = createNetcdfFileWriter(config);
-            try (MmdWriter mmdWriter = createMmdWriter(writer)) {
-                writeMmdFile(mmdWriter, matchupIdToRecordIndexMap);
-            }
+            run();
+            reportTimings();
         } catch (ToolException e) {
             getErrorHandler().terminate(e);
         } catch (Throwable t) {
@@ -126,6 +126,47 @@ public class MmdTool extends BasicTool {
         }
     }
 
+    /**
+     * Writes the matchup data file for the configured time range. The tool must have been
+     * initialized.
+     *
+     * @throws IOException if the matchup data file could not be written.
+     */
+    public void run() throws IOException {
+        final Configuration config = getConfig();
+        final Map<Integer, Integer> matchupIdToRecordIndexMap;
+        final TimingRegistry.Phase queryPhase = TimingRegistry.getInstance().start("query");
+        try {
+            matchupIdToRecordIndexMap = createMatchupIdToRecordIndexMap();
+        } finally {
+            queryPhase.stop();
+        }
+        matchupCount = matchupIdToRecordIndexMap.size();
+        if (matchupCount == 0) {
+            throw new ToolException("No matchups to write.", ToolException.NO_MATCHUPS_FOUND_ERROR);
+        }
+        final NetcdfFileWriter writer = createNetcdfFileWriter(config);
+        try (MmdWriter mmdWriter = createMmdWriter(writer)) {
+            final TimingRegistry.Phase extractPhase = TimingRegistry.getInstance().start("extract");
+            try {
+                writeMmdFile(mmdWriter, matchupIdToRecordIndexMap);
+            } finally {
+                extractPhase.stop();
+            }
+        }
+    }
+
+    /**
+     * Sets a reader cache shared with other tools. Must be called before the tool is initialized,
+     * otherwise the tool creates a reader cache of its own. A shared reader cache is not cleared
+     * when the tool has finished.
+     *
+     * @param readerCache The reader cache.
+     */
+    public void setReaderCache(ReaderCache readerCache) {
+        this.readerCache = readerCache;
+    }
+
     /**
      * Writes MMD by having the input files in the outermost loop to avoid re-opening them.
      *
@@ -144,68 +185,190 @@ public class MmdTool extends BasicTool {
         final MatchupStorage matchupStorage = persistenceManager.getMatchupStorage();
         final Configuration config = getConfig();
 
-        for (String sensorName : sensorNames) {
-            final List<Matchup> matchups = getMatchupsFromDb(matchupStorage, config, sensorName);
+        final int fetchSize = config.getIntValue(Configuration.KEY_MMS_MMD_FETCH_SIZE, 1000);
 
-            for (final Matchup matchup : matchups) {
-                try {
-                    final Integer recordNo = matchupIdToRecordIndexMap.get(matchup.getId());
-                    if (recordNo == null) {
-                        logger.warning(
-                                String.format("skipping matchup %s for update - not found in MMD", matchup.getId()));
+        for (String sensorName : sensorNames) {
+            final List<Variable> variables = sensorMap.get(sensorName);
+            final List<MatchupRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            try (MatchupCursor matchups = getMatchupsFromDb(matchupStorage, config, sensorName, fetchSize)) {
+                int count = 0;
+                while (matchups.hasNext()) {
+                    final Matchup matchup = matchups.next();
+                    count++;
+                    final MatchupRecord record = createMatchupRecord(matchupIdToRecordIndexMap, sensorName, matchup);
+                    if (record == null) {
                         continue;
                     }
-
-                    final int targetRecordNo = recordNo;
-
-                    final ReferenceObservation referenceObservation = matchup.getRefObs();
-                    final Observation observation = findObservation(sensorName, matchup, getPersistenceManager());
-                    final List<Variable> variables = sensorMap.get(sensorName);
-                    final boolean accurateCoincidence = observation != null && isAccurateCoincidence(referenceObservation, observation);
-
-                    for (final Variable variable : variables) {
-                        if (observation != null) {
-                            if (!accurateCoincidence) {
-                                continue;
-                            }
-                        }
-                        final Item targetColumn = columnRegistry.getColumn(variable.getShortName());
-                        final Item sourceColumn = columnRegistry.getSourceColumn(targetColumn);
-                        if ("Implicit".equals(sourceColumn.getName())) {
-                            final Context context = new ContextBuilder(readerCache)
-                                    .matchup(matchup)
-                                    .observation(observation)
-                                    .targetVariable(variable)
-                                    .dimensionConfiguration(dimensionConfiguration)
-                                    .configuration(getConfig())
-                                    .build();
-                            writeImplicitColumn(mmdWriter, variable, targetRecordNo, targetColumn, context);
-                        } else {
-                            if (observation != null) {
-                                writeColumn(mmdWriter, variable, targetRecordNo, targetColumn, sourceColumn,
-                                        observation,
-                                        referenceObservation);
-                            }
-                        }
+                    if (!batch.isEmpty() && (batch.size() == MAX_BATCH_SIZE || !isSameFile(batch.get(0), record))) {
+                        writeMatchups(mmdWriter, variables, selectAccurateCoincidences(batch));
+                        batch.clear();
                     }
-                    persistenceManager.detach(matchup);
-                    if (observation != null) {
-                        persistenceManager.detach(observation);
-                    }
-                    if (referenceObservation != null) {
-                        persistenceManager.detach(referenceObservation);
+                    batch.add(record);
+                }
+                if (!batch.isEmpty()) {
+                    writeMatchups(mmdWriter, variables, selectAccurateCoincidences(batch));
+                }
+                logger.info(String.format("%d matchups processed for %s", count, sensorName));
+            }
+        }
+    }
+
+    /**
+     * Looks up the MMD record and the observation of a matchup.
+     *
+     * @return the matchup record, or {@code null} if the matchup is not in the MMD.
+     */
+    private MatchupRecord createMatchupRecord(Map<Integer, Integer> matchupIdToRecordIndexMap, String sensorName,
+                                              Matchup matchup) {
+        final Integer recordNo = matchupIdToRecordIndexMap.get(matchup.getId());
+        if (recordNo == null) {
+            logger.warning(
+                    String.format("skipping matchup %s for update - not found in MMD", matchup.getId()));
+            getPersistenceManager().detach(matchup);
+            return null;
+        }
+
+        final ReferenceObservation referenceObservation = matchup.getRefObs();
+        final Observation observation = findObservation(sensorName, matchup, getPersistenceManager());
+        return new MatchupRecord(matchup, recordNo, referenceObservation, observation);
+    }
+
+    /**
+     * Selects the matchups of a batch whose observation contains the reference observation, or
+     * which have no observation. The other matchups are detached. The observations of a batch are
+     * in the same file, so the locations of all reference observations whose observations share a
+     * geo-coding are tested at once.
+     */
+    private List<MatchupRecord> selectAccurateCoincidences(List<MatchupRecord> batch) {
+        final List<MatchupRecord> selected = new ArrayList<>(batch.size());
+        final List<MatchupRecord> located = new ArrayList<>(batch.size());
+        Reader observationReader = null;
+        GeoCoding locatedGeoCoding = null;
+        for (final MatchupRecord record : batch) {
+            if (record.observation == null) {
+                selected.add(record);
+                continue;
+            }
+            try {
+                if (observationReader == null) {
+                    observationReader = readerCache.getReader(record.observation.getDatafile());
+                }
+            } catch (IOException e) {
+                final String message = MessageFormat.format("matchup {0}: {1}",
+                        record.matchup.getId(),
+                        e.getMessage());
+                throw new ToolException(message, e, ToolException.TOOL_IO_ERROR);
+            }
+            final GeoCoding geoCoding;
+            try {
+                geoCoding = observationReader.getGeoCoding(record.observation.getRecordNo());
+            } catch (IOException e) {
+                throw new ToolException("Unable to get geo coding.", e, ToolException.TOOL_ERROR);
+            }
+            if (geoCoding == null) {
+                selected.add(record);
+                continue;
+            }
+            if (geoCoding != locatedGeoCoding) {
+                testLocations(observationReader, locatedGeoCoding, located, selected);
+                located.clear();
+                locatedGeoCoding = geoCoding;
+            }
+            located.add(record);
+        }
+        testLocations(observationReader, locatedGeoCoding, located, selected);
+        return selected;
+    }
+
+    private void testLocations(Reader observationReader, GeoCoding geoCoding, List<MatchupRecord> records,
+                               List<MatchupRecord> selected) {
+        final int count = records.size();
+        if (count == 0) {
+            return;
+        }
+        final double[] lons = new double[count];
+        final double[] lats = new double[count];
+        for (int i = 0; i < count; i++) {
+            final Point point = records.get(i).referenceObservation.getPoint().getGeometry().getFirstPoint();
+            lons[i] = point.x;
+            lats[i] = point.y;
+        }
+        final double[] pixelXs = new double[count];
+        final double[] pixelYs = new double[count];
+        final int numCols = observationReader.getElementCount();
+        final int numRows = observationReader.getScanLineCount();
+        LocationTest.invoke(lons, lats, numCols, numRows, geoCoding, pixelXs, pixelYs);
+
+        for (int i = 0; i < count; i++) {
+            final MatchupRecord record = records.get(i);
+            if (Double.isNaN(pixelXs[i])) {
+                final String msg = String.format(
+                        "Observation (id=%d) does not contain reference observation (id=%d) and is ignored.",
+                        record.observation.getId(), record.referenceObservation.getId());
+                logger.warning(msg);
+                detach(record);
+            } else {
+                selected.add(record);
+            }
+        }
+    }
+
+    /**
+     * Writes the variables of a sensor for a batch of matchups, whose observations are in the
+     * same file. The explicit columns are read for the whole batch at once.
+     */
+    private void writeMatchups(MmdWriter mmdWriter, List<Variable> variables, List<MatchupRecord> batch) {
+        for (final Variable variable : variables) {
+            final Item targetColumn = columnRegistry.getColumn(variable.getShortName());
+            final Item sourceColumn = columnRegistry.getSourceColumn(targetColumn);
+            if ("Implicit".equals(sourceColumn.getName())) {
+                for (final MatchupRecord record : batch) {
+                    final Context context = new ContextBuilder(readerCache)
+                            .matchup(record.matchup)
+                            .observation(record.observation)
+                            .targetVariable(variable)
+                            .dimensionConfiguration(dimensionConfiguration)
+                            .configuration(getConfig())
+                            .build();
+                    writeImplicitColumn(mmdWriter, variable, record.recordNo, targetColumn, context);
+                }
+            } else {
+                final List<MatchupRecord> records = new ArrayList<>(batch.size());
+                for (final MatchupRecord record : batch) {
+                    if (record.observation != null) {
+                        records.add(record);
                     }
-                } catch (IOException e) {
-                    final String message = MessageFormat.format("matchup {0}: {1}",
-                            matchup.getId(),
-                            e.getMessage());
-                    throw new ToolException(message, e, ToolException.TOOL_IO_ERROR);
+                }
+                if (!records.isEmpty()) {
+                    writeColumn(mmdWriter, variable, targetColumn, sourceColumn, records);
                 }
             }
         }
+        for (final MatchupRecord record : batch) {
+            detach(record);
+        }
+    }
+
+    private void detach(MatchupRecord record) {
+        final PersistenceManager persistenceManager = getPersistenceManager();
+        persistenceManager.detach(record.matchup);
+        if (record.observation != null) {
+            persistenceManager.detach(record.observation);
+        }
+        if (record.referenceObservation != null) {
+            persistenceManager.detach(record.referenceObservation);
+        }
+    }
+
+    private static boolean isSameFile(MatchupRecord record1, MatchupRecord record2) {
+        if (record1.observation == null || record2.observation == null) {
+            return record1.observation == record2.observation;
+        }
+        return record1.observation.getDatafile().getPath().equals(record2.observation.getDatafile().getPath());
     }
 
-    private List<Matchup> getMatchupsFromDb(MatchupStorage matchupStorage, Configuration config, String sensorName) {
+    private MatchupCursor getMatchupsFromDb(MatchupStorage matchupStorage, Configuration config, String sensorName,
+                                            int fetchSize) {
         logger.info(String.format("going to retrieve matchups for %s", sensorName));
 
         final MatchupQueryParameter parameter = new MatchupQueryParameter();
@@ -215,10 +378,9 @@ public class MmdTool extends BasicTool {
         parameter.setCondition(getCondition(config));
         parameter.setPattern(getPattern(config));
 
-        final List<Matchup> matchups = matchupStorage.getForMmd(parameter);
-
-        logger.info(String.format("%d matchups retrieved for %s", matchups.size(), sensorName));
-        return matchups;
+        // the matchup index does not know the files of the sensors, so the matchups ordered by
+        // file are always retrieved from the database, even if the record map used the index
+        return matchupStorage.getCursorForMmd(parameter, fetchSize);
     }
 
     private Map<Integer, Integer> createMatchupIdToRecordIndexMap() {
@@ -226,6 +388,24 @@ public class MmdTool extends BasicTool {
         final PersistenceManager persistenceManager = getPersistenceManager();
         final MatchupStorage matchupStorage = persistenceManager.getMatchupStorage();
         final MatchupQueryParameter queryParameter = createMatchupQueryParameter(config);
+        final MatchupPatternIndex index = readMatchupPatternIndex(config, queryParameter);
+        if (index != null) {
+            final Date startDate = queryParameter.getStartDate();
+            final Date stopDate = queryParameter.getStopDate();
+            if (matchupStorage.isPatternIndexCurrent(index, startDate, stopDate)) {
+                final int[] matchupIds = index.getMatchupIds(startDate.getTime(), stopDate.getTime(),
+                                                             queryParameter.getPattern());
+                logger.info(String.format("%d matchups retrieved from matchup index", matchupIds.length));
+
+                final Map<Integer, Integer> matchupIdToRecordIndexMap = new HashMap<>(matchupIds.length);
+                for (int i = 0; i < matchupIds.length; ++i) {
+                    matchupIdToRecordIndexMap.put(matchupIds[i], i);
+                }
+                return matchupIdToRecordIndexMap;
+            }
+            // matchups have been added, removed or re-ingested by a tool not updating the index
+            logger.warning("Matchup index is outdated, retrieving matchups from database");
+        }
         final List<Matchup> matchups = matchupStorage.get(queryParameter);
         logger.info(String.format("%d matchups retrieved", matchups.size()));
 
@@ -236,6 +416,16 @@ public class MmdTool extends BasicTool {
         return matchupIdToRecordIndexMap;
     }
 
+    // package access for testing only
+    static MatchupPatternIndex readMatchupPatternIndex(Configuration config, MatchupQueryParameter parameter) {
+        final String indexPath = config.getStringValue(Configuration.KEY_MMS_MATCHUP_INDEX, null);
+        if (indexPath == null || parameter.getCondition() != null) {
+            // arbitrary SQL conditions can only be applied by the database
+            return null;
+        }
+        return MatchupPatternIndex.read(new File(indexPath));
+    }
+
 
     private Map<String, List<Variable>> createVariableSensorMap(List<Variable> mmdVariables) {
         final Map<String, List<Variable>> variableSensorMap = new HashMap<>();
@@ -256,45 +446,23 @@ public class MmdTool extends BasicTool {
         registerTargetColumns(config);
     }
 
-    private boolean isAccurateCoincidence(ReferenceObservation refObs, Observation observation) throws IOException {
-        final Reader observationReader = readerCache.getReader(observation.getDatafile());
-        final GeoCoding geoCoding;
-        try {
-            geoCoding = observationReader.getGeoCoding(observation.getRecordNo());
-        } catch (IOException e) {
-            throw new ToolException("Unable to get geo coding.", e, ToolException.TOOL_ERROR);
-        }
-        if (geoCoding == null) {
-            return true;
-        }
-
-        final Point point = refObs.getPoint().getGeometry().getFirstPoint();
-        final double lat = point.y;
-        final double lon = point.x;
-        final int numCols = observationReader.getElementCount();
-        final int numRows = observationReader.getScanLineCount();
-        final LocationTest test = new LocationTest(lon, lat, numCols, numRows, geoCoding).invoke();
-
-        if (!test.isOK()) {
-            final String msg = String.format(
-                    "Observation (id=%d) does not contain reference observation (id=%d) and is ignored.", observation.getId(), refObs.getId());
-            logger.warning(msg);
-            return false;
-        }
-
-        return true;
-    }
-
     private void writeImplicitColumn(MmdWriter mmdWriter, Variable variable, int targetRecordNo, Item targetColumn,
                                      Context context) {
         try {
             final Converter converter = columnRegistry.getConverter(targetColumn);
             converter.setContext(context);
-            final Array targetArray = converter.apply(null);
+            final Array targetArray;
+            final TimingRegistry.Phase convertPhase = TimingRegistry.getInstance().start("convert");
+            try {
+                targetArray = converter.apply(null);
+            } finally {
+                final long nanos = convertPhase.stop();
+                PipelineEvents.ruleApplied(targetColumn.getName(), null, nanos);
+            }
             if (targetArray != null) {
                 final int[] targetStart = new int[variable.getRank()];
                 targetStart[0] = targetRecordNo;
-                mmdWriter.write(variable, targetStart, targetArray);
+                write(mmdWriter, variable, targetStart, targetArray);
             }
         } catch (IOException e) {
             final String message = MessageFormat.format("matchup {0}: {1}", context.getMatchup().getId(), e.getMessage());
@@ -305,37 +473,79 @@ public class MmdTool extends BasicTool {
         }
     }
 
-    private void writeColumn(MmdWriter mmdWriter, Variable variable, int i, Item targetColumn, Item sourceColumn,
-                             Observation observation, ReferenceObservation refObs) {
-        try {
-            final Reader reader = readerCache.getReader(observation.getDatafile());
-            final String role = sourceColumn.getRole();
+    private void writeColumn(MmdWriter mmdWriter, Variable variable, Item targetColumn, Item sourceColumn,
+                             List<MatchupRecord> records) {
+        final String role = sourceColumn.getRole();
+        final List<ExtractDefinition> extractDefinitions = new ArrayList<>(records.size());
+        for (final MatchupRecord record : records) {
             final ExtractDefinitionBuilder builder = new ExtractDefinitionBuilder()
-                    .referenceObservation(refObs)
-                    .recordNo(observation.getRecordNo())
+                    .referenceObservation(record.referenceObservation)
+                    .recordNo(record.observation.getRecordNo())
                     .shape(variable.getShape())
                     .fillValue(targetColumn.getFillValue());
-            if (observation instanceof InsituObservation) {
+            if (record.observation instanceof InsituObservation) {
                 final int halfExtractDuration = getConfig().getIntValue(Configuration.KEY_MMS_SAMPLING_EXTRACTION_TIME);
                 builder.halfExtractDuration(halfExtractDuration);
             }
-            final ExtractDefinition extractDefinition = builder.build();
-            final Array sourceArray = reader.read(role, extractDefinition);
+            extractDefinitions.add(builder.build());
+        }
+
+        final Reader reader;
+        final List<Array> sourceArrays;
+        try {
+            reader = readerCache.getReader(records.get(0).observation.getDatafile());
+            final TimingRegistry.Phase readPhase = TimingRegistry.getInstance().start("read");
+            try {
+                sourceArrays = reader.read(role, extractDefinitions);
+            } finally {
+                final long nanos = readPhase.stop();
+                PipelineEvents.variableExtracted(role, extractDefinitions.get(0).getShape(), nanos);
+            }
+        } catch (IOException e) {
+            if (records.size() > 1) {
+                // read the records one by one, so only the observations that cannot be read are skipped
+                for (final MatchupRecord record : records) {
+                    writeColumn(mmdWriter, variable, targetColumn, sourceColumn, Collections.singletonList(record));
+                }
+            } else {
+                final String message = MessageFormat.format("observation {0}: {1}", records.get(0).observation.getId(),
+                                                            e.getMessage());
+                logger.warning(message);
+            }
+            return;
+        }
+        for (int i = 0; i < records.size(); i++) {
+            writeColumn(mmdWriter, variable, targetColumn, sourceColumn, reader, records.get(i), sourceArrays.get(i));
+        }
+    }
+
+    private void writeColumn(MmdWriter mmdWriter, Variable variable, Item targetColumn, Item sourceColumn,
+                             Reader reader, MatchupRecord record, Array sourceArray) {
+        final Observation observation = record.observation;
+        try {
             if (sourceArray != null) {
                 if (logger.isLoggable(Level.FINE)) {
                     logger.fine(MessageFormat.format("source column: {0}, {1}", sourceColumn.getName(), sourceColumn.getRole()));
                 }
 
+                final String role = sourceColumn.getRole();
                 sourceColumn = reader.getColumn(role);
                 if (sourceColumn == null) {
                     throw new IllegalStateException(MessageFormat.format("Unknown role ''{0}''.", role));
                 }
                 final Converter converter = columnRegistry.getConverter(targetColumn, sourceColumn);
-                final Array targetArray = converter.apply(sourceArray);
+                final Array targetArray;
+                final TimingRegistry.Phase convertPhase = TimingRegistry.getInstance().start("convert");
+                try {
+                    targetArray = converter.apply(sourceArray);
+                } finally {
+                    final long nanos = convertPhase.stop();
+                    PipelineEvents.ruleApplied(targetColumn.getName(), sourceColumn.getName(), nanos);
+                }
 
                 final int[] targetStart = new int[variable.getRank()];
-                targetStart[0] = i;
-                mmdWriter.write(variable, targetStart, targetArray);
+                targetStart[0] = record.recordNo;
+                write(mmdWriter, variable, targetStart, targetArray);
             }
         } catch (IOException e) {
             final String message = MessageFormat.format("observation {0}: {1}", observation.getId(), e.getMessage());
@@ -346,6 +556,16 @@ public class MmdTool extends BasicTool {
         }
     }
 
+    private static void write(MmdWriter mmdWriter, Variable variable, int[] targetStart, Array targetArray)
+            throws IOException, InvalidRangeException {
+        final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("write");
+        try {
+            mmdWriter.write(variable, targetStart, targetArray);
+        } finally {
+            phase.stop();
+        }
+    }
+
     static TreeSet<String> getDimensionNames(List<String> targetColumnNames, ColumnRegistry columnRegistry) {
         final TreeSet<String> dimensionNames = new TreeSet<>();
         for (final String name : targetColumnNames) {
@@ -481,4 +701,20 @@ public class MmdTool extends BasicTool {
 
         return variableList;
     }
+
+    private static final class MatchupRecord {
+
+        private final Matchup matchup;
+        private final int recordNo;
+        private final ReferenceObservation referenceObservation;
+        private final Observation observation;
+
+        private MatchupRecord(Matchup matchup, int recordNo, ReferenceObservation referenceObservation,
+                              Observation observation) {
+            this.matchup = matchup;
+            this.recordNo = recordNo;
+            this.referenceObservation = referenceObservation;
+            this.observation = observation;
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.esa.cci.sst.tools.Constants;
 import org.esa.cci.sst.util.NetCDFUtil;
 import org.esa.cci.sst.util.ProcessRunner;
 import org.esa.cci.sst.util.SensorNames;
+import org.esa.cci.sst.util.TimingRegistry;
 import ucar.ma2.Array;
 import ucar.ma2.DataType;
 import ucar.ma2.InvalidRangeException;
@@ -92,6 +93,7 @@ class NwpTool extends BasicTool {
             }
             tool.initialize();
             tool.run();
+            tool.reportTimings();
         } catch (ToolException e) {
             tool.getErrorHandler().terminate(e);
         } catch (Exception e) {
@@ -134,10 +136,18 @@ class NwpTool extends BasicTool {
         dimensions.load(new BufferedReader(new FileReader(dimensionFilePath)));
         logger.info(MessageFormat.format("completed loading dimensions from file: {0}", dimensionFilePath));
 
+        final TimingRegistry timingRegistry = TimingRegistry.getInstance();
+
         if (forSensor) {
             logger.info(MessageFormat.format("extracting matchups from source file: {0}", sourceMmdLocation));
-            final String sensorMmdLocation = writeSingleSensorMmdFile(sourceMmdLocation, sensorName, sensorPattern,
-                    deleteOnExit);
+            final String sensorMmdLocation;
+            TimingRegistry.Phase phase = timingRegistry.start("extractMatchups");
+            try {
+                sensorMmdLocation = writeSingleSensorMmdFile(sourceMmdLocation, sensorName, sensorPattern,
+                        deleteOnExit);
+            } finally {
+                phase.stop();
+            }
             logger.info(MessageFormat.format("completed extracting matchups from source file: {0}", sourceMmdLocation));
 
             if (sensorMmdLocation == null) {
@@ -149,7 +159,12 @@ class NwpTool extends BasicTool {
 
 
             logger.info(MessageFormat.format("extracting NWP data for source file: {0}", sensorMmdLocation));
-            writeSensorNwpFile(sensorMmdLocation, dimensions);
+            phase = timingRegistry.start("sensorNwp");
+            try {
+                writeSensorNwpFile(sensorMmdLocation, dimensions);
+            } finally {
+                phase.stop();
+            }
             logger.info(MessageFormat.format("completed extracting NWP data for source file: {0}", sensorMmdLocation));
         } else {
             final int analysisTimeStepCount = Integer.parseInt(dimensions.getProperty("matchup.nwp.an.time"));
@@ -157,21 +172,38 @@ class NwpTool extends BasicTool {
 
             logger.info(
                     MessageFormat.format("extracting NWP analysis data for source file: {0}", sourceMmdLocation));
-            final String analysisFileLocation = createAnalysisFile(sourceMmdLocation);
+            final String analysisFileLocation;
+            TimingRegistry.Phase phase = timingRegistry.start("analysis");
+            try {
+                analysisFileLocation = createAnalysisFile(sourceMmdLocation);
+            } finally {
+                phase.stop();
+            }
             logger.info(
                     MessageFormat.format("completed extracting NWP analysis data for source file: {0}",
                             sourceMmdLocation));
 
             logger.info(
                     MessageFormat.format("extracting NWP forecast data for source file: {0}", sourceMmdLocation));
-            final String forecastFileLocation = createForecastFile(sourceMmdLocation);
+            final String forecastFileLocation;
+            phase = timingRegistry.start("forecast");
+            try {
+                forecastFileLocation = createForecastFile(sourceMmdLocation);
+            } finally {
+                phase.stop();
+            }
             logger.info(
                     MessageFormat.format("completed extracting NWP forecast data for source file: {0}",
                             sourceMmdLocation));
 
             logger.info(MessageFormat.format("writing matchup NWP data for source file: {0}", sourceMmdLocation));
-            writeMatchupNwpFile(sourceMmdLocation, forecastFileLocation, analysisFileLocation,
-                    targetNwpLocation, forecastTimeStepCount, analysisTimeStepCount);
+            phase = timingRegistry.start("matchupNwp");
+            try {
+                writeMatchupNwpFile(sourceMmdLocation, forecastFileLocation, analysisFileLocation,
+                        targetNwpLocation, forecastTimeStepCount, analysisTimeStepCount);
+            } finally {
+                phase.stop();
+            }
             logger.info(MessageFormat.format("completed writing matchup NWP data for source file: {0}", sourceMmdLocation));
         }
     }
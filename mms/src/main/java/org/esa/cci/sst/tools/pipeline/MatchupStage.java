@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tools.MatchupGenerator;
+import org.esa.cci.sst.util.TimeUtil;
+
+/**
+ * The stage generating the matchups for the sampling points of a time slice, like
+ * {@code clearsky-run.sh}. The matchups previously generated for the time slice are removed.
+ *
+ * @author agent
+ */
+class MatchupStage extends ToolStage<MatchupGenerator> {
+
+    @Override
+    MatchupGenerator createTool() {
+        return new MatchupGenerator();
+    }
+
+    @Override
+    void configure(Configuration config, TimeSlice slice) {
+        config.put(Configuration.KEY_MMS_SAMPLING_START_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStartDate()));
+        config.put(Configuration.KEY_MMS_SAMPLING_STOP_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStopDate()));
+        // a complete cleanup would remove the matchups of the other time slices
+        config.put(Configuration.KEY_MMS_SAMPLING_CLEANUP, "false");
+        config.put(Configuration.KEY_MMS_SAMPLING_CLEANUP_INTERVAL, "true");
+    }
+
+    @Override
+    void run(MatchupGenerator tool) throws Exception {
+        tool.run();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.log.SstLogging;
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tools.mmdgeneration.MmdTool;
+import org.esa.cci.sst.util.ReaderCache;
+import org.esa.cci.sst.util.TimeUtil;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The stage writing the MMD file of a time slice, like {@code mmd-run.sh}. The name of the MMD
+ * file is the configured target file name with the name of the time slice appended. The stage
+ * uses a reader cache shared with all time slices. The cached readers are not thread-safe, so
+ * the stage must not process time slices concurrently.
+ *
+ * @author agent
+ */
+class MmdStage extends ToolStage<MmdTool> {
+
+    private static final String READER_CACHE = "readerCache";
+
+    @Override
+    MmdTool createTool() {
+        return new MmdTool();
+    }
+
+    @Override
+    void configure(Configuration config, TimeSlice slice) {
+        config.put(Configuration.KEY_MMS_MMD_TARGET_START_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStartDate()));
+        config.put(Configuration.KEY_MMS_MMD_TARGET_STOP_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStopDate()));
+        config.put(Configuration.KEY_MMS_MMD_TARGET_FILENAME,
+                   getSliceFileName(config.getStringValue(Configuration.KEY_MMS_MMD_TARGET_FILENAME), slice));
+    }
+
+    @Override
+    void prepare(MmdTool tool, PipelineContext context) throws Exception {
+        tool.setReaderCache(getReaderCache(context));
+    }
+
+    @Override
+    void run(MmdTool tool) throws Exception {
+        tool.run();
+    }
+
+    // package access for testing only
+    static ReaderCache getReaderCache(final PipelineContext context) throws Exception {
+        return context.getResource(READER_CACHE, ReaderCache.class, new Callable<ReaderCache>() {
+            @Override
+            public ReaderCache call() {
+                final Configuration config = context.getConfig();
+                final int readerCacheSize = config.getIntValue(Configuration.KEY_MMS_MMD_READER_CACHE_SIZE, 10);
+                return new ReaderCache(readerCacheSize, config, SstLogging.getLogger());
+            }
+        });
+    }
+
+    // package access for testing only
+    static String getSliceFileName(String fileName, TimeSlice slice) {
+        final int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex <= 0) {
+            return fileName + "-" + slice.getName();
+        }
+        return fileName.substring(0, extensionIndex) + "-" + slice.getName() + fileName.substring(extensionIndex);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stages of the MMS pipeline and their dependencies. The dependencies of a stage apply to
+ * the same time slice: a stage processes a time slice when all stages it depends on have
+ * processed this time slice. Stages must be added after the stages they depend on, so the
+ * dependency graph is acyclic by construction.
+ *
+ * @author agent
+ */
+public final class Pipeline {
+
+    private final Map<String, StageDefinition> stages = new LinkedHashMap<>();
+
+    /**
+     * Adds a stage.
+     *
+     * @param name           The name of the stage.
+     * @param stage          The stage.
+     * @param memoryMb       The memory used by the stage while processing a time slice (MB).
+     * @param maxConcurrency The maximum number of time slices the stage may process concurrently,
+     *                       e.g. {@code 1} for a stage writing to the database.
+     * @param dependencies   The names of the stages this stage depends on.
+     *
+     * @return this pipeline.
+     */
+    public Pipeline addStage(String name, PipelineStage stage, int memoryMb, int maxConcurrency,
+                             String... dependencies) {
+        if (name == null || name.isEmpty() || name.contains("\t") || name.contains("\n")) {
+            throw new IllegalArgumentException("Illegal stage name: " + name);
+        }
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate stage: " + name);
+        }
+        if (memoryMb < 0) {
+            throw new IllegalArgumentException("Memory must not be negative.");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive.");
+        }
+        for (final String dependency : dependencies) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException(
+                        "Stage '" + name + "' depends on unknown stage '" + dependency + "'.");
+            }
+        }
+        stages.put(name, new StageDefinition(name, stage, memoryMb, maxConcurrency, dependencies));
+        return this;
+    }
+
+    /**
+     * Returns the stages, in the order they were added.
+     *
+     * @return the stages.
+     */
+    public List<StageDefinition> getStages() {
+        return Collections.unmodifiableList(new ArrayList<>(stages.values()));
+    }
+
+    /**
+     * The definition of a stage within a pipeline.
+     */
+    public static final class StageDefinition {
+
+        private final String name;
+        private final PipelineStage stage;
+        private final int memoryMb;
+        private final int maxConcurrency;
+        private final List<String> dependencies;
+
+        private StageDefinition(String name, PipelineStage stage, int memoryMb, int maxConcurrency,
+                                String[] dependencies) {
+            this.name = name;
+            this.stage = stage;
+            this.memoryMb = memoryMb;
+            this.maxConcurrency = maxConcurrency;
+            this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies.clone()));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public PipelineStage getStage() {
+            return stage;
+        }
+
+        public int getMemoryMb() {
+            return memoryMb;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.log.SstLogging;
+import org.esa.cci.sst.tool.Configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * The context shared by all stages of a pipeline run. Besides the configuration, the context
+ * holds shared resources such as the reader cache of the MMD stage, which are created once and
+ * reused by all stages and time slices processed in the same JVM. Shared resources are accessed
+ * concurrently and must be thread-safe.
+ *
+ * @author agent
+ */
+public final class PipelineContext implements Closeable {
+
+    private final Configuration config;
+    private final Map<String, Object> resources;
+    private final List<Closeable> closeables;
+
+    public PipelineContext(Configuration config) {
+        this.config = config;
+        resources = new HashMap<>();
+        closeables = new ArrayList<>();
+    }
+
+    public Configuration getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns a shared resource, which is created on first access. Resources implementing
+     * {@link Closeable} are closed when the context is closed.
+     *
+     * @param name    The name of the resource.
+     * @param type    The type of the resource.
+     * @param factory The factory creating the resource.
+     *
+     * @return the resource.
+     *
+     * @throws Exception if the resource could not be created.
+     */
+    public synchronized <T> T getResource(String name, Class<T> type, Callable<? extends T> factory)
+            throws Exception {
+        final Object resource = resources.get(name);
+        if (resource != null) {
+            return type.cast(resource);
+        }
+        final T newResource = factory.call();
+        resources.put(name, newResource);
+        if (newResource instanceof Closeable) {
+            closeables.add((Closeable) newResource);
+        }
+        return newResource;
+    }
+
+    /**
+     * Closes the shared resources in reverse order of creation. Failures are logged.
+     */
+    @Override
+    public synchronized void close() {
+        for (int i = closeables.size() - 1; i >= 0; i--) {
+            try {
+                closeables.get(i).close();
+            } catch (IOException e) {
+                SstLogging.getLogger().warning("Cannot close shared resource: " + e.getMessage());
+            }
+        }
+        closeables.clear();
+        resources.clear();
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.log.SstLogging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the stages of a pipeline over a sequence of time slices in a single JVM, so warm caches
+ * held by the {@link PipelineContext} are reused across stages and time slices.
+ * <p/>
+ * Each stage processes each time slice once, after the stages it depends on have processed the
+ * time slice. Independent time slices are processed concurrently, earlier slices first. The
+ * number of concurrent tasks is limited by the parallelism, the memory budget, which must cover
+ * the memory declared by the running stages, and the maximum concurrency of each stage. A task
+ * declaring more memory than the budget runs alone.
+ * <p/>
+ * Completed tasks are recorded in a {@link StageJournal}. When the pipeline is run again, tasks
+ * recorded as completed are skipped, unless a stage they depend on must run again. When a task
+ * fails, the stages depending on it are not run for this time slice, but other time slices are
+ * processed further. This also holds for errors thrown by a stage.
+ *
+ * @author agent
+ */
+public class PipelineRunner {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final int parallelism;
+    private final long memoryBudgetMb;
+    private final Logger logger;
+
+    /**
+     * Creates a new runner using all available processors and three quarters of the maximum
+     * heap size as memory budget.
+     */
+    public PipelineRunner() {
+        this(Runtime.getRuntime().availableProcessors(), 3 * Runtime.getRuntime().maxMemory() / 4 / MB);
+    }
+
+    public PipelineRunner(int parallelism, long memoryBudgetMb) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (memoryBudgetMb < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative.");
+        }
+        this.parallelism = parallelism;
+        this.memoryBudgetMb = memoryBudgetMb;
+        logger = SstLogging.getLogger();
+    }
+
+    /**
+     * Runs a pipeline.
+     *
+     * @param pipeline The pipeline.
+     * @param slices   The time slices, in processing order.
+     * @param journal  The stage journal.
+     * @param context  The context shared by all stages.
+     *
+     * @return the result of the run.
+     *
+     * @throws IOException          if the journal could not be written.
+     * @throws InterruptedException if the run has been interrupted. Running tasks are interrupted.
+     */
+    public Result run(Pipeline pipeline, List<TimeSlice> slices, StageJournal journal, PipelineContext context)
+            throws IOException, InterruptedException {
+        final List<Task> pending = createTasks(pipeline, slices, journal);
+        final Result result = new Result(slices.size() * pipeline.getStages().size() - pending.size());
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory());
+        final CompletionService<Task> completionService = new ExecutorCompletionService<>(executorService);
+        final Map<String, Integer> runningPerStage = new HashMap<>();
+        long usedMemoryMb = 0;
+        int runningCount = 0;
+        try {
+            while (true) {
+                final Iterator<Task> iterator = pending.iterator();
+                while (iterator.hasNext() && runningCount < parallelism) {
+                    final Task task = iterator.next();
+                    if (task.remainingDependencyCount > 0) {
+                        continue;
+                    }
+                    final Pipeline.StageDefinition definition = task.definition;
+                    final int stageCount = getCount(runningPerStage, definition.getName());
+                    if (stageCount >= definition.getMaxConcurrency()) {
+                        continue;
+                    }
+                    final long memoryMb = Math.min(definition.getMemoryMb(), memoryBudgetMb);
+                    if (usedMemoryMb + memoryMb > memoryBudgetMb && runningCount > 0) {
+                        continue;
+                    }
+                    iterator.remove();
+                    runningPerStage.put(definition.getName(), stageCount + 1);
+                    usedMemoryMb += memoryMb;
+                    runningCount++;
+                    logger.info(String.format("Starting stage '%s' for time slice '%s'", task.getStageName(),
+                                              task.slice.getName()));
+                    completionService.submit(new TaskCallable(task, context));
+                }
+                if (runningCount == 0) {
+                    break;
+                }
+
+                final Task task = completionService.take().get();
+                final Pipeline.StageDefinition definition = task.definition;
+                runningPerStage.put(definition.getName(), getCount(runningPerStage, definition.getName()) - 1);
+                usedMemoryMb -= Math.min(definition.getMemoryMb(), memoryBudgetMb);
+                runningCount--;
+
+                if (task.failure == null) {
+                    journal.setCompleted(task.getStageName(), task.slice);
+                    result.executedCount++;
+                    logger.info(String.format("Completed stage '%s' for time slice '%s' in %.3f s",
+                                              task.getStageName(), task.slice.getName(), task.nanos * 1.0e-9));
+                    for (final Task dependent : task.dependents) {
+                        dependent.remainingDependencyCount--;
+                    }
+                } else {
+                    result.failures.put(task.getName(), task.failure);
+                    logger.log(Level.WARNING, String.format("Stage '%s' failed for time slice '%s': %s",
+                                                            task.getStageName(), task.slice.getName(),
+                                                            task.failure.getMessage()), task.failure);
+                    block(task.dependents);
+                }
+            }
+        } catch (ExecutionException e) {
+            // task callables catch all throwables
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+        for (final Task task : pending) {
+            result.blocked.add(task.getName());
+        }
+        return result;
+    }
+
+    private static List<Task> createTasks(Pipeline pipeline, List<TimeSlice> slices, StageJournal journal) {
+        final List<Pipeline.StageDefinition> definitions = pipeline.getStages();
+        final List<Task> tasks = new ArrayList<>();
+        for (final TimeSlice slice : slices) {
+            final Map<String, Task> sliceTasks = new HashMap<>();
+            for (final Pipeline.StageDefinition definition : definitions) {
+                final Task task = new Task(definition, slice);
+                boolean completed = journal.isCompleted(definition.getName(), slice);
+                for (final String dependency : definition.getDependencies()) {
+                    final Task dependencyTask = sliceTasks.get(dependency);
+                    if (dependencyTask != null) {
+                        // a stage runs again when a stage it depends on runs again
+                        completed = false;
+                        dependencyTask.dependents.add(task);
+                        task.remainingDependencyCount++;
+                    }
+                }
+                if (!completed) {
+                    sliceTasks.put(definition.getName(), task);
+                    tasks.add(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    private static void block(List<Task> tasks) {
+        for (final Task task : tasks) {
+            if (task.remainingDependencyCount != Integer.MAX_VALUE) {
+                // blocked tasks remain pending and never become ready
+                task.remainingDependencyCount = Integer.MAX_VALUE;
+                block(task.dependents);
+            }
+        }
+    }
+
+    private static int getCount(Map<String, Integer> counts, String name) {
+        final Integer count = counts.get(name);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * The result of a pipeline run.
+     */
+    public static final class Result {
+
+        private final int skippedCount;
+        private final Map<String, Throwable> failures;
+        private final List<String> blocked;
+        private int executedCount;
+
+        private Result(int skippedCount) {
+            this.skippedCount = skippedCount;
+            failures = new LinkedHashMap<>();
+            blocked = new ArrayList<>();
+        }
+
+        /**
+         * Returns the number of tasks skipped because they were completed before.
+         *
+         * @return the number of skipped tasks.
+         */
+        public int getSkippedCount() {
+            return skippedCount;
+        }
+
+        /**
+         * Returns the number of tasks executed successfully.
+         *
+         * @return the number of executed tasks.
+         */
+        public int getExecutedCount() {
+            return executedCount;
+        }
+
+        /**
+         * Returns the failed tasks, named as in {@code <stage>/<slice>}, and their failures.
+         *
+         * @return the failed tasks.
+         */
+        public Map<String, Throwable> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * Returns the tasks not run because a stage they depend on has failed, named as in
+         * {@code <stage>/<slice>}.
+         *
+         * @return the blocked tasks.
+         */
+        public List<String> getBlocked() {
+            return Collections.unmodifiableList(blocked);
+        }
+
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+
+    private static final class Task {
+
+        private final Pipeline.StageDefinition definition;
+        private final TimeSlice slice;
+        private final List<Task> dependents;
+        private int remainingDependencyCount;
+        private Throwable failure;
+        private long nanos;
+
+        Task(Pipeline.StageDefinition definition, TimeSlice slice) {
+            this.definition = definition;
+            this.slice = slice;
+            dependents = new ArrayList<>();
+        }
+
+        String getStageName() {
+            return definition.getName();
+        }
+
+        String getName() {
+            return definition.getName() + "/" + slice.getName();
+        }
+    }
+
+    private static final class TaskCallable implements Callable<Task> {
+
+        private final Task task;
+        private final PipelineContext context;
+
+        TaskCallable(Task task, PipelineContext context) {
+            this.task = task;
+            this.context = context;
+        }
+
+        @Override
+        public Task call() {
+            final long startNanos = System.nanoTime();
+            try {
+                task.definition.getStage().run(task.slice, context);
+            } catch (Throwable t) {
+                // errors like an OutOfMemoryError fail this task only, other tasks may still succeed
+                task.failure = t;
+            }
+            task.nanos = System.nanoTime() - startNanos;
+            return task;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private int threadCount;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "pipeline-" + threadCount++);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+/**
+ * A stage of the MMS pipeline, such as ingestion, sampling-point generation, matchup generation
+ * or MMD writing. A stage processes one time slice per call and may be called for different
+ * time slices concurrently.
+ *
+ * @author agent
+ */
+public interface PipelineStage {
+
+    /**
+     * Processes a time slice.
+     *
+     * @param slice   The time slice.
+     * @param context The context shared by all stages of the pipeline run.
+     *
+     * @throws Exception if the time slice could not be processed.
+     */
+    void run(TimeSlice slice, PipelineContext context) throws Exception;
+}
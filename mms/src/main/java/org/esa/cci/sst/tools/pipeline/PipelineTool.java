@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tool.ToolException;
+import org.esa.cci.sst.tools.BasicTool;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tool running the sampling-point generation, the matchup generation and the MMD writing for
+ * the monthly time slices of a time range in a single JVM. Completed stages are recorded in a
+ * journal, so a failed or interrupted run can be resumed by running the tool again.
+ * <p/>
+ * The ingestion, the NWP and GBCS processing, the selection and the re-ingestion are not stages
+ * of this pipeline. They are configured per sensor and run external programs, so they are still
+ * run as separate jobs before and after this tool. Only the MMD stage shares a warm resource
+ * across time slices: its reader cache, whose readers keep their pixel locators. The sampling
+ * and matchup stages create their pixel locators for each time slice.
+ *
+ * @author agent
+ */
+public class PipelineTool extends BasicTool {
+
+    static final String SAMPLING = "sampling";
+    static final String MATCHUP = "matchup";
+    static final String MMD = "mmd";
+
+    // the memory used by the stages (MB), as by the heap sizes of the tool scripts
+    private static final int SAMPLING_MEMORY = 20480;
+    private static final int MATCHUP_MEMORY = 16384;
+    private static final int MMD_MEMORY = 16384;
+
+    private static final long MB = 1024L * 1024L;
+
+    public PipelineTool() {
+        super("pipeline-tool.sh", "1.0");
+    }
+
+    public static void main(String[] args) {
+        final PipelineTool tool = new PipelineTool();
+        try {
+            if (!tool.setCommandLineArgs(args)) {
+                tool.printHelp();
+                return;
+            }
+            tool.run();
+            tool.reportTimings();
+        } catch (ToolException e) {
+            tool.getErrorHandler().terminate(e);
+        } catch (Exception e) {
+            tool.getErrorHandler().terminate(new ToolException(e.getMessage(), e, ToolException.UNKNOWN_ERROR));
+        }
+    }
+
+    /**
+     * Runs the pipeline for the configured time range. Each stage connects to the database on
+     * its own, so this tool needs not be initialized.
+     *
+     * @throws IOException          if the journal could not be read or written.
+     * @throws InterruptedException if the run has been interrupted.
+     */
+    public void run() throws IOException, InterruptedException {
+        final Configuration config = getConfig();
+        final Date startDate = config.getDateValue(Configuration.KEY_MMS_PIPELINE_START_TIME);
+        final Date stopDate = config.getDateValue(Configuration.KEY_MMS_PIPELINE_STOP_TIME);
+        final List<TimeSlice> slices = TimeSlice.createMonthlySlices(startDate, stopDate);
+        final int parallelism = config.getIntValue(Configuration.KEY_MMS_PIPELINE_PARALLELISM,
+                                                   Runtime.getRuntime().availableProcessors());
+        final File journalFile = new File(config.getStringValue(Configuration.KEY_MMS_PIPELINE_JOURNAL,
+                                                                "pipeline.journal"));
+
+        final PipelineRunner runner = new PipelineRunner(parallelism, 3 * Runtime.getRuntime().maxMemory() / 4 / MB);
+        final PipelineRunner.Result result;
+        try (StageJournal journal = StageJournal.open(journalFile);
+             PipelineContext context = new PipelineContext(config)) {
+            result = runner.run(createPipeline(parallelism), slices, journal, context);
+        }
+
+        logger.info(String.format("%d stages executed, %d skipped as completed before",
+                                  result.getExecutedCount(), result.getSkippedCount()));
+        if (!result.isSuccessful()) {
+            for (final Map.Entry<String, Throwable> entry : result.getFailures().entrySet()) {
+                logger.severe(String.format("Stage '%s' failed: %s", entry.getKey(), entry.getValue().getMessage()));
+            }
+            throw new ToolException(String.format("%d stages failed, %d stages not run.",
+                                                  result.getFailures().size(), result.getBlocked().size()),
+                                    ToolException.TOOL_ERROR);
+        }
+    }
+
+    // package access for testing only
+    static Pipeline createPipeline(int parallelism) {
+        return new Pipeline()
+                .addStage(SAMPLING, new SamplingStage(), SAMPLING_MEMORY, parallelism)
+                .addStage(MATCHUP, new MatchupStage(), MATCHUP_MEMORY, parallelism, SAMPLING)
+                .addStage(MMD, new MmdStage(), MMD_MEMORY, 1, MATCHUP);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tools.SamplingPointGenerationTool;
+import org.esa.cci.sst.util.TimeUtil;
+
+/**
+ * The stage generating the sampling points of a time slice, like {@code sampling-run.sh}.
+ *
+ * @author agent
+ */
+class SamplingStage extends ToolStage<SamplingPointGenerationTool> {
+
+    @Override
+    SamplingPointGenerationTool createTool() {
+        return new SamplingPointGenerationTool();
+    }
+
+    @Override
+    void configure(Configuration config, TimeSlice slice) {
+        config.put(Configuration.KEY_MMS_SAMPLING_START_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStartDate()));
+        config.put(Configuration.KEY_MMS_SAMPLING_STOP_TIME, TimeUtil.formatCcsdsUtcFormat(slice.getStopDate()));
+    }
+
+    @Override
+    void run(SamplingPointGenerationTool tool) throws Exception {
+        tool.run();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.log.SstLogging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A journal of the time slices completed by each stage of a pipeline, which allows an
+ * interrupted or failed pipeline run to resume. The journal is a text file with one line
+ * {@code <stage>\t<slice>} per completed stage and time slice. Each line is forced to disk
+ * when written, and an incomplete last line left by a crash is ignored.
+ *
+ * @author agent
+ */
+public final class StageJournal implements Closeable {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private final Set<String> entries;
+    private FileOutputStream out;
+
+    /**
+     * Opens a journal. If the journal file exists, the completions recorded before are read.
+     *
+     * @param file The journal file.
+     *
+     * @return the journal.
+     *
+     * @throws IOException if the journal file could not be read or opened for writing.
+     */
+    public static StageJournal open(File file) throws IOException {
+        final Set<String> entries = new HashSet<>();
+        long validLength = 0;
+        if (file.isFile()) {
+            final String content;
+            try (InputStream in = new FileInputStream(file)) {
+                content = new String(readFully(in), UTF_8);
+            }
+            int lineStart = 0;
+            int lineEnd;
+            while ((lineEnd = content.indexOf('\n', lineStart)) >= 0) {
+                final String line = content.substring(lineStart, lineEnd);
+                if (line.indexOf('\t') > 0) {
+                    entries.add(line);
+                }
+                lineStart = lineEnd + 1;
+            }
+            validLength = content.substring(0, lineStart).getBytes(UTF_8).length;
+            if (lineStart < content.length()) {
+                SstLogging.getLogger().warning(
+                        String.format("Ignoring incomplete last line of stage journal '%s'", file.getPath()));
+            }
+        }
+        final FileOutputStream out = new FileOutputStream(file, true);
+        // an incomplete last line is truncated, so the next entry starts on a line of its own
+        out.getChannel().truncate(validLength);
+        return new StageJournal(file, entries, out);
+    }
+
+    private StageJournal(File file, Set<String> entries, FileOutputStream out) {
+        this.file = file;
+        this.entries = entries;
+        this.out = out;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns {@code true} if a stage has completed a time slice.
+     *
+     * @param stageName The name of the stage.
+     * @param slice     The time slice.
+     *
+     * @return {@code true} if the stage has completed the time slice, {@code false} otherwise.
+     */
+    public synchronized boolean isCompleted(String stageName, TimeSlice slice) {
+        return entries.contains(createEntry(stageName, slice));
+    }
+
+    /**
+     * Records that a stage has completed a time slice.
+     *
+     * @param stageName The name of the stage.
+     * @param slice     The time slice.
+     *
+     * @throws IOException if the completion could not be recorded.
+     */
+    public synchronized void setCompleted(String stageName, TimeSlice slice) throws IOException {
+        if (out == null) {
+            throw new IOException("Stage journal is closed: " + file.getPath());
+        }
+        final String entry = createEntry(stageName, slice);
+        if (entries.add(entry)) {
+            out.write((entry + "\n").getBytes(UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private static String createEntry(String stageName, TimeSlice slice) {
+        return stageName + "\t" + slice.getName();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.util.TimeUtil;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A time slice processed by the stages of the MMS pipeline, usually a month.
+ *
+ * @author agent
+ */
+public final class TimeSlice {
+
+    private final String name;
+    private final Date startDate;
+    private final Date stopDate;
+
+    public TimeSlice(String name, Date startDate, Date stopDate) {
+        if (name == null || name.isEmpty() || name.contains("\t") || name.contains("\n")) {
+            throw new IllegalArgumentException("Illegal time slice name: " + name);
+        }
+        if (!startDate.before(stopDate)) {
+            throw new IllegalArgumentException("Start date must be before stop date.");
+        }
+        this.name = name;
+        this.startDate = new Date(startDate.getTime());
+        this.stopDate = new Date(stopDate.getTime());
+    }
+
+    /**
+     * Creates the monthly time slices covering a time range. The first and last slice are
+     * truncated to the time range.
+     *
+     * @param startDate The start of the time range (inclusive).
+     * @param stopDate  The end of the time range (exclusive).
+     *
+     * @return the time slices, named by year and month as in {@code 2003-01}.
+     */
+    public static List<TimeSlice> createMonthlySlices(Date startDate, Date stopDate) {
+        final List<TimeSlice> slices = new ArrayList<>();
+        final Calendar calendar = TimeUtil.createUtcCalendar(startDate);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        while (calendar.getTime().before(stopDate)) {
+            final String name = String.format("%04d-%02d", calendar.get(Calendar.YEAR),
+                                              calendar.get(Calendar.MONTH) + 1);
+            final Date monthStartDate = calendar.getTime();
+            calendar.add(Calendar.MONTH, 1);
+            final Date monthStopDate = calendar.getTime();
+            slices.add(new TimeSlice(name,
+                                     monthStartDate.before(startDate) ? startDate : monthStartDate,
+                                     monthStopDate.after(stopDate) ? stopDate : monthStopDate));
+        }
+        return slices;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Date getStartDate() {
+        return new Date(startDate.getTime());
+    }
+
+    public Date getStopDate() {
+        return new Date(stopDate.getTime());
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.orm.PersistenceManager;
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tools.BasicTool;
+
+/**
+ * A pipeline stage running an MMS tool for a time slice. A new tool is created for each time
+ * slice. The tool is configured by the configuration of the pipeline, where the time range of
+ * the tool is replaced with the time slice.
+ *
+ * @author agent
+ */
+abstract class ToolStage<T extends BasicTool> implements PipelineStage {
+
+    @Override
+    public final void run(TimeSlice slice, PipelineContext context) throws Exception {
+        final T tool = createTool();
+        final Configuration config = tool.getConfig();
+        config.add(context.getConfig().getAsProperties());
+        configure(config, slice);
+        prepare(tool, context);
+        try {
+            tool.initialize();
+            run(tool);
+        } finally {
+            final PersistenceManager persistenceManager = tool.getPersistenceManager();
+            if (persistenceManager != null) {
+                persistenceManager.close();
+            }
+        }
+    }
+
+    /**
+     * Creates the tool.
+     *
+     * @return the tool.
+     */
+    abstract T createTool();
+
+    /**
+     * Sets the time range of the tool to a time slice.
+     *
+     * @param config The configuration of the tool.
+     * @param slice  The time slice.
+     */
+    abstract void configure(Configuration config, TimeSlice slice);
+
+    /**
+     * Passes shared resources to the tool before it is initialized. Does nothing by default.
+     *
+     * @param tool    The tool.
+     * @param context The pipeline context.
+     *
+     * @throws Exception if a shared resource could not be created.
+     */
+    void prepare(T tool, PipelineContext context) throws Exception {
+    }
+
+    /**
+     * Runs the initialized tool.
+     *
+     * @param tool The tool.
+     *
+     * @throws Exception if the tool failed.
+     */
+    abstract void run(T tool) throws Exception;
+}
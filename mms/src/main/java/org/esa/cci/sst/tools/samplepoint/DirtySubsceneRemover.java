@@ -19,6 +19,8 @@ package org.esa.cci.sst.tools.samplepoint;
 import org.esa.beam.framework.datamodel.GeoCoding;
 import org.esa.beam.framework.datamodel.GeoPos;
 import org.esa.beam.framework.datamodel.PixelPos;
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.framework.datamodel.RasterDataNode;
 import org.esa.cci.sst.common.ExtractDefinition;
 import org.esa.cci.sst.common.ExtractDefinitionBuilder;
 import org.esa.cci.sst.data.DataFile;
@@ -32,6 +34,7 @@ import org.esa.cci.sst.tools.Constants;
 import org.esa.cci.sst.util.LocationTest;
 import org.esa.cci.sst.util.PixelCounter;
 import org.esa.cci.sst.util.SamplingPoint;
+import org.esa.cci.sst.util.SummedAreaTable;
 import ucar.ma2.Array;
 
 import java.io.File;
@@ -135,18 +138,31 @@ public class DirtySubsceneRemover {
                 final int numCols = reader.getElementCount();
                 final int numRows = reader.getScanLineCount();
                 final GeoCoding geoCoding = reader.getGeoCoding(0);
+                final SummedAreaTable dirtyPixelTable = createDirtyPixelTable(reader);
 
-                for (final SamplingPoint point : points) {
-                    final double lat = point.getLat();
-                    final double lon = point.getLon();
-                    final LocationTest test = new LocationTest(lon, lat, numCols, numRows, geoCoding).invoke();
+                final int pointCount = points.size();
+                final double[] lons = new double[pointCount];
+                final double[] lats = new double[pointCount];
+                for (int i = 0; i < pointCount; i++) {
+                    lons[i] = points.get(i).getLon();
+                    lats[i] = points.get(i).getLat();
+                }
+                final double[] pixelXs = new double[pointCount];
+                final double[] pixelYs = new double[pointCount];
+                LocationTest.invoke(lons, lats, numCols, numRows, geoCoding, pixelXs, pixelYs);
+                final PixelPos pixelPos = new PixelPos();
+                final GeoPos geoPos = new GeoPos();
+
+                for (int i = 0; i < pointCount; i++) {
+                    final SamplingPoint point = points.get(i);
+                    final double lat = lats[i];
+                    final double lon = lons[i];
 
-                    if (test.isOK()) {
-                        final int pixelX = test.getPixelX();
-                        final int pixelY = test.getPixelY();
-                        final PixelPos pixelPos = test.getPixelPos();
-                        final GeoPos geoPos = test.getGeoPos();
+                    if (!Double.isNaN(pixelXs[i])) {
+                        final int pixelX = (int) Math.floor(pixelXs[i]);
+                        final int pixelY = (int) Math.floor(pixelYs[i]);
                         if (primary) {
+                            pixelPos.setLocation(pixelXs[i], pixelYs[i]);
                             point.setX(pixelX);
                             point.setY(pixelY);
                             point.setReferenceTime(reader.getTime(0, pixelY));
@@ -157,9 +173,16 @@ public class DirtySubsceneRemover {
                             point.setReference2Time(reader.getTime(0, pixelY));
                         }
 
-                        final ExtractDefinition extractDefinition = builder.lat(lat).lon(lon).build();
-                        final Array maskData = reader.read(Constants.MASK_NAME_MMS_DIRTY, extractDefinition);
-                        final int dirtyPixelCount = pixelCounter.count(maskData);
+                        final int dirtyPixelCount;
+                        if (dirtyPixelTable != null) {
+                            dirtyPixelCount = dirtyPixelTable.count(pixelX - subSceneWidth / 2,
+                                                                    pixelY - subSceneHeight / 2,
+                                                                    subSceneWidth, subSceneHeight);
+                        } else {
+                            final ExtractDefinition extractDefinition = builder.lat(lat).lon(lon).build();
+                            final Array maskData = reader.read(Constants.MASK_NAME_MMS_DIRTY, extractDefinition);
+                            dirtyPixelCount = pixelCounter.count(maskData);
+                        }
                         if (dirtyPixelCount <= maxDirtyPixelCount) {
                             if (logger != null && logger.isLoggable(Level.FINE)) {
                                 final String message = MessageFormat.format(
@@ -207,6 +230,19 @@ public class DirtySubsceneRemover {
         }
     }
 
+    // the dirty mask is read once per file, so the dirty pixels in any subscene are counted in constant time
+    private static SummedAreaTable createDirtyPixelTable(Reader reader) {
+        final Product product = reader.getProduct();
+        if (product == null) {
+            return null;
+        }
+        final RasterDataNode node = product.getRasterDataNode(Constants.MASK_NAME_MMS_DIRTY);
+        if (node == null) {
+            return null;
+        }
+        return SummedAreaTable.create(node.getSourceImage().getImage(0));
+    }
+
     // package access for testing only tb 2014-03-31
     static Map<Integer, List<SamplingPoint>> splitByFileId(List<SamplingPoint> samples, boolean primary) {
         final Map<Integer, List<SamplingPoint>> samplesByDatafile = new TreeMap<>();
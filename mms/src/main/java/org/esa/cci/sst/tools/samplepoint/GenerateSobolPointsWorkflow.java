@@ -4,11 +4,12 @@ import org.esa.cci.sst.util.SamplingPoint;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 public class GenerateSobolPointsWorkflow extends Workflow {
 
-    private final SobolSamplePointGenerator generator;
+    private final PartitionedSobolSamplePointGenerator generator;
     private final LandPointRemover landPointRemover;
     private final ClearSkyPointRemover clearSkyPointRemover;
     private final IceFreePointRemover iceFreePointRemover;
@@ -16,7 +17,7 @@ public class GenerateSobolPointsWorkflow extends Workflow {
     public GenerateSobolPointsWorkflow(WorkflowContext context) {
         super(context);
 
-        generator = new SobolSamplePointGenerator();
+        generator = new PartitionedSobolSamplePointGenerator();
         landPointRemover = new LandPointRemover();
         clearSkyPointRemover = new ClearSkyPointRemover();
         iceFreePointRemover = new IceFreePointRemover();
@@ -34,28 +35,26 @@ public class GenerateSobolPointsWorkflow extends Workflow {
         final long startTime = workflowContext.getStartTime();
         final long stopTime = workflowContext.getStopTime();
 
-        logInfo(MessageFormat.format("Starting creating {0} samples...", sampleCount));
-        final List<SamplingPoint> samples = generator.createSamples(sampleCount, sampleSkip, startTime, stopTime);
-        logInfo(MessageFormat.format("Finished creating {0} samples", samples.size()));
-
+        final List<PointRemover> removers = new ArrayList<>();
         if (!workflowContext.isLandWanted()) {
-            logInfo("Starting removing land samples...");
-            landPointRemover.removeSamples(samples);
-            logInfo(MessageFormat.format("Finished removing land samples ({0} samples left)", samples.size()));
+            logInfo("Removing land samples");
+            removers.add(landPointRemover);
         }
-
         if (!workflowContext.isCloudsWanted()) {
-            logInfo("Starting removing prior clear-sky samples...");
-            clearSkyPointRemover.removeSamples(samples);
-            logInfo(MessageFormat.format("Finished removing prior clear-sky samples ({0} samples left)", samples.size()));
+            logInfo("Removing prior clear-sky samples");
+            removers.add(clearSkyPointRemover);
         }
-
         if (workflowContext.isMizOnly()) {
-            logInfo("Starting removing ice-free samples...");
-            iceFreePointRemover.removeSamples(samples);
-            logInfo(MessageFormat.format("Finished removing ice-free samples ({0} samples left)", samples.size()));
+            logInfo("Removing ice-free samples");
+            removers.add(iceFreePointRemover);
         }
 
+        logInfo(MessageFormat.format("Starting creating {0} samples...", sampleCount));
+        final List<SamplingPoint> samples = generator.createSamples(sampleCount, sampleSkip, startTime, stopTime,
+                                                                    removers);
+        logInfo(MessageFormat.format("Finished creating {0} samples ({1} samples left)", sampleCount,
+                                     samples.size()));
+
         return samples;
     }
 }
@@ -21,8 +21,9 @@ import org.esa.cci.sst.util.SamplingPoint;
 import java.util.ArrayList;
 import java.util.List;
 
-public class IceFreePointRemover {
+public class IceFreePointRemover implements PointRemover {
 
+    @Override
     public void removeSamples(List<SamplingPoint> samples) {
         final List<SamplingPoint> iceFreeSamples = new ArrayList<>(samples.size());
         for (final SamplingPoint point : samples) {
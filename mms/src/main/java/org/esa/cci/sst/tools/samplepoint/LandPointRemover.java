@@ -20,8 +20,9 @@ import org.esa.cci.sst.util.Watermask;
 import java.util.ArrayList;
 import java.util.List;
 
-public class LandPointRemover {
+public class LandPointRemover implements PointRemover {
 
+    @Override
     public void removeSamples(List<SamplingPoint> samples) {
         final List<SamplingPoint> waterSamples = new ArrayList<>(samples.size());
         final Watermask watermask = Container.WATERMASK;
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.samplepoint;
+
+import org.esa.cci.sst.util.SamplingPoint;
+import org.esa.cci.sst.util.SobolSequenceGenerator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates Sobol sampling points in parallel. The range of sequence indexes is partitioned into
+ * disjoint blocks, and each block is created and filtered by a task of its own, which jumps
+ * ahead to the first index of the block. The surviving points are passed to a sink block by
+ * block, in index order, so the result does not depend on the number of threads used. At most
+ * two blocks per thread are held in memory at any time.
+ *
+ * @author agent
+ */
+public class PartitionedSobolSamplePointGenerator {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private final int parallelism;
+    private final int blockSize;
+
+    public PartitionedSobolSamplePointGenerator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_BLOCK_SIZE);
+    }
+
+    public PartitionedSobolSamplePointGenerator(int parallelism, int blockSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        this.parallelism = parallelism;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates sampling points and passes those which survive all point removers to a sink.
+     *
+     * @param sampleCount The number of sampling points to create.
+     * @param sampleSkip  The number of points to skip at the beginning of the Sobol sequence.
+     * @param startTime   The start time (ms).
+     * @param stopTime    The stop time (ms).
+     * @param removers    The point removers, which are applied in the given order.
+     * @param sink        The sink.
+     *
+     * @return the number of sampling points passed to the sink.
+     *
+     * @throws IOException if the sink failed to accept the sampling points.
+     */
+    public long createSamples(int sampleCount, int sampleSkip, long startTime, long stopTime,
+                              List<? extends PointRemover> removers, SamplePointSink sink) throws IOException {
+        final int blockCount = (int) (((long) sampleCount + blockSize - 1) / blockSize);
+        if (parallelism == 1 || blockCount <= 1) {
+            long acceptedCount = 0;
+            for (int b = 0; b < blockCount; b++) {
+                final List<SamplingPoint> samples = createBlock(b, sampleCount, sampleSkip, startTime, stopTime,
+                                                                removers);
+                sink.accept(samples);
+                acceptedCount += samples.size();
+            }
+            return acceptedCount;
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory());
+        try {
+            final Deque<Future<List<SamplingPoint>>> pending = new ArrayDeque<>();
+            final int windowSize = 2 * parallelism;
+            long acceptedCount = 0;
+            int nextBlock = 0;
+            while (nextBlock < blockCount || !pending.isEmpty()) {
+                while (nextBlock < blockCount && pending.size() < windowSize) {
+                    pending.addLast(executorService.submit(
+                            new BlockTask(nextBlock, sampleCount, sampleSkip, startTime, stopTime, removers)));
+                    nextBlock++;
+                }
+                final List<SamplingPoint> samples = getResult(pending.removeFirst());
+                sink.accept(samples);
+                acceptedCount += samples.size();
+            }
+            return acceptedCount;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates sampling points and returns those which survive all point removers.
+     *
+     * @param sampleCount The number of sampling points to create.
+     * @param sampleSkip  The number of points to skip at the beginning of the Sobol sequence.
+     * @param startTime   The start time (ms).
+     * @param stopTime    The stop time (ms).
+     * @param removers    The point removers, which are applied in the given order.
+     *
+     * @return the surviving sampling points, in index order.
+     */
+    public List<SamplingPoint> createSamples(int sampleCount, int sampleSkip, long startTime, long stopTime,
+                                             List<? extends PointRemover> removers) {
+        final List<SamplingPoint> sampleList = new ArrayList<>();
+        try {
+            createSamples(sampleCount, sampleSkip, startTime, stopTime, removers, new SamplePointSink() {
+                @Override
+                public void accept(List<SamplingPoint> samples) {
+                    sampleList.addAll(samples);
+                }
+            });
+        } catch (IOException e) {
+            // the sink does not throw
+            throw new IllegalStateException(e);
+        }
+        return sampleList;
+    }
+
+    private List<SamplingPoint> createBlock(int block, int sampleCount, int sampleSkip, long startTime, long stopTime,
+                                            List<? extends PointRemover> removers) {
+        final int blockStart = block * blockSize;
+        final int blockStop = (int) Math.min((long) blockStart + blockSize, sampleCount);
+
+        final SobolSequenceGenerator sequenceGenerator = new SobolSequenceGenerator(4);
+        sequenceGenerator.skip(sampleSkip + blockStart);
+        final List<SamplingPoint> samples = new ArrayList<>(blockStop - blockStart);
+        for (int i = blockStart; i < blockStop; i++) {
+            final int index = sequenceGenerator.getNextIndex();
+            final double[] sample = sequenceGenerator.nextVector();
+
+            samples.add(SobolSamplePointGenerator.createSamplingPoint(index, sample, startTime, stopTime));
+        }
+        for (final PointRemover remover : removers) {
+            if (samples.isEmpty()) {
+                break;
+            }
+            remover.removeSamples(samples);
+        }
+        return samples.isEmpty() ? Collections.<SamplingPoint>emptyList() : samples;
+    }
+
+    private static List<SamplingPoint> getResult(Future<List<SamplingPoint>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating sampling points.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private final class BlockTask implements Callable<List<SamplingPoint>> {
+
+        private final int block;
+        private final int sampleCount;
+        private final int sampleSkip;
+        private final long startTime;
+        private final long stopTime;
+        private final List<? extends PointRemover> removers;
+
+        BlockTask(int block, int sampleCount, int sampleSkip, long startTime, long stopTime,
+                  List<? extends PointRemover> removers) {
+            this.block = block;
+            this.sampleCount = sampleCount;
+            this.sampleSkip = sampleSkip;
+            this.startTime = startTime;
+            this.stopTime = stopTime;
+            this.removers = removers;
+        }
+
+        @Override
+        public List<SamplingPoint> call() {
+            return createBlock(block, sampleCount, sampleSkip, startTime, stopTime, removers);
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private int threadCount;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "sobol-" + threadCount++);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.samplepoint;
+
+import org.esa.cci.sst.util.SamplingPoint;
+
+import java.util.List;
+
+/**
+ * Removes sampling points from a list. Implementations must be thread-safe, and must decide
+ * on each point independently of the other points in the list.
+ *
+ * @author agent
+ */
+public interface PointRemover {
+
+    /**
+     * Removes the unwanted points from a list of sampling points. The order of the remaining
+     * points is retained.
+     *
+     * @param samples The sampling points.
+     */
+    void removeSamples(List<SamplingPoint> samples);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.samplepoint;
+
+import org.esa.cci.sst.util.SamplingPoint;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the sampling points created by a {@link PartitionedSobolSamplePointGenerator}. The
+ * points are passed block by block, in the order of their index in the Sobol sequence, and
+ * always by the same thread.
+ *
+ * @author agent
+ */
+public interface SamplePointSink {
+
+    /**
+     * Accepts a block of sampling points.
+     *
+     * @param samples The sampling points, which may be empty.
+     *
+     * @throws IOException if the sampling points could not be accepted.
+     */
+    void accept(List<SamplingPoint> samples) throws IOException;
+}
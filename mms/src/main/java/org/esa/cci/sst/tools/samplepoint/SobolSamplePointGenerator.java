@@ -17,23 +17,28 @@ public class SobolSamplePointGenerator {
         for (int i = 0; i < sampleCount; i++) {
             final int index = sequenceGenerator.getNextIndex();
             final double[] sample = sequenceGenerator.nextVector();
-            final double x = sample[0];
-            final double y = sample[1];
-            final double t = sample[2];
-            final double random = sample[3];
 
-            final double lon = x * 360.0 - 180.0;
-            final double lat = 90.0 - y * 180.0;
-            final long time = (long) (t * (stopTime - startTime)) + startTime;
-
-            final SamplingPoint p = new SamplingPoint(lon, lat, time, random);
-            p.setIndex(index);
-            p.setInsituDatasetId(InsituDatasetId.dummy_bc);
-            p.setDatasetName(String.valueOf(index));
-
-            sampleList.add(p);
+            sampleList.add(createSamplingPoint(index, sample, startTime, stopTime));
         }
 
         return sampleList;
     }
+
+    static SamplingPoint createSamplingPoint(int index, double[] sample, long startTime, long stopTime) {
+        final double x = sample[0];
+        final double y = sample[1];
+        final double t = sample[2];
+        final double random = sample[3];
+
+        final double lon = x * 360.0 - 180.0;
+        final double lat = 90.0 - y * 180.0;
+        final long time = (long) (t * (stopTime - startTime)) + startTime;
+
+        final SamplingPoint p = new SamplingPoint(lon, lat, time, random);
+        p.setIndex(index);
+        p.setInsituDatasetId(InsituDatasetId.dummy_bc);
+        p.setDatasetName(String.valueOf(index));
+
+        return p;
+    }
 }
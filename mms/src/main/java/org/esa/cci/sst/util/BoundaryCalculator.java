@@ -20,6 +20,8 @@ import org.esa.beam.framework.datamodel.GeoCoding;
 import org.esa.beam.framework.datamodel.GeoPos;
 import org.esa.beam.framework.datamodel.PixelPos;
 import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.framework.datamodel.TiePointGeoCoding;
+import org.esa.beam.framework.datamodel.TiePointGrid;
 import org.postgis.LinearRing;
 import org.postgis.PGgeometry;
 import org.postgis.Point;
@@ -39,6 +41,35 @@ import java.util.List;
  */
 public class BoundaryCalculator {
 
+    /**
+     * The name of the system property specifying the maximum deviation (degrees) of the
+     * geo-boundary from the full-resolution boundary of a product. When this property is
+     * set to a positive value, the adaptive strategy is used by default.
+     */
+    public static final String PROPERTY_MAX_DEVIATION = "mms.boundary.maxdeviation";
+
+    private final double maxDeviation;
+
+    /**
+     * Creates a new boundary calculator. The maximum deviation is taken from the system
+     * property {@link #PROPERTY_MAX_DEVIATION}.
+     */
+    public BoundaryCalculator() {
+        this(Double.parseDouble(System.getProperty(PROPERTY_MAX_DEVIATION, "0.0")));
+    }
+
+    /**
+     * Creates a new boundary calculator.
+     *
+     * @param maxDeviation The maximum deviation (degrees) of the geo-boundary from the full-resolution
+     *                     boundary. If positive, the edges of a product are walked at a coarse step
+     *                     first and refined where the geo-location deviates from a straight line
+     *                     or crosses the antimeridian. Otherwise the edges are walked at a fixed step.
+     */
+    public BoundaryCalculator(double maxDeviation) {
+        this.maxDeviation = maxDeviation;
+    }
+
     /**
      * Returns the geo-boundary of a product. The geo-boundary shall enclose only
      * pixels where the geo-location is valid.
@@ -57,40 +88,50 @@ public class BoundaryCalculator {
         final int maxY = boundary.y + boundary.height - 1;
         final int w = product.getSceneRasterWidth();
         final int h = product.getSceneRasterHeight();
-        final int stepX = Math.max(100, w / 25);
-        final int stepY = Math.max(100, h / 25);
 
         final GeoCoding geoCoding = product.getGeoCoding();
-        final PixelPos p = new PixelPos();
-        final GeoPos g = new GeoPos();
         final List<Point> geoBoundary = new ArrayList<Point>();
 
-        for (int i = minY; i < maxY; i += stepY) {
-            p.setLocation(minX + 0.5, i + 0.5);
-            geoCoding.getGeoPos(p, g);
-            if (g.isValid()) {
-                geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+        if (maxDeviation > 0.0) {
+            final int stepX = getCoarseStep(geoCoding, true, w);
+            final int stepY = getCoarseStep(geoCoding, false, h);
+            addEdgeAdaptively(geoCoding, minX, minY, 0, 1, maxY - minY, stepY, geoBoundary);
+            addEdgeAdaptively(geoCoding, minX, maxY, 1, 0, maxX - minX, stepX, geoBoundary);
+            addEdgeAdaptively(geoCoding, maxX, maxY, 0, -1, maxY - minY, stepY, geoBoundary);
+            addEdgeAdaptively(geoCoding, maxX, minY, -1, 0, maxX - minX, stepX, geoBoundary);
+        } else {
+            final int stepX = Math.max(100, w / 25);
+            final int stepY = Math.max(100, h / 25);
+            final PixelPos p = new PixelPos();
+            final GeoPos g = new GeoPos();
+
+            for (int i = minY; i < maxY; i += stepY) {
+                p.setLocation(minX + 0.5, i + 0.5);
+                geoCoding.getGeoPos(p, g);
+                if (g.isValid()) {
+                    geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+                }
             }
-        }
-        for (int i = minX; i < maxX; i += stepX) {
-            p.setLocation(i + 0.5, maxY + 0.5);
-            geoCoding.getGeoPos(p, g);
-            if (g.isValid()) {
-                geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+            for (int i = minX; i < maxX; i += stepX) {
+                p.setLocation(i + 0.5, maxY + 0.5);
+                geoCoding.getGeoPos(p, g);
+                if (g.isValid()) {
+                    geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+                }
             }
-        }
-        for (int i = maxY; i > minY; i -= stepY) {
-            p.setLocation(maxX + 0.5, i + 0.5);
-            geoCoding.getGeoPos(p, g);
-            if (g.isValid()) {
-                geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+            for (int i = maxY; i > minY; i -= stepY) {
+                p.setLocation(maxX + 0.5, i + 0.5);
+                geoCoding.getGeoPos(p, g);
+                if (g.isValid()) {
+                    geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+                }
             }
-        }
-        for (int i = maxX; i > minX; i -= stepX) {
-            p.setLocation(i + 0.5, minY + 0.5);
-            geoCoding.getGeoPos(p, g);
-            if (g.isValid()) {
-                geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+            for (int i = maxX; i > minX; i -= stepX) {
+                p.setLocation(i + 0.5, minY + 0.5);
+                geoCoding.getGeoPos(p, g);
+                if (g.isValid()) {
+                    geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+                }
             }
         }
         if (geoBoundary.size() < 3) {
@@ -140,6 +181,82 @@ public class BoundaryCalculator {
         return new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
     }
 
+    // the coarse step follows the tie-point grid, if there is one
+    private static int getCoarseStep(GeoCoding geoCoding, boolean alongX, int length) {
+        int step = Math.max(1, length / 32);
+        if (geoCoding instanceof TiePointGeoCoding) {
+            final TiePointGeoCoding tiePointGeoCoding = (TiePointGeoCoding) geoCoding;
+            final TiePointGrid grid = tiePointGeoCoding.getLatGrid();
+            final int subSampling = (int) (alongX ? grid.getSubSamplingX() : grid.getSubSamplingY());
+            if (subSampling > 1) {
+                step = Math.max(subSampling, step - step % subSampling);
+            }
+        }
+        return step;
+    }
+
+    // walks the edge starting at (x0, y0) in direction (dx, dy), excluding the last pixel
+    private void addEdgeAdaptively(GeoCoding geoCoding, int x0, int y0, int dx, int dy, int length, int step,
+                                   List<Point> geoBoundary) {
+        GeoPos g0 = getGeoPos(geoCoding, x0, y0);
+        for (int t0 = 0; t0 < length; t0 += step) {
+            final int t1 = Math.min(t0 + step, length);
+            final GeoPos g1 = getGeoPos(geoCoding, x0 + dx * t1, y0 + dy * t1);
+            addPoint(g0, geoBoundary);
+            refine(geoCoding, x0, y0, dx, dy, t0, g0, t1, g1, geoBoundary);
+            g0 = g1;
+        }
+    }
+
+    private void refine(GeoCoding geoCoding, int x0, int y0, int dx, int dy, int t0, GeoPos g0, int t1, GeoPos g1,
+                        List<Point> geoBoundary) {
+        if (t1 - t0 < 2) {
+            return;
+        }
+        final int t = (t0 + t1) / 2;
+        final GeoPos g = getGeoPos(geoCoding, x0 + dx * t, y0 + dy * t);
+        if (!g0.isValid() || !g1.isValid() || !g.isValid() || crossesAntimeridian(g0, g1) ||
+            getDeviation(g0, g1, g, (double) (t - t0) / (t1 - t0)) > maxDeviation) {
+            refine(geoCoding, x0, y0, dx, dy, t0, g0, t, g, geoBoundary);
+            addPoint(g, geoBoundary);
+            refine(geoCoding, x0, y0, dx, dy, t, g, t1, g1, geoBoundary);
+        }
+    }
+
+    private static GeoPos getGeoPos(GeoCoding geoCoding, int x, int y) {
+        return geoCoding.getGeoPos(new PixelPos(x + 0.5f, y + 0.5f), new GeoPos());
+    }
+
+    private static void addPoint(GeoPos g, List<Point> geoBoundary) {
+        if (g.isValid()) {
+            geoBoundary.add(new Point(GeoPos.normalizeLon(g.getLon()), g.getLat()));
+        }
+    }
+
+    private static boolean crossesAntimeridian(GeoPos g0, GeoPos g1) {
+        return Math.abs(GeoPos.normalizeLon(g1.getLon()) - GeoPos.normalizeLon(g0.getLon())) > 180.0;
+    }
+
+    // the distance (degrees) of g from the point obtained by linear interpolation between g0 and g1
+    private static double getDeviation(GeoPos g0, GeoPos g1, GeoPos g, double f) {
+        final double lon = g0.getLon() + f * getLonDelta(g0.getLon(), g1.getLon());
+        final double lat = g0.getLat() + f * (g1.getLat() - g0.getLat());
+        final double deltaX = getLonDelta(lon, g.getLon()) * Math.cos(Math.toRadians(g.getLat()));
+        final double deltaY = g.getLat() - lat;
+        return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+    }
+
+    private static double getLonDelta(double lon0, double lon1) {
+        double delta = lon1 - lon0;
+        while (delta > 180.0) {
+            delta -= 360.0;
+        }
+        while (delta < -180.0) {
+            delta += 360.0;
+        }
+        return delta;
+    }
+
     private static PGgeometry createGeometry(Point[] points) {
         return new PGgeometry(new Polygon(new LinearRing[]{new LinearRing(points)}));
     }
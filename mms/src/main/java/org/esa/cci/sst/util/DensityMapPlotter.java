@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Plots the density of sampling points, which are added one by one, so that they need not
+ * be held in memory. Plots the same map as {@link SamplingPointPlotter}, but colours each
+ * pixel according to the number of points it contains.
+ * <p/>
+ * The time range of the points must be specified before adding points when the points are
+ * mapped by time.
+ *
+ * @author agent
+ */
+public final class DensityMapPlotter {
+
+    private String filePath;
+    private boolean show = false;
+    private String windowTitle;
+    private String mapStrategyName;
+    private long minTime;
+    private long maxTime;
+
+    private MapStrategy strategy;
+    private DensityRaster raster;
+
+    public DensityMapPlotter() {
+    }
+
+    public DensityMapPlotter filePath(String filePath) {
+        this.filePath = filePath;
+        return this;
+    }
+
+    public DensityMapPlotter show(boolean show) {
+        this.show = show;
+        return this;
+    }
+
+    public DensityMapPlotter windowTitle(String windowTitle) {
+        this.windowTitle = windowTitle;
+        return this;
+    }
+
+    public DensityMapPlotter mapStrategyName(String mapStrategyName) {
+        assertNoPointsAdded();
+        this.mapStrategyName = mapStrategyName;
+        return this;
+    }
+
+    /**
+     * Sets the time range of the sampling points to be plotted.
+     *
+     * @param minTime The time of the earliest sampling point (ms).
+     * @param maxTime The time of the latest sampling point (ms).
+     *
+     * @return this plotter.
+     */
+    public DensityMapPlotter timeRange(long minTime, long maxTime) {
+        assertNoPointsAdded();
+        this.minTime = minTime;
+        this.maxTime = maxTime;
+        return this;
+    }
+
+    public DensityMapPlotter samples(List<SamplingPoint> samples) {
+        for (final SamplingPoint sample : samples) {
+            add(sample.getLon(), sample.getLat(), sample.getTime());
+        }
+        return this;
+    }
+
+    public void add(double lon, double lat, long time) {
+        if (raster == null) {
+            strategy = SamplingPointPlotter.createMapStrategy(mapStrategyName, SamplingPointPlotter.WIDTH,
+                                                              SamplingPointPlotter.HEIGHT);
+            strategy.initialize(minTime, maxTime);
+            raster = new DensityRaster(SamplingPointPlotter.WIDTH, SamplingPointPlotter.HEIGHT);
+        }
+        raster.add(strategy.mapX(lon, lat, time), strategy.mapY(lon, lat, time));
+    }
+
+    public BufferedImage plot() throws IOException {
+        if (raster == null) {
+            raster = new DensityRaster(SamplingPointPlotter.WIDTH, SamplingPointPlotter.HEIGHT);
+        }
+        final BufferedImage image = raster.createImage();
+        if (show) {
+            SamplingPointPlotter.showImage(image, windowTitle);
+        }
+        if (filePath != null) {
+            SamplingPointPlotter.writeImage(image, filePath);
+        }
+
+        return image;
+    }
+
+    // package access for testing only
+    DensityRaster getRaster() {
+        return raster;
+    }
+
+    private void assertNoPointsAdded() {
+        if (raster != null) {
+            throw new IllegalStateException("Points have already been added.");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A raster of point counts. Points outside the raster are ignored. The raster is rendered
+ * into an image in a single pass, by mapping the logarithm of the count of each pixel onto
+ * a colour ramp. Pixels without any points are black.
+ *
+ * @author agent
+ */
+public final class DensityRaster {
+
+    private static final int[] RAMP_COLORS = {0x0000ff, 0x00ffff, 0x00ff00, 0xffff00, 0xff0000, 0xffffff};
+    private static final int PALETTE_SIZE = 256;
+    private static final int[] PALETTE = createPalette();
+
+    private final int width;
+    private final int height;
+    private final int[] counts;
+    private long totalCount;
+
+    public DensityRaster(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Width and height must be positive.");
+        }
+        this.width = width;
+        this.height = height;
+        counts = new int[width * height];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Adds a point to the raster.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     *
+     * @return {@code true} if the point is inside the raster, {@code false} otherwise.
+     */
+    public boolean add(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        final int i = y * width + x;
+        if (counts[i] != Integer.MAX_VALUE) {
+            counts[i]++;
+        }
+        totalCount++;
+        return true;
+    }
+
+    public int getCount(int x, int y) {
+        return counts[y * width + x];
+    }
+
+    /**
+     * Returns the number of points added to the raster.
+     *
+     * @return the number of points inside the raster.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getMaxCount() {
+        int maxCount = 0;
+        for (final int count : counts) {
+            if (count > maxCount) {
+                maxCount = count;
+            }
+        }
+        return maxCount;
+    }
+
+    /**
+     * Renders the raster into an RGB image.
+     *
+     * @return the image.
+     */
+    public BufferedImage createImage() {
+        final int maxCount = getMaxCount();
+        final double scale = maxCount > 1 ? (PALETTE_SIZE - 1) / Math.log(maxCount) : 0.0;
+        final int[] rgb = new int[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            final int count = counts[i];
+            if (count > 0) {
+                final int level = (int) (Math.log(count) * scale);
+                rgb[i] = PALETTE[Math.min(level, PALETTE_SIZE - 1)];
+            }
+        }
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.getRaster().setDataElements(0, 0, width, height, rgb);
+        return image;
+    }
+
+    private static int[] createPalette() {
+        final int[] palette = new int[PALETTE_SIZE];
+        final int segmentCount = RAMP_COLORS.length - 1;
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            final double position = (double) i / (PALETTE_SIZE - 1) * segmentCount;
+            final int segment = Math.min((int) position, segmentCount - 1);
+            final double w = position - segment;
+            final int c0 = RAMP_COLORS[segment];
+            final int c1 = RAMP_COLORS[segment + 1];
+            palette[i] = interpolate(c0 >> 16, c1 >> 16, w) << 16
+                         | interpolate((c0 >> 8) & 0xff, (c1 >> 8) & 0xff, w) << 8
+                         | interpolate(c0 & 0xff, c1 & 0xff, w);
+        }
+        return palette;
+    }
+
+    private static int interpolate(int a, int b, double w) {
+        return (int) Math.round(a + w * (b - a));
+    }
+}
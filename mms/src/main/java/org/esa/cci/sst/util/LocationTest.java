@@ -25,6 +25,19 @@ import org.esa.beam.framework.datamodel.PixelPos;
 */
 public class LocationTest {
 
+    private static final ThreadLocal<GeoPos> GEO_POS = new ThreadLocal<GeoPos>() {
+        @Override
+        protected GeoPos initialValue() {
+            return new GeoPos();
+        }
+    };
+    private static final ThreadLocal<PixelPos> PIXEL_POS = new ThreadLocal<PixelPos>() {
+        @Override
+        protected PixelPos initialValue() {
+            return new PixelPos();
+        }
+    };
+
     private int numCols;
     private int numRows;
     private GeoCoding geoCoding;
@@ -69,7 +82,49 @@ public class LocationTest {
         pixelPos = geoCoding.getPixelPos(geoPos, new PixelPos());
         pixelX = (int) Math.floor(pixelPos.getX());
         pixelY = (int) Math.floor(pixelPos.getY());
-        valid = pixelPos.isValid() && pixelX > 0 && pixelY > 0 && pixelX < numCols - 1 && pixelY < numRows - 1;
+        valid = isValid(pixelPos, pixelX, pixelY, numCols, numRows);
         return this;
     }
+
+    /**
+     * Tests several locations at once, without creating any objects. For each location passing
+     * the test, the pixel position found is written into {@code pixelXs} and {@code pixelYs}. For
+     * a location not passing the test, {@code NaN} is written.
+     *
+     * @param lons      The longitudes of the locations.
+     * @param lats      The latitudes of the locations.
+     * @param numCols   The number of columns.
+     * @param numRows   The number of rows.
+     * @param geoCoding The geo-coding.
+     * @param pixelXs   On return, contains the pixel x positions.
+     * @param pixelYs   On return, contains the pixel y positions.
+     *
+     * @return the number of locations passing the test.
+     */
+    public static int invoke(double[] lons, double[] lats, int numCols, int numRows, GeoCoding geoCoding,
+                             double[] pixelXs, double[] pixelYs) {
+        final GeoPos geoPos = GEO_POS.get();
+        final PixelPos pixelPos = PIXEL_POS.get();
+        int validCount = 0;
+        for (int i = 0; i < lons.length; i++) {
+            geoPos.setLocation((float) lats[i], (float) lons[i]);
+            pixelPos.setInvalid();
+            geoCoding.getPixelPos(geoPos, pixelPos);
+            final int pixelX = (int) Math.floor(pixelPos.getX());
+            final int pixelY = (int) Math.floor(pixelPos.getY());
+            if (isValid(pixelPos, pixelX, pixelY, numCols, numRows)) {
+                pixelXs[i] = pixelPos.getX();
+                pixelYs[i] = pixelPos.getY();
+                validCount++;
+            } else {
+                pixelXs[i] = Double.NaN;
+                pixelYs[i] = Double.NaN;
+            }
+        }
+        return validCount;
+    }
+
+    private static boolean isValid(PixelPos pixelPos, int pixelX, int pixelY, int numCols, int numRows) {
+        return pixelPos.isValid() && pixelX > 0 && pixelY > 0 && pixelX < numCols - 1 && pixelY < numRows - 1;
+    }
 }
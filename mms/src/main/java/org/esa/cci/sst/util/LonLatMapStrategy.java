@@ -17,11 +17,28 @@ class LonLatMapStrategy implements MapStrategy {
         // nothing to do here
     }
 
+    @Override
+    public void initialize(long minTime, long maxTime) {
+        // nothing to do here
+    }
+
+    @Override
     public PlotPoint map(SamplingPoint samplingPoint) {
-        final double x = (samplingPoint.getLon() + 180.0) / 360.0;
-        final double y = (90.0 - samplingPoint.getLat()) / 180.0;
-        final int i = (int) (y * height);
-        final int k = (int) (x * width);
-        return new PlotPoint(k, i);
+        final double lon = samplingPoint.getLon();
+        final double lat = samplingPoint.getLat();
+        final long time = samplingPoint.getTime();
+        return new PlotPoint(mapX(lon, lat, time), mapY(lon, lat, time));
+    }
+
+    @Override
+    public int mapX(double lon, double lat, long time) {
+        final double x = (lon + 180.0) / 360.0;
+        return (int) (x * width);
+    }
+
+    @Override
+    public int mapY(double lon, double lat, long time) {
+        final double y = (90.0 - lat) / 180.0;
+        return (int) (y * height);
     }
 }
@@ -7,5 +7,18 @@ interface MapStrategy {
 
     void initialize(List<SamplingPoint> samplingPoints);
 
+    /**
+     * Initializes the strategy from the time range of the sampling points to be mapped, when the
+     * sampling points themselves are not available up front.
+     *
+     * @param minTime The time of the earliest sampling point (ms).
+     * @param maxTime The time of the latest sampling point (ms).
+     */
+    void initialize(long minTime, long maxTime);
+
     PlotPoint map(SamplingPoint samplingPoint);
+
+    int mapX(double lon, double lat, long time);
+
+    int mapY(double lon, double lat, long time);
 }
@@ -25,13 +25,18 @@ import org.esa.cci.sst.reader.ReaderFactory;
 import org.esa.cci.sst.tool.Configuration;
 
 import javax.media.jai.JAI;
+import java.io.Closeable;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public final class ReaderCache {
+/**
+ * A cache of the readers of input files, which closes the reader opened first when the capacity
+ * is exceeded. The cache is safe for use by multiple threads, but the readers are not.
+ */
+public final class ReaderCache implements Closeable {
 
     private final Cache<String, Reader> readerCache;
     private final Configuration configuration;
@@ -44,7 +49,7 @@ public final class ReaderCache {
         this.logger = logger;
     }
 
-    public Reader getReader(DataFile datafile) throws IOException {
+    public synchronized Reader getReader(DataFile datafile) throws IOException {
         final String path = datafile.getPath();
         if (readerCache.contains(path)) {
             return readerCache.get(path);
@@ -71,7 +76,7 @@ public final class ReaderCache {
         }
     }
 
-    public void closeReader(DataFile datafile) {
+    public synchronized void closeReader(DataFile datafile) {
         final String path = datafile.getPath();
         if (readerCache.contains(path)) {
             final Reader removedReader = readerCache.remove(path);
@@ -81,10 +86,18 @@ public final class ReaderCache {
         }
     }
 
-    public void clear() {
+    public synchronized void clear() {
         final Collection<Reader> removedReaders = readerCache.clear();
         for (final Reader reader : removedReaders) {
             reader.close();
         }
     }
+
+    /**
+     * Closes all cached readers.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
 }
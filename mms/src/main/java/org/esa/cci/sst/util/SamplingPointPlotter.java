@@ -38,8 +38,8 @@ import java.util.List;
  */
 public final class SamplingPointPlotter {
 
-    private static final int WIDTH = 800;
-    private static final int HEIGHT = 400;
+    static final int WIDTH = 800;
+    static final int HEIGHT = 400;
 
     private List<SamplingPoint> samples;
     private String filePath;
@@ -88,15 +88,15 @@ public final class SamplingPointPlotter {
     }
 
     public BufferedImage plot() throws IOException {
-        final MapStrategy strategy = getMapStrategy();
+        final MapStrategy strategy = createMapStrategy(mapStrategyName, WIDTH, HEIGHT);
         strategy.initialize(samples);
 
         final BufferedImage image = drawImage(strategy);
         if (!live && show) {
-            showImage(image);
+            showImage(image, windowTitle);
         }
         if (filePath != null) {
-            writeImage(image);
+            writeImage(image, filePath);
         }
 
         return image;
@@ -106,7 +106,7 @@ public final class SamplingPointPlotter {
         final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_BINARY);
         final JComponent component;
         if (live) {
-            component = showImage(image);
+            component = showImage(image, windowTitle);
         } else {
             component = null;
         }
@@ -148,7 +148,7 @@ public final class SamplingPointPlotter {
         return file;
     }
 
-    private JComponent showImage(BufferedImage image) {
+    static JComponent showImage(BufferedImage image, String windowTitle) {
         final JLabel label = new JLabel(new ImageIcon(image));
         final JFrame frame = new JFrame();
         frame.setTitle(windowTitle);
@@ -166,18 +166,18 @@ public final class SamplingPointPlotter {
         return label;
     }
 
-    private void writeImage(BufferedImage image) throws IOException {
+    static void writeImage(BufferedImage image, String filePath) throws IOException {
         ImageIO.write(image, "png", new File(filePath));
     }
 
-    private MapStrategy getMapStrategy() {
+    static MapStrategy createMapStrategy(String mapStrategyName, int width, int height) {
         //noinspection IfCanBeSwitch
         if ("timlat".equals(mapStrategyName)) {
-            return new TimeLatMapStrategy(WIDTH, HEIGHT);
+            return new TimeLatMapStrategy(width, height);
         } else if ("lonlat".equals(mapStrategyName)) {
-            return new LonLatMapStrategy(WIDTH, HEIGHT);
+            return new LonLatMapStrategy(width, height);
         } else {
-            return new LonLatMapStrategy(WIDTH, HEIGHT);
+            return new LonLatMapStrategy(width, height);
         }
     }
 
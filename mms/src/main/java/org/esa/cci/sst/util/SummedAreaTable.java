@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import ucar.ma2.Array;
+
+import java.awt.Rectangle;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+
+/**
+ * A summed-area table (integral image) of a mask, for counting the non-zero
+ * pixels within any rectangle by means of four table lookups.
+ * <p/>
+ * Pixels outside the mask are counted as zero, which is consistent with
+ * {@link PixelCounter} counting a subscene that was filled with zeros
+ * outside the image.
+ *
+ * @author agent
+ */
+public class SummedAreaTable {
+
+    private static final int STRIPE_HEIGHT = 256;
+
+    private final int width;
+    private final int height;
+    private final int[] sums;
+
+    private SummedAreaTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.sums = new int[(width + 1) * (height + 1)];
+    }
+
+    /**
+     * Creates a new summed-area table from mask data of shape {@code [h, w]} or {@code [1, h, w]}.
+     *
+     * @param maskData The mask data.
+     *
+     * @return the summed-area table.
+     */
+    public static SummedAreaTable create(Array maskData) {
+        final int[] shape = maskData.getShape();
+        if (shape.length < 2) {
+            throw new IllegalArgumentException("Mask data must have rank 2 or greater.");
+        }
+        final int w = shape[shape.length - 1];
+        final int h = shape[shape.length - 2];
+        if (maskData.getSize() != (long) w * h) {
+            throw new IllegalArgumentException("Mask data must not contain more than a single image.");
+        }
+        final SummedAreaTable table = new SummedAreaTable(w, h);
+        final int[] rowValues = new int[w];
+        for (int y = 0, i = 0; y < h; y++) {
+            for (int x = 0; x < w; x++, i++) {
+                rowValues[x] = maskData.getByte(i);
+            }
+            table.addRow(y, rowValues);
+        }
+        return table;
+    }
+
+    /**
+     * Creates a new summed-area table from the first band of a mask image. The image
+     * is read in horizontal stripes, so the full image is never held in memory.
+     *
+     * @param maskImage The mask image.
+     *
+     * @return the summed-area table.
+     */
+    public static SummedAreaTable create(RenderedImage maskImage) {
+        final int minX = maskImage.getMinX();
+        final int minY = maskImage.getMinY();
+        final int w = maskImage.getWidth();
+        final int h = maskImage.getHeight();
+        final SummedAreaTable table = new SummedAreaTable(w, h);
+        final int[] rowValues = new int[w];
+        for (int y0 = 0; y0 < h; y0 += STRIPE_HEIGHT) {
+            final int stripeHeight = Math.min(STRIPE_HEIGHT, h - y0);
+            final Raster raster = maskImage.getData(new Rectangle(minX, minY + y0, w, stripeHeight));
+            for (int y = y0; y < y0 + stripeHeight; y++) {
+                raster.getSamples(minX, minY + y, w, 1, 0, rowValues);
+                table.addRow(y, rowValues);
+            }
+        }
+        return table;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of non-zero pixels in the given rectangle. The rectangle
+     * may extend beyond the bounds of the mask.
+     *
+     * @param x The x coordinate of the upper left corner.
+     * @param y The y coordinate of the upper left corner.
+     * @param w The width of the rectangle.
+     * @param h The height of the rectangle.
+     *
+     * @return the number of non-zero pixels.
+     */
+    public int count(int x, int y, int w, int h) {
+        final int x0 = clamp(x, width);
+        final int y0 = clamp(y, height);
+        final int x1 = clamp(x + w, width);
+        final int y1 = clamp(y + h, height);
+        if (x0 >= x1 || y0 >= y1) {
+            return 0;
+        }
+        final int stride = width + 1;
+        return sums[y1 * stride + x1] - sums[y0 * stride + x1] - sums[y1 * stride + x0] + sums[y0 * stride + x0];
+    }
+
+    private void addRow(int y, int[] rowValues) {
+        final int stride = width + 1;
+        final int previous = y * stride;
+        final int current = previous + stride;
+        int rowSum = 0;
+        for (int x = 0; x < width; x++) {
+            if (rowValues[x] != 0) {
+                rowSum++;
+            }
+            sums[current + x + 1] = sums[previous + x + 1] + rowSum;
+        }
+    }
+
+    private static int clamp(int value, int max) {
+        if (value < 0) {
+            return 0;
+        }
+        if (value > max) {
+            return max;
+        }
+        return value;
+    }
+}
@@ -21,17 +21,37 @@ class TimeLatMapStrategy implements MapStrategy {
     @Override
     public void initialize(List<SamplingPoint> samplingPoints) {
         final TimeRange timeRange = extractTimeRangeInFullMonths(samplingPoints);
-        startTime = timeRange.getStartDate().getTime();
-        scale = 1.0 / (timeRange.getStopDate().getTime() - startTime);
+        initialize(timeRange);
+    }
+
+    @Override
+    public void initialize(long minTime, long maxTime) {
+        initialize(createTimeRangeInFullMonths(minTime, maxTime));
     }
 
     @Override
     public PlotPoint map(SamplingPoint samplingPoint) {
-        final double x_scale = scale * (samplingPoint.getTime() - startTime);
-        final double y_scale = (90.0 - samplingPoint.getLat()) / 180.0;
-        final int x = (int) (x_scale * width);
-        final int y = (int) (y_scale * height);
-        return new PlotPoint(x, y);
+        final double lon = samplingPoint.getLon();
+        final double lat = samplingPoint.getLat();
+        final long time = samplingPoint.getTime();
+        return new PlotPoint(mapX(lon, lat, time), mapY(lon, lat, time));
+    }
+
+    @Override
+    public int mapX(double lon, double lat, long time) {
+        final double x_scale = scale * (time - startTime);
+        return (int) (x_scale * width);
+    }
+
+    @Override
+    public int mapY(double lon, double lat, long time) {
+        final double y_scale = (90.0 - lat) / 180.0;
+        return (int) (y_scale * height);
+    }
+
+    private void initialize(TimeRange timeRange) {
+        startTime = timeRange.getStartDate().getTime();
+        scale = 1.0 / (timeRange.getStopDate().getTime() - startTime);
     }
 
     // package access for testing only tb 2014-02-20
@@ -49,6 +69,10 @@ class TimeLatMapStrategy implements MapStrategy {
                 maxTime = samplingPointTime;
             }
         }
+        return createTimeRangeInFullMonths(minTime, maxTime);
+    }
+
+    private static TimeRange createTimeRangeInFullMonths(long minTime, long maxTime) {
         final Date startDate = new Date(minTime);
         final Date stopDate = new Date(maxTime);
         return new TimeRange(TimeUtil.getBeginOfMonth(startDate), TimeUtil.getEndOfMonth(stopDate));
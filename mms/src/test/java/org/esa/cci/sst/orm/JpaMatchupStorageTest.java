@@ -5,7 +5,9 @@ import org.esa.cci.sst.util.TimeUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.persistence.EntityTransaction;
 import javax.persistence.Query;
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
@@ -396,6 +398,52 @@ public class JpaMatchupStorageTest {
         verifyNoMoreInteractions(query);
     }
 
+    @Test
+    public void testGetCursorForMmd_implicit() throws ParseException {
+        final String sql = "select r.id from mm_matchup m, mm_observation r, mm_datafile f where r.time >= ?2 and r.time < ?3 and m.id = r.id and f.id = r.datafile_id order by f.path, r.time, r.id";
+        final String sensorName = "Implicit";
+        final Date startDate = createDate("2012-08-04T00:00:00Z");
+        final Date stopDate = createDate("2012-08-07T00:00:00Z");
+
+        final List<Matchup> resultList = createOneMatchupListWithId(18);
+        resultList.addAll(createOneMatchupListWithId(11));
+        final EntityTransaction transaction = mock(EntityTransaction.class);
+
+        final MatchupQueryParameter parameter = new MatchupQueryParameter();
+        parameter.setSensorName(sensorName);
+        parameter.setStartDate(startDate);
+        parameter.setStopDate(stopDate);
+
+        when(query.getResultList()).thenReturn(resultList);
+        when(persistenceManager.createNativeQuery(sql, Matchup.class)).thenReturn(query);
+        when(persistenceManager.transaction()).thenReturn(transaction);
+        when(transaction.isActive()).thenReturn(true);
+
+        try (MatchupCursor cursor = matchupStorage.getCursorForMmd(parameter, 500)) {
+            assertTrue(cursor.hasNext());
+            assertEquals(18, cursor.next().getId());
+            assertTrue(cursor.hasNext());
+            assertEquals(11, cursor.next().getId());
+            assertFalse(cursor.hasNext());
+        }
+
+        verify(persistenceManager, times(1)).createNativeQuery(sql, Matchup.class);
+        verify(persistenceManager, times(1)).transaction();
+        verifyNoMoreInteractions(persistenceManager);
+
+        verify(query, times(1)).setParameter(1, sensorName);
+        verify(query, times(1)).setParameter(2, startDate);
+        verify(query, times(1)).setParameter(3, stopDate);
+        verify(query, times(1)).setHint(JpaMatchupStorage.HINT_FETCH_BATCH_SIZE, 500);
+        verify(query, times(1)).setHint(JpaMatchupStorage.HINT_RESULT_SET_TYPE, "forward-only");
+        verify(query, times(1)).getResultList();
+        verifyNoMoreInteractions(query);
+
+        verify(transaction, times(1)).isActive();
+        verify(transaction, times(1)).commit();
+        verifyNoMoreInteractions(transaction);
+    }
+
     @Test
     public void testGet_id() {
         final String sql = "select m from Matchup m where m.id = ?1";
@@ -416,6 +464,69 @@ public class JpaMatchupStorageTest {
         verifyNoMoreInteractions(persistenceManager);
     }
 
+    @Test
+    public void testUpdatePatternIndex() throws ParseException {
+        final String sql = "select r.id, r.time, m.id, m.pattern from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id and (r.time, r.id) > (?3, ?4) order by r.time, r.id";
+        final Date startDate = createDate("2010-06-01T00:00:00Z");
+        final Date stopDate = createDate("2010-07-01T00:00:00Z");
+        final Date time = createDate("2010-06-02T00:00:00Z");
+        final List<Object[]> resultList = new ArrayList<>();
+        resultList.add(new Object[]{7, time, 7, 12L});
+        resultList.add(new Object[]{5, time, 5, 4L});
+
+        when(persistenceManager.createNativeQuery(sql)).thenReturn(query);
+        when(query.getResultList()).thenReturn(resultList);
+
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        final int count = matchupStorage.updatePatternIndex(index, startDate, stopDate);
+        assertEquals(2, count);
+        assertEquals(2, index.size());
+        assertArrayEquals(new int[]{7, 5}, index.getMatchupIds(startDate.getTime(), stopDate.getTime(), 4L));
+        assertArrayEquals(new int[]{7}, index.getMatchupIds(startDate.getTime(), stopDate.getTime(), 8L));
+
+        verify(persistenceManager, times(1)).createNativeQuery(sql);
+        verifyNoMoreInteractions(persistenceManager);
+
+        verify(query, times(1)).setParameter(1, startDate);
+        verify(query, times(1)).setParameter(2, stopDate);
+        verify(query, times(1)).setParameter(3, startDate);
+        verify(query, times(1)).setParameter(4, Integer.MIN_VALUE);
+        verify(query, times(1)).setMaxResults(100000);
+        verify(query, times(1)).getResultList();
+        verifyNoMoreInteractions(query);
+    }
+
+    @Test
+    public void testIsPatternIndexCurrent() throws ParseException {
+        final String sql = "select count(m.id), max(m.id), sum(m.pattern) from mm_matchup m, mm_observation r where r.time >= ?1 and r.time < ?2 and r.id = m.refobs_id";
+        final Date startDate = createDate("2010-06-01T00:00:00Z");
+        final Date stopDate = createDate("2010-07-01T00:00:00Z");
+        final long time = createDate("2010-06-02T00:00:00Z").getTime();
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        index.replace(startDate.getTime(), stopDate.getTime(), new long[]{time, time}, new int[]{7, 5}, new long[]{12L, 4L}, 2);
+
+        when(persistenceManager.createNativeQuery(sql)).thenReturn(query);
+        when(query.getSingleResult()).thenReturn(new Object[]{2L, 7, new BigDecimal(16)},   // consistent
+                                                 new Object[]{3L, 9, new BigDecimal(20)},   // matchups added
+                                                 new Object[]{2L, 9, new BigDecimal(16)},   // matchups replaced
+                                                 new Object[]{0L, null, null},              // matchups removed
+                                                 new Object[]{2L, 7, new BigDecimal(17)});  // patterns changed
+
+        assertTrue(matchupStorage.isPatternIndexCurrent(index, startDate, stopDate));
+        assertFalse(matchupStorage.isPatternIndexCurrent(index, startDate, stopDate));
+        assertFalse(matchupStorage.isPatternIndexCurrent(index, startDate, stopDate));
+        assertFalse(matchupStorage.isPatternIndexCurrent(index, startDate, stopDate));
+        assertFalse(matchupStorage.isPatternIndexCurrent(index, startDate, stopDate));
+
+        verify(persistenceManager, times(5)).createNativeQuery(sql);
+        verifyNoMoreInteractions(persistenceManager);
+
+        verify(query, times(5)).setParameter(1, startDate);
+        verify(query, times(5)).setParameter(2, stopDate);
+        verify(query, times(5)).getSingleResult();
+        verifyNoMoreInteractions(query);
+    }
+
     private Date createDate(String timeString) throws ParseException {
         return TimeUtil.parseCcsdsUtcFormat(timeString);
     }
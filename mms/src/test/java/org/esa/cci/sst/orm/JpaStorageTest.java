@@ -212,6 +212,7 @@ public class JpaStorageTest {
         final Date startDate = TimeUtil.parseCcsdsUtcFormat("2010-01-01T13:00:00Z");
         final Date stoptDate = TimeUtil.parseCcsdsUtcFormat("2010-01-05T17:00:00Z");
         final String sensorName = "thermometer";
+        final String template = "select o.id from mm_observation o where o.sensor = ?1 and o.time >= timestamp ?2 and o.time < timestamp ?3 order by o.time, o.id";
         final String sql = "select o.id from mm_observation o where o.sensor = ?1 and o.time >= timestamp '2010-01-01T13:00:00Z' and o.time < timestamp '2010-01-05T17:00:00Z' order by o.time, o.id";
 
         final List<RelatedObservation> observations = new ArrayList<>();
@@ -221,13 +222,13 @@ public class JpaStorageTest {
 
         final Query query = mock(Query.class);
         when(query.getResultList()).thenReturn(observations);
-        when(persistenceManager.createNativeQuery(sql, RelatedObservation.class)).thenReturn(query);
+        when(persistenceManager.createNativeQuery(template, sql, RelatedObservation.class)).thenReturn(query);
 
         final List<RelatedObservation> storedObservations = jpaStorage.getRelatedObservations(sensorName, startDate, stoptDate);
         assertNotNull(storedObservations);
         assertEquals(1, storedObservations.size());
 
-        verify(persistenceManager, times(1)).createNativeQuery(sql, RelatedObservation.class);
+        verify(persistenceManager, times(1)).createNativeQuery(template, sql, RelatedObservation.class);
         verifyNoMoreInteractions(persistenceManager);
 
         verify(query, times(1)).setParameter(1, sensorName);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.orm;
+
+import org.junit.Test;
+
+import javax.persistence.Query;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KeysetPagerTest {
+
+    private static final String SQL = "select o.id, o.time from mm_observation o where o.sensor = ?1 and (o.time, o.id) > (?2, ?3) order by o.time, o.id";
+
+    @Test
+    public void testForEachRow() {
+        final Date startTime = new Date(0L);
+        final Timestamp time1 = new Timestamp(1000L);
+        final Timestamp time2 = new Timestamp(2000L);
+        time2.setNanos(123456000);
+        final Object[] row1 = {7, time1};
+        final Object[] row2 = {5, time2};
+        final Object[] row3 = {3, time2};
+
+        final Query query = mock(Query.class);
+        final PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        when(persistenceManager.createNativeQuery(SQL)).thenReturn(query);
+        when(query.getResultList()).thenReturn(Arrays.asList(row1, row2), Collections.singletonList(row3));
+
+        final List<Object[]> rows = new ArrayList<>();
+        final KeysetPager pager = new KeysetPager(persistenceManager, SQL, 2);
+        final int rowCount = pager.forEachRow(startTime, new KeysetPager.RowHandler() {
+            @Override
+            public void handleRow(Object[] row) {
+                rows.add(row);
+            }
+        }, "atsr_md");
+
+        assertEquals(3, rowCount);
+        assertEquals(Arrays.asList(row1, row2, row3), rows);
+
+        verify(persistenceManager, times(2)).createNativeQuery(SQL);
+        verify(query, times(2)).setParameter(1, "atsr_md");
+        verify(query).setParameter(2, startTime);
+        verify(query).setParameter(3, Integer.MIN_VALUE);
+        // the second page starts after the last row of the first page
+        verify(query).setParameter(2, time2);
+        verify(query).setParameter(3, 5);
+        verify(query, times(2)).setMaxResults(2);
+        verify(query, times(2)).getResultList();
+        verifyNoMoreInteractions(query);
+    }
+
+    @Test
+    public void testForEachRow_emptyResult() {
+        final Query query = mock(Query.class);
+        final PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        when(persistenceManager.createNativeQuery(SQL)).thenReturn(query);
+        when(query.getResultList()).thenReturn(Collections.emptyList());
+
+        final KeysetPager.RowHandler handler = mock(KeysetPager.RowHandler.class);
+        final int rowCount = new KeysetPager(persistenceManager, SQL, 2).forEachRow(new Date(0L), handler, "atsr_md");
+
+        assertEquals(0, rowCount);
+        verifyZeroInteractions(handler);
+        verify(query, times(1)).getResultList();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MatchupPatternIndexTest {
+
+    private static final long DAY = 86400000L;
+    private static final long START = 1262304000000L; // 2010-01-01
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetMatchupIds_equivalentToSqlQuery() {
+        final List<Row> rows = createRows(20000, new Random(5489));
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        replace(index, START, START + 365 * DAY, rows);
+        assertEquals(rows.size(), index.size());
+
+        final Random random = new Random(27);
+        for (int i = 0; i < 100; i++) {
+            final long startTime = START - 10 * DAY + (long) (random.nextDouble() * 380 * DAY);
+            final long stopTime = startTime + (long) (random.nextDouble() * 60 * DAY);
+            final long pattern = i % 10 == 0 ? 0 : random.nextLong() & random.nextLong() & random.nextLong();
+
+            final int[] expected = selectAsSqlQuery(rows, startTime, stopTime, pattern);
+            final int[] actual = index.getMatchupIds(startTime, stopTime, pattern);
+            assertArrayEquals("query " + i, expected, actual);
+        }
+    }
+
+    @Test
+    public void testGetMatchupIds_boundaries() {
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        index.replace(0, 100, new long[]{10, 20, 20, 30}, new int[]{4, 3, 2, 1}, new long[]{0x1, 0x3, 0x2, 0x7}, 4);
+
+        assertArrayEquals(new int[]{4, 3, 2, 1}, index.getMatchupIds(10, 31, 0));
+        assertArrayEquals(new int[]{3, 2}, index.getMatchupIds(20, 30, 0));
+        assertArrayEquals(new int[]{3, 1}, index.getMatchupIds(0, 100, 0x1 | 0x2));
+        assertArrayEquals(new int[]{1}, index.getMatchupIds(0, 100, 0x4));
+        assertArrayEquals(new int[0], index.getMatchupIds(11, 20, 0));
+        assertArrayEquals(new int[0], index.getMatchupIds(30, 10, 0));
+    }
+
+    @Test
+    public void testGetCountAndMaxMatchupId() {
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        index.replace(0, 100, new long[]{10, 20, 20, 30}, new int[]{4, 3, 2, 1}, new long[]{0x1, 0x3, 0x2, 0x7}, 4);
+
+        assertEquals(4, index.getCount(0, 100));
+        assertEquals(4, index.getMaxMatchupId(0, 100));
+        assertEquals(3, index.getCount(20, 31));
+        assertEquals(3, index.getMaxMatchupId(20, 31));
+        assertEquals(0, index.getCount(11, 20));
+        assertEquals(-1, index.getMaxMatchupId(11, 20));
+        assertEquals(0, index.getCount(30, 10));
+        assertEquals(-1, index.getMaxMatchupId(30, 10));
+    }
+
+    @Test
+    public void testGetPatternSum() {
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        index.replace(0, 100, new long[]{10, 20, 20, 30}, new int[]{4, 3, 2, 1}, new long[]{0x1, 0x3, 0x2, 0x7}, 4);
+
+        assertEquals(13, index.getPatternSum(0, 100));
+        assertEquals(12, index.getPatternSum(20, 31));
+        assertEquals(0, index.getPatternSum(11, 20));
+
+        // the sum overflows like the low-order 64 bits of the sum in the database
+        index.replace(0, 100, new long[]{10, 20}, new int[]{4, 3}, new long[]{Long.MAX_VALUE, 0x2}, 2);
+        assertEquals(new BigDecimal(Long.MAX_VALUE).add(new BigDecimal(2)).longValue(), index.getPatternSum(0, 100));
+    }
+
+    @Test
+    public void testReplace_incrementalUpdatesEqualFullBuild() {
+        final Random random = new Random(5489);
+        final List<Row> rows = createRows(10000, random);
+        final MatchupPatternIndex fullIndex = MatchupPatternIndex.create();
+        replace(fullIndex, START, START + 365 * DAY, rows);
+
+        final MatchupPatternIndex incrementalIndex = MatchupPatternIndex.create();
+        // months in random order, one of them twice with other matchups first
+        replace(incrementalIndex, START + 31 * DAY, START + 62 * DAY,
+                select(createRows(5000, random), START + 31 * DAY, START + 62 * DAY));
+        final List<Integer> months = new ArrayList<>();
+        for (int m = 0; m < 13; m++) {
+            months.add(m);
+        }
+        Collections.shuffle(months, random);
+        for (final int m : months) {
+            final long startTime = START + m * 31 * DAY;
+            final long stopTime = Math.min(startTime + 31 * DAY, START + 365 * DAY);
+            if (startTime < stopTime) {
+                replace(incrementalIndex, startTime, stopTime, select(rows, startTime, stopTime));
+            }
+        }
+
+        assertEquals(fullIndex.size(), incrementalIndex.size());
+        assertArrayEquals(fullIndex.getMatchupIds(START, START + 365 * DAY, 0),
+                          incrementalIndex.getMatchupIds(START, START + 365 * DAY, 0));
+    }
+
+    @Test
+    public void testReplace_illegalArguments() {
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        try {
+            index.replace(0, 100, new long[]{10, 100}, new int[]{1, 2}, new long[]{0, 0}, 2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            index.replace(0, 100, new long[]{20, 10}, new int[]{1, 2}, new long[]{0, 0}, 2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final List<Row> rows = createRows(1000, new Random(5489));
+        final MatchupPatternIndex index = MatchupPatternIndex.create();
+        replace(index, START, START + 365 * DAY, rows);
+        final File indexFile = new File(temporaryFolder.getRoot(), "matchups.idx");
+
+        index.write(indexFile);
+        final MatchupPatternIndex readIndex = MatchupPatternIndex.read(indexFile);
+
+        assertNotNull(readIndex);
+        assertEquals(index.size(), readIndex.size());
+        assertArrayEquals(index.getMatchupIds(START, START + 365 * DAY, 0x5),
+                          readIndex.getMatchupIds(START, START + 365 * DAY, 0x5));
+        assertFalse(new File(indexFile.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void testRead_missingOrCorruptFile() throws IOException {
+        final File indexFile = new File(temporaryFolder.getRoot(), "matchups.idx");
+        assertNull(MatchupPatternIndex.read(indexFile));
+
+        try (FileOutputStream out = new FileOutputStream(indexFile)) {
+            out.write(new byte[]{0, 0, 0, 1, 0, 0, 0, 9, 1, 2});
+        }
+        assertNull(MatchupPatternIndex.read(indexFile));
+    }
+
+    // evaluates the selection of the SQL query used by the matchup storage:
+    // r.time >= ?1 and r.time < ?2 and m.pattern & ?3 = ?3 order by r.time, r.id
+    private static int[] selectAsSqlQuery(List<Row> rows, long startTime, long stopTime, long pattern) {
+        final List<Row> selectedRows = new ArrayList<>();
+        for (final Row row : rows) {
+            if (row.time >= startTime && row.time < stopTime && (pattern == 0 || (row.pattern & pattern) == pattern)) {
+                selectedRows.add(row);
+            }
+        }
+        final int[] ids = new int[selectedRows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = selectedRows.get(i).id;
+        }
+        return ids;
+    }
+
+    private static List<Row> select(List<Row> rows, long startTime, long stopTime) {
+        final List<Row> selectedRows = new ArrayList<>();
+        for (final Row row : rows) {
+            if (row.time >= startTime && row.time < stopTime) {
+                selectedRows.add(row);
+            }
+        }
+        return selectedRows;
+    }
+
+    private static void replace(MatchupPatternIndex index, long startTime, long stopTime, List<Row> rows) {
+        final long[] times = new long[rows.size()];
+        final int[] ids = new int[rows.size()];
+        final long[] patterns = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            times[i] = rows.get(i).time;
+            ids[i] = rows.get(i).id;
+            patterns[i] = rows.get(i).pattern;
+        }
+        index.replace(startTime, stopTime, times, ids, patterns, rows.size());
+    }
+
+    // creates rows ordered by time and id, with many equal times
+    private static List<Row> createRows(int count, Random random) {
+        final List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final long time = START + (random.nextInt(365 * 24) * DAY / 24);
+            rows.add(new Row(random.nextInt(Integer.MAX_VALUE), time, random.nextLong() & random.nextLong()));
+        }
+        Collections.sort(rows, new Comparator<Row>() {
+            @Override
+            public int compare(Row r1, Row r2) {
+                final int c = Long.compare(r1.time, r2.time);
+                return c != 0 ? c : Integer.compare(r1.id, r2.id);
+            }
+        });
+        return rows;
+    }
+
+    private static final class Row {
+
+        private final int id;
+        private final long time;
+        private final long pattern;
+
+        private Row(int id, long time, long pattern) {
+            this.id = id;
+            this.time = time;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(new long[]{id, time, pattern});
+        }
+    }
+}
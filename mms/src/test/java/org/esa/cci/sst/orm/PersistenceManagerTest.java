@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PersistenceManagerTest {
+
+    private static final String SENSOR_QUERY = "select s from Sensor s where s.name = ?1";
+    private static final String COINCIDENCE_QUERY = "select o.id from mm_observation o where o.sensor = ?1 and o.time >= timestamp ?2";
+    private static final String DUPLICATES_QUERY = "update mm_observation o set referenceflag = 5 where o.sensor = ?1";
+
+    private EntityManager entityManager;
+    private PersistenceManager persistenceManager;
+
+    @Before
+    public void setUp() {
+        entityManager = mock(EntityManager.class);
+        persistenceManager = new PersistenceManager(entityManager);
+    }
+
+    @Test
+    public void testCreateQuery_executionsAreRecorded() {
+        final Query query = mock(Query.class);
+        when(entityManager.createQuery(SENSOR_QUERY)).thenReturn(query);
+        when(query.getResultList()).thenReturn(Arrays.asList("atsr_md"), Arrays.asList("metop", "seviri"));
+
+        final Query timedQuery = persistenceManager.createQuery(SENSOR_QUERY);
+        assertSame(timedQuery, timedQuery.setParameter(1, "atsr_md"));
+        assertEquals(1, timedQuery.getResultList().size());
+        timedQuery.setParameter(1, "metop");
+        assertEquals(2, timedQuery.getResultList().size());
+
+        verify(query).setParameter(1, "atsr_md");
+        verify(query).setParameter(1, "metop");
+        verify(query, times(2)).getResultList();
+
+        final List<QueryStatistics> statistics = persistenceManager.getQueryTimer().getStatistics();
+        assertEquals(1, statistics.size());
+        assertEquals(SENSOR_QUERY, statistics.get(0).getTemplate());
+        assertEquals(2, statistics.get(0).getInvocationCount());
+        assertEquals(3, statistics.get(0).getRowCount());
+    }
+
+    @Test
+    public void testCreateNativeQuery_slowUpdate() {
+        final Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(DUPLICATES_QUERY)).thenReturn(query);
+        when(query.executeUpdate()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(20);
+                return 7;
+            }
+        });
+        persistenceManager.getQueryTimer().setSlowQueryThreshold(10);
+
+        final Query timedQuery = persistenceManager.createNativeQuery(DUPLICATES_QUERY);
+        timedQuery.setParameter(1, "atsr_md");
+        assertEquals(7, timedQuery.executeUpdate());
+
+        final QueryStatistics statistics = persistenceManager.getQueryTimer().getStatistics().get(0);
+        assertEquals(1, statistics.getInvocationCount());
+        assertEquals(7, statistics.getRowCount());
+        assertTrue(statistics.getMaxNanos() >= 20000000L);
+    }
+
+    @Test
+    public void testCreateNativeQuery_lazyResultIsNotCounted() {
+        final List<?> resultList = mock(List.class);
+        final Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(SENSOR_QUERY, String.class)).thenReturn(query);
+        when(query.getResultList()).thenReturn(resultList);
+
+        final Query timedQuery = persistenceManager.createNativeQuery(SENSOR_QUERY, String.class);
+        timedQuery.setHint(JpaMatchupStorage.HINT_RESULT_SET_TYPE, "forward-only");
+        assertSame(resultList, timedQuery.getResultList());
+
+        verify(query).setHint(JpaMatchupStorage.HINT_RESULT_SET_TYPE, "forward-only");
+        verifyZeroInteractions(resultList);
+        assertEquals(0, persistenceManager.getQueryTimer().getStatistics().get(0).getRowCount());
+    }
+
+    @Test
+    public void testCreateNativeQuery_literalVariantsAreRecordedUnderTemplate() {
+        for (int i = 0; i < 1000; i++) {
+            final String queryString = COINCIDENCE_QUERY.replaceAll("\\?2", "'2010-01-01T00:00:" + i + "Z'");
+            final Query query = mock(Query.class);
+            when(entityManager.createNativeQuery(queryString, String.class)).thenReturn(query);
+            when(query.getResultList()).thenReturn(Arrays.asList("atsr_md"));
+
+            final Query timedQuery = persistenceManager.createNativeQuery(COINCIDENCE_QUERY, queryString, String.class);
+            timedQuery.setParameter(1, "atsr_md");
+            timedQuery.getResultList();
+        }
+
+        final List<QueryStatistics> statistics = persistenceManager.getQueryTimer().getStatistics();
+        assertEquals(1, statistics.size());
+        assertEquals(COINCIDENCE_QUERY, statistics.get(0).getTemplate());
+        assertEquals(1000, statistics.get(0).getInvocationCount());
+    }
+
+    @Test
+    public void testPick() {
+        final Query query = mock(Query.class);
+        when(entityManager.createQuery(SENSOR_QUERY)).thenReturn(query);
+        when(query.getResultList()).thenReturn(Arrays.asList("atsr_md"));
+
+        assertEquals("atsr_md", persistenceManager.pick(SENSOR_QUERY, "atsr_md"));
+
+        final QueryStatistics statistics = persistenceManager.getQueryTimer().getStatistics().get(0);
+        assertEquals(1, statistics.getInvocationCount());
+        assertEquals(1, statistics.getRowCount());
+    }
+
+    @Test
+    public void testClose() {
+        when(entityManager.isOpen()).thenReturn(true);
+
+        persistenceManager.close();
+
+        verify(entityManager).close();
+    }
+}
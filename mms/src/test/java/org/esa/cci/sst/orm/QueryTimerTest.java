@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.orm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class QueryTimerTest {
+
+    private static final String QUERY_1 = "select o from ReferenceObservation o where o.sensor = ?1";
+    private static final String QUERY_2 = "select m from Matchup m where m.id = ?1";
+
+    private Logger logger;
+    private LogRecorder logRecorder;
+    private QueryTimer queryTimer;
+
+    @Before
+    public void setUp() {
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logRecorder = new LogRecorder();
+        logger.addHandler(logRecorder);
+        queryTimer = new QueryTimer(logger);
+    }
+
+    @After
+    public void tearDown() {
+        logger.removeHandler(logRecorder);
+    }
+
+    @Test
+    public void testRecord() {
+        queryTimer.record(QUERY_1, bindValues(1, "atsr_md"), 10, TimeUnit.MILLISECONDS.toNanos(2));
+        queryTimer.record(QUERY_1, bindValues(1, "metop"), 20, TimeUnit.MILLISECONDS.toNanos(4));
+        queryTimer.record(QUERY_2, bindValues(1, 42), -1, TimeUnit.MILLISECONDS.toNanos(30));
+
+        final List<QueryStatistics> statistics = queryTimer.getStatistics();
+        assertEquals(2, statistics.size());
+
+        assertEquals(QUERY_2, statistics.get(0).getTemplate());
+        assertEquals(1, statistics.get(0).getInvocationCount());
+        assertEquals(0, statistics.get(0).getRowCount());
+
+        assertEquals(QUERY_1, statistics.get(1).getTemplate());
+        assertEquals(2, statistics.get(1).getInvocationCount());
+        assertEquals(30, statistics.get(1).getRowCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(6), statistics.get(1).getTotalNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(4), statistics.get(1).getMaxNanos());
+
+        assertTrue(logRecorder.records.isEmpty());
+    }
+
+    @Test
+    public void testRecord_templateCountIsBounded() {
+        for (int i = 0; i < QueryTimer.MAX_TEMPLATE_COUNT + 10; i++) {
+            queryTimer.record("select m from Matchup m where m.id = " + i, bindValues(1, i), 1, 1);
+        }
+        queryTimer.record(QUERY_1, bindValues(1, "atsr_md"), 10, 1);
+
+        final List<QueryStatistics> statistics = queryTimer.getStatistics();
+        assertEquals(QueryTimer.MAX_TEMPLATE_COUNT + 1, statistics.size());
+
+        QueryStatistics other = null;
+        for (final QueryStatistics s : statistics) {
+            if (QueryTimer.OTHER_TEMPLATE.equals(s.getTemplate())) {
+                other = s;
+            }
+        }
+        assertNotNull(other);
+        assertEquals(11, other.getInvocationCount());
+        assertEquals(20, other.getRowCount());
+    }
+
+    @Test
+    public void testRecord_slowQuery() {
+        queryTimer.setSlowQueryThreshold(100);
+
+        queryTimer.record(QUERY_1, bindValues(1, "atsr_md"), 10, TimeUnit.MILLISECONDS.toNanos(99));
+        queryTimer.record(QUERY_1, bindValues(1, "metop"), 20, TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertEquals(1, logRecorder.records.size());
+        final LogRecord record = logRecorder.records.get(0);
+        assertEquals(Level.WARNING, record.getLevel());
+        assertEquals("Slow query (150 ms, 20 rows): " + QUERY_1 + " with parameters {1=metop}", record.getMessage());
+    }
+
+    @Test
+    public void testRecord_slowInlinedQueryIsLoggedWithQueryString() {
+        queryTimer.setSlowQueryThreshold(100);
+
+        final String template = "select o from Observation o where o.time < ?1";
+        final String queryString = "select o from Observation o where o.time < '2010-06-01 00:00:00'";
+        queryTimer.record(template, queryString, bindValues(2, "metop"), 20, TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertEquals(1, logRecorder.records.size());
+        assertEquals("Slow query (150 ms, 20 rows): " + queryString + " with parameters {2=metop}",
+                     logRecorder.records.get(0).getMessage());
+        assertEquals(template, queryTimer.getStatistics().get(0).getTemplate());
+    }
+
+    @Test
+    public void testReport() {
+        queryTimer.report();
+        assertTrue(logRecorder.records.isEmpty());
+
+        queryTimer.record(QUERY_1, bindValues(1, "atsr_md"), 10, TimeUnit.MILLISECONDS.toNanos(2));
+        queryTimer.record("select   o\n from Observation o", bindValues(1, "atsr_md"), 10, TimeUnit.MILLISECONDS.toNanos(1));
+        queryTimer.report();
+
+        assertEquals(1, logRecorder.records.size());
+        final String[] lines = logRecorder.records.get(0).getMessage().split("\\r?\\n");
+        assertEquals(4, lines.length);
+        assertEquals("Query report (ms):", lines[0]);
+        assertTrue(lines[2].endsWith("  " + QUERY_1));
+        assertTrue(lines[3].endsWith("  select o from Observation o"));
+    }
+
+    private static Map<Object, Object> bindValues(Object key, Object value) {
+        final Map<Object, Object> bindValues = new LinkedHashMap<>();
+        bindValues.put(key, value);
+        return bindValues;
+    }
+
+    private static final class LogRecorder extends Handler {
+
+        private final List<LogRecord> records = new ArrayList<>();
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
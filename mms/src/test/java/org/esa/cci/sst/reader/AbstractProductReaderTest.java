@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.reader;
+
+import org.esa.beam.framework.datamodel.CrsGeoCoding;
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.framework.datamodel.ProductData;
+import org.esa.cci.sst.common.ExtractDefinition;
+import org.esa.cci.sst.common.ExtractDefinitionBuilder;
+import org.esa.cci.sst.data.DataFile;
+import org.esa.cci.sst.data.Observation;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ucar.ma2.Array;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AbstractProductReaderTest {
+
+    private static final int W = 120;
+    private static final int H = 80;
+
+    private AbstractProductReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        final Product product = new Product("test", "test", W, H);
+        product.setGeoCoding(new CrsGeoCoding(DefaultGeographicCRS.WGS84, W, H, 10.0, 50.0, 0.1, 0.1));
+        product.addBand("value", "X + 1000 * Y", ProductData.TYPE_INT32);
+
+        reader = new AbstractProductReader("test") {
+            @Override
+            protected Product readProduct(DataFile dataFile) {
+                return product;
+            }
+
+            @Override
+            public Observation readObservation(int recordNo) {
+                return null;
+            }
+        };
+        reader.open(new DataFile(), null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        reader.close();
+    }
+
+    @Test
+    public void testRead_batchEqualsSingleReads() throws Exception {
+        final Random random = new Random(27);
+        final List<ExtractDefinition> extractDefinitions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final double lon = 10.0 + random.nextDouble() * W * 0.1;
+            final double lat = 50.0 - random.nextDouble() * H * 0.1;
+            final int[] shape = {1, 1 + 2 * random.nextInt(4), 1 + 2 * random.nextInt(4)};
+            extractDefinitions.add(new ExtractDefinitionBuilder().lon(lon).lat(lat).shape(shape).fillValue(-1).build());
+        }
+
+        final List<Array> arrays = reader.read("value", extractDefinitions);
+
+        assertEquals(extractDefinitions.size(), arrays.size());
+        for (int i = 0; i < extractDefinitions.size(); i++) {
+            final Array expected = reader.read("value", extractDefinitions.get(i));
+            final Array actual = arrays.get(i);
+            assertArrayEquals(expected.getShape(), actual.getShape());
+            for (int k = 0; k < expected.getSize(); k++) {
+                assertEquals(expected.getInt(k), actual.getInt(k));
+            }
+        }
+    }
+
+    @Test
+    public void testRead_batchWithUnknownRole() throws Exception {
+        final List<ExtractDefinition> extractDefinitions = new ArrayList<>();
+        extractDefinitions.add(new ExtractDefinitionBuilder().lon(12.0).lat(48.0).build());
+        extractDefinitions.add(new ExtractDefinitionBuilder().lon(13.0).lat(47.0).build());
+
+        final List<Array> arrays = reader.read("unknown", extractDefinitions);
+
+        assertEquals(2, arrays.size());
+        assertNull(arrays.get(0));
+        assertNull(arrays.get(1));
+    }
+
+    @Test
+    public void testCoalesce_overlappingAndAdjacentRectangles() {
+        final Rectangle[] rectangles = {
+                new Rectangle(10, 10, 5, 5),
+                new Rectangle(100, 100, 5, 5),
+                new Rectangle(12, 12, 5, 5),
+                new Rectangle(15, 10, 5, 5),
+                new Rectangle(10, 15, 5, 5),
+                new Rectangle(21, 10, 5, 5),
+        };
+        final List<Rectangle> regions = new ArrayList<>();
+
+        final int[] regionIndexes = AbstractProductReader.coalesce(rectangles, regions, 10000);
+
+        assertEquals(3, regions.size());
+        assertEquals(regionIndexes[0], regionIndexes[2]);
+        assertEquals(regionIndexes[0], regionIndexes[3]);
+        assertEquals(regionIndexes[0], regionIndexes[4]);
+        assertNotEquals(regionIndexes[0], regionIndexes[1]);
+        assertNotEquals(regionIndexes[0], regionIndexes[5]);
+        assertEquals(new Rectangle(10, 10, 10, 10), regions.get(regionIndexes[0]));
+        assertEquals(new Rectangle(100, 100, 5, 5), regions.get(regionIndexes[1]));
+        assertEquals(new Rectangle(21, 10, 5, 5), regions.get(regionIndexes[5]));
+    }
+
+    @Test
+    public void testCoalesce_respectsMaximumArea() {
+        final Rectangle[] rectangles = {
+                new Rectangle(0, 0, 10, 10),
+                new Rectangle(5, 5, 10, 10),
+                new Rectangle(12, 0, 10, 10),
+        };
+        final List<Rectangle> regions = new ArrayList<>();
+
+        final int[] regionIndexes = AbstractProductReader.coalesce(rectangles, regions, 225);
+
+        assertEquals(2, regions.size());
+        assertEquals(regionIndexes[0], regionIndexes[1]);
+        assertNotEquals(regionIndexes[0], regionIndexes[2]);
+        for (int i = 0; i < rectangles.length; i++) {
+            assertTrue(regions.get(regionIndexes[i]).contains(rectangles[i]));
+        }
+    }
+}
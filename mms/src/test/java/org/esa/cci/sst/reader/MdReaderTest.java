@@ -16,15 +16,90 @@
 
 package org.esa.cci.sst.reader;
 
+import org.esa.cci.sst.common.ExtractDefinition;
+import org.esa.cci.sst.common.ExtractDefinitionBuilder;
+import org.esa.cci.sst.data.DataFile;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import ucar.ma2.Array;
+import ucar.ma2.ArrayChar;
+import ucar.ma2.DataType;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
 
 import java.awt.Point;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
 public class MdReaderTest {
 
+    private static final int RECORD_COUNT = 12;
+    private static final int NX = 5;
+    private static final int NY = 5;
+    private static final String[] ROLES = {"lon", "lat", "sst", "time", "dataset", "count", "flag", "temperature",
+            "callsign"};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRead_batchEqualsSingleReads() throws Exception {
+        final File file = createMdFile();
+        final List<ExtractDefinition> extractDefinitions = new ArrayList<>();
+        // records in shuffled order, with gaps, so runs of records start and end anywhere
+        for (final int recordNo : new int[]{7, 1, 2, 11, 3, 0, 9, 4, 8, 10}) {
+            extractDefinitions.add(createExtractDefinition(recordNo));
+        }
+
+        final MdReader batchReader = openReader(file);
+        final MdReader singleReader = openReader(file);
+        try {
+            for (final String role : ROLES) {
+                final List<Array> arrays = batchReader.read(role, extractDefinitions);
+                assertEquals(extractDefinitions.size(), arrays.size());
+                for (int i = 0; i < extractDefinitions.size(); i++) {
+                    final Array expected = singleReader.read(role, extractDefinitions.get(i));
+                    assertNotNull(role, expected);
+                    assertSameData(role, expected, arrays.get(i));
+                }
+            }
+        } finally {
+            batchReader.close();
+            singleReader.close();
+        }
+    }
+
+    @Test
+    public void testRecordValueGetters_afterBatchRead() throws Exception {
+        final File file = createMdFile();
+        final MdReader reader = openReader(file);
+        try {
+            for (int recordNo = 1; recordNo < RECORD_COUNT; recordNo++) {
+                final List<ExtractDefinition> extractDefinitions = new ArrayList<>();
+                for (int k = 0; k <= recordNo; k++) {
+                    extractDefinitions.add(createExtractDefinition(k));
+                }
+                for (final String role : ROLES) {
+                    reader.read(role, extractDefinitions);
+                }
+                // the last record of the run read is cached now
+                assertEquals(recordNo * 1000.0, reader.getDouble("time", recordNo), 0.0);
+                assertEquals(recordNo, reader.getByte("dataset", recordNo));
+                assertEquals(recordNo * 10, reader.getInt("count", recordNo));
+                assertEquals(recordNo * 2, reader.getShort("flag", recordNo));
+                assertEquals(recordNo + 0.5f, reader.getFloat("temperature", recordNo), 0.0f);
+                assertEquals("ship" + recordNo, reader.getString("callsign", recordNo));
+                assertEquals(recordNo * 100 + 2 * 7 + 3, reader.getShort("sst", recordNo, 2, 3));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
     @Test
     public void testExtractMdSubscene() {
         final int[][][] sourceArray = new int[1][21][21];
@@ -68,4 +143,101 @@ public class MdReaderTest {
         assertEquals(9 * 21 + 9 + 1, target.getInt(target.getIndex().set(0, 14, 14)));
     }
 
+    private static void assertSameData(String role, Array expected, Array actual) {
+        assertNotNull(role, actual);
+        assertArrayEquals(role, expected.getShape(), actual.getShape());
+        // flat index getters, as used by the record value getters and sample sources
+        for (int k = 0; k < expected.getSize(); k++) {
+            if (expected.getDataType() == DataType.CHAR) {
+                assertEquals(role, expected.getChar(k), actual.getChar(k));
+            } else {
+                assertEquals(role, expected.getDouble(k), actual.getDouble(k), 0.0);
+            }
+        }
+    }
+
+    private static ExtractDefinition createExtractDefinition(int recordNo) {
+        // the center of the subscene of the record
+        return new ExtractDefinitionBuilder()
+                .recordNo(recordNo)
+                .lon(getLon(recordNo, NX / 2))
+                .lat(getLat(NY / 2))
+                .shape(new int[]{1, 3, 3})
+                .fillValue(-1)
+                .build();
+    }
+
+    private static MdReader openReader(File file) throws Exception {
+        final MdReader reader = new AtsrMdReader("atsr_md");
+        reader.open(new DataFile(file.getPath(), null), null);
+        return reader;
+    }
+
+    // each record has a subscene of its own, so pixels are found in the geolocation of the right record only
+    private static double getLon(int recordNo, int x) {
+        return recordNo * 10.0 + x * 0.01;
+    }
+
+    private static double getLat(int y) {
+        return 40.0 + y * 0.01;
+    }
+
+    private File createMdFile() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "md.nc");
+        final NetcdfFileWriter writer = NetcdfFileWriter.createNew(NetcdfFileWriter.Version.netcdf3, file.getPath());
+        try {
+            writer.addDimension(null, "match_up", RECORD_COUNT);
+            writer.addDimension(null, "ny", NY);
+            writer.addDimension(null, "nx", NX);
+            writer.addDimension(null, "callsign_length", 8);
+            final Variable lon = writer.addVariable(null, "lon", DataType.FLOAT, "match_up ny nx");
+            final Variable lat = writer.addVariable(null, "lat", DataType.FLOAT, "match_up ny nx");
+            final Variable sst = writer.addVariable(null, "sst", DataType.SHORT, "match_up ny nx");
+            final Variable time = writer.addVariable(null, "time", DataType.DOUBLE, "match_up");
+            final Variable dataset = writer.addVariable(null, "dataset", DataType.BYTE, "match_up");
+            final Variable count = writer.addVariable(null, "count", DataType.INT, "match_up");
+            final Variable flag = writer.addVariable(null, "flag", DataType.SHORT, "match_up");
+            final Variable temperature = writer.addVariable(null, "temperature", DataType.FLOAT, "match_up");
+            final Variable callsign = writer.addVariable(null, "callsign", DataType.CHAR, "match_up callsign_length");
+            writer.create();
+
+            final Array lonArray = Array.factory(DataType.FLOAT, lon.getShape());
+            final Array latArray = Array.factory(DataType.FLOAT, lat.getShape());
+            final Array sstArray = Array.factory(DataType.SHORT, sst.getShape());
+            final Array timeArray = Array.factory(DataType.DOUBLE, time.getShape());
+            final Array datasetArray = Array.factory(DataType.BYTE, dataset.getShape());
+            final Array countArray = Array.factory(DataType.INT, count.getShape());
+            final Array flagArray = Array.factory(DataType.SHORT, flag.getShape());
+            final Array temperatureArray = Array.factory(DataType.FLOAT, temperature.getShape());
+            final ArrayChar.D2 callsignArray = new ArrayChar.D2(RECORD_COUNT, 8);
+            for (int r = 0; r < RECORD_COUNT; r++) {
+                for (int y = 0; y < NY; y++) {
+                    for (int x = 0; x < NX; x++) {
+                        final int i = (r * NY + y) * NX + x;
+                        lonArray.setFloat(i, (float) getLon(r, x));
+                        latArray.setFloat(i, (float) getLat(y));
+                        sstArray.setShort(i, (short) (r * 100 + y * 7 + x));
+                    }
+                }
+                timeArray.setDouble(r, r * 1000.0);
+                datasetArray.setByte(r, (byte) r);
+                countArray.setInt(r, r * 10);
+                flagArray.setShort(r, (short) (r * 2));
+                temperatureArray.setFloat(r, r + 0.5f);
+                callsignArray.setString(r, "ship" + r);
+            }
+            writer.write(lon, lonArray);
+            writer.write(lat, latArray);
+            writer.write(sst, sstArray);
+            writer.write(time, timeArray);
+            writer.write(dataset, datasetArray);
+            writer.write(count, countArray);
+            writer.write(flag, flagArray);
+            writer.write(temperature, temperatureArray);
+            writer.write(callsign, callsignArray);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
 }
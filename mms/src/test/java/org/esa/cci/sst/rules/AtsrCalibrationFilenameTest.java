@@ -87,6 +87,11 @@ public class AtsrCalibrationFilenameTest {
                         return null;
                     }
 
+                    @Override
+                    public List<Array> read(String role, List<ExtractDefinition> extractDefinitions) throws IOException {
+                        return null;
+                    }
+
                     @Override
                     public List<SamplingPoint> readSamplingPoints() {
                         return null;
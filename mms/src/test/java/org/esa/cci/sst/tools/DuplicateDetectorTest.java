@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools;
+
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DuplicateDetectorTest {
+
+    private static final long MINUTE = 60000000L;
+    private static final long START = 1262304000000000L; // 2010-01-01 (microseconds)
+    private static final long STOP = START + 60 * MINUTE;
+
+    @Test
+    public void testDuplicates_lowerTimeRadiusWins() {
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        detector.add(1, START + MINUTE, "ship", 300.0, 1);
+        detector.add(2, START + MINUTE + 1, "ship", 200.0, 1);
+        detector.add(3, START + MINUTE + 2, "ship", 200.0, 1);
+        detector.add(4, START + MINUTE + 3, "buoy", 400.0, 1);
+
+        assertEquals(asList(1, 3), detector.getDuplicateIds());
+    }
+
+    @Test
+    public void testDuplicates_timeDifferenceMustBeLessThanTwoMinutes() {
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        detector.add(1, START + MINUTE, "ship", 100.0, 1);
+        detector.add(2, START + 3 * MINUTE, "ship", 200.0, 1);
+        detector.add(3, START + 5 * MINUTE - 1, "ship", 300.0, 1);
+
+        assertEquals(asList(3), detector.getDuplicateIds());
+    }
+
+    @Test
+    public void testDuplicates_excludedDatasetsAndNulls() {
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        detector.add(1, START + MINUTE, "ship", 100.0, 1);
+        detector.add(2, START + MINUTE, "ship", 200.0, 6);
+        detector.add(3, START + MINUTE, "ship", 200.0, 7);
+        detector.add(4, START + MINUTE, "ship", 200.0, null);
+        detector.add(5, START + MINUTE, "ship", Double.NaN, 1);
+        detector.add(6, START + MINUTE, null, 200.0, 1);
+
+        assertEquals(Collections.<Integer>emptyList(), detector.getDuplicateIds());
+    }
+
+    @Test
+    public void testDuplicates_neighboursOutsideTimeRange() {
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        detector.add(1, START - MINUTE, "ship", 100.0, 1);
+        detector.add(2, START, "ship", 200.0, 1);
+        detector.add(3, STOP - 1, "buoy", 200.0, 1);
+        detector.add(4, STOP, "buoy", 100.0, 1);
+
+        assertEquals(asList(2, 3), detector.getDuplicateIds());
+    }
+
+    @Test
+    public void testAdd_notInOrderOfTime() {
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        detector.add(1, START + MINUTE, "ship", 100.0, 1);
+        try {
+            detector.add(2, START, "ship", 100.0, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testDuplicates_equivalentToSqlQuery() {
+        final Random random = new Random(5489);
+        final String[] names = {"ship1", "ship2", "buoy1", "buoy2", "drifter", null};
+        final double[] timeRadii = {60.0, 120.0, 120.0, 300.0, Double.NaN};
+        final Integer[] datasets = {0, 1, 2, 3, 5, 6, 7, null};
+        final List<Row> rows = new ArrayList<>();
+        for (int id = 1; id <= 5000; id++) {
+            // clustered times, including times up to five minutes outside of the detection range
+            final long cluster = START - 5 * MINUTE + random.nextInt(70) * MINUTE;
+            final long time = cluster + (long) (random.nextGaussian() * MINUTE);
+            rows.add(new Row(id, time,
+                             names[random.nextInt(names.length)],
+                             timeRadii[random.nextInt(timeRadii.length)],
+                             datasets[random.nextInt(datasets.length)]));
+        }
+        // some observations at the same time
+        for (int id = 5001; id <= 5100; id++) {
+            final Row row = rows.get(random.nextInt(rows.size()));
+            rows.add(new Row(id, row.time, row.name, timeRadii[random.nextInt(timeRadii.length)], 1));
+        }
+        Collections.shuffle(rows, random);
+
+        final List<Integer> expected = findDuplicatesAsSqlQuery(rows);
+        final List<Integer> actual = findDuplicates(rows);
+
+        assertTrue(expected.size() > 100);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testToMicros() {
+        final Timestamp timestamp = new Timestamp(1262304000123L);
+        timestamp.setNanos(123456789);
+
+        assertEquals(1262304000123456L, DuplicateDetector.toMicros(timestamp));
+        assertEquals(1262304000123000L, DuplicateDetector.toMicros(new Date(1262304000123L)));
+    }
+
+    // evaluates the criteria of the former SQL query for each observation, including the
+    // null semantics of SQL comparisons
+    private static List<Integer> findDuplicatesAsSqlQuery(List<Row> rows) {
+        final List<Integer> duplicateIds = new ArrayList<>();
+        for (final Row o : rows) {
+            if (o.time < START || o.time >= STOP || o.dataset == null || o.dataset == 6 || o.dataset == 7) {
+                continue;
+            }
+            for (final Row p : rows) {
+                if (p.name != null && p.name.equals(o.name)
+                    && p.time > o.time - 2 * MINUTE && p.time < o.time + 2 * MINUTE
+                    && (p.timeRadius < o.timeRadius || (p.timeRadius == o.timeRadius && p.id < o.id))) {
+                    duplicateIds.add(o.id);
+                    break;
+                }
+            }
+        }
+        Collections.sort(duplicateIds);
+        return duplicateIds;
+    }
+
+    // selects and orders the observations like the query used by the matchup tool
+    private static List<Integer> findDuplicates(List<Row> rows) {
+        final List<Row> selectedRows = new ArrayList<>();
+        for (final Row row : rows) {
+            if (row.time > START - 2 * MINUTE && row.time < STOP + 2 * MINUTE) {
+                selectedRows.add(row);
+            }
+        }
+        Collections.sort(selectedRows, new Comparator<Row>() {
+            @Override
+            public int compare(Row r1, Row r2) {
+                final int c = Long.compare(r1.time, r2.time);
+                return c != 0 ? c : Integer.compare(r1.id, r2.id);
+            }
+        });
+
+        final DuplicateDetector detector = new DuplicateDetector(START, STOP);
+        for (final Row row : selectedRows) {
+            detector.add(row.id, row.time, row.name, row.timeRadius, row.dataset);
+        }
+        final List<Integer> duplicateIds = new ArrayList<>(detector.getDuplicateIds());
+        Collections.sort(duplicateIds);
+        return duplicateIds;
+    }
+
+    private static List<Integer> asList(Integer... ids) {
+        final List<Integer> list = new ArrayList<>();
+        Collections.addAll(list, ids);
+        return list;
+    }
+
+    private static final class Row {
+
+        private final int id;
+        private final long time;
+        private final String name;
+        private final double timeRadius;
+        private final Integer dataset;
+
+        private Row(int id, long time, String name, double timeRadius, Integer dataset) {
+            this.id = id;
+            this.time = time;
+            this.name = name;
+            this.timeRadius = timeRadius;
+            this.dataset = dataset;
+        }
+    }
+}
@@ -224,6 +224,23 @@ public class MmdToolTest {
         assertEquals(264, parameter.getPattern());  // remember, it's hex
     }
 
+    @Test
+    public void testReadMatchupPatternIndex_notApplicable() {
+        final Configuration config = new Configuration();
+        config.put(Configuration.KEY_MMS_MMD_TARGET_START_TIME, "1993-03-04T00:00:00Z");
+        config.put(Configuration.KEY_MMS_MMD_TARGET_STOP_TIME, "1994-05-05T00:00:00Z");
+        config.put("mms.pattern.papa", "100");
+        config.put(Configuration.KEY_MMS_MMD_SENSORS, "papa");
+
+        assertNull(MmdTool.readMatchupPatternIndex(config, MmdTool.createMatchupQueryParameter(config)));
+
+        config.put(Configuration.KEY_MMS_MATCHUP_INDEX, "no/such/matchups.idx");
+        assertNull(MmdTool.readMatchupPatternIndex(config, MmdTool.createMatchupQueryParameter(config)));
+
+        config.put("mms.target.condition", "another_condition");
+        assertNull(MmdTool.readMatchupPatternIndex(config, MmdTool.createMatchupQueryParameter(config)));
+    }
+
     @Test
     public void testExtractVariableList() {
         final ColumnRegistry columnRegistry = new ColumnRegistry();
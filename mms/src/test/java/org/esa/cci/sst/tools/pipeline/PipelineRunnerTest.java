@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.tool.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PipelineRunnerTest {
+
+    private static final long MONTH = 31L * 86400000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File journalFile;
+    private PipelineContext context;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        journalFile = new File(temporaryFolder.getRoot(), "pipeline.journal");
+        context = new PipelineContext(new Configuration());
+        events = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void testRun_dependenciesWithinSlice() throws Exception {
+        final Pipeline pipeline = new Pipeline()
+                .addStage("ingestion", new StubStage("ingestion"), 0, 1)
+                .addStage("sampling", new StubStage("sampling"), 0, 4)
+                .addStage("matchup", new StubStage("matchup"), 0, 1, "ingestion", "sampling")
+                .addStage("mmd", new StubStage("mmd"), 0, 4, "matchup");
+        final List<TimeSlice> slices = createSlices(6);
+
+        final PipelineRunner.Result result = run(new PipelineRunner(4, 1000), pipeline, slices);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(24, result.getExecutedCount());
+        assertEquals(0, result.getSkippedCount());
+        assertEquals(48, events.size());
+        for (final TimeSlice slice : slices) {
+            assertBefore("end ingestion/" + slice, "start matchup/" + slice);
+            assertBefore("end sampling/" + slice, "start matchup/" + slice);
+            assertBefore("end matchup/" + slice, "start mmd/" + slice);
+        }
+    }
+
+    @Test
+    public void testRun_concurrencyLimits() throws Exception {
+        final ConcurrencyProbe totalProbe = new ConcurrencyProbe();
+        final ConcurrencyProbe writerProbe = new ConcurrencyProbe();
+        final Pipeline pipeline = new Pipeline()
+                .addStage("reader", new ProbingStage(totalProbe, null), 10, 100)
+                .addStage("writer", new ProbingStage(totalProbe, writerProbe), 10, 1, "reader");
+
+        final PipelineRunner.Result result = run(new PipelineRunner(3, 1000), pipeline, createSlices(12));
+
+        assertTrue(result.isSuccessful());
+        assertEquals(24, result.getExecutedCount());
+        assertTrue(totalProbe.max.get() <= 3);
+        assertEquals(1, writerProbe.max.get());
+    }
+
+    @Test
+    public void testRun_memoryBudget() throws Exception {
+        final ConcurrencyProbe probe = new ConcurrencyProbe();
+        final Pipeline pipeline = new Pipeline()
+                .addStage("small", new ProbingStage(probe, null), 40, 100)
+                .addStage("large", new ProbingStage(probe, null), 500, 100, "small");
+
+        // the large stage declares more memory than the budget and runs alone
+        final PipelineRunner.Result result = run(new PipelineRunner(8, 100), pipeline, createSlices(8));
+
+        assertTrue(result.isSuccessful());
+        assertEquals(16, result.getExecutedCount());
+        assertTrue(probe.max.get() <= 2);
+    }
+
+    @Test
+    public void testRun_failureBlocksDependentsOfSliceOnly() throws Exception {
+        final List<TimeSlice> slices = createSlices(4);
+        final Pipeline pipeline = new Pipeline()
+                .addStage("ingestion", new StubStage("ingestion"), 0, 1)
+                .addStage("matchup", new FailingStage(slices.get(1).getName()), 0, 1, "ingestion")
+                .addStage("mmd", new StubStage("mmd"), 0, 1, "matchup")
+                .addStage("nwp", new StubStage("nwp"), 0, 1, "mmd");
+
+        final PipelineRunner.Result result = run(new PipelineRunner(2, 1000), pipeline, slices);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey("matchup/" + slices.get(1)));
+        assertEquals(new HashSet<>(Arrays.asList("mmd/" + slices.get(1), "nwp/" + slices.get(1))),
+                     new HashSet<>(result.getBlocked()));
+        assertEquals(13, result.getExecutedCount());
+        assertFalse(events.contains("start mmd/" + slices.get(1)));
+        assertTrue(events.contains("end nwp/" + slices.get(3)));
+    }
+
+    @Test
+    public void testRun_errorFailsTaskOnly() throws Exception {
+        final List<TimeSlice> slices = createSlices(3);
+        final Pipeline pipeline = new Pipeline()
+                .addStage("matchup", new FailingStage(slices.get(0).getName(), true), 0, 1)
+                .addStage("mmd", new StubStage("mmd"), 0, 1, "matchup");
+
+        final PipelineRunner.Result result = run(new PipelineRunner(2, 1000), pipeline, slices);
+
+        assertFalse(result.isSuccessful());
+        assertTrue(result.getFailures().get("matchup/" + slices.get(0)) instanceof OutOfMemoryError);
+        assertEquals(Arrays.asList("mmd/" + slices.get(0)), result.getBlocked());
+        assertEquals(4, result.getExecutedCount());
+    }
+
+    @Test
+    public void testRun_resumesFromJournal() throws Exception {
+        final List<TimeSlice> slices = createSlices(4);
+        final FailingStage matchupStage = new FailingStage(slices.get(2).getName());
+        final Pipeline pipeline = new Pipeline()
+                .addStage("ingestion", new StubStage("ingestion"), 0, 1)
+                .addStage("matchup", matchupStage, 0, 1, "ingestion")
+                .addStage("mmd", new StubStage("mmd"), 0, 1, "matchup");
+        final PipelineRunner runner = new PipelineRunner(2, 1000);
+
+        final PipelineRunner.Result firstResult = run(runner, pipeline, slices);
+        assertFalse(firstResult.isSuccessful());
+        assertEquals(10, firstResult.getExecutedCount());
+
+        events.clear();
+        matchupStage.failingSliceName = null;
+        final PipelineRunner.Result secondResult = run(runner, pipeline, slices);
+
+        assertTrue(secondResult.isSuccessful());
+        assertEquals(10, secondResult.getSkippedCount());
+        assertEquals(2, secondResult.getExecutedCount());
+        assertEquals(Arrays.asList("start matchup/" + slices.get(2), "end matchup/" + slices.get(2),
+                                             "start mmd/" + slices.get(2), "end mmd/" + slices.get(2)), events);
+
+        events.clear();
+        final PipelineRunner.Result thirdResult = run(runner, pipeline, slices);
+        assertEquals(12, thirdResult.getSkippedCount());
+        assertEquals(0, thirdResult.getExecutedCount());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testRun_dependentsOfIncompleteStageRunAgain() throws Exception {
+        final List<TimeSlice> slices = createSlices(1);
+        try (StageJournal journal = StageJournal.open(journalFile)) {
+            // a journal written by a run where ingestion was completed later
+            journal.setCompleted("matchup", slices.get(0));
+        }
+        final Pipeline pipeline = new Pipeline()
+                .addStage("ingestion", new StubStage("ingestion"), 0, 1)
+                .addStage("matchup", new StubStage("matchup"), 0, 1, "ingestion");
+
+        final PipelineRunner.Result result = run(new PipelineRunner(2, 1000), pipeline, slices);
+
+        assertEquals(0, result.getSkippedCount());
+        assertEquals(2, result.getExecutedCount());
+    }
+
+    @Test
+    public void testRun_sharedResources() throws Exception {
+        final AtomicInteger creationCount = new AtomicInteger();
+        final SharedCache[] caches = new SharedCache[1];
+        final PipelineStage stage = new PipelineStage() {
+            @Override
+            public void run(TimeSlice slice, PipelineContext context) throws Exception {
+                final SharedCache cache = context.getResource("readerCache", SharedCache.class,
+                                                              new Callable<SharedCache>() {
+                                                                  @Override
+                                                                  public SharedCache call() {
+                                                                      creationCount.incrementAndGet();
+                                                                      return caches[0] = new SharedCache();
+                                                                  }
+                                                              });
+                cache.keys.add(slice.getName());
+            }
+        };
+        final Pipeline pipeline = new Pipeline()
+                .addStage("a", stage, 0, 4)
+                .addStage("b", stage, 0, 4);
+
+        final PipelineRunner.Result result = run(new PipelineRunner(4, 1000), pipeline, createSlices(10));
+        assertTrue(result.isSuccessful());
+        assertEquals(1, creationCount.get());
+        assertEquals(10, caches[0].keys.size());
+
+        context.close();
+        assertTrue(caches[0].closed);
+    }
+
+    @Test
+    public void testAddStage_illegalArguments() {
+        final Pipeline pipeline = new Pipeline().addStage("a", new StubStage("a"), 0, 1);
+        try {
+            pipeline.addStage("b", new StubStage("b"), 0, 1, "c");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            pipeline.addStage("a", new StubStage("a"), 0, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            pipeline.addStage("b", new StubStage("b"), 0, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private PipelineRunner.Result run(PipelineRunner runner, Pipeline pipeline, List<TimeSlice> slices)
+            throws IOException, InterruptedException {
+        try (StageJournal journal = StageJournal.open(journalFile)) {
+            return runner.run(pipeline, slices, journal, context);
+        }
+    }
+
+    private void assertBefore(String firstEvent, String secondEvent) {
+        final int firstIndex = events.indexOf(firstEvent);
+        final int secondIndex = events.indexOf(secondEvent);
+        assertTrue(firstEvent, firstIndex >= 0);
+        assertTrue(secondEvent, secondIndex >= 0);
+        assertTrue(firstEvent + " before " + secondEvent, firstIndex < secondIndex);
+    }
+
+    private static List<TimeSlice> createSlices(int count) {
+        final List<TimeSlice> slices = new ArrayList<>();
+        final long startTime = 1262304000000L;
+        for (int i = 0; i < count; i++) {
+            slices.add(new TimeSlice("slice" + i, new Date(startTime + i * MONTH),
+                                     new Date(startTime + (i + 1) * MONTH)));
+        }
+        return slices;
+    }
+
+    private class StubStage implements PipelineStage {
+
+        private final String name;
+
+        StubStage(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void run(TimeSlice slice, PipelineContext context) throws Exception {
+            events.add("start " + name + "/" + slice);
+            Thread.sleep(2);
+            events.add("end " + name + "/" + slice);
+        }
+    }
+
+    private class FailingStage extends StubStage {
+
+        private volatile String failingSliceName;
+        private final boolean throwingError;
+
+        FailingStage(String failingSliceName) {
+            this(failingSliceName, false);
+        }
+
+        FailingStage(String failingSliceName, boolean throwingError) {
+            super("matchup");
+            this.failingSliceName = failingSliceName;
+            this.throwingError = throwingError;
+        }
+
+        @Override
+        public void run(TimeSlice slice, PipelineContext context) throws Exception {
+            if (slice.getName().equals(failingSliceName)) {
+                if (throwingError) {
+                    throw new OutOfMemoryError("Stub error.");
+                }
+                throw new IOException("Stub failure.");
+            }
+            super.run(slice, context);
+        }
+    }
+
+    private static final class ConcurrencyProbe {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        void enter() {
+            final int count = current.incrementAndGet();
+            int previousMax;
+            while ((previousMax = max.get()) < count && !max.compareAndSet(previousMax, count)) {
+                // retry
+            }
+        }
+
+        void exit() {
+            current.decrementAndGet();
+        }
+    }
+
+    private static final class ProbingStage implements PipelineStage {
+
+        private final ConcurrencyProbe totalProbe;
+        private final ConcurrencyProbe stageProbe;
+
+        ProbingStage(ConcurrencyProbe totalProbe, ConcurrencyProbe stageProbe) {
+            this.totalProbe = totalProbe;
+            this.stageProbe = stageProbe;
+        }
+
+        @Override
+        public void run(TimeSlice slice, PipelineContext context) throws Exception {
+            totalProbe.enter();
+            if (stageProbe != null) {
+                stageProbe.enter();
+            }
+            try {
+                Thread.sleep(5);
+            } finally {
+                if (stageProbe != null) {
+                    stageProbe.exit();
+                }
+                totalProbe.exit();
+            }
+        }
+    }
+
+    private static final class SharedCache implements Closeable {
+
+        private final Set<String> keys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        private volatile boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
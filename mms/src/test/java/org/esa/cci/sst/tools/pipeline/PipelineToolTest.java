@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PipelineToolTest {
+
+    @Test
+    public void testCreatePipeline() {
+        final List<Pipeline.StageDefinition> stages = PipelineTool.createPipeline(8).getStages();
+        assertEquals(3, stages.size());
+
+        assertEquals(PipelineTool.SAMPLING, stages.get(0).getName());
+        assertTrue(stages.get(0).getStage() instanceof SamplingStage);
+        assertEquals(8, stages.get(0).getMaxConcurrency());
+        assertEquals(Collections.<String>emptyList(), stages.get(0).getDependencies());
+
+        assertEquals(PipelineTool.MATCHUP, stages.get(1).getName());
+        assertTrue(stages.get(1).getStage() instanceof MatchupStage);
+        assertEquals(8, stages.get(1).getMaxConcurrency());
+        assertEquals(Arrays.asList(PipelineTool.SAMPLING), stages.get(1).getDependencies());
+
+        assertEquals(PipelineTool.MMD, stages.get(2).getName());
+        assertTrue(stages.get(2).getStage() instanceof MmdStage);
+        // the shared reader cache must not be used concurrently
+        assertEquals(1, stages.get(2).getMaxConcurrency());
+        assertEquals(Arrays.asList(PipelineTool.MATCHUP), stages.get(2).getDependencies());
+    }
+}
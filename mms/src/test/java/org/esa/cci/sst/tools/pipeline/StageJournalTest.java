@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class StageJournalTest {
+
+    private static final TimeSlice JANUARY = new TimeSlice("2010-01", new Date(1262304000000L),
+                                                           new Date(1264982400000L));
+    private static final TimeSlice FEBRUARY = new TimeSlice("2010-02", new Date(1264982400000L),
+                                                            new Date(1267401600000L));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSetCompleted_isPersisted() throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "pipeline.journal");
+        try (StageJournal journal = StageJournal.open(file)) {
+            assertFalse(journal.isCompleted("ingestion", JANUARY));
+            journal.setCompleted("ingestion", JANUARY);
+            journal.setCompleted("ingestion", JANUARY);
+            journal.setCompleted("matchup", FEBRUARY);
+            assertTrue(journal.isCompleted("ingestion", JANUARY));
+        }
+
+        assertEquals("ingestion\t2010-01\nmatchup\t2010-02\n", read(file));
+        try (StageJournal journal = StageJournal.open(file)) {
+            assertTrue(journal.isCompleted("ingestion", JANUARY));
+            assertTrue(journal.isCompleted("matchup", FEBRUARY));
+            assertFalse(journal.isCompleted("ingestion", FEBRUARY));
+            assertFalse(journal.isCompleted("matchup", JANUARY));
+        }
+    }
+
+    @Test
+    public void testOpen_ignoresIncompleteLastLine() throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "pipeline.journal");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("ingestion\t2010-01\nmatchup\t2010-0".getBytes(Charset.forName("UTF-8")));
+        }
+
+        try (StageJournal journal = StageJournal.open(file)) {
+            assertTrue(journal.isCompleted("ingestion", JANUARY));
+            assertFalse(journal.isCompleted("matchup", JANUARY));
+            journal.setCompleted("matchup", FEBRUARY);
+        }
+
+        assertEquals("ingestion\t2010-01\nmatchup\t2010-02\n", read(file));
+    }
+
+    @Test
+    public void testSetCompleted_closed() throws IOException {
+        final StageJournal journal = StageJournal.open(new File(temporaryFolder.getRoot(), "pipeline.journal"));
+        journal.close();
+        try {
+            journal.setCompleted("ingestion", JANUARY);
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+    }
+}
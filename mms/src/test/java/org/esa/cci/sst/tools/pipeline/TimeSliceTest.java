@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.util.TimeUtil;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TimeSliceTest {
+
+    @Test
+    public void testCreateMonthlySlices() throws ParseException {
+        final Date startDate = TimeUtil.parseCcsdsUtcFormat("2003-11-15T12:00:00Z");
+        final Date stopDate = TimeUtil.parseCcsdsUtcFormat("2004-02-01T00:00:00Z");
+
+        final List<TimeSlice> slices = TimeSlice.createMonthlySlices(startDate, stopDate);
+
+        assertEquals(3, slices.size());
+        assertEquals("2003-11", slices.get(0).getName());
+        assertEquals(startDate, slices.get(0).getStartDate());
+        assertEquals(TimeUtil.parseCcsdsUtcFormat("2003-12-01T00:00:00Z"), slices.get(0).getStopDate());
+        assertEquals("2003-12", slices.get(1).getName());
+        assertEquals("2004-01", slices.get(2).getName());
+        assertEquals(stopDate, slices.get(2).getStopDate());
+    }
+
+    @Test
+    public void testCreateMonthlySlices_truncatedLastMonth() throws ParseException {
+        final Date startDate = TimeUtil.parseCcsdsUtcFormat("2004-02-01T00:00:00Z");
+        final Date stopDate = TimeUtil.parseCcsdsUtcFormat("2004-02-10T00:00:00Z");
+
+        final List<TimeSlice> slices = TimeSlice.createMonthlySlices(startDate, stopDate);
+
+        assertEquals(1, slices.size());
+        assertEquals("2004-02", slices.get(0).getName());
+        assertEquals(stopDate, slices.get(0).getStopDate());
+    }
+
+    @Test
+    public void testConstructor_illegalArguments() {
+        final Date date = new Date(0);
+        try {
+            new TimeSlice("slice", date, date);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new TimeSlice("a\tb", date, new Date(1));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
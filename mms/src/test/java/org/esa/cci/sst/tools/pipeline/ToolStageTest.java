@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+
+package org.esa.cci.sst.tools.pipeline;
+
+import org.esa.cci.sst.tool.Configuration;
+import org.esa.cci.sst.tools.BasicTool;
+import org.esa.cci.sst.util.ReaderCache;
+import org.esa.cci.sst.util.TimeUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ToolStageTest {
+
+    private TimeSlice slice;
+
+    @Before
+    public void setUp() throws ParseException {
+        slice = new TimeSlice("2004-02",
+                              TimeUtil.parseCcsdsUtcFormat("2004-02-01T00:00:00Z"),
+                              TimeUtil.parseCcsdsUtcFormat("2004-03-01T00:00:00Z"));
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        final Configuration pipelineConfig = new Configuration();
+        pipelineConfig.put("mms.test.value", "pipeline");
+        final TestStage stage = new TestStage();
+
+        stage.run(slice, new PipelineContext(pipelineConfig));
+
+        assertEquals(Arrays.asList("configure", "prepare", "initialize", "run"), stage.tool.calls);
+        assertEquals("pipeline", stage.tool.getConfig().getStringValue("mms.test.value"));
+        assertEquals("2004-02", stage.tool.getConfig().getStringValue("mms.test.slice"));
+    }
+
+    @Test
+    public void testConfigure_sampling() {
+        final Configuration config = new Configuration();
+        new SamplingStage().configure(config, slice);
+
+        assertEquals("2004-02-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_SAMPLING_START_TIME));
+        assertEquals("2004-03-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_SAMPLING_STOP_TIME));
+    }
+
+    @Test
+    public void testConfigure_matchup() {
+        final Configuration config = new Configuration();
+        config.put(Configuration.KEY_MMS_SAMPLING_CLEANUP, "true");
+        new MatchupStage().configure(config, slice);
+
+        assertEquals("2004-02-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_SAMPLING_START_TIME));
+        assertEquals("2004-03-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_SAMPLING_STOP_TIME));
+        assertFalse(config.getBooleanValue(Configuration.KEY_MMS_SAMPLING_CLEANUP));
+        assertTrue(config.getBooleanValue(Configuration.KEY_MMS_SAMPLING_CLEANUP_INTERVAL));
+    }
+
+    @Test
+    public void testConfigure_mmd() {
+        final Configuration config = new Configuration();
+        config.put(Configuration.KEY_MMS_MMD_TARGET_FILENAME, "atsr.3-mmd6-.nc");
+        new MmdStage().configure(config, slice);
+
+        assertEquals("2004-02-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_MMD_TARGET_START_TIME));
+        assertEquals("2004-03-01T00:00:00Z", config.getStringValue(Configuration.KEY_MMS_MMD_TARGET_STOP_TIME));
+        assertEquals("atsr.3-mmd6--2004-02.nc", config.getStringValue(Configuration.KEY_MMS_MMD_TARGET_FILENAME));
+    }
+
+    @Test
+    public void testGetSliceFileName() {
+        assertEquals("mmd-2004-02.nc", MmdStage.getSliceFileName("mmd.nc", slice));
+        assertEquals("mmd-2004-02", MmdStage.getSliceFileName("mmd", slice));
+        assertEquals(".mmd-2004-02", MmdStage.getSliceFileName(".mmd", slice));
+    }
+
+    @Test
+    public void testGetReaderCache_sharedByTimeSlices() throws Exception {
+        final PipelineContext context = new PipelineContext(new Configuration());
+
+        final ReaderCache readerCache = MmdStage.getReaderCache(context);
+        assertNotNull(readerCache);
+        assertSame(readerCache, MmdStage.getReaderCache(context));
+
+        context.close();
+    }
+
+    private static final class TestTool extends BasicTool {
+
+        private final List<String> calls = new ArrayList<>();
+
+        private TestTool() {
+            super("test-tool", "1.0");
+        }
+
+        @Override
+        public void initialize() {
+            calls.add("initialize");
+        }
+    }
+
+    private static final class TestStage extends ToolStage<TestTool> {
+
+        private final TestTool tool = new TestTool();
+
+        @Override
+        TestTool createTool() {
+            return tool;
+        }
+
+        @Override
+        void configure(Configuration config, TimeSlice slice) {
+            tool.calls.add("configure");
+            config.put("mms.test.slice", slice.getName());
+        }
+
+        @Override
+        void prepare(TestTool tool, PipelineContext context) {
+            tool.calls.add("prepare");
+        }
+
+        @Override
+        void run(TestTool tool) {
+            tool.calls.add("run");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.samplepoint;
+
+import org.esa.cci.sst.util.SamplingPoint;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PartitionedSobolSamplePointGeneratorTest {
+
+    private static final int SAMPLE_COUNT = 10000;
+    private static final int SAMPLE_SKIP = 1000;
+    private static final long START_TIME = 1000000L;
+    private static final long STOP_TIME = 2000000L;
+
+    @Test
+    public void testCreateSamples_equivalentToSequentialGeneration() {
+        final List<PointRemover> removers = Arrays.asList(new IceFreePointRemover(), new RandomPointRemover());
+        final List<SamplingPoint> expected = createSequentially(removers);
+        assertFalse(expected.isEmpty());
+        assertTrue(expected.size() < SAMPLE_COUNT);
+
+        for (final int parallelism : new int[]{1, 3, 8}) {
+            for (final int blockSize : new int[]{1, 7, 1000, 4096, SAMPLE_COUNT, 2 * SAMPLE_COUNT}) {
+                final PartitionedSobolSamplePointGenerator generator =
+                        new PartitionedSobolSamplePointGenerator(parallelism, blockSize);
+                final List<SamplingPoint> actual = generator.createSamples(SAMPLE_COUNT, SAMPLE_SKIP,
+                                                                           START_TIME, STOP_TIME, removers);
+
+                assertSamePoints("parallelism = " + parallelism + ", block size = " + blockSize, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testCreateSamples_withoutRemovers() {
+        final List<PointRemover> removers = Collections.emptyList();
+        final List<SamplingPoint> expected = createSequentially(removers);
+
+        final PartitionedSobolSamplePointGenerator generator = new PartitionedSobolSamplePointGenerator(4, 999);
+        final List<SamplingPoint> actual = generator.createSamples(SAMPLE_COUNT, SAMPLE_SKIP, START_TIME, STOP_TIME,
+                                                                   removers);
+
+        assertEquals(SAMPLE_COUNT, actual.size());
+        assertSamePoints("", expected, actual);
+    }
+
+    @Test
+    public void testCreateSamples_sinkReceivesBlocksInIndexOrder() throws IOException {
+        final List<Integer> blockSizes = new ArrayList<>();
+        final List<SamplingPoint> received = new ArrayList<>();
+        final PartitionedSobolSamplePointGenerator generator = new PartitionedSobolSamplePointGenerator(8, 100);
+
+        final long count = generator.createSamples(1050, SAMPLE_SKIP, START_TIME, STOP_TIME,
+                                                   Collections.<PointRemover>emptyList(), new SamplePointSink() {
+                    @Override
+                    public void accept(List<SamplingPoint> samples) {
+                        blockSizes.add(samples.size());
+                        received.addAll(samples);
+                    }
+                });
+
+        assertEquals(1050, count);
+        assertEquals(Arrays.asList(100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 50), blockSizes);
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(SAMPLE_SKIP + i, received.get(i).getIndex());
+        }
+    }
+
+    @Test
+    public void testCreateSamples_sinkFailure() {
+        final PartitionedSobolSamplePointGenerator generator = new PartitionedSobolSamplePointGenerator(4, 10);
+        try {
+            generator.createSamples(1000, 0, START_TIME, STOP_TIME, Collections.<PointRemover>emptyList(),
+                                    new SamplePointSink() {
+                                        @Override
+                                        public void accept(List<SamplingPoint> samples) throws IOException {
+                                            throw new IOException("sink failure");
+                                        }
+                                    });
+            fail();
+        } catch (IOException expected) {
+            assertEquals("sink failure", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testCreateSamples_noSamples() {
+        final PartitionedSobolSamplePointGenerator generator = new PartitionedSobolSamplePointGenerator(4, 10);
+
+        assertTrue(generator.createSamples(0, 0, START_TIME, STOP_TIME,
+                                           Collections.<PointRemover>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testConstructor_illegalArguments() {
+        try {
+            new PartitionedSobolSamplePointGenerator(0, 10);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new PartitionedSobolSamplePointGenerator(1, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static List<SamplingPoint> createSequentially(List<PointRemover> removers) {
+        final List<SamplingPoint> samples = new SobolSamplePointGenerator().createSamples(SAMPLE_COUNT, SAMPLE_SKIP,
+                                                                                          START_TIME, STOP_TIME);
+        for (final PointRemover remover : removers) {
+            remover.removeSamples(samples);
+        }
+        return samples;
+    }
+
+    private static void assertSamePoints(String message, List<SamplingPoint> expected, List<SamplingPoint> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        final Iterator<SamplingPoint> actualIterator = actual.iterator();
+        for (final SamplingPoint e : expected) {
+            final SamplingPoint a = actualIterator.next();
+            assertEquals(message, e.getIndex(), a.getIndex());
+            assertEquals(message, e.getDatasetName(), a.getDatasetName());
+            assertEquals(message, e.getLon(), a.getLon(), 0.0);
+            assertEquals(message, e.getLat(), a.getLat(), 0.0);
+            assertEquals(message, e.getTime(), a.getTime());
+            assertEquals(message, e.getRandom(), a.getRandom(), 0.0);
+        }
+    }
+
+    private static final class RandomPointRemover implements PointRemover {
+
+        @Override
+        public void removeSamples(List<SamplingPoint> samples) {
+            final Iterator<SamplingPoint> iterator = samples.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getRandom() > 0.5) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.beam.common.PixelLocatorAdapter;
+import org.esa.beam.framework.datamodel.Product;
+import org.esa.beam.util.PixelLocatorFactory;
+import org.esa.beam.util.SampleSource;
+import org.junit.Test;
+import org.postgis.PGgeometry;
+import org.postgis.Point;
+import org.postgis.Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoundaryCalculatorTest {
+
+    private static final int NUM_COLS = 100;
+    private static final int NUM_ROWS = 2000;
+    private static final double INCLINATION = Math.toRadians(98.0);
+
+    @Test
+    public void testGetGeoBoundary_adaptiveStrategyIsWithinDeviationBound() throws Exception {
+        final Product product = createPolarOrbitSwath();
+        final double maxDeviation = 0.05;
+
+        final PGgeometry geometry = new BoundaryCalculator(maxDeviation).getGeoBoundary(product);
+        final Point[] points = ((Polygon) geometry.getGeometry()).getRing(0).getPoints();
+
+        assertClosed(points);
+        final List<double[]> fullBoundary = getFullResolutionBoundary();
+        for (final double[] lonLat : fullBoundary) {
+            assertTrue(getDistance(lonLat[0], lonLat[1], points) <= 2.0 * maxDeviation);
+        }
+        assertTrue(points.length < fullBoundary.size() / 4);
+    }
+
+    @Test
+    public void testGetGeoBoundary_adaptiveStrategyRefinesAtAntimeridian() throws Exception {
+        final Product product = createPolarOrbitSwath();
+
+        final PGgeometry geometry = new BoundaryCalculator(10.0).getGeoBoundary(product);
+        final Point[] points = ((Polygon) geometry.getGeometry()).getRing(0).getPoints();
+
+        int crossingCount = 0;
+        for (int i = 1; i < points.length; i++) {
+            final double deltaLon = Math.abs(points[i].getX() - points[i - 1].getX());
+            if (deltaLon > 180.0) {
+                crossingCount++;
+                assertTrue(360.0 - deltaLon < 2.0);
+            }
+        }
+        assertTrue(crossingCount > 0);
+    }
+
+    @Test
+    public void testGetGeoBoundary_fixedStepStrategy() throws Exception {
+        final Product product = createPolarOrbitSwath();
+
+        final PGgeometry geometry = new BoundaryCalculator(0.0).getGeoBoundary(product);
+        final Point[] points = ((Polygon) geometry.getGeometry()).getRing(0).getPoints();
+
+        assertClosed(points);
+        // 20 rows per edge along track, 1 column per edge across track
+        assertEquals(2 * 20 + 2 * 1 + 1, points.length);
+    }
+
+    private static void assertClosed(Point[] points) {
+        assertEquals(points[0].getX(), points[points.length - 1].getX(), 0.0);
+        assertEquals(points[0].getY(), points[points.length - 1].getY(), 0.0);
+    }
+
+    private static List<double[]> getFullResolutionBoundary() {
+        final List<double[]> boundary = new ArrayList<double[]>();
+        for (int y = 0; y < NUM_ROWS; y++) {
+            boundary.add(new double[]{getLon(0, y), getLat(0, y)});
+            boundary.add(new double[]{getLon(NUM_COLS - 1, y), getLat(NUM_COLS - 1, y)});
+        }
+        for (int x = 0; x < NUM_COLS; x++) {
+            boundary.add(new double[]{getLon(x, 0), getLat(x, 0)});
+            boundary.add(new double[]{getLon(x, NUM_ROWS - 1), getLat(x, NUM_ROWS - 1)});
+        }
+        return boundary;
+    }
+
+    // the distance (degrees) of a point from a polygon, in a local frame centered at the point
+    private static double getDistance(double lon, double lat, Point[] polygon) {
+        final double scale = Math.cos(Math.toRadians(lat));
+        double distance = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < polygon.length; i++) {
+            final double ax = getLonDelta(lon, polygon[i - 1].getX()) * scale;
+            final double ay = polygon[i - 1].getY() - lat;
+            final double bx = getLonDelta(lon, polygon[i].getX()) * scale;
+            final double by = polygon[i].getY() - lat;
+            final double dx = bx - ax;
+            final double dy = by - ay;
+            final double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq > 0.0 ? -(ax * dx + ay * dy) / lengthSq : 0.0;
+            t = Math.max(0.0, Math.min(1.0, t));
+            distance = Math.min(distance, Math.hypot(ax + t * dx, ay + t * dy));
+        }
+        return distance;
+    }
+
+    private static double getLonDelta(double lon0, double lon1) {
+        double delta = lon1 - lon0;
+        while (delta > 180.0) {
+            delta -= 360.0;
+        }
+        while (delta < -180.0) {
+            delta += 360.0;
+        }
+        return delta;
+    }
+
+    private static Product createPolarOrbitSwath() {
+        final Product product = new Product("swath", "swath", NUM_COLS, NUM_ROWS);
+        final SampleSource lonSource = new SwathSampleSource(true);
+        final SampleSource latSource = new SwathSampleSource(false);
+        product.setGeoCoding(new PixelLocatorAdapter(PixelLocatorFactory.forSubscene(lonSource, latSource)));
+        return product;
+    }
+
+    private static double getLon(int x, int y) {
+        final double[] q = getPosition(x, y);
+        return Math.toDegrees(Math.atan2(q[1], q[0]));
+    }
+
+    private static double getLat(int x, int y) {
+        final double[] q = getPosition(x, y);
+        return Math.toDegrees(Math.asin(q[2]));
+    }
+
+    // a sun-synchronous orbit starting near 100 degrees west, passing close to the north pole and crossing the antimeridian
+    private static double[] getPosition(int x, int y) {
+        final double u = Math.toRadians(10.0 + 160.0 * y / (NUM_ROWS - 1));
+        final double c = Math.toRadians(-5.0 + 10.0 * x / (NUM_COLS - 1));
+        final double cosI = Math.cos(INCLINATION);
+        final double sinI = Math.sin(INCLINATION);
+        final double px = Math.cos(u);
+        final double py = Math.sin(u) * cosI;
+        final double pz = Math.sin(u) * sinI;
+        final double nx = 0.0;
+        final double ny = -sinI;
+        final double nz = cosI;
+        final double qx = Math.cos(c) * px + Math.sin(c) * nx;
+        final double qy = Math.cos(c) * py + Math.sin(c) * ny;
+        final double qz = Math.cos(c) * pz + Math.sin(c) * nz;
+        final double lon0 = Math.toRadians(-100.0);
+        return new double[]{
+                Math.cos(lon0) * qx - Math.sin(lon0) * qy,
+                Math.sin(lon0) * qx + Math.cos(lon0) * qy,
+                qz
+        };
+    }
+
+    private static final class SwathSampleSource implements SampleSource {
+
+        private final boolean lon;
+
+        private SwathSampleSource(boolean lon) {
+            this.lon = lon;
+        }
+
+        @Override
+        public int getWidth() {
+            return NUM_COLS;
+        }
+
+        @Override
+        public int getHeight() {
+            return NUM_ROWS;
+        }
+
+        @Override
+        public double getSample(int x, int y) {
+            return lon ? getLon(x, y) : getLat(x, y);
+        }
+
+        @Override
+        public boolean isFillValue(int x, int y) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DensityMapPlotterTest {
+
+    private static final long START_TIME = 1262304000000L; // 2010-01-01
+    private static final long STOP_TIME = 1270080000000L; // 2010-04-01
+
+    @Test
+    public void testPlot_lonLat_coversSamePixelsAsSamplingPointPlotter() throws IOException {
+        assertSamePixels("lonlat");
+    }
+
+    @Test
+    public void testPlot_timeLat_coversSamePixelsAsSamplingPointPlotter() throws IOException {
+        assertSamePixels("timlat");
+    }
+
+    @Test
+    public void testAdd_countsPoints() {
+        final DensityMapPlotter plotter = new DensityMapPlotter().mapStrategyName("lonlat");
+        plotter.add(0.1, 0.1, START_TIME);
+        plotter.add(0.1, 0.1, START_TIME);
+        plotter.add(-179.9, 89.9, START_TIME);
+
+        final DensityRaster raster = plotter.getRaster();
+        assertEquals(3, raster.getTotalCount());
+        assertEquals(2, raster.getCount(400, 199));
+        assertEquals(1, raster.getCount(0, 0));
+    }
+
+    @Test
+    public void testTimeRange_afterPointsAdded() {
+        final DensityMapPlotter plotter = new DensityMapPlotter().mapStrategyName("timlat");
+        plotter.timeRange(START_TIME, STOP_TIME);
+        plotter.add(0.0, 0.0, START_TIME);
+        try {
+            plotter.timeRange(START_TIME, STOP_TIME);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private static void assertSamePixels(String mapStrategyName) throws IOException {
+        final List<SamplingPoint> samples = createSamples(20000);
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (final SamplingPoint sample : samples) {
+            minTime = Math.min(minTime, sample.getTime());
+            maxTime = Math.max(maxTime, sample.getTime());
+        }
+
+        final BufferedImage expected = new SamplingPointPlotter()
+                .samples(samples)
+                .mapStrategyName(mapStrategyName)
+                .plot();
+        final BufferedImage actual = new DensityMapPlotter()
+                .mapStrategyName(mapStrategyName)
+                .timeRange(minTime, maxTime)
+                .samples(samples)
+                .plot();
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        int coveredCount = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                final boolean covered = (expected.getRGB(x, y) & 0xffffff) != 0;
+                assertEquals("x = " + x + ", y = " + y, covered, (actual.getRGB(x, y) & 0xffffff) != 0);
+                if (covered) {
+                    coveredCount++;
+                }
+            }
+        }
+        assertTrue(coveredCount > 1000);
+    }
+
+    private static List<SamplingPoint> createSamples(int sampleCount) {
+        final SobolSequenceGenerator generator = new SobolSequenceGenerator(3);
+        final List<SamplingPoint> samples = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            final double[] sample = generator.nextVector();
+            final long time = START_TIME + (long) (sample[2] * (STOP_TIME - START_TIME));
+            samples.add(new SamplingPoint(sample[0] * 360.0 - 180.0, 90.0 - sample[1] * 180.0, time, 0.0));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class DensityRasterTest {
+
+    @Test
+    public void testAdd() {
+        final DensityRaster raster = new DensityRaster(4, 3);
+
+        assertTrue(raster.add(0, 0));
+        assertTrue(raster.add(3, 2));
+        assertTrue(raster.add(3, 2));
+        assertFalse(raster.add(4, 2));
+        assertFalse(raster.add(3, 3));
+        assertFalse(raster.add(-1, 0));
+
+        assertEquals(1, raster.getCount(0, 0));
+        assertEquals(2, raster.getCount(3, 2));
+        assertEquals(0, raster.getCount(1, 1));
+        assertEquals(3, raster.getTotalCount());
+        assertEquals(2, raster.getMaxCount());
+    }
+
+    @Test
+    public void testCreateImage() {
+        final DensityRaster raster = new DensityRaster(4, 3);
+        raster.add(1, 0);
+        for (int i = 0; i < 1000; i++) {
+            raster.add(2, 1);
+        }
+        raster.add(3, 2);
+        raster.add(3, 2);
+
+        final BufferedImage image = raster.createImage();
+
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+        assertEquals(0x000000, image.getRGB(0, 0) & 0xffffff);
+        assertEquals(0x0000ff, image.getRGB(1, 0) & 0xffffff);
+        assertEquals(0xffffff, image.getRGB(2, 1) & 0xffffff);
+        final int rgb = image.getRGB(3, 2) & 0xffffff;
+        assertTrue(rgb != 0x000000 && rgb != 0x0000ff && rgb != 0xffffff);
+    }
+
+    @Test
+    public void testCreateImage_empty() {
+        final BufferedImage image = new DensityRaster(2, 2).createImage();
+
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 2; x++) {
+                assertEquals(0x000000, image.getRGB(x, y) & 0xffffff);
+            }
+        }
+    }
+
+    @Test
+    public void testConstructor_illegalSize() {
+        try {
+            new DensityRaster(0, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.esa.beam.common.PixelLocatorAdapter;
+import org.esa.beam.framework.datamodel.GeoCoding;
+import org.esa.beam.util.PixelLocatorFactory;
+import org.esa.beam.util.SampleSource;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LocationTestTest {
+
+    private static final int NUM_COLS = 40;
+    private static final int NUM_ROWS = 300;
+
+    @Test
+    public void testInvoke_batchEqualsSingle() {
+        final GeoCoding geoCoding = createSwathGeoCoding();
+        final Random random = new Random(28);
+        final double[] lons = new double[1000];
+        final double[] lats = new double[1000];
+        for (int i = 0; i < lons.length; i++) {
+            lons[i] = -25.0 + 30.0 * random.nextDouble();
+            lats[i] = -65.0 + 130.0 * random.nextDouble();
+        }
+        final double[] pixelXs = new double[lons.length];
+        final double[] pixelYs = new double[lons.length];
+
+        final int validCount = LocationTest.invoke(lons, lats, NUM_COLS, NUM_ROWS, geoCoding, pixelXs, pixelYs);
+
+        int expectedValidCount = 0;
+        for (int i = 0; i < lons.length; i++) {
+            final LocationTest test = new LocationTest(lons[i], lats[i], NUM_COLS, NUM_ROWS, geoCoding).invoke();
+            if (test.isOK()) {
+                expectedValidCount++;
+                assertEquals(test.getPixelPos().getX(), pixelXs[i], 0.0);
+                assertEquals(test.getPixelPos().getY(), pixelYs[i], 0.0);
+                assertEquals(test.getPixelX(), (int) Math.floor(pixelXs[i]));
+                assertEquals(test.getPixelY(), (int) Math.floor(pixelYs[i]));
+            } else {
+                assertTrue(Double.isNaN(pixelXs[i]));
+                assertTrue(Double.isNaN(pixelYs[i]));
+            }
+        }
+        assertEquals(expectedValidCount, validCount);
+        assertTrue(validCount > 0);
+        assertTrue(validCount < lons.length);
+    }
+
+    @Test
+    public void testInvoke_atSwathBorder() {
+        final GeoCoding geoCoding = createSwathGeoCoding();
+        final double[] lons = {getLon(0, 150), getLon(20, 150), getLon(20, NUM_ROWS - 1)};
+        final double[] lats = {getLat(0, 150), getLat(20, 150), getLat(20, NUM_ROWS - 1)};
+        final double[] pixelXs = new double[3];
+        final double[] pixelYs = new double[3];
+
+        assertEquals(1, LocationTest.invoke(lons, lats, NUM_COLS, NUM_ROWS, geoCoding, pixelXs, pixelYs));
+        assertTrue(Double.isNaN(pixelXs[0]));
+        assertFalse(Double.isNaN(pixelXs[1]));
+        assertTrue(Double.isNaN(pixelXs[2]));
+    }
+
+    private static GeoCoding createSwathGeoCoding() {
+        final SampleSource lonSource = new SwathSampleSource(true);
+        final SampleSource latSource = new SwathSampleSource(false);
+        return new PixelLocatorAdapter(PixelLocatorFactory.forSubscene(lonSource, latSource));
+    }
+
+    private static double getLon(int x, int y) {
+        return -20.0 + 0.5 * x + 0.02 * y;
+    }
+
+    private static double getLat(int x, int y) {
+        return -60.0 + 0.4 * y - 0.01 * x;
+    }
+
+    private static final class SwathSampleSource implements SampleSource {
+
+        private final boolean lon;
+
+        private SwathSampleSource(boolean lon) {
+            this.lon = lon;
+        }
+
+        @Override
+        public int getWidth() {
+            return NUM_COLS;
+        }
+
+        @Override
+        public int getHeight() {
+            return NUM_ROWS;
+        }
+
+        @Override
+        public double getSample(int x, int y) {
+            return lon ? getLon(x, y) : getLat(x, y);
+        }
+
+        @Override
+        public boolean isFillValue(int x, int y) {
+            return false;
+        }
+    }
+}
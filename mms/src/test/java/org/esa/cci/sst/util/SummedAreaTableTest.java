@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.util;
+
+import org.junit.Test;
+import ucar.ma2.Array;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class SummedAreaTableTest {
+
+    @Test
+    public void testCount() throws Exception {
+        final Array mask = Array.factory(new byte[][]{
+                {0, 1, 0, 0},
+                {1, 1, 0, 4},
+                {0, 0, 8, 0}
+        });
+        final SummedAreaTable table = SummedAreaTable.create(mask);
+
+        assertEquals(4, table.getWidth());
+        assertEquals(3, table.getHeight());
+        assertEquals(5, table.count(0, 0, 4, 3));
+        assertEquals(3, table.count(0, 0, 2, 2));
+        assertEquals(2, table.count(2, 1, 2, 2));
+        assertEquals(0, table.count(0, 2, 2, 1));
+        assertEquals(0, table.count(1, 1, 0, 0));
+    }
+
+    @Test
+    public void testCount_outsideOfMask() throws Exception {
+        final Array mask = Array.factory(new byte[][]{
+                {1, 1},
+                {1, 1}
+        });
+        final SummedAreaTable table = SummedAreaTable.create(mask);
+
+        assertEquals(1, table.count(-1, -1, 2, 2));
+        assertEquals(2, table.count(1, -3, 3, 5));
+        assertEquals(4, table.count(-5, -5, 10, 10));
+        assertEquals(0, table.count(2, 0, 2, 2));
+        assertEquals(0, table.count(-3, 0, 2, 2));
+    }
+
+    @Test
+    public void testCount_equalsPixelCounter() throws Exception {
+        final int w = 97;
+        final int h = 211;
+        final byte[] data = new byte[h * w];
+        final Random random = new Random(5432);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble() < 0.3 ? (byte) (random.nextInt(255) + 1) : 0;
+        }
+        final SummedAreaTable table = SummedAreaTable.create(Array.factory(byte.class, new int[]{1, h, w}, data));
+        final PixelCounter pixelCounter = new PixelCounter();
+
+        for (int k = 0; k < 1000; k++) {
+            final int subSceneWidth = random.nextInt(12) + 1;
+            final int subSceneHeight = random.nextInt(12) + 1;
+            final int x = random.nextInt(w + 2 * subSceneWidth) - subSceneWidth;
+            final int y = random.nextInt(h + 2 * subSceneHeight) - subSceneHeight;
+            final Array subScene = createSubScene(data, w, h, x, y, subSceneWidth, subSceneHeight);
+
+            assertEquals(pixelCounter.count(subScene), table.count(x, y, subSceneWidth, subSceneHeight));
+        }
+    }
+
+    @Test
+    public void testCreateFromImage() throws Exception {
+        final BufferedImage image = new BufferedImage(3, 600, BufferedImage.TYPE_BYTE_GRAY);
+        final WritableRaster raster = image.getRaster();
+        for (int y = 0; y < 600; y += 2) {
+            raster.setSample(1, y, 0, 255);
+        }
+        final SummedAreaTable table = SummedAreaTable.create(image);
+
+        assertEquals(3, table.getWidth());
+        assertEquals(600, table.getHeight());
+        assertEquals(300, table.count(0, 0, 3, 600));
+        assertEquals(0, table.count(2, 0, 1, 600));
+        assertEquals(3, table.count(1, 250, 1, 6));
+    }
+
+    private static Array createSubScene(byte[] data, int w, int h, int x0, int y0, int subSceneWidth,
+                                        int subSceneHeight) {
+        final byte[] subScene = new byte[subSceneWidth * subSceneHeight];
+        for (int y = y0, k = 0; y < y0 + subSceneHeight; y++) {
+            for (int x = x0; x < x0 + subSceneWidth; x++, k++) {
+                if (x >= 0 && y >= 0 && x < w && y < h) {
+                    subScene[k] = data[y * w + x];
+                }
+            }
+        }
+        return Array.factory(byte.class, new int[]{1, subSceneHeight, subSceneWidth}, subScene);
+    }
+}
@@ -16,15 +16,22 @@ import org.esa.cci.sst.grid.RegionMaskList;
 import org.esa.cci.sst.tools.regavg.auxiliary.LUT1;
 import org.esa.cci.sst.tools.regavg.auxiliary.LUT2;
 import org.esa.cci.sst.util.StopWatch;
+import org.esa.cci.sst.util.TimingRegistry;
 import org.esa.cci.sst.util.TimeUtil;
 import ucar.nc2.NetcdfFile;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Aggregator for the RegionalAveraging Tool.
@@ -38,6 +45,7 @@ class AveragingAggregator extends AbstractAggregator {
     private final AggregationContext context;
     private final RegionMaskList regionMaskList;
     private RegionMask combinedRegionMask;
+    private final BitSet[] cellRegions;
     private LUT1 lut1;
     private LUT2 lut2;
 
@@ -48,35 +56,11 @@ class AveragingAggregator extends AbstractAggregator {
         this.context = new AggregationContext();
         this.regionMaskList = regionMaskList;
         this.combinedRegionMask = RegionMask.combine(regionMaskList);
+        this.cellRegions = createCellRegions(regionMaskList, combinedRegionMask);
         this.lut1 = lut1;
         this.lut2 = lut2;
     }
 
-    private static <CSource extends AggregationCell, CTarget extends CellAggregationCell> CellGrid<CTarget> aggregateCellGridToCoarserCellGrid(
-            CellGrid<CSource> sourceGrid, CellGrid<CTarget> targetGrid, Grid seaCoverageGrid) {
-        final GridDef sourceGridDef = sourceGrid.getGridDef();
-        final GridDef targetGridDef = targetGrid.getGridDef();
-        final int sourceW = sourceGridDef.getWidth();
-        final int sourceH = sourceGridDef.getHeight();
-        final int targetW = targetGridDef.getWidth();
-        final int targetH = targetGridDef.getHeight();
-
-        for (int sourceY = 0; sourceY < sourceH; sourceY++) {
-            for (int sourceX = 0; sourceX < sourceW; sourceX++) {
-                final CSource sourceCell = sourceGrid.getCell(sourceX, sourceY);
-                if (sourceCell != null && !sourceCell.isEmpty()) {
-                    final int targetX = (sourceX * targetW) / sourceW;
-                    final int targetY = (sourceY * targetH) / sourceH;
-                    final CTarget targetCell = targetGrid.getCellSafe(targetX, targetY);
-                    final double seaCoverage = seaCoverageGrid.getSampleDouble(sourceX, sourceY);
-                    //noinspection unchecked
-                    targetCell.accumulate(sourceCell, seaCoverage);
-                }
-            }
-        }
-        return targetGrid;
-    }
-
     @Override
     public List<AveragingTimeStep> aggregate(Date startDate, Date endDate, TemporalResolution temporalResolution)
             throws IOException {
@@ -142,8 +126,10 @@ class AveragingAggregator extends AbstractAggregator {
                 getClimatology().getSeaCoverageGrid5(),
                 getClimatology().getSeaCoverageGrid90(),
                 regionMaskList,
+                cellRegions,
                 getFileType().getCellFactory90(context),
-                getFileType().getSameMonthAggregationFactory()
+                getFileType().getSameMonthAggregationFactory(),
+                getParallelism()
         );
     }
 
@@ -159,12 +145,35 @@ class AveragingAggregator extends AbstractAggregator {
         final CoverageUncertaintyProvider coverageUncertaintyProvider = createCoverageUncertaintyProvider(date1);
         context.setCoverageUncertaintyProvider(coverageUncertaintyProvider);
 
-        final CellFactory<SpatialAggregationCell> targetCellFactory = fileType.getCellFactory5(context);
         final GridDef targetGridDef = GridDef.createGlobal(SpatialResolution.DEGREE_5_00.getResolution());
-        final CellGrid<SpatialAggregationCell> targetGrid = CellGrid.create(targetGridDef, targetCellFactory);
 
+        final List<File> files = new ArrayList<>();
         for (final FileList filesForOneDay : allFiles) {
-            for (final File file : filesForOneDay.getFiles()) {
+            files.addAll(filesForOneDay.getFiles());
+        }
+
+        final CheckpointStore checkpointStore = files.isEmpty() ? null : getCheckpointStore();
+        String checkpointKey = null;
+        if (checkpointStore != null) {
+            checkpointKey = checkpointStore.createKey(date1, date2, files);
+            final CellGrid<SpatialAggregationCell> checkpointGrid =
+                    CellGrid.create(targetGridDef, fileType.getCellFactory5(context));
+            if (checkpointStore.read(checkpointKey, checkpointGrid)) {
+                return checkpointGrid;
+            }
+        }
+
+        final AtomicInteger failedFileCount = new AtomicInteger();
+        final CellGrid<SpatialAggregationCell> targetGrid = aggregateFiles(files, new FileAggregation() {
+            @Override
+            public AggregationContext createContext() {
+                return context.copy();
+            }
+
+            @Override
+            public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext workerContext,
+                                                              CellGrid<SpatialAggregationCell> workerGrid)
+                    throws IOException {
                 logger.info(String.format("Processing input %s file '%s'", getFileStore().getProductType(), file));
 
                 final StopWatch fileWatch = new StopWatch();
@@ -181,19 +190,28 @@ class AveragingAggregator extends AbstractAggregator {
                     final int dayOfYear = TimeUtil.getDayOfYear(date);
                     logger.fine("Day of year is " + dayOfYear);
 
-                    context.setClimatologySstGrid(climatology.getSstGrid(dayOfYear));
-                    context.setSeaCoverageGrid(climatology.getSeaCoverageGrid());
+                    workerContext.setClimatologySstGrid(climatology.getSstGrid(dayOfYear));
+                    workerContext.setSeaCoverageGrid(climatology.getSeaCoverageGrid());
 
-                    readSourceGrids(dataFile, context);
+                    readSourceGrids(dataFile, workerContext);
+                    if (workerGrid == null) {
+                        workerGrid = CellGrid.create(targetGridDef, fileType.getCellFactory5(workerContext));
+                    }
 
                     logger.fine("Aggregating grid(s)...");
 
-                    aggregateSourcePixels(context, combinedRegionMask, targetGrid);
+                    final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("aggregatePixels");
+                    try {
+                        aggregateSourcePixels(workerContext, combinedRegionMask, workerGrid);
+                    } finally {
+                        phase.stop();
+                    }
 
                     gridWatch.stop();
                     logger.fine(String.format("Aggregating grid(s) took %d ms", gridWatch.getElapsedMillis()));
                 } catch (IOException e) {
                     logger.warning(e.getMessage());
+                    failedFileCount.incrementAndGet();
                 } finally {
                     dataFile.close();
                 }
@@ -201,45 +219,167 @@ class AveragingAggregator extends AbstractAggregator {
                 fileWatch.stop();
                 logger.fine(String.format("Processing input %s file took %d ms", getFileStore().getProductType(),
                         fileWatch.getElapsedMillis()));
+                return workerGrid;
             }
-        }
+        });
 
+        if (targetGrid == null) {
+            return CellGrid.create(targetGridDef, fileType.getCellFactory5(context));
+        }
+        writeCheckpoint(checkpointKey, targetGrid, failedFileCount.get());
         return targetGrid;
     }
 
 
-    private static List<RegionalAggregation> aggregateRegions(
-            CellGrid<SpatialAggregationCell> sourceCellGrid5,
-            Grid seaCoverageGrid5,
-            Grid seaCoverageGrid90,
+    /**
+     * Aggregates the cells of a 5° cell grid into the regional aggregations of all regions. Each cell is
+     * visited once and contributes to all regions whose mask includes the cell. With a parallelism greater
+     * than one, the regions are split into groups, which are aggregated in parallel.
+     */
+    // package access for testing only
+    static List<RegionalAggregation> aggregateRegions(
+            final CellGrid<SpatialAggregationCell> sourceCellGrid5,
+            final Grid seaCoverageGrid5,
+            final Grid seaCoverageGrid90,
             RegionMaskList regionMaskList,
+            final BitSet[] cellRegions,
             CellFactory<CellAggregationCell<AggregationCell>> cellFactory90,
-            AggregationFactory<SameMonthAggregation<AggregationCell>> aggregationFactory) {
-        final List<RegionalAggregation> regionalAggregations = new ArrayList<>();
-
+            AggregationFactory<SameMonthAggregation<AggregationCell>> aggregationFactory,
+            int parallelism) {
+        final int regionCount = regionMaskList.size();
+        final List<SameMonthAggregation<AggregationCell>> aggregations = new ArrayList<>(regionCount);
+        // Check if region is Globe or Hemisphere, if so apply special averaging for all 90 deg grid boxes.
+        final List<CellGrid<CellAggregationCell<AggregationCell>>> grids90 = new ArrayList<>(regionCount);
         for (final RegionMask regionMask : regionMaskList) {
-            final CellGrid<? extends AggregationCell> regionCellGrid5 = getCellGridForRegion(sourceCellGrid5,
-                    regionMask);
-            // Check if region is Globe or Hemisphere, if so apply special averaging for all 90 deg grid boxes.
-            final boolean mustAggregateTo90 = mustAggregateTo90(regionMask);
-            final SameMonthAggregation aggregation = aggregationFactory.createAggregation();
-            if (mustAggregateTo90) {
-                final CellGrid<CellAggregationCell<AggregationCell>> grid90 = CellGrid.create(
-                        GridDef.createGlobal(90.0), cellFactory90);
-                // aggregateCell5GridToCell90Grid
-                aggregateCellGridToCoarserCellGrid(regionCellGrid5, grid90, seaCoverageGrid5);
-                // Removes spatial extent
-                aggregateCellGrid(grid90, seaCoverageGrid90, aggregation);
+            aggregations.add(aggregationFactory.createAggregation());
+            if (mustAggregateTo90(regionMask)) {
+                grids90.add(CellGrid.create(GridDef.createGlobal(90.0), cellFactory90));
             } else {
+                grids90.add(null);
+            }
+        }
+
+        final int workerCount = Math.min(parallelism, regionCount);
+        if (workerCount <= 1) {
+            aggregateRegions(sourceCellGrid5, seaCoverageGrid5, seaCoverageGrid90, cellRegions, 0, regionCount,
+                             aggregations, grids90);
+        } else {
+            final ExecutorService executorService = Executors.newFixedThreadPool(workerCount);
+            try {
+                final List<Future<?>> futures = new ArrayList<>(workerCount);
+                for (int i = 0; i < workerCount; i++) {
+                    final int minRegion = i * regionCount / workerCount;
+                    final int maxRegion = (i + 1) * regionCount / workerCount;
+                    futures.add(executorService.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            aggregateRegions(sourceCellGrid5, seaCoverageGrid5, seaCoverageGrid90, cellRegions,
+                                             minRegion, maxRegion, aggregations, grids90);
+                        }
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    waitFor(future);
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        return new ArrayList<RegionalAggregation>(aggregations);
+    }
+
+    private static void aggregateRegions(CellGrid<SpatialAggregationCell> sourceCellGrid5,
+                                         Grid seaCoverageGrid5,
+                                         Grid seaCoverageGrid90,
+                                         BitSet[] cellRegions,
+                                         int minRegion,
+                                         int maxRegion,
+                                         List<SameMonthAggregation<AggregationCell>> aggregations,
+                                         List<CellGrid<CellAggregationCell<AggregationCell>>> grids90) {
+        final int sourceW = sourceCellGrid5.getWidth();
+        final int sourceH = sourceCellGrid5.getHeight();
+        for (int y = 0; y < sourceH; y++) {
+            for (int x = 0; x < sourceW; x++) {
+                final BitSet regions = cellRegions[y * sourceW + x];
+                if (regions == null) {
+                    continue;
+                }
+                int regionIndex = regions.nextSetBit(minRegion);
+                if (regionIndex < 0 || regionIndex >= maxRegion) {
+                    continue;
+                }
+                final SpatialAggregationCell cell5 = sourceCellGrid5.getCell(x, y);
+                if (cell5 == null || cell5.isEmpty()) {
+                    continue;
+                }
+                final double seaCoverage = seaCoverageGrid5.getSampleDouble(x, y);
+                for (; regionIndex >= 0 && regionIndex < maxRegion; regionIndex = regions.nextSetBit(regionIndex + 1)) {
+                    final CellGrid<CellAggregationCell<AggregationCell>> grid90 = grids90.get(regionIndex);
+                    if (grid90 != null) {
+                        final int targetX = (x * grid90.getWidth()) / sourceW;
+                        final int targetY = (y * grid90.getHeight()) / sourceH;
+                        grid90.getCellSafe(targetX, targetY).accumulate(cell5, seaCoverage);
+                    } else {
+                        // Removes spatial extent
+                        aggregations.get(regionIndex).accumulate(cell5, seaCoverage);
+                    }
+                }
+            }
+        }
+        for (int regionIndex = minRegion; regionIndex < maxRegion; regionIndex++) {
+            final CellGrid<CellAggregationCell<AggregationCell>> grid90 = grids90.get(regionIndex);
+            if (grid90 != null) {
                 // Removes spatial extent
-                aggregateCellGrid(regionCellGrid5, seaCoverageGrid5, aggregation);
+                aggregateCellGrid(grid90, seaCoverageGrid90, aggregations.get(regionIndex));
             }
-            regionalAggregations.add(aggregation);
         }
+    }
 
-        return regionalAggregations;
+    /**
+     * Creates the bitmap of regions that include a cell, for each cell of the region mask grid.
+     *
+     * @return the bitmaps of regions, indexed by cell. Cells not included in any region are {@code null}.
+     */
+    // package access for testing only
+    static BitSet[] createCellRegions(RegionMaskList regionMaskList, RegionMask combinedRegionMask) {
+        final int w = combinedRegionMask.getWidth();
+        final int h = combinedRegionMask.getHeight();
+        final BitSet[] cellRegions = new BitSet[w * h];
+        for (int regionIndex = 0; regionIndex < regionMaskList.size(); regionIndex++) {
+            final RegionMask regionMask = regionMaskList.get(regionIndex);
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    if (regionMask.getSampleBoolean(x, y)) {
+                        final int index = y * w + x;
+                        if (cellRegions[index] == null) {
+                            cellRegions[index] = new BitSet(regionMaskList.size());
+                        }
+                        cellRegions[index].set(regionIndex);
+                    }
+                }
+            }
+        }
+        return cellRegions;
     }
 
+    private static void waitFor(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Regional aggregation has been interrupted.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
 
     // package access for testing only tb 2014-11-13
     static boolean mustAggregateTo90(RegionMask regionMask) {
@@ -264,24 +404,6 @@ class AveragingAggregator extends AbstractAggregator {
         }
     }
 
-    private static <C extends AggregationCell> CellGrid<C> getCellGridForRegion(CellGrid<C> sourceGrid,
-                                                                                RegionMask regionMask) {
-        final CellGrid<C> targetGrid = CellGrid.create(sourceGrid.getGridDef(), sourceGrid.getCellFactory());
-        final int w = sourceGrid.getWidth();
-        final int h = sourceGrid.getHeight();
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                if (regionMask.getSampleBoolean(x, y)) {
-                    final C cell5 = sourceGrid.getCell(x, y);
-                    if (cell5 != null && !cell5.isEmpty()) {
-                        targetGrid.setCell(x, y, cell5);
-                    }
-                }
-            }
-        }
-        return targetGrid;
-    }
-
     private List<RegionalAggregation> aggregateMonthlyTimeSteps(List<AveragingTimeStep> monthlyTimeSteps) {
         return aggregateMonthlyTimeSteps(monthlyTimeSteps, regionMaskList.size(),
                 getFileType().getMultiMonthAggregationFactory());
@@ -19,6 +19,7 @@
 
 package org.esa.cci.sst.tools.regavg;
 
+import org.esa.cci.sst.aggregate.CheckpointStore;
 import org.esa.cci.sst.auxiliary.Climatology;
 import org.esa.cci.sst.common.ProcessingLevel;
 import org.esa.cci.sst.common.SstDepth;
@@ -98,6 +99,15 @@ public final class AveragingTool extends Tool {
     private static final Parameter PARAM_CLIMATOLOGY_DIR = new Parameter("climatologyDir", "DIR", "./climatology",
             "The directory path to the reference climatology.");
 
+    private static final Parameter PARAM_CLIMATOLOGY_CACHE_SIZE = new Parameter("climatologyCacheSize", "NUM", "1",
+            "The maximum number of daily climatology SST grids kept in memory.");
+
+    private static final Parameter PARAM_CLIMATOLOGY_PREFETCH = new Parameter("climatologyPrefetch", null, null,
+            "Reads the climatology SST grid of the next day in advance.");
+
+    private static final Parameter PARAM_CLIMATOLOGY_CACHE_DIR = new Parameter("climatologyCacheDir", "DIR", null,
+            "The directory where decoded climatology SST grids are kept for later runs. Created if not existing.");
+
     private static final Parameter PARAM_TEMPORAL_RES = new Parameter("temporalRes", "NUM",
             TemporalResolution.monthly + "",
             "The temporal resolution. Must be one of " + validTemporalResolutions() + ".");
@@ -127,6 +137,18 @@ public final class AveragingTool extends Tool {
     private static final Parameter PARAM_WRITE_TEXT = new Parameter("writeText", null, null,
             "Also writes results to a plain text file 'regavg-output-<date>.txt'.");
 
+    private static final Parameter PARAM_FILE_INDEX_DIR = new Parameter("fileIndexDir", "DIR", null,
+            "The directory where an index of the input files is kept, so later runs only list modified directories.");
+
+    private static final Parameter PARAM_CHECKPOINT_DIR = new Parameter("checkpointDir", "DIR", null,
+            "The directory where aggregated time steps are kept, so interrupted or repeated runs can resume from them.");
+
+    private static final Parameter PARAM_PARALLELISM = new Parameter("parallelism", "NUM", "1",
+            "The maximum number of input files aggregated in parallel.");
+
+    private static final Parameter PARAM_PROJECTION_PARALLELISM = new Parameter("projectionParallelism", "NUM", null,
+            "The number of threads used for projecting an L2P input file. By default, the processors allocated to the job are shared among the input files aggregated in parallel.");
+
     private ProductType productType;
 
     public static void main(String[] arguments) {
@@ -182,12 +204,19 @@ public final class AveragingTool extends Tool {
                 PARAM_START_DATE,
                 PARAM_END_DATE,
                 PARAM_CLIMATOLOGY_DIR,
+                PARAM_CLIMATOLOGY_CACHE_SIZE,
+                PARAM_CLIMATOLOGY_PREFETCH,
+                PARAM_CLIMATOLOGY_CACHE_DIR,
                 PARAM_LUT1_FILE,
                 PARAM_LUT2_FILE,
                 PARAM_PRODUCT_TYPE,
                 PARAM_FILENAME_REGEX,
+                PARAM_FILE_INDEX_DIR,
+                PARAM_CHECKPOINT_DIR,
                 PARAM_OUTPUT_DIR,
-                PARAM_WRITE_TEXT));
+                PARAM_WRITE_TEXT,
+                PARAM_PARALLELISM,
+                PARAM_PROJECTION_PARALLELISM));
         ProductType[] values = ProductType.values();
         for (ProductType value : values) {
             paramList.add(new Parameter(value.name() + ".dir", "DIR", null,
@@ -204,7 +233,13 @@ public final class AveragingTool extends Tool {
         final String climatologyDirValue = configuration.getMandatoryStringValue(PARAM_CLIMATOLOGY_DIR.getName(), PARAM_CLIMATOLOGY_DIR.getDefaultValue());
         final String toolHome = configuration.getToolHome();
         final File climatologyDir = FileUtil.getExistingDirectory(climatologyDirValue, toolHome);
-        final Climatology climatology = Climatology.create(climatologyDir, productType.getGridDef());
+        final int climatologyCacheSize = configuration.getIntValue(PARAM_CLIMATOLOGY_CACHE_SIZE.getName(), 1);
+        final boolean climatologyPrefetch = configuration.getBooleanValue(PARAM_CLIMATOLOGY_PREFETCH.getName(), false);
+        final String climatologyCacheDirPath = configuration.getStringValue(PARAM_CLIMATOLOGY_CACHE_DIR.getName(), null);
+        // the cache directory is created by the climatology when it does not exist
+        final File climatologyCacheDir = FileUtil.getFile(climatologyCacheDirPath, toolHome);
+        final Climatology climatology = Climatology.create(climatologyDir, productType.getGridDef(), climatologyCacheSize,
+                                                           climatologyPrefetch, climatologyCacheDir);
 
         final String lut_1_path = configuration.getMandatoryStringValue(PARAM_LUT1_FILE.getName(), PARAM_LUT1_FILE.getDefaultValue());
         final File lut1File = FileUtil.getExistingFile(lut_1_path, toolHome);
@@ -216,7 +251,9 @@ public final class AveragingTool extends Tool {
 
         final String productDir = configuration.getMandatoryStringValue(productType + ".dir", null);
         final String filenameRegex = configuration.getStringValue(PARAM_FILENAME_REGEX.getName(), productType.getDefaultFilenameRegex());
-        final FileStore fileStore = FileStore.create(productType, filenameRegex, productDir);
+        final String fileIndexDirPath = configuration.getStringValue(PARAM_FILE_INDEX_DIR.getName(), null);
+        final File fileIndexDir = FileUtil.getExistingDirectory(fileIndexDirPath, toolHome);
+        final FileStore fileStore = FileStore.create(productType, filenameRegex, fileIndexDir, productDir);
 
         final String sstDepthValue = configuration.getMandatoryStringValue(PARAM_SST_DEPTH.getName(), PARAM_SST_DEPTH.getDefaultValue());
         final SstDepth sstDepth = SstDepth.valueOf(sstDepthValue);
@@ -228,6 +265,23 @@ public final class AveragingTool extends Tool {
         final Date startDate = configuration.getMandatoryShortUtcDateValue(PARAM_START_DATE.getName(), PARAM_START_DATE.getDefaultValue());
         final Date endDate = configuration.getMandatoryShortUtcDateValue(PARAM_END_DATE.getName(), PARAM_END_DATE.getDefaultValue());
         final AveragingAggregator aggregator = new AveragingAggregator(regionMaskList, fileStore, climatology, lut1, lut2, sstDepth);
+        aggregator.setParallelism(configuration.getIntValue(PARAM_PARALLELISM.getName(), 1));
+        aggregator.setProjectionParallelism(configuration.getIntValue(PARAM_PROJECTION_PARALLELISM.getName(), 0));
+
+        final String checkpointDirPath = configuration.getStringValue(PARAM_CHECKPOINT_DIR.getName(), null);
+        final File checkpointDir = FileUtil.getExistingDirectory(checkpointDirPath, toolHome);
+        if (checkpointDir != null) {
+            final String checkpointParameters = String.format("%s %s\n%s\n%s\n%s\n%s", TOOL_NAME, TOOL_VERSION,
+                    productType, sstDepth, temporalResolution, configuration.getStringValue(PARAM_REGION_LIST.getName(),
+                            PARAM_REGION_LIST.getDefaultValue()));
+            final List<File> auxiliaryFiles = new ArrayList<>();
+            auxiliaryFiles.add(lut1File.getAbsoluteFile());
+            auxiliaryFiles.add(lut2File.getAbsoluteFile());
+            for (final File file : climatology.getFiles()) {
+                auxiliaryFiles.add(file.getAbsoluteFile());
+            }
+            aggregator.setCheckpointStore(CheckpointStore.create(checkpointDir, checkpointParameters, auxiliaryFiles));
+        }
         final List<AveragingTimeStep> timeSteps;
         try {
             timeSteps = aggregator.aggregate(startDate, endDate, temporalResolution);
@@ -21,6 +21,7 @@ package org.esa.cci.sst.tools.regrid;
 
 import org.esa.cci.sst.aggregate.*;
 import org.esa.cci.sst.auxiliary.Climatology;
+import org.esa.cci.sst.cell.ArrayCellGrid;
 import org.esa.cci.sst.cell.CellAggregationCell;
 import org.esa.cci.sst.cell.CellFactory;
 import org.esa.cci.sst.cell.CellGrid;
@@ -34,6 +35,7 @@ import org.esa.cci.sst.grid.GridDef;
 import org.esa.cci.sst.grid.LUT;
 import org.esa.cci.sst.product.ProductType;
 import org.esa.cci.sst.util.StopWatch;
+import org.esa.cci.sst.util.TimingRegistry;
 import org.esa.cci.sst.util.TimeUtil;
 import ucar.nc2.NetcdfFile;
 
@@ -44,6 +46,7 @@ import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Aggregator for the Regridding Tool.
@@ -179,7 +182,23 @@ class RegriddingAggregator extends AbstractAggregator {
         final Climatology climatology = getClimatology();
         final CoverageUncertaintyProvider coverageUncertaintyProvider = createCoverageUncertaintyProvider(date1, date2);
         aggregationContext.setCoverageUncertaintyProvider(coverageUncertaintyProvider);
+
+        final CheckpointStore checkpointStore = getCheckpointStore();
+        String checkpointKey = null;
+        if (checkpointStore != null) {
+            final List<File> files = new ArrayList<>();
+            for (final FileList singleDayFiles : allFiles) {
+                files.addAll(singleDayFiles.getFiles());
+            }
+            checkpointKey = checkpointStore.createKey(date1, date2, files);
+            final CellGrid<SpatialAggregationCell> checkpointGrid = createSpatialAggregationCellGrid();
+            if (checkpointStore.read(checkpointKey, checkpointGrid)) {
+                return checkpointGrid;
+            }
+        }
+
         CellGrid<SpatialAggregationCell> targetGrid = null;
+        final AtomicInteger failedFileCount = new AtomicInteger();
 
         for (final FileList singleDayFiles : allFiles) {
             final int doy = TimeUtil.createUtcCalendar(singleDayFiles.getDate()).get(Calendar.DAY_OF_YEAR);
@@ -188,7 +207,8 @@ class RegriddingAggregator extends AbstractAggregator {
             aggregationContext.setClimatologySstGrid(climatology.getSstGrid(doy));
             aggregationContext.setSeaCoverageGrid(climatology.getSeaCoverageGrid());
 
-            final CellGrid<SpatialAggregationCell> singleDayGrid = aggregateSingleDay(productType, singleDayFiles.getFiles());
+            final CellGrid<SpatialAggregationCell> singleDayGrid =
+                    aggregateSingleDay(productType, singleDayFiles.getFiles(), failedFileCount);
 
             if (singleDayGrid != null) {
                 aggregationContext.setSstGrid(new CellGridAdapter(singleDayGrid, Aggregation.SST));
@@ -215,67 +235,84 @@ class RegriddingAggregator extends AbstractAggregator {
             aggregationContext.setSeaIceFractionGrid(null);
         }
 
+        if (targetGrid != null) {
+            writeCheckpoint(checkpointKey, targetGrid, failedFileCount.get());
+        }
         return targetGrid;
     }
 
-    private CellGrid<SpatialAggregationCell> aggregateSingleDay(ProductType productType, List<File> files) throws
-            IOException {
+    private CellGrid<SpatialAggregationCell> aggregateSingleDay(final ProductType productType, List<File> files,
+                                                                final AtomicInteger failedFileCount)
+            throws IOException {
         final FileType fileType = productType.getFileType();
-        final CellFactory<SpatialAggregationCell> dailyCellFactory = fileType.getSingleDayAggregationCellFactory(
-                aggregationContext);
-        CellGrid<SpatialAggregationCell> targetGrid = null;
 
-        for (final File file : files) {
-            logger.info(String.format("Processing input %s file '%s'", productType, file));
+        return aggregateFiles(files, new FileAggregation() {
+            @Override
+            public AggregationContext createContext() {
+                return aggregationContext.copy();
+            }
+
+            @Override
+            public CellGrid<SpatialAggregationCell> aggregate(File file, AggregationContext workerContext,
+                                                              CellGrid<SpatialAggregationCell> workerGrid) {
+                logger.info(String.format("Processing input %s file '%s'", productType, file));
+
+                final StopWatch fileWatch = new StopWatch();
+                fileWatch.start();
+
+                NetcdfFile datafile = null;
+                try {
+                    datafile = NetcdfFile.open(file.getPath());
+                    readSourceGrids(datafile, workerContext);
+                    if (workerGrid == null) {
+                        workerGrid = CellGrid.create(fileType.getGridDef(),
+                                fileType.getSingleDayAggregationCellFactory(workerContext));
+                    }
 
-            final StopWatch fileWatch = new StopWatch();
-            fileWatch.start();
+                    logger.fine("Aggregating grid(s)...");
+                    final StopWatch gridWatch = new StopWatch();
+                    gridWatch.start();
 
-            NetcdfFile datafile = null;
-            try {
-                datafile = NetcdfFile.open(file.getPath());
-                readSourceGrids(datafile, aggregationContext);
-                if (targetGrid == null) {
-                    targetGrid = CellGrid.create(fileType.getGridDef(), dailyCellFactory);
-                }
+                    final TimingRegistry.Phase phase = TimingRegistry.getInstance().start("aggregatePixels");
+                    try {
+                        aggregateSingleDaySourcePixels(workerContext, workerGrid);
+                    } finally {
+                        phase.stop();
+                    }
 
-                logger.fine("Aggregating grid(s)...");
-                final StopWatch gridWatch = new StopWatch();
-                gridWatch.start();
-
-                aggregateSingleDaySourcePixels(aggregationContext, targetGrid);
-
-                gridWatch.stop();
-                logger.fine(String.format("Aggregating grid(s) took %d ms", gridWatch.getElapsedMillis()));
-            } catch (IOException e) {
-                logger.warning(
-                        String.format("Cannot process input %s file '%s' because of an I/O error: '%s'.", productType,
-                                file, e.getMessage()));
-            } catch (Exception e) {
-                if (e.getMessage() == null) {
-                    logger.severe(
-                            String.format("Cannot process input %s file '%s' because of an unknown error.", productType,
-                                    file));
-                } else {
+                    gridWatch.stop();
+                    logger.fine(String.format("Aggregating grid(s) took %d ms", gridWatch.getElapsedMillis()));
+                } catch (IOException e) {
                     logger.warning(
-                            String.format("Cannot process input %s file '%s' because of an error: '%s'.", productType,
+                            String.format("Cannot process input %s file '%s' because of an I/O error: '%s'.", productType,
                                     file, e.getMessage()));
-                }
-            } finally {
-                if (datafile != null) {
-                    try {
-                        datafile.close();
-                    } catch (IOException e) {
-                        // ignore
+                    failedFileCount.incrementAndGet();
+                } catch (Exception e) {
+                    failedFileCount.incrementAndGet();
+                    if (e.getMessage() == null) {
+                        logger.severe(
+                                String.format("Cannot process input %s file '%s' because of an unknown error.", productType,
+                                        file));
+                    } else {
+                        logger.warning(
+                                String.format("Cannot process input %s file '%s' because of an error: '%s'.", productType,
+                                        file, e.getMessage()));
+                    }
+                } finally {
+                    if (datafile != null) {
+                        try {
+                            datafile.close();
+                        } catch (IOException e) {
+                            // ignore
+                        }
                     }
                 }
-            }
-
-            fileWatch.stop();
-            logger.fine(String.format("Processing input %s file took %d ms", productType, fileWatch.getElapsedMillis()));
-        }
 
-        return targetGrid;
+                fileWatch.stop();
+                logger.fine(String.format("Processing input %s file took %d ms", productType, fileWatch.getElapsedMillis()));
+                return workerGrid;
+            }
+        });
     }
 
     private CellGrid<CellAggregationCell<AggregationCell>> aggregateMonth(
@@ -328,10 +365,7 @@ class RegriddingAggregator extends AbstractAggregator {
 
 
     CellGrid<SpatialAggregationCell> createSpatialAggregationCellGrid() {
-        final FileType fileType = getFileType();
-        final CellFactory<SpatialAggregationCell> cellFactory = fileType.getSpatialAggregationCellFactory(
-                aggregationContext);
-        return CellGrid.create(aggregationContext.getTargetGridDef(), cellFactory);
+        return ArrayCellGrid.create(aggregationContext.getTargetGridDef(), aggregationContext);
     }
 
     private CoverageUncertaintyProvider createCoverageUncertaintyProvider(Date date1, Date date2) {
@@ -366,6 +400,13 @@ class RegriddingAggregator extends AbstractAggregator {
             return getNumber(x, y).doubleValue();
         }
 
+        @Override
+        public final void getSamplesDouble(int x, int y, double[] samples, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                samples[offset + i] = getSampleDouble(x + i, y);
+            }
+        }
+
         @Override
         public final int getSampleInt(int x, int y) {
             return getNumber(x, y).intValue();
@@ -70,12 +70,15 @@ final class RegriddingLUT2 implements LUT {
         Grid lutGrid;
         // 1. read in 2.00 degrees resolution
         lutGrid = readGrid(file, fillValue);
-        // 2. interpolate to 0.05 degrees
-        lutGrid = Interpolation.create(lutGrid, GRID_DEF_005);
-        // 3. downscale to target resolution
+        // 2. interpolate to 0.05 degrees and 3. downscale to target resolution
         if (!SpatialResolution.DEGREE_0_05.equals(targetResolution)) {
+            // downscaling reads each interpolated sample once
+            lutGrid = Interpolation.create(lutGrid, GRID_DEF_005);
             final int scale = (int) Math.round(targetResolution.getResolution() / 0.05);
             lutGrid = Downscaling.create(lutGrid, scale);
+        } else {
+            // coverage uncertainties of every time step read the interpolated samples again
+            lutGrid = Interpolation.create(lutGrid, GRID_DEF_005, Interpolation.Mode.TILED);
         }
         // 4. flip
         lutGrid = YFlip.create(lutGrid);
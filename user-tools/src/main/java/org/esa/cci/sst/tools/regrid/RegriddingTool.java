@@ -17,6 +17,7 @@
 package org.esa.cci.sst.tools.regrid;
 
 import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.CheckpointStore;
 import org.esa.cci.sst.auxiliary.Climatology;
 import org.esa.cci.sst.common.SpatialResolution;
 import org.esa.cci.sst.common.SstDepth;
@@ -38,6 +39,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 /**
  * The SST-CCI re-gridding tool.
@@ -97,6 +99,15 @@ public class RegriddingTool extends Tool {
     public static final Parameter PARAM_CLIMATOLOGY_DIR = new Parameter("climatologyDir", "DIR", "./climatology",
             "The directory path to the reference climatology.");
 
+    private static final Parameter PARAM_CLIMATOLOGY_CACHE_SIZE = new Parameter("climatologyCacheSize", "NUM", "1",
+            "The maximum number of daily climatology SST grids kept in memory.");
+
+    private static final Parameter PARAM_CLIMATOLOGY_PREFETCH = new Parameter("climatologyPrefetch", null, null,
+            "Reads the climatology SST grid of the next day in advance.");
+
+    private static final Parameter PARAM_CLIMATOLOGY_CACHE_DIR = new Parameter("climatologyCacheDir", "DIR", null,
+            "The directory where decoded climatology SST grids are kept for later runs. Created if not existing.");
+
     private static final Parameter PARAM_MIN_COVERAGE = new Parameter("minCoverage", "NUM", "0.0",
             "The minimum fractional coverage required for non-missing output. " +
                     "(fraction of valid values in input per grid box in output) ");
@@ -119,6 +130,18 @@ public class RegriddingTool extends Tool {
             "./auxdata/x0_space.txt",
             "A txt file that provides lookup table 3/3 for coverage uncertainties.");
 
+    private static final Parameter PARAM_FILE_INDEX_DIR = new Parameter("fileIndexDir", "DIR", null,
+            "The directory where an index of the input files is kept, so later runs only list modified directories.");
+
+    private static final Parameter PARAM_CHECKPOINT_DIR = new Parameter("checkpointDir", "DIR", null,
+            "The directory where aggregated time steps are kept, so interrupted or repeated runs can resume from them.");
+
+    private static final Parameter PARAM_PARALLELISM = new Parameter("parallelism", "NUM", "1",
+            "The maximum number of input files aggregated in parallel.");
+
+    private static final Parameter PARAM_PROJECTION_PARALLELISM = new Parameter("projectionParallelism", "NUM", null,
+            "The number of threads used for projecting an L2P input file. By default, the processors allocated to the job are shared among the input files aggregated in parallel.");
+
     private ProductType productType;
 
 
@@ -139,11 +162,19 @@ public class RegriddingTool extends Tool {
         final String toolHome = configuration.getToolHome();
         final String climatologyDirPath = configuration.getMandatoryStringValue(PARAM_CLIMATOLOGY_DIR.getName(), PARAM_CLIMATOLOGY_DIR.getDefaultValue());
         final File climatologyDir = FileUtil.getExistingDirectory(climatologyDirPath, toolHome);
-        final Climatology climatology = Climatology.create(climatologyDir, productType.getGridDef());
+        final int climatologyCacheSize = configuration.getIntValue(PARAM_CLIMATOLOGY_CACHE_SIZE.getName(), 1);
+        final boolean climatologyPrefetch = configuration.getBooleanValue(PARAM_CLIMATOLOGY_PREFETCH.getName(), false);
+        final String climatologyCacheDirPath = configuration.getStringValue(PARAM_CLIMATOLOGY_CACHE_DIR.getName(), null);
+        // the cache directory is created by the climatology when it does not exist
+        final File climatologyCacheDir = FileUtil.getFile(climatologyCacheDirPath, toolHome);
+        final Climatology climatology = Climatology.create(climatologyDir, productType.getGridDef(), climatologyCacheSize,
+                                                           climatologyPrefetch, climatologyCacheDir);
 
         final String productDir = configuration.getMandatoryStringValue(productType + ".dir", ".");
         final String sourceFilenameRegex = configuration.getStringValue(PARAM_FILENAME_REGEX.getName(), productType.getDefaultFilenameRegex());
-        final FileStore fileStore = FileStore.create(productType, sourceFilenameRegex, productDir);
+        final String fileIndexDirPath = configuration.getStringValue(PARAM_FILE_INDEX_DIR.getName(), null);
+        final File fileIndexDir = FileUtil.getExistingDirectory(fileIndexDirPath, toolHome);
+        final FileStore fileStore = FileStore.create(productType, sourceFilenameRegex, fileIndexDir, productDir);
 
         final String stdefFilePath = configuration.getMandatoryStringValue(PARAM_COVERAGE_UNCERTAINTY_FILE_STDDEV.getName(), PARAM_COVERAGE_UNCERTAINTY_FILE_STDDEV.getDefaultValue());
         final File cuStdDevFile = FileUtil.getExistingFile(stdefFilePath, toolHome);
@@ -195,6 +226,26 @@ public class RegriddingTool extends Tool {
                 aggregationContext,
                 cuTimeLut,
                 cuSpaceLut);
+        aggregator.setParallelism(configuration.getIntValue(PARAM_PARALLELISM.getName(), 1));
+        aggregator.setProjectionParallelism(configuration.getIntValue(PARAM_PROJECTION_PARALLELISM.getName(), 0));
+
+        final String checkpointDirPath = configuration.getStringValue(PARAM_CHECKPOINT_DIR.getName(), null);
+        final File checkpointDir = FileUtil.getExistingDirectory(checkpointDirPath, toolHome);
+        if (checkpointDir != null) {
+            // the synoptic uncertainties depend on the spatial and temporal resolution
+            final String checkpointParameters = String.format("%s %s\n%s\n%s\n%s\n%s\n%s\n%s", TOOL_NAME, TOOL_VERSION,
+                    productType, sstDepth, spatialResolution, temporalResolution,
+                    configuration.getStringValue(PARAM_REGION.getName(), PARAM_REGION.getDefaultValue()),
+                    Double.doubleToLongBits(minCoverage));
+            final List<File> auxiliaryFiles = new ArrayList<>();
+            auxiliaryFiles.add(cuStdDevFile.getAbsoluteFile());
+            auxiliaryFiles.add(cuTimeFile.getAbsoluteFile());
+            auxiliaryFiles.add(cuSpaceFile.getAbsoluteFile());
+            for (final File file : climatology.getFiles()) {
+                auxiliaryFiles.add(file.getAbsoluteFile());
+            }
+            aggregator.setCheckpointStore(CheckpointStore.create(checkpointDir, checkpointParameters, auxiliaryFiles));
+        }
         try {
             aggregator.aggregate(startDate, endDate, temporalResolution, writer);
         } catch (IOException e) {
@@ -233,12 +284,16 @@ public class RegriddingTool extends Tool {
         paramList.addAll(Arrays.asList(
                 PARAM_REGION,
                 PARAM_CLIMATOLOGY_DIR,
+                PARAM_CLIMATOLOGY_CACHE_SIZE,
+                PARAM_CLIMATOLOGY_PREFETCH,
+                PARAM_CLIMATOLOGY_CACHE_DIR,
                 PARAM_MAX_TOTAL_UNCERTAINTY,
                 PARAM_TOTAL_UNCERTAINTY,
                 PARAM_SPATIAL_RESOLUTION,
                 PARAM_START_DATE,
                 PARAM_END_DATE,
                 PARAM_FILENAME_REGEX,
+                PARAM_FILE_INDEX_DIR,
                 PARAM_SST_DEPTH,
                 PARAM_OUTPUT_DIR,
                 PARAM_PRODUCT_TYPE,
@@ -246,7 +301,10 @@ public class RegriddingTool extends Tool {
                 PARAM_COVERAGE_UNCERTAINTY_FILE_X0TIME,
                 PARAM_COVERAGE_UNCERTAINTY_FILE_X0SPACE,
                 PARAM_MIN_COVERAGE,
-                PARAM_TEMPORAL_RES));
+                PARAM_TEMPORAL_RES,
+                PARAM_CHECKPOINT_DIR,
+                PARAM_PARALLELISM,
+                PARAM_PROJECTION_PARALLELISM));
 
         ProductType[] values = ProductType.values();
         for (ProductType value : values) {
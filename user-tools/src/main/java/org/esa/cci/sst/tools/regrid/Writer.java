@@ -44,6 +44,7 @@ import ucar.nc2.Variable;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.logging.Logger;
 
@@ -55,6 +56,11 @@ import java.util.logging.Logger;
  */
 final class Writer {
 
+    /**
+     * The maximum number of cells in a band of rows written at once.
+     */
+    private static final int MAX_BAND_SIZE = 1 << 20;
+
     private static final Logger logger = SstLogging.getLogger();
 
     private final ProductType productType;
@@ -178,11 +184,7 @@ final class Writer {
             writeData(dataFile, "lon_bnds", lonBoundsArray);
 
             // write data of result variables
-            if (totalUncertaintyWanted) {
-                writeTotalUncertaintyData(dataFile, resultVariables[0], targetCellGrid);
-            } else {
-                writeResultVariables(dataFile, resultVariables, targetCellGrid);
-            }
+            writeResultData(dataFile, resultVariables, targetCellGrid, getBandHeight(colCount, rowCount));
         } catch (IOException e) {
             throw new IOException(MessageFormat.format("An exception occurred while writing target file ''{0}'':{1}",
                     dataFile.getLocation(),
@@ -216,63 +218,73 @@ final class Writer {
         return resultVariables;
     }
 
-    private void writeResultVariables(NetcdfFileWriteable dataFile,
-                                      Variable[] resultVariables,
-                                      CellGrid<? extends AggregationCell> resultCellGrid) throws IOException {
-        final int colCount = resultCellGrid.getWidth();
-        final int rowCount = resultCellGrid.getHeight();
-
+    /**
+     * Writes the data of the result variables in bands of rows. The results of a cell are computed once
+     * and distributed to the data of all result variables, each band of a result variable is written at
+     * once.
+     *
+     * @param dataFile        The target file.
+     * @param resultVariables The result variables, which may contain {@code null} elements.
+     * @param cellGrid        The cell grid.
+     * @param bandHeight      The number of rows in a band.
+     *
+     * @throws IOException if an I/O error occurred.
+     */
+    void writeResultData(NetcdfFileWriteable dataFile,
+                         Variable[] resultVariables,
+                         CellGrid<? extends AggregationCell> cellGrid,
+                         int bandHeight) throws IOException {
+        final int colCount = cellGrid.getWidth();
+        final int rowCount = cellGrid.getHeight();
+        final float[][] bandData = new float[resultVariables.length][];
         for (int v = 0; v < resultVariables.length; v++) {
-            final Variable variable = resultVariables[v];
-            if (variable != null) {
-                final Array array = Array.factory(variable.getDataType(), variable.getShape());
-                for (int y = 0; y < rowCount; y++) {
-                    for (int x = 0; x < colCount; x++) {
-                        final int index = y * colCount + x;
-                        array.setDouble(index, Double.NaN);
+            if (resultVariables[v] != null) {
+                bandData[v] = new float[bandHeight * colCount];
+            }
+        }
 
-                        final AggregationCell cell = resultCellGrid.getCell(x, y);
-                        if (cell != null) {
-                            final Number[] results = cell.getResults();
-                            final double totalUncertainty = calculateTotalUncertainty(results);
-                            if (maxTotalUncertainty <= 0.0 || totalUncertainty <= maxTotalUncertainty) {
-                                array.setDouble(index, results[v].doubleValue());
+        for (int minY = 0; minY < rowCount; minY += bandHeight) {
+            final int h = Math.min(bandHeight, rowCount - minY);
+            for (final float[] data : bandData) {
+                if (data != null) {
+                    Arrays.fill(data, Float.NaN);
+                }
+            }
+            for (int y = minY, index = 0; y < minY + h; y++) {
+                for (int x = 0; x < colCount; x++, index++) {
+                    final AggregationCell cell = cellGrid.getCell(x, y);
+                    if (cell != null) {
+                        final Number[] results = cell.getResults();
+                        final double totalUncertainty = calculateTotalUncertainty(results);
+                        if (maxTotalUncertainty <= 0.0 || totalUncertainty <= maxTotalUncertainty) {
+                            if (totalUncertaintyWanted) {
+                                bandData[0][index] = (float) totalUncertainty;
+                            } else {
+                                for (int v = 0; v < bandData.length; v++) {
+                                    if (bandData[v] != null) {
+                                        bandData[v][index] = results[v].floatValue();
+                                    }
+                                }
                             }
                         }
                     }
                 }
-                writeData(dataFile, variable.getFullNameEscaped(), array);
             }
-        }
-    }
-
-    private void writeTotalUncertaintyData(NetcdfFileWriteable dataFile,
-                                           Variable totalUncertaintyVariable,
-                                           CellGrid<? extends AggregationCell> cellGrid) throws IOException {
-        final int colCount = cellGrid.getWidth();
-        final int rowCount = cellGrid.getHeight();
-        final Array array = Array.factory(totalUncertaintyVariable.getDataType(), totalUncertaintyVariable.getShape());
-
-        for (int y = 0; y < rowCount; y++) {
-            for (int x = 0; x < colCount; x++) {
-                final AggregationCell cell = cellGrid.getCell(x, y);
-                final int index = y * colCount + x;
-                if (cell != null) {
-                    final Number[] results = cell.getResults();
-                    final double totalUncertainty = calculateTotalUncertainty(results);
-                    if (maxTotalUncertainty <= 0.0 || totalUncertainty <= maxTotalUncertainty) {
-                        array.setDouble(index, totalUncertainty);
-                    } else {
-                        array.setDouble(index, Double.NaN);
-                    }
-                } else {
-                    array.setDouble(index, Double.NaN);
+            final int[] origin = {0, minY, 0};
+            final int[] shape = {1, h, colCount};
+            for (int v = 0; v < bandData.length; v++) {
+                if (bandData[v] != null) {
+                    final float[] data = h == bandHeight ? bandData[v] : Arrays.copyOf(bandData[v], h * colCount);
+                    final Array array = Array.factory(DataType.FLOAT, shape, data);
+                    writeData(dataFile, resultVariables[v].getFullNameEscaped(), origin, array);
                 }
             }
         }
-        writeData(dataFile, totalUncertaintyVariable.getFullNameEscaped(), array);
     }
 
+    static int getBandHeight(int colCount, int rowCount) {
+        return Math.max(1, Math.min(rowCount, MAX_BAND_SIZE / colCount));
+    }
 
     static double calculateTotalUncertainty(Number[] results) {
         final NumberAccumulator uncertaintyAccumulator = new UncertaintyAccumulator();
@@ -287,8 +299,13 @@ final class Writer {
     }
 
     private void writeData(NetcdfFileWriteable dataFile, String variable, Array array) throws IOException {
+        writeData(dataFile, variable, new int[array.getRank()], array);
+    }
+
+    private void writeData(NetcdfFileWriteable dataFile, String variable, int[] origin, Array array)
+            throws IOException {
         try {
-            dataFile.write(variable, array);
+            dataFile.write(variable, origin, array);
         } catch (InvalidRangeException cannotHappen) {
             logger.throwing(getClass().getName(), "writeData", cannotHappen);
         }
@@ -1,13 +1,44 @@
 package org.esa.cci.sst.tools.regavg;
 
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.aggregate.AggregationContext;
+import org.esa.cci.sst.aggregate.AggregationFactory;
+import org.esa.cci.sst.aggregate.CoverageUncertaintyProvider;
+import org.esa.cci.sst.aggregate.RegionalAggregation;
+import org.esa.cci.sst.aggregate.SameMonthAggregation;
+import org.esa.cci.sst.aggregate.SpatialAggregationCell;
+import org.esa.cci.sst.cell.CellAggregationCell;
+import org.esa.cci.sst.cell.CellFactory;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.common.SpatialResolution;
+import org.esa.cci.sst.common.SynopticUncertaintyProvider;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.file.FileType;
+import org.esa.cci.sst.grid.ArrayGrid;
+import org.esa.cci.sst.grid.Grid;
+import org.esa.cci.sst.grid.GridDef;
 import org.esa.cci.sst.grid.RegionMask;
+import org.esa.cci.sst.grid.RegionMaskList;
+import org.esa.cci.sst.product.ProductType;
 import org.junit.Test;
 
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class AveragingAggregatorTest {
 
+    private static final GridDef SOURCE_GRID_DEF = GridDef.createGlobal(1.0);
+    private static final GridDef GRID_DEF_5 = GridDef.createGlobal(5.0);
+    private static final GridDef GRID_DEF_90 = GridDef.createGlobal(90.0);
+
     @Test
     public void testMustAggregateTo90() {
         final RegionMask globe = RegionMask.create("globe", -180, 90, 180, -90);
@@ -22,4 +53,155 @@ public class AveragingAggregatorTest {
         final RegionMask any = RegionMask.create("any", -120, 23, -111, 11);
         assertFalse(AveragingAggregator.mustAggregateTo90(any));
     }
+
+    @Test
+    public void testCreateCellRegions() {
+        final RegionMaskList regionMaskList = new RegionMaskList();
+        regionMaskList.add(RegionMask.create("a", -180, 90, 0, 0));
+        regionMaskList.add(RegionMask.create("b", -10, 10, 10, -10));
+
+        final BitSet[] cellRegions = AveragingAggregator.createCellRegions(regionMaskList,
+                                                                           RegionMask.combine(regionMaskList));
+
+        assertEquals(72 * 36, cellRegions.length);
+        assertEquals("{0}", cellRegions[0].toString());
+        assertEquals("{0, 1}", cellRegions[17 * 72 + 35].toString());
+        assertEquals("{1}", cellRegions[18 * 72 + 36].toString());
+        assertNull(cellRegions[35 * 72 + 71]);
+    }
+
+    @Test
+    public void testAggregateRegions_equalsPerRegionAggregation() {
+        final Random random = new Random(38);
+        final RegionMaskList regionMaskList = new RegionMaskList();
+        regionMaskList.add(RegionMask.create("globe", -180, 90, 180, -90));
+        regionMaskList.add(RegionMask.create("north", -180, 90, 180, 0));
+        regionMaskList.add(RegionMask.create("south", -180, 0, 180, -90));
+        for (int i = 0; i < 12; i++) {
+            final int west = -180 + 5 * random.nextInt(60);
+            final int north = 90 - 5 * random.nextInt(30);
+            regionMaskList.add(RegionMask.create("box" + i, west, north, west + 5 * (1 + random.nextInt(12)),
+                                                 north - 5 * (1 + random.nextInt(6))));
+        }
+
+        final AggregationContext context = createContext(random);
+        final FileType fileType = ProductType.ARC_L3U.getFileType();
+        final CellGrid<SpatialAggregationCell> cellGrid5 = createCellGrid5(fileType, context);
+        final Grid seaCoverageGrid5 = createGrid(GRID_DEF_5, random, 0.0, 1.0, 0.1);
+        final Grid seaCoverageGrid90 = createGrid(GRID_DEF_90, random, 0.0, 1.0, 0.0);
+        final CellFactory<CellAggregationCell<AggregationCell>> cellFactory90 = fileType.getCellFactory90(context);
+        final AggregationFactory<SameMonthAggregation<AggregationCell>> aggregationFactory =
+                fileType.getSameMonthAggregationFactory();
+
+        final List<RegionalAggregation> expected = aggregateRegionsPerRegion(cellGrid5, seaCoverageGrid5,
+                                                                             seaCoverageGrid90, regionMaskList,
+                                                                             cellFactory90, aggregationFactory);
+        final BitSet[] cellRegions = AveragingAggregator.createCellRegions(regionMaskList,
+                                                                           RegionMask.combine(regionMaskList));
+        for (final int parallelism : new int[]{1, 4}) {
+            final List<RegionalAggregation> actual = AveragingAggregator.aggregateRegions(cellGrid5, seaCoverageGrid5,
+                                                                                          seaCoverageGrid90,
+                                                                                          regionMaskList, cellRegions,
+                                                                                          cellFactory90,
+                                                                                          aggregationFactory,
+                                                                                          parallelism);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(expected.get(i).getSampleCount() > 0);
+                assertEquals(expected.get(i).getSampleCount(), actual.get(i).getSampleCount());
+                final Number[] expectedResults = expected.get(i).getResults();
+                final Number[] actualResults = actual.get(i).getResults();
+                for (int k = 0; k < expectedResults.length; k++) {
+                    assertEquals(expectedResults[k].doubleValue(), actualResults[k].doubleValue(), 0.0);
+                }
+            }
+        }
+    }
+
+    // the aggregation of one region after the other, as implemented before
+    private static List<RegionalAggregation> aggregateRegionsPerRegion(
+            CellGrid<SpatialAggregationCell> sourceCellGrid5,
+            Grid seaCoverageGrid5,
+            Grid seaCoverageGrid90,
+            RegionMaskList regionMaskList,
+            CellFactory<CellAggregationCell<AggregationCell>> cellFactory90,
+            AggregationFactory<SameMonthAggregation<AggregationCell>> aggregationFactory) {
+        final List<RegionalAggregation> regionalAggregations = new ArrayList<>();
+        for (final RegionMask regionMask : regionMaskList) {
+            final SameMonthAggregation<AggregationCell> aggregation = aggregationFactory.createAggregation();
+            final CellGrid<CellAggregationCell<AggregationCell>> grid90 = CellGrid.create(GRID_DEF_90, cellFactory90);
+            for (int y = 0; y < sourceCellGrid5.getHeight(); y++) {
+                for (int x = 0; x < sourceCellGrid5.getWidth(); x++) {
+                    final SpatialAggregationCell cell5 = sourceCellGrid5.getCell(x, y);
+                    if (regionMask.getSampleBoolean(x, y) && cell5 != null && !cell5.isEmpty()) {
+                        final double seaCoverage = seaCoverageGrid5.getSampleDouble(x, y);
+                        if (AveragingAggregator.mustAggregateTo90(regionMask)) {
+                            grid90.getCellSafe(x * 4 / 72, y * 2 / 36).accumulate(cell5, seaCoverage);
+                        } else {
+                            aggregation.accumulate(cell5, seaCoverage);
+                        }
+                    }
+                }
+            }
+            if (AveragingAggregator.mustAggregateTo90(regionMask)) {
+                for (int y = 0; y < 2; y++) {
+                    for (int x = 0; x < 4; x++) {
+                        final CellAggregationCell<AggregationCell> cell90 = grid90.getCell(x, y);
+                        if (cell90 != null && !cell90.isEmpty()) {
+                            aggregation.accumulate(cell90, seaCoverageGrid90.getSampleDouble(x, y));
+                        }
+                    }
+                }
+            }
+            regionalAggregations.add(aggregation);
+        }
+        return regionalAggregations;
+    }
+
+    private static CellGrid<SpatialAggregationCell> createCellGrid5(FileType fileType, AggregationContext context) {
+        final CellGrid<SpatialAggregationCell> cellGrid5 = CellGrid.create(GRID_DEF_5,
+                                                                           fileType.getCellFactory5(context));
+        for (int y = 0; y < GRID_DEF_5.getHeight(); y++) {
+            for (int x = 0; x < GRID_DEF_5.getWidth(); x++) {
+                final Rectangle sourceRectangle = SOURCE_GRID_DEF.getGridRectangle(x, y, GRID_DEF_5);
+                final SpatialAggregationCell cell = cellGrid5.createCell(x, y);
+                cell.accumulate(context, sourceRectangle);
+                if (!cell.isEmpty()) {
+                    cellGrid5.setCell(cell);
+                }
+            }
+        }
+        return cellGrid5;
+    }
+
+    private static AggregationContext createContext(Random random) {
+        final AggregationContext context = new AggregationContext();
+        context.setCoverageUncertaintyProvider(new CoverageUncertaintyProvider() {
+            @Override
+            public double calculate(AggregationCell cell, double spatialResolution) {
+                return spatialResolution / Math.sqrt(cell.getSampleCount());
+            }
+        });
+        context.setSynopticUncertaintyProvider(
+                new SynopticUncertaintyProvider(SpatialResolution.DEGREE_5_00, TemporalResolution.monthly));
+        context.setSstGrid(createGrid(SOURCE_GRID_DEF, random, 270.0, 30.0, 0.3));
+        context.setClimatologySstGrid(createGrid(SOURCE_GRID_DEF, random, 280.0, 10.0, 0.0));
+        context.setRandomUncertaintyGrid(createGrid(SOURCE_GRID_DEF, random, 0.1, 0.5, 0.1));
+        context.setLargeScaleUncertaintyGrid(createGrid(SOURCE_GRID_DEF, random, 0.1, 0.5, 0.0));
+        context.setSeaCoverageGrid(createGrid(SOURCE_GRID_DEF, random, -0.5, 1.5, 0.0));
+        return context;
+    }
+
+    private static Grid createGrid(GridDef gridDef, Random random, double offset, double range,
+                                   double invalidFraction) {
+        final double[] data = new double[gridDef.getWidth() * gridDef.getHeight()];
+        for (int i = 0; i < data.length; i++) {
+            if (random.nextDouble() < invalidFraction) {
+                data[i] = Double.NaN;
+            } else {
+                data[i] = offset + range * random.nextDouble();
+            }
+        }
+        return ArrayGrid.create(gridDef, data);
+    }
 }
@@ -63,7 +63,7 @@ public class AveragingToolTest {
     @Test
     public void testGetParameter() {
         final Parameter[] parameters = tool.getParameters();
-        assertEquals(17, parameters.length);
+        assertEquals(24, parameters.length);
 
         final Parameter lut_1_parameter = getByName("lut1File", parameters);
         assertEquals("FILE", lut_1_parameter.getArgName());
@@ -74,6 +74,10 @@ public class AveragingToolTest {
         assertEquals("FILE", lut_2_parameter.getArgName());
         assertEquals("./auxdata/RegionalAverage_LUT2.txt", lut_2_parameter.getDefaultValue());
         assertEquals("A plain text file that provides lookup table 2.", lut_2_parameter.getDescription());
+
+        final Parameter parallelismParameter = getByName("parallelism", parameters);
+        assertEquals("NUM", parallelismParameter.getArgName());
+        assertEquals("1", parallelismParameter.getDefaultValue());
     }
 
     private Parameter getByName(String name, Parameter[] parameters) {
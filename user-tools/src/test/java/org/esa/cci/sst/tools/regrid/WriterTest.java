@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.cci.sst.tools.regrid;
+
+import org.esa.cci.sst.aggregate.AggregationCell;
+import org.esa.cci.sst.cell.CellFactory;
+import org.esa.cci.sst.cell.CellGrid;
+import org.esa.cci.sst.common.SstDepth;
+import org.esa.cci.sst.common.TemporalResolution;
+import org.esa.cci.sst.grid.GridDef;
+import org.esa.cci.sst.product.ProductType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ucar.ma2.DataType;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFileWriteable;
+import ucar.nc2.Variable;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class WriterTest {
+
+    private static final GridDef GRID_DEF = GridDef.createGlobal(10.0);
+    private static final double MAX_TOTAL_UNCERTAINTY = 1.2;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteResultData() throws Exception {
+        final CellGrid<AggregationCell> cellGrid = createCellGrid();
+        final Writer writer = createWriter(false);
+
+        // the result data do not depend on the height of the bands written
+        for (final int bandHeight : new int[]{GRID_DEF.getHeight(), 4, 1}) {
+            final File file = temporaryFolder.newFile("result_" + bandHeight + ".nc");
+            final NetcdfFileWriteable dataFile = NetcdfFileWriteable.createNew(file.getPath());
+            final Variable[] variables;
+            try {
+                variables = ProductType.CCI_L3U.getFileType().addResultVariables(dataFile, addDimensions(dataFile),
+                                                                                 SstDepth.skin);
+                dataFile.create();
+                writer.writeResultData(dataFile, variables, cellGrid, bandHeight);
+            } finally {
+                dataFile.close();
+            }
+
+            final NetcdfFile netcdfFile = NetcdfFile.open(file.getPath());
+            try {
+                for (int v = 0; v < variables.length; v++) {
+                    if (variables[v] != null) {
+                        final float[] data = readData(netcdfFile, variables[v].getShortName());
+                        assertData(cellGrid, v, data);
+                    }
+                }
+            } finally {
+                netcdfFile.close();
+            }
+        }
+    }
+
+    @Test
+    public void testWriteResultData_totalUncertainty() throws Exception {
+        final CellGrid<AggregationCell> cellGrid = createCellGrid();
+        final Writer writer = createWriter(true);
+
+        final File file = temporaryFolder.newFile("total_uncertainty.nc");
+        final NetcdfFileWriteable dataFile = NetcdfFileWriteable.createNew(file.getPath());
+        try {
+            final Variable variable = dataFile.addVariable("total_uncertainty", DataType.FLOAT,
+                                                           addDimensions(dataFile));
+            dataFile.create();
+            writer.writeResultData(dataFile, new Variable[]{variable}, cellGrid, 5);
+        } finally {
+            dataFile.close();
+        }
+
+        final NetcdfFile netcdfFile = NetcdfFile.open(file.getPath());
+        try {
+            assertData(cellGrid, -1, readData(netcdfFile, "total_uncertainty"));
+        } finally {
+            netcdfFile.close();
+        }
+    }
+
+    @Test
+    public void testGetBandHeight() throws Exception {
+        assertEquals(360, Writer.getBandHeight(720, 360));
+        assertEquals(145, Writer.getBandHeight(7200, 3600));
+        assertEquals(1, Writer.getBandHeight(1 << 21, 10));
+    }
+
+    private Writer createWriter(boolean totalUncertaintyWanted) {
+        return new Writer(ProductType.CCI_L3U, "regrid", "2.0", "1.0", totalUncertaintyWanted,
+                          MAX_TOTAL_UNCERTAINTY, temporaryFolder.getRoot(), ".*", SstDepth.skin,
+                          TemporalResolution.monthly, null);
+    }
+
+    private static Dimension[] addDimensions(NetcdfFileWriteable dataFile) {
+        final Dimension latDim = dataFile.addDimension("lat", GRID_DEF.getHeight());
+        final Dimension lonDim = dataFile.addDimension("lon", GRID_DEF.getWidth());
+        final Dimension timeDim = dataFile.addDimension("time", GRID_DEF.getTime(), true, false, false);
+        return new Dimension[]{timeDim, latDim, lonDim};
+    }
+
+    private static float[] readData(NetcdfFile netcdfFile, String name) throws IOException {
+        return (float[]) netcdfFile.findVariable(name).read().getStorage();
+    }
+
+    private static void assertData(CellGrid<AggregationCell> cellGrid, int v, float[] data) {
+        assertEquals(GRID_DEF.getWidth() * GRID_DEF.getHeight(), data.length);
+        int validCount = 0;
+        for (int y = 0; y < GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < GRID_DEF.getWidth(); x++) {
+                final AggregationCell cell = cellGrid.getCell(x, y);
+                final float actual = data[y * GRID_DEF.getWidth() + x];
+                if (cell == null) {
+                    assertTrue(Float.isNaN(actual));
+                    continue;
+                }
+                final Number[] results = cell.getResults();
+                final double totalUncertainty = Writer.calculateTotalUncertainty(results);
+                if (totalUncertainty > MAX_TOTAL_UNCERTAINTY) {
+                    assertTrue(Float.isNaN(actual));
+                } else {
+                    final double expected = v < 0 ? totalUncertainty : results[v].doubleValue();
+                    assertEquals((float) expected, actual, 0.0f);
+                    validCount++;
+                }
+            }
+        }
+        assertTrue(validCount > 0);
+    }
+
+    private static CellGrid<AggregationCell> createCellGrid() {
+        final CellGrid<AggregationCell> cellGrid = CellGrid.create(GRID_DEF, new CellFactory<AggregationCell>() {
+            @Override
+            public AggregationCell createCell(int cellX, int cellY) {
+                return new TestCell(cellX, cellY);
+            }
+        });
+        for (int y = 0; y < GRID_DEF.getHeight(); y++) {
+            for (int x = 0; x < GRID_DEF.getWidth(); x++) {
+                if ((x + y) % 3 != 0) {
+                    cellGrid.setCell(cellGrid.createCell(x, y));
+                }
+            }
+        }
+        return cellGrid;
+    }
+
+    private static final class TestCell implements AggregationCell {
+
+        private final int x;
+        private final int y;
+        private final Number[] results;
+
+        private TestCell(int x, int y) {
+            this.x = x;
+            this.y = y;
+            final double u = 0.1 + 0.01 * ((x * 7 + y * 13) % 150);
+            results = new Number[]{
+                    270.0 + 0.1 * x + 0.01 * y,
+                    0.1 * x - 0.2 * y,
+                    u,
+                    0.5 * u,
+                    0.2 * u,
+                    0.3 * u,
+                    0.1 * u,
+                    0.01 * ((x + y) % 100)
+            };
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public long getSampleCount() {
+            return 1;
+        }
+
+        @Override
+        public Number[] getResults() {
+            return results;
+        }
+
+        @Override
+        public double getSeaSurfaceTemperature() {
+            return results[SST].doubleValue();
+        }
+
+        @Override
+        public double getSeaSurfaceTemperatureAnomaly() {
+            return results[SST_ANOMALY].doubleValue();
+        }
+
+        @Override
+        public double getRandomUncertainty() {
+            return results[RANDOM_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getLargeScaleUncertainty() {
+            return results[LARGE_SCALE_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getCoverageUncertainty() {
+            return results[COVERAGE_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getAdjustmentUncertainty() {
+            return results[ADJUSTMENT_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getSynopticUncertainty() {
+            return results[SYNOPTIC_UNCERTAINTY].doubleValue();
+        }
+
+        @Override
+        public double getSeaIceFraction() {
+            return results[SEA_ICE_FRACTION].doubleValue();
+        }
+    }
+}